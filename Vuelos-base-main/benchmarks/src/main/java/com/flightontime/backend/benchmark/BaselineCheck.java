@@ -0,0 +1,126 @@
+package com.flightontime.backend.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara un resultado de JMH ({@code -rf json}) contra una corrida de
+ * referencia (la línea base de {@code baseline/}, cuando exista, u otra corrida
+ * en la misma máquina) y termina con código 1 si algún benchmark empeoró más
+ * que la tolerancia: throughput menor o bytes asignados por operación
+ * ({@code gc.alloc.rate.norm}, con {@code -prof gc}) mayores.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.flightontime.backend.benchmark.BaselineCheck \
+ *     baseline/baseline.json target/result.json [toleranciaPorcentaje]
+ * </pre>
+ */
+public final class BaselineCheck {
+
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10;
+    // Diferencias de asignación menores a esto son ruido del perfilador
+    private static final double ALLOCATION_NOISE_BYTES = 16;
+
+    private record Result(double score, String unit, double allocatedBytes) {
+    }
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BaselineCheck <baseline.json> <result.json> [toleranciaPorcentaje]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+        if (!Files.exists(Path.of(args[0]))) {
+            System.err.println("No existe la línea base " + args[0] + ": ver baseline/README.md para registrarla");
+            System.exit(2);
+        }
+
+        ObjectMapper mapper = JsonMapper.builder().build();
+        Map<String, Result> baseline = read(mapper, Path.of(args[0]));
+        Map<String, Result> current = read(mapper, Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : new TreeMap<>(current).entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("NUEVO      %s: %.3f %s%n", entry.getKey(), after.score(), after.unit());
+                continue;
+            }
+
+            double scoreChange = percentChange(before.score(), after.score());
+            boolean slower = scoreChange < -tolerance;
+            boolean allocatesMore = !Double.isNaN(before.allocatedBytes()) && !Double.isNaN(after.allocatedBytes())
+                    && after.allocatedBytes() - before.allocatedBytes() > ALLOCATION_NOISE_BYTES
+                    && percentChange(before.allocatedBytes(), after.allocatedBytes()) > tolerance;
+
+            String status = slower || allocatesMore ? "REGRESIÓN" : "ok";
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f → %.3f %s (%+.1f%%), %s → %s B/op%n",
+                    status, entry.getKey(), before.score(), after.score(), after.unit(), scoreChange,
+                    bytes(before.allocatedBytes()), bytes(after.allocatedBytes()));
+        }
+
+        System.out.printf("%d benchmarks, %d regresiones (tolerancia %.0f%%)%n", current.size(), regressions, tolerance);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Result> read(ObjectMapper mapper, Path file) throws IOException {
+        JsonNode root;
+        try (InputStream in = Files.newInputStream(file)) {
+            root = mapper.readTree(in);
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (int i = 0; i < root.size(); i++) {
+            JsonNode run = root.get(i);
+            StringBuilder key = new StringBuilder(run.path("benchmark").asString());
+            JsonNode params = run.path("params");
+            for (Map.Entry<String, JsonNode> param : new TreeMap<>(asMap(params)).entrySet()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asString());
+            }
+
+            JsonNode primary = run.path("primaryMetric");
+            double allocated = Double.NaN;
+            for (Map.Entry<String, JsonNode> metric : asMap(run.path("secondaryMetrics")).entrySet()) {
+                // JMH lo nombra "gc.alloc.rate.norm" o "·gc.alloc.rate.norm" según la versión
+                if (metric.getKey().endsWith("gc.alloc.rate.norm")) {
+                    allocated = metric.getValue().path("score").asDouble();
+                }
+            }
+            results.put(key.toString(), new Result(primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asString(), allocated));
+        }
+        return results;
+    }
+
+    private static Map<String, JsonNode> asMap(JsonNode node) {
+        Map<String, JsonNode> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            fields.put(field.getKey(), field.getValue());
+        }
+        return fields;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static String bytes(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.0f", value);
+    }
+}
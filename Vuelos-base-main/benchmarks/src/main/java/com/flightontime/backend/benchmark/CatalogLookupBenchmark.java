@@ -0,0 +1,95 @@
+package com.flightontime.backend.benchmark;
+
+import com.flightontime.backend.catalog.CodeTable;
+import com.flightontime.backend.catalog.IataCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda de aeropuertos con el {@code HashSet<String>} +
+ * {@code toUpperCase()} que usaba PredictValidator contra {@link CodeTable}.
+ *
+ * Ejecutar con {@code -prof gc} para ver la diferencia de asignación por
+ * operación.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogLookupBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    /**
+     * Cantidad de aeropuertos del catálogo (≈10k es la lista IATA completa).
+     */
+    @Param({"6", "10000"})
+    public int catalogSize;
+
+    private Set<String> hashSet;
+    private CodeTable codeTable;
+    private String[] lookups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> codes = new ArrayList<>(catalogSize);
+        Set<String> seen = new HashSet<>();
+        while (codes.size() < catalogSize) {
+            String code = IataCode.airportToString(random.nextInt(IataCode.AIRPORT_SPACE));
+            if (seen.add(code)) {
+                codes.add(code);
+            }
+        }
+
+        hashSet = new HashSet<>(codes);
+        codeTable = CodeTable.airports(codes);
+
+        // Mitad aciertos, mitad fallos; la mitad de las entradas en minúsculas como llegan de los clientes
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String code = i % 2 == 0
+                    ? codes.get(random.nextInt(codes.size()))
+                    : IataCode.airportToString(random.nextInt(IataCode.AIRPORT_SPACE));
+            lookups[i] = random.nextBoolean() ? code.toLowerCase(Locale.ROOT) : code;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void hashSetUpperCase(Blackhole bh) {
+        for (String code : lookups) {
+            bh.consume(hashSet.contains(code.toUpperCase()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void codeTable(Blackhole bh) {
+        for (String code : lookups) {
+            bh.consume(codeTable.contains(code));
+        }
+    }
+}
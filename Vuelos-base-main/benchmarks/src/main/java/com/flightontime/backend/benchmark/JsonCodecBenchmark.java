@@ -0,0 +1,77 @@
+package com.flightontime.backend.benchmark;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialización de {@link PredictionRequest} (incluido el parseo de
+ * {@code fechaPartida} con el patrón {@code yyyy-MM-dd HH:mm:ss}) y
+ * serialización de {@link PredictionResponse}, desde y hacia bytes como los
+ * lee y escribe el convertidor HTTP.
+ *
+ * Las variantes {@code *ObjectMapper} resuelven el tipo en cada llamada; las
+ * {@code *Reader}/{@code *Writer} reutilizan un lector o escritor ya resuelto.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private static final byte[] REQUEST_JSON = """
+            {"aerolinea":"AA","origen":"MAD","destino":"GRU","fechaPartida":"2030-01-15 14:30:00","distanciaKm":8400.5}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper mapper;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private PredictionResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        requestReader = mapper.readerFor(PredictionRequest.class);
+        responseWriter = mapper.writerFor(PredictionResponse.class);
+        response = new PredictionResponse("Retrasado", 0.78);
+    }
+
+    @Benchmark
+    public PredictionRequest deserializeRequestObjectMapper() {
+        return mapper.readValue(REQUEST_JSON, PredictionRequest.class);
+    }
+
+    @Benchmark
+    public PredictionRequest deserializeRequestReader() {
+        return requestReader.readValue(REQUEST_JSON);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseObjectMapper() {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseWriter() {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
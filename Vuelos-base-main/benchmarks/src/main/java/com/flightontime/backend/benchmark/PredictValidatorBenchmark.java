@@ -0,0 +1,93 @@
+package com.flightontime.backend.benchmark;
+
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.validation.PredictValidator;
+import com.flightontime.backend.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PredictValidator} con pedidos válidos e inválidos.
+ *
+ * {@code check} evalúa todas las reglas y devuelve el resultado sin lanzar;
+ * {@code validation} agrega la excepción sin stack trace que llega al
+ * GlobalExceptionHandler, que es lo que paga cada 400. Con los casos
+ * inválidos ambos deberían quedar cerca: la diferencia es sólo la asignación
+ * de la excepción.
+ *
+ * Usa el catálogo empaquetado en el classpath (MAD-GRU ≈ 8370 km).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredictValidatorBenchmark {
+
+    public enum Input {
+        VALID("AA", "MAD", "GRU", 8400.0),
+        // Sin distancia: el validador sólo comprueba que la ruta tenga coordenadas
+        VALID_WITHOUT_DISTANCE("aa", "mad", "gru", null),
+        UNKNOWN_AIRLINE("ZZ", "MAD", "GRU", 8400.0),
+        IMPLAUSIBLE_DISTANCE("AA", "MAD", "GRU", 500.0),
+        // Aerolínea, destino y fecha inválidos: se acumulan las tres violaciones
+        MANY_ERRORS("ZZ", "MAD", "XXX", 500.0);
+
+        private final String airline;
+        private final String origin;
+        private final String destination;
+        private final Double distanceKm;
+
+        Input(String airline, String origin, String destination, Double distanceKm) {
+            this.airline = airline;
+            this.origin = origin;
+            this.destination = destination;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    @Param
+    public Input input;
+
+    private PredictValidator validator;
+    private PredictionRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validator = new PredictValidator(new CatalogRegistry(""));
+        LocalDateTime departure = input == Input.MANY_ERRORS
+                ? LocalDateTime.now().minusDays(1).withNano(0)
+                : LocalDateTime.now().plusYears(1).withNano(0);
+        request = new PredictionRequest(input.airline, input.origin, input.destination, departure, input.distanceKm);
+    }
+
+    @Benchmark
+    public ValidationResult check() {
+        return validator.check(request);
+    }
+
+    @Benchmark
+    public Object validation() {
+        try {
+            validator.validation(request);
+            return request;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.flightontime.backend.benchmark;
+
+import com.flightontime.backend.persistence.PredictionBatchInserter;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filas por segundo al escribir el historial de predicciones en PostgreSQL.
+ *
+ * <ul>
+ *   <li>{@code ROW_BY_ROW}: el camino anterior, un INSERT y un commit por
+ *       predicción (IDENTITY + {@code repository.save} por pedido).</li>
+ *   <li>{@code JDBC_BATCH}: {@link PredictionBatchInserter} en una transacción,
+ *       sin {@code reWriteBatchedInserts}.</li>
+ *   <li>{@code JDBC_BATCH_REWRITE}: lo mismo con el driver reescribiendo el batch
+ *       como INSERT multi-fila (configuración de la aplicación).</li>
+ *   <li>{@code COPY}: carga por el protocolo COPY.</li>
+ * </ul>
+ *
+ * Necesita una base PostgreSQL descartable: crea la tabla si no existe y la
+ * vacía en cada iteración. Se configura con {@code -Dbench.jdbc.url},
+ * {@code -Dbench.jdbc.user} y {@code -Dbench.jdbc.password}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredictionIngestionBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String SCHEMA_SQL = """
+            CREATE SEQUENCE IF NOT EXISTS predictions_id_seq INCREMENT BY 50;
+            CREATE TABLE IF NOT EXISTS predictions (
+                id BIGINT PRIMARY KEY,
+                aerolinea VARCHAR(2) NOT NULL,
+                origen VARCHAR(3) NOT NULL,
+                destino VARCHAR(3) NOT NULL,
+                fecha_partida TIMESTAMP NOT NULL,
+                distancia_km INTEGER NOT NULL,
+                prevision VARCHAR(255) NOT NULL,
+                probabilidad DOUBLE PRECISION NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                updated_at TIMESTAMP NOT NULL
+            )
+            """;
+
+    private static final String SINGLE_INSERT_SQL = """
+            INSERT INTO predictions
+                (id, aerolinea, origen, destino, fecha_partida, distancia_km, prevision, probabilidad, created_at, updated_at)
+            VALUES (nextval('predictions_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Param({"ROW_BY_ROW", "JDBC_BATCH", "JDBC_BATCH_REWRITE", "COPY"})
+    public String strategy;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private PredictionBatchInserter inserter;
+    private List<PredictionEntity> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Properties driverProperties = new Properties();
+        driverProperties.setProperty("reWriteBatchedInserts", String.valueOf(!"JDBC_BATCH".equals(strategy)));
+
+        dataSource = new SingleConnectionDataSource(
+                System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/flight_on_time_bench"),
+                System.getProperty("bench.jdbc.user", "postgres"),
+                System.getProperty("bench.jdbc.password", "postgres"),
+                true);
+        dataSource.setConnectionProperties(driverProperties);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(SCHEMA_SQL);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        inserter = new PredictionBatchInserter(jdbcTemplate, "COPY".equals(strategy), 1);
+
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 15, 14, 10);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            PredictionEntity entity = new PredictionEntity();
+            entity.setAerolinea("AA");
+            entity.setOrigen("MAD");
+            entity.setDestino("GRU");
+            entity.setFechaPartida(departure.plusMinutes(i));
+            entity.setDistanciaKm(8370);
+            entity.setPrevision(i % 3 == 0 ? PredictionResult.RETRASADO : PredictionResult.PUNTUAL);
+            entity.setProbabilidad(0.78);
+            entity.setCreatedAt(departure);
+            entity.setUpdatedAt(departure);
+            rows.add(entity);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE predictions");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void ingest() {
+        if ("ROW_BY_ROW".equals(strategy)) {
+            // Autocommit: cada fila es su propio round trip y su propio commit
+            for (PredictionEntity entity : rows) {
+                jdbcTemplate.update(SINGLE_INSERT_SQL,
+                        entity.getAerolinea(),
+                        entity.getOrigen(),
+                        entity.getDestino(),
+                        Timestamp.valueOf(entity.getFechaPartida()),
+                        entity.getDistanciaKm(),
+                        entity.getPrevision().name(),
+                        entity.getProbabilidad(),
+                        Timestamp.valueOf(entity.getCreatedAt()),
+                        Timestamp.valueOf(entity.getUpdatedAt()));
+            }
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> inserter.insert(rows));
+    }
+}
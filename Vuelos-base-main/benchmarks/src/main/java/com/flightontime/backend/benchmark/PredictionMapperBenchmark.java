@@ -0,0 +1,52 @@
+package com.flightontime.backend.benchmark;
+
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.persistence.PredictionMapper;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión del pedido y la predicción a la fila del historial que hace
+ * {@code savePrediction} antes de encolarla.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredictionMapperBenchmark {
+
+    private CatalogIndex catalog;
+    private PredictionRequest request;
+    private PredictionResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = new CatalogRegistry("").current();
+        // En minúsculas como llegan de los clientes: el mapper debe canonicalizar
+        request = new PredictionRequest("aa", "mad", "gru", LocalDateTime.of(2030, 1, 15, 14, 30), 8400.5);
+        response = new PredictionResponse("Retrasado", 0.78);
+    }
+
+    @Benchmark
+    public PredictionEntity toEntity() {
+        return PredictionMapper.toEntity(request, response, catalog);
+    }
+}
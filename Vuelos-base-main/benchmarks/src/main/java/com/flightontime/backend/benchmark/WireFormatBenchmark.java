@@ -0,0 +1,90 @@
+package com.flightontime.backend.benchmark;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.wire.PredictionProtobuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de leer un {@link PredictionRequest} y escribir un
+ * {@link PredictionResponse} en cada formato que negocia {@code POST /predict},
+ * y bytes en el cable de cada uno.
+ *
+ * Los tamaños no dependen de la corrida: cada trial los imprime al empezar
+ * ({@code # bytes CBOR: request=..., response=...}) en la salida de JMH.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    public enum Format {
+        JSON, CBOR, SMILE, PROTOBUF
+    }
+
+    @Param
+    public Format format;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestBytes;
+    private PredictionResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PredictionRequest request = new PredictionRequest("AA", "MAD", "GRU",
+                LocalDateTime.of(2030, 1, 15, 14, 30), 8400.5);
+        response = new PredictionResponse("RETRASADO", 0.78);
+
+        if (format == Format.PROTOBUF) {
+            requestBytes = PredictionProtobuf.encode(request);
+        } else {
+            ObjectMapper mapper = switch (format) {
+                case CBOR -> CBORMapper.builder().build();
+                case SMILE -> SmileMapper.builder().build();
+                default -> JsonMapper.builder().build();
+            };
+            requestReader = mapper.readerFor(PredictionRequest.class);
+            responseWriter = mapper.writerFor(PredictionResponse.class);
+            requestBytes = mapper.writeValueAsBytes(request);
+        }
+        System.out.printf("# bytes %s: request=%d, response=%d%n", format, requestBytes.length, writeResponse().length);
+    }
+
+    @Benchmark
+    public PredictionRequest readRequest() {
+        return format == Format.PROTOBUF
+                ? PredictionProtobuf.decodeRequest(requestBytes)
+                : requestReader.readValue(requestBytes);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() {
+        return format == Format.PROTOBUF
+                ? PredictionProtobuf.encode(response)
+                : responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,99 @@
+package com.flightontime.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+/**
+ * Barrido de concurrencia en lazo cerrado contra {@code POST /predict}.
+ *
+ * Para cada nivel de concurrencia N se mantienen N pedidos en vuelo durante
+ * {@code --duration} segundos (cada usuario virtual envía el siguiente apenas
+ * recibe la respuesta) y se informa throughput y latencias. Con un modelo lento
+ * (ver {@link ModelStub}) el throughput con hilos de plataforma se estanca al
+ * llegar al tamaño del pool de Tomcat; con el perfil {@code virtual} debería
+ * seguir creciendo hasta el límite del pool HTTP hacia el modelo.
+ *
+ * En lazo cerrado el generador frena cuando el backend se satura, así que las
+ * latencias informadas subestiman la cola; para medir contra presupuestos de
+ * latencia usar {@link FixedRateLoad}.
+ */
+public final class ConcurrencySweep {
+
+    private final HttpClient client;
+    private final PredictRequests requests;
+
+    private ConcurrencySweep(URI target, int distinct) {
+        this.requests = new PredictRequests(target, distinct);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options = Options.parse(args);
+        ConcurrencySweep sweep = new ConcurrencySweep(
+                URI.create(options.value("url", "http://localhost:8080/predict")),
+                options.intValue("distinct", 5000));
+        int duration = options.intValue("duration", 20);
+        int warmup = options.intValue("warmup", 5);
+
+        List<Integer> levels = new ArrayList<>();
+        for (String level : options.value("levels", "16,64,256,1024,4096").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+
+        System.out.printf("%12s %10s %8s %12s %10s %10s %10s %10s%n",
+                "concurrencia", "pedidos", "errores", "pedidos/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (int concurrency : levels) {
+            sweep.run(concurrency, warmup);
+            LatencyRecorder.Summary summary = sweep.run(concurrency, duration);
+            System.out.printf("%12d %10d %8d %12.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    concurrency,
+                    summary.count(),
+                    summary.errors(),
+                    summary.count() / (double) duration,
+                    summary.percentileMillis(50),
+                    summary.percentileMillis(95),
+                    summary.percentileMillis(99),
+                    summary.maxMillis());
+        }
+        System.exit(0);
+    }
+
+    private LatencyRecorder.Summary run(int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            recorders[i] = new LatencyRecorder();
+            send(recorders[i], deadline, finished);
+        }
+        finished.await();
+        return LatencyRecorder.merge(recorders);
+    }
+
+    private void send(LatencyRecorder recorder, long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(requests.next(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() == 200) {
+                        recorder.record((System.nanoTime() - start) / 1000);
+                    } else {
+                        recorder.error();
+                    }
+                    send(recorder, deadline, finished);
+                });
+    }
+}
@@ -0,0 +1,144 @@
+package com.flightontime.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga en lazo abierto contra {@code POST /predict}: los pedidos salen a una
+ * tasa fija sin importar cuánto tarden las respuestas, como llegan los
+ * clientes reales.
+ *
+ * La latencia se mide desde el instante en que el pedido debía salir, no desde
+ * que salió: si el generador se atrasa, ese atraso cuenta (sin omisión
+ * coordinada). Si hay más de {@code --max-in-flight} pedidos pendientes, los
+ * siguientes se descartan y cuentan como error.
+ *
+ * Cada tasa se compara contra los presupuestos de {@link LatencyBudget}; el
+ * proceso termina con código 1 si alguno no se cumple, para usarlo como
+ * control antes de cada release.
+ */
+public final class FixedRateLoad {
+
+    private final HttpClient client;
+    private final PredictRequests requests;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private FixedRateLoad(URI target, int distinct, int maxInFlight) {
+        this.requests = new PredictRequests(target, distinct);
+        this.maxInFlight = maxInFlight;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Options options = Options.parse(args);
+        FixedRateLoad load = new FixedRateLoad(
+                URI.create(options.value("url", "http://localhost:8080/predict")),
+                options.intValue("distinct", 5000),
+                options.intValue("max-in-flight", 20000));
+        int duration = options.intValue("duration", 30);
+        int warmup = options.intValue("warmup", 10);
+        LatencyBudget budget = LatencyBudget.from(options);
+
+        List<Integer> rates = new ArrayList<>();
+        for (String rate : options.value("rates", "100,200,400").split(",")) {
+            rates.add(Integer.parseInt(rate.trim()));
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add("| pedidos/s objetivo | respondidos | errores | pedidos/s | p50 ms | p95 ms | p99 ms | max ms | resultado |");
+        report.add("|---|---|---|---|---|---|---|---|---|");
+        System.out.printf("%10s %10s %8s %10s %9s %9s %9s %9s  %s%n",
+                "objetivo", "ok", "errores", "pedidos/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "resultado");
+
+        boolean passed = true;
+        for (int rate : rates) {
+            load.run(rate, warmup);
+            LatencyRecorder.Summary summary = load.run(rate, duration);
+            List<String> violations = budget.violations(summary, rate, duration);
+            passed &= violations.isEmpty();
+
+            String result = violations.isEmpty() ? "OK" : "FALLA: " + String.join(", ", violations);
+            System.out.printf(Locale.ROOT, "%10d %10d %8d %10.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    rate, summary.count(), summary.errors(), summary.count() / (double) duration,
+                    summary.percentileMillis(50), summary.percentileMillis(95), summary.percentileMillis(99),
+                    summary.maxMillis(), result);
+            report.add(String.format(Locale.ROOT, "| %d | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %s |",
+                    rate, summary.count(), summary.errors(), summary.count() / (double) duration,
+                    summary.percentileMillis(50), summary.percentileMillis(95), summary.percentileMillis(99),
+                    summary.maxMillis(), result));
+        }
+
+        String reportFile = options.value("report", "");
+        if (!reportFile.isBlank()) {
+            report.add(0, "# Load test " + LocalDateTime.now().withNano(0) + "\n\n" + budget.describe() + "\n");
+            Files.write(Path.of(reportFile), report, StandardCharsets.UTF_8);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private LatencyRecorder.Summary run(int rate, int seconds) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                synchronized (recorder) {
+                    recorder.error();
+                }
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            client.sendAsync(requests.next(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long micros = (System.nanoTime() - intended) / 1000;
+                        synchronized (recorder) {
+                            if (error == null && response.statusCode() == 200) {
+                                recorder.record(micros);
+                            } else {
+                                recorder.error();
+                            }
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        // Los pedidos todavía pendientes se esperan hasta su timeout
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(35);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        synchronized (recorder) {
+            return LatencyRecorder.merge(new LatencyRecorder[]{recorder});
+        }
+    }
+}
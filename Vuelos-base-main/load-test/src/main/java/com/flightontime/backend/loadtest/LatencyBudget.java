@@ -0,0 +1,72 @@
+package com.flightontime.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Presupuestos que debe cumplir cada tasa de {@link FixedRateLoad}. Un
+ * presupuesto sin definir no se comprueba.
+ *
+ * @param p50Millis          latencia p50 máxima
+ * @param p95Millis          latencia p95 máxima
+ * @param p99Millis          latencia p99 máxima
+ * @param maxErrorRate       fracción máxima de pedidos fallidos o descartados
+ * @param minThroughputRatio fracción mínima de la tasa objetivo respondida con 200
+ */
+record LatencyBudget(double p50Millis, double p95Millis, double p99Millis,
+                     double maxErrorRate, double minThroughputRatio) {
+
+    static LatencyBudget from(Options options) {
+        return new LatencyBudget(
+                options.doubleValue("p50", Double.NaN),
+                options.doubleValue("p95", Double.NaN),
+                options.doubleValue("p99", Double.NaN),
+                options.doubleValue("max-error-rate", 0.01),
+                options.doubleValue("min-throughput", 0.95));
+    }
+
+    /**
+     * Presupuestos incumplidos por una corrida de {@code seconds} segundos a
+     * {@code targetRate} pedidos por segundo.
+     */
+    List<String> violations(LatencyRecorder.Summary summary, double targetRate, int seconds) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "p50", summary.percentileMillis(50), p50Millis);
+        check(violations, "p95", summary.percentileMillis(95), p95Millis);
+        check(violations, "p99", summary.percentileMillis(99), p99Millis);
+
+        long total = summary.count() + summary.errors();
+        double errorRate = total == 0 ? 0 : (double) summary.errors() / total;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "errores %.2f %% > %.2f %%", errorRate * 100, maxErrorRate * 100));
+        }
+        double throughput = summary.count() / (double) seconds;
+        if (throughput < targetRate * minThroughputRatio) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f/s < %.1f/s", throughput, targetRate * minThroughputRatio));
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String name, double actual, double budget) {
+        if (!Double.isNaN(budget) && actual > budget) {
+            violations.add(String.format(Locale.ROOT, "%s %.1f ms > %.1f ms", name, actual, budget));
+        }
+    }
+
+    String describe() {
+        List<String> parts = new ArrayList<>();
+        if (!Double.isNaN(p50Millis)) {
+            parts.add("p50 ≤ " + p50Millis + " ms");
+        }
+        if (!Double.isNaN(p95Millis)) {
+            parts.add("p95 ≤ " + p95Millis + " ms");
+        }
+        if (!Double.isNaN(p99Millis)) {
+            parts.add("p99 ≤ " + p99Millis + " ms");
+        }
+        parts.add("errores ≤ " + maxErrorRate * 100 + " %");
+        parts.add("throughput ≥ " + minThroughputRatio * 100 + " % del objetivo");
+        return "Presupuestos: " + String.join(", ", parts);
+    }
+}
@@ -0,0 +1,103 @@
+package com.flightontime.backend.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribución de latencias del {@link ModelStub}, en milisegundos.
+ *
+ * <ul>
+ *   <li>{@code fixed:200}: siempre 200 ms</li>
+ *   <li>{@code uniform:50-300}: uniforme entre 50 y 300 ms</li>
+ *   <li>{@code exponential:200}: exponencial con media 200 ms</li>
+ *   <li>{@code lognormal:150:0.6}: log-normal con mediana 150 ms y sigma 0.6 (cola larga realista)</li>
+ *   <li>{@code bimodal:100:3000:0.02}: 100 ms salvo un 2 % de pedidos que tardan 3000 ms (arranques en frío, pausas)</li>
+ * </ul>
+ *
+ * Un número solo ({@code 200}) equivale a {@code fixed:200}.
+ */
+abstract class LatencyDistribution {
+
+    abstract long nextMillis();
+
+    abstract String describe();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":");
+        try {
+            return switch (parts[0].toLowerCase(Locale.ROOT)) {
+                case "fixed" -> fixed(Long.parseLong(parts[1]));
+                case "uniform" -> {
+                    String[] range = parts[1].split("-");
+                    yield uniform(Long.parseLong(range[0]), Long.parseLong(range[1]));
+                }
+                case "exponential" -> exponential(Double.parseDouble(parts[1]));
+                case "lognormal" -> lognormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "bimodal" -> bimodal(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Double.parseDouble(parts[3]));
+                default -> fixed(Long.parseLong(parts[0]));
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Distribución de latencia inválida: " + spec, e);
+        }
+    }
+
+    static LatencyDistribution fixed(long millis) {
+        return new LatencyDistribution() {
+            long nextMillis() {
+                return millis;
+            }
+
+            String describe() {
+                return "fija de " + millis + " ms";
+            }
+        };
+    }
+
+    static LatencyDistribution uniform(long min, long max) {
+        return new LatencyDistribution() {
+            long nextMillis() {
+                return ThreadLocalRandom.current().nextLong(min, max + 1);
+            }
+
+            String describe() {
+                return "uniforme entre " + min + " y " + max + " ms";
+            }
+        };
+    }
+
+    static LatencyDistribution exponential(double mean) {
+        return new LatencyDistribution() {
+            long nextMillis() {
+                return Math.round(-mean * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+            }
+
+            String describe() {
+                return "exponencial con media " + mean + " ms";
+            }
+        };
+    }
+
+    static LatencyDistribution lognormal(double median, double sigma) {
+        return new LatencyDistribution() {
+            long nextMillis() {
+                return Math.round(median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+
+            String describe() {
+                return "log-normal con mediana " + median + " ms y sigma " + sigma;
+            }
+        };
+    }
+
+    static LatencyDistribution bimodal(long fast, long slow, double slowFraction) {
+        return new LatencyDistribution() {
+            long nextMillis() {
+                return ThreadLocalRandom.current().nextDouble() < slowFraction ? slow : fast;
+            }
+
+            String describe() {
+                return fast + " ms, " + (slowFraction * 100) + " % a " + slow + " ms";
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.flightontime.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencias en microsegundos de un usuario virtual. No es thread-safe: cada
+ * usuario registra sus propios pedidos, que son secuenciales.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long micros) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = micros;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    /**
+     * Une las latencias de varios usuarios, ordenadas para calcular percentiles.
+     */
+    static Summary merge(LatencyRecorder[] recorders) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+            errors += recorder.errors;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(all);
+        return new Summary(all, errors);
+    }
+
+    record Summary(long[] sortedMicros, long errors) {
+
+        long count() {
+            return sortedMicros.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedMicros.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedMicros.length) - 1;
+            return sortedMicros[Math.max(0, index)] / 1000.0;
+        }
+
+        double maxMillis() {
+            return sortedMicros.length == 0 ? 0.0 : sortedMicros[sortedMicros.length - 1] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.flightontime.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stub local del servicio de Data Science: responde {@code POST /predict} con
+ * una predicción fija después de una latencia tomada de
+ * {@link LatencyDistribution}. Una fracción {@code --error-rate} de los pedidos
+ * responde 503, como el modelo real cuando no está disponible.
+ *
+ * La espera no ocupa hilos (se programa la respuesta), así que el stub soporta
+ * miles de llamadas simultáneas y el cuello de botella medido es el backend.
+ *
+ * <pre>
+ * java -cp load-test.jar com.flightontime.backend.loadtest.ModelStub --port 9090 --latency lognormal:150:0.6 --error-rate 0.01
+ * </pre>
+ */
+public final class ModelStub {
+
+    private static final byte[] RESPONSE = "{\"prevision\":\"Retrasado\",\"probabilidad\":0.78}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR = "{\"detail\":\"Modelo no disponible\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // Sin TCP_NODELAY el delayed ACK suma ~40 ms a cada respuesta
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ScheduledExecutorService scheduler;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+
+    public ModelStub(int port, LatencyDistribution latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.scheduler = Executors.newScheduledThreadPool(4);
+        this.server = HttpServer.create(new InetSocketAddress(port), 4096);
+        this.server.setExecutor(Executors.newFixedThreadPool(8));
+        this.server.createContext("/predict", this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        ModelStub stub = new ModelStub(options.intValue("port", 9090),
+                LatencyDistribution.parse(options.value("latency", "200")),
+                Double.parseDouble(options.value("error-rate", "0")));
+        stub.start();
+        System.out.printf("Stub del modelo escuchando en :%d, latencia %s, %.2f %% de errores%n",
+                stub.port(), stub.latency.describe(), stub.errorRate * 100);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        scheduler.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        scheduler.schedule(() -> respond(exchange, fail ? 503 : 200, fail ? ERROR : RESPONSE),
+                latency.nextMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.flightontime.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pedidos para {@code POST /predict}. Recorren {@code distinct} fechas de
+ * partida de a una hora para que la caché de predicciones no oculte la
+ * llamada al modelo.
+ */
+final class PredictRequests {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime BASE_DEPARTURE = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final String[][] ROUTES = {
+            {"AA", "JFK", "LAX"}, {"DL", "ATL", "MIA"}, {"UA", "SFO", "JFK"}, {"IB", "MAD", "GRU"}
+    };
+
+    private final URI target;
+    private final int distinct;
+    private final AtomicLong sequence = new AtomicLong();
+
+    PredictRequests(URI target, int distinct) {
+        this.target = target;
+        this.distinct = distinct;
+    }
+
+    HttpRequest next() {
+        long n = sequence.getAndIncrement();
+        String[] route = ROUTES[(int) (n % ROUTES.length)];
+        String departure = BASE_DEPARTURE.plusHours(n % distinct).format(DATE_FORMAT);
+        String body = "{\"aerolinea\":\"" + route[0] + "\",\"origen\":\"" + route[1]
+                + "\",\"destino\":\"" + route[2] + "\",\"fechaPartida\":\"" + departure + "\"}";
+        return HttpRequest.newBuilder(target)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
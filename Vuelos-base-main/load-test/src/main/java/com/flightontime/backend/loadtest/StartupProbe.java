@@ -0,0 +1,200 @@
+package com.flightontime.backend.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mide el arranque de la aplicación desde afuera: lanza el comando indicado,
+ * consulta los endpoints hasta que responden y termina el proceso. Por cada
+ * corrida informa, en ms desde el lanzamiento:
+ *
+ * <ul>
+ *   <li>la primera respuesta HTTP de {@code /actuator/health/liveness};</li>
+ *   <li>{@code /actuator/health/readiness} en 200 (con calentamiento, al terminarlo);</li>
+ *   <li>el primer {@code POST /predict} exitoso, enviado apenas hay readiness;</li>
+ *   <li>el primer {@code POST /predict} por debajo de {@code --fast-ms}: los pedidos
+ *       siguen de a uno, con fechas distintas para que los responda el modelo.</li>
+ * </ul>
+ *
+ * Los tiempos incluyen el arranque de la JVM, así que sirven para comparar
+ * variantes del mismo jar (con y sin {@code -Pfast-startup}, con y sin el
+ * perfil {@code fast}) en la misma máquina.
+ */
+public final class StartupProbe {
+
+    private static final long POLL_MILLIS = 20;
+
+    private final List<String> command;
+    private final File directory;
+    private final URI baseUrl;
+    private final long fastNanos;
+    private final long timeoutNanos;
+    private final int distinct;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupProbe(List<String> command, File directory, URI baseUrl, long fastMillis, int timeoutSeconds,
+                         int distinct) {
+        this.command = command;
+        this.directory = directory;
+        this.baseUrl = baseUrl;
+        this.fastNanos = TimeUnit.MILLISECONDS.toNanos(fastMillis);
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        this.distinct = distinct;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Options options = Options.parse(args);
+        StartupProbe probe = new StartupProbe(
+                Arrays.asList(options.value("command",
+                        "java -jar ../target/demo-0.0.1-SNAPSHOT.jar --spring.profiles.active=loadtest").trim().split("\\s+")),
+                new File(options.value("dir", ".")),
+                URI.create(options.value("url", "http://localhost:8080")),
+                options.intValue("fast-ms", 50),
+                options.intValue("timeout", 180),
+                options.intValue("distinct", 5000));
+        int runs = options.intValue("runs", 3);
+
+        System.out.printf("%8s %12s %12s %14s %16s %14s%n",
+                "corrida", "http ms", "ready ms", "1er predict ms", "predict rápido ms", "pedidos lentos");
+        List<Milestones> results = new ArrayList<>();
+        boolean failed = false;
+        for (int run = 1; run <= runs; run++) {
+            Milestones milestones = probe.run(new File(options.value("log-dir", "target"), "startup-probe-" + run + ".log"));
+            results.add(milestones);
+            failed |= !milestones.complete();
+            System.out.printf("%8d %12s %12s %14s %16s %14d%n", run,
+                    format(milestones.http), format(milestones.ready), format(milestones.firstPredict),
+                    format(milestones.fastPredict), milestones.slowPredicts);
+        }
+        System.out.printf("%8s %12s %12s %14s %16s%n", "mediana",
+                format(median(results, m -> m.http)), format(median(results, m -> m.ready)),
+                format(median(results, m -> m.firstPredict)), format(median(results, m -> m.fastPredict)));
+        System.exit(failed ? 1 : 0);
+    }
+
+    private Milestones run(File log) throws IOException, InterruptedException {
+        log.getParentFile().mkdirs();
+        Milestones milestones = new Milestones();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = start + timeoutNanos;
+            milestones.http = pollUntil(start, deadline, process, "/actuator/health/liveness", false);
+            if (milestones.http >= 0) {
+                milestones.ready = pollUntil(start, deadline, process, "/actuator/health/readiness", true);
+            }
+            if (milestones.ready >= 0) {
+                predictUntilFast(start, deadline, process, milestones);
+            }
+            if (!milestones.complete()) {
+                System.err.println("La corrida no completó todas las etapas; ver " + log);
+            }
+            return milestones;
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * Consulta {@code path} hasta obtener una respuesta (o un 200 si
+     * {@code requireOk}); devuelve los ms desde el lanzamiento o -1.
+     */
+    private long pollUntil(long start, long deadline, Process process, String path, boolean requireOk)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (!requireOk || status == 200) {
+                    return elapsedMillis(start);
+                }
+            } catch (IOException e) {
+                // Todavía no escucha
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        return -1;
+    }
+
+    private void predictUntilFast(long start, long deadline, Process process, Milestones milestones)
+            throws InterruptedException {
+        PredictRequests requests = new PredictRequests(baseUrl.resolve("/predict"), distinct);
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = client.send(requests.next(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            long latency = System.nanoTime() - sent;
+            if (status == 200) {
+                if (milestones.firstPredict < 0) {
+                    milestones.firstPredict = elapsedMillis(start);
+                }
+                if (latency <= fastNanos) {
+                    milestones.fastPredict = elapsedMillis(start);
+                    return;
+                }
+                milestones.slowPredicts++;
+            } else {
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        // Con un lanzador intermedio (mvn, un script) la JVM de la app es un descendiente
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static long median(List<Milestones> results, ToLongFunction<Milestones> field) {
+        long[] values = results.stream().mapToLong(field).filter(v -> v >= 0).sorted().toArray();
+        return values.length == 0 ? -1 : values[values.length / 2];
+    }
+
+    private static String format(long millis) {
+        return millis < 0 ? "-" : Long.toString(millis);
+    }
+
+    private static final class Milestones {
+        long http = -1;
+        long ready = -1;
+        long firstPredict = -1;
+        long fastPredict = -1;
+        int slowPredicts;
+
+        boolean complete() {
+            return fastPredict >= 0;
+        }
+    }
+}
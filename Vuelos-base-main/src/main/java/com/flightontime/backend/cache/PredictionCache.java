@@ -0,0 +1,164 @@
+package com.flightontime.backend.cache;
+
+import com.flightontime.backend.concurrent.Futures;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caché en proceso de respuestas del modelo.
+ *
+ * Las entradas son futuros: el primer hilo que no encuentra la clave registra un
+ * futuro pendiente y ejecuta la llamada al modelo él mismo, en el hilo del
+ * pedido y sin un pool aparte; los pedidos idénticos que llegan mientras tanto
+ * esperan ese mismo futuro (single-flight), así N misses concurrentes producen
+ * una única llamada. Si la llamada falla, Caffeine retira
+ * la entrada y todos los que esperaban reciben la misma excepción.
+ */
+@Component
+@EnableConfigurationProperties(PredictionCacheProperties.class)
+@Slf4j
+public class PredictionCache {
+
+    private final boolean enabled;
+    private final long bucketSeconds;
+    private final AsyncCache<PredictionCacheKey, PredictionResponse> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+
+    public PredictionCache(PredictionCacheProperties properties) {
+        this.enabled = properties.enabled();
+        this.bucketSeconds = Math.max(1, properties.departureBucket().toSeconds());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                // evictionCount() de las stats suma también las expiradas por TTL
+                .evictionListener((PredictionCacheKey key, PredictionResponse response, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        sizeEvictions.increment();
+                    }
+                })
+                .buildAsync();
+
+        log.info("Caché de predicciones: enabled={}, maxSize={}, ttl={}, bucket={}",
+                enabled, properties.maxSize(), properties.ttl(), properties.departureBucket());
+    }
+
+    /**
+     * Devuelve la predicción cacheada para el request o la calcula con
+     * {@code loader} en el hilo llamador. Si el llamador se interrumpe o
+     * demora, lo mismo les pasa a los pedidos que esperan su futuro.
+     */
+    public PredictionResponse get(PredictionRequest request, Supplier<PredictionResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        PredictionCacheKey key = PredictionCacheKey.of(request, bucketSeconds);
+        CompletableFuture<PredictionResponse> existing = cache.getIfPresent(key);
+        if (existing != null) {
+            hits.increment();
+            return Futures.join(existing);
+        }
+
+        CompletableFuture<PredictionResponse> pending = new CompletableFuture<>();
+        existing = cache.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            coalesced.increment();
+            return Futures.join(existing);
+        }
+
+        misses.increment();
+        try {
+            PredictionResponse response = loader.get();
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Variante no bloqueante de {@link #get}: {@code loader} inicia la llamada al
+     * modelo y devuelve su futuro, que queda registrado en la caché hasta que
+     * se complete. Ningún hilo espera la respuesta.
+     */
+    public CompletableFuture<PredictionResponse> getAsync(PredictionRequest request,
+                                                          Supplier<CompletableFuture<PredictionResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        PredictionCacheKey key = PredictionCacheKey.of(request, bucketSeconds);
+        CompletableFuture<PredictionResponse> existing = cache.getIfPresent(key);
+        if (existing != null) {
+            hits.increment();
+            return existing;
+        }
+
+        CompletableFuture<PredictionResponse> pending = new CompletableFuture<>();
+        existing = cache.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        misses.increment();
+        try {
+            loader.get().whenComplete((response, error) -> {
+                if (error != null) {
+                    pending.completeExceptionally(Futures.cause(error));
+                } else {
+                    pending.complete(response);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+        }
+        return pending;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Pedidos que esperaron una llamada al modelo ya en curso para la misma clave.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Entradas desalojadas para respetar {@code maxSize}; las que vencen por TTL
+     * no cuentan.
+     */
+    public long evictions() {
+        return sizeEvictions.sum();
+    }
+}
@@ -0,0 +1,26 @@
+package com.flightontime.backend.cache;
+
+import com.flightontime.backend.catalog.IataCode;
+import com.flightontime.backend.dto.request.PredictionRequest;
+
+import java.time.ZoneOffset;
+
+/**
+ * Clave normalizada de la caché: códigos IATA codificados (sin distinguir
+ * mayúsculas) y fecha de partida truncada al bucket configurado.
+ *
+ * La distancia no forma parte de la clave: para una ruta dada es la distancia
+ * del catálogo o una cercana dentro del rango que acepta el validador.
+ */
+record PredictionCacheKey(int airline, int origin, int destination, long departureBucket) {
+
+    static PredictionCacheKey of(PredictionRequest request, long bucketSeconds) {
+        long departure = request.fechaPartida().toEpochSecond(ZoneOffset.UTC);
+        return new PredictionCacheKey(
+                IataCode.airline(request.aerolinea()),
+                IataCode.airport(request.origen()),
+                IataCode.airport(request.destino()),
+                Math.floorDiv(departure, bucketSeconds)
+        );
+    }
+}
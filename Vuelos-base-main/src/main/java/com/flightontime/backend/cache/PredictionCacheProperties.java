@@ -0,0 +1,23 @@
+package com.flightontime.backend.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de predicciones ({@code prediction.cache.*}).
+ *
+ * @param enabled         activa la caché delante del modelo
+ * @param maxSize         cantidad máxima de entradas (desalojo W-TinyLFU)
+ * @param ttl             vida de una predicción desde que se calculó
+ * @param departureBucket granularidad con la que se agrupan las fechas de partida
+ */
+@ConfigurationProperties(prefix = "prediction.cache")
+public record PredictionCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("1h") Duration departureBucket
+) {
+}
@@ -0,0 +1,113 @@
+package com.flightontime.backend.catalog;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coordenadas y zona horaria de los aeropuertos en formato columnar.
+ *
+ * Cada aeropuerto con coordenadas ocupa una posición densa {@code i} en los
+ * arreglos paralelos; {@code slotByCode} traduce el código IATA codificado a esa
+ * posición. Las columnas trigonométricas se precalculan para que el cálculo de
+ * distancias no tenga que convertir grados ni calcular cosenos de latitud.
+ */
+final class AirportGeoTable {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Hasta este número de aeropuertos la matriz completa de distancias se
+     * precalcula (2048² floats ≈ 16 MB). Por encima se calcula bajo demanda con
+     * las columnas precalculadas, que sigue siendo O(1).
+     */
+    static final int DENSE_MATRIX_LIMIT = 2048;
+
+    private final short[] slotByCode;
+    private final double[] latitudeRad;
+    private final double[] longitudeRad;
+    private final double[] cosLatitude;
+    private final ZoneId[] zones;
+    private final float[] distanceMatrix;
+    private final int size;
+
+    AirportGeoTable(List<CatalogLoader.AirportRow> rows) {
+        this.slotByCode = new short[IataCode.AIRPORT_SPACE];
+        Arrays.fill(slotByCode, (short) -1);
+
+        int n = 0;
+        double[] lat = new double[rows.size()];
+        double[] lon = new double[rows.size()];
+        double[] cos = new double[rows.size()];
+        ZoneId[] zone = new ZoneId[rows.size()];
+        for (CatalogLoader.AirportRow row : rows) {
+            int code = IataCode.airport(row.code());
+            if (code == IataCode.NONE || slotByCode[code] >= 0) {
+                continue;
+            }
+            zone[n] = row.zone();
+            if (!Double.isNaN(row.latitude()) && !Double.isNaN(row.longitude())) {
+                lat[n] = Math.toRadians(row.latitude());
+                lon[n] = Math.toRadians(row.longitude());
+            } else {
+                lat[n] = Double.NaN;
+                lon[n] = Double.NaN;
+            }
+            cos[n] = Math.cos(lat[n]);
+            slotByCode[code] = (short) n;
+            n++;
+        }
+        this.size = n;
+        this.latitudeRad = Arrays.copyOf(lat, n);
+        this.longitudeRad = Arrays.copyOf(lon, n);
+        this.cosLatitude = Arrays.copyOf(cos, n);
+        this.zones = Arrays.copyOf(zone, n);
+        this.distanceMatrix = n <= DENSE_MATRIX_LIMIT ? buildMatrix(n) : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Distancia ortodrómica en km entre dos aeropuertos, o {@code NaN} si alguno
+     * no tiene coordenadas.
+     */
+    double distanceKm(CharSequence origin, CharSequence destination) {
+        int from = slot(origin);
+        int to = slot(destination);
+        if (from < 0 || to < 0) {
+            return Double.NaN;
+        }
+        return distanceMatrix != null ? distanceMatrix[from * size + to] : haversine(from, to);
+    }
+
+    ZoneId zone(CharSequence airport) {
+        int slot = slot(airport);
+        return slot < 0 ? null : zones[slot];
+    }
+
+    private int slot(CharSequence airport) {
+        int code = IataCode.airport(airport);
+        return code == IataCode.NONE ? -1 : slotByCode[code];
+    }
+
+    private float[] buildMatrix(int n) {
+        float[] matrix = new float[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                float distance = (float) haversine(i, j);
+                matrix[i * n + j] = distance;
+                matrix[j * n + i] = distance;
+            }
+        }
+        return matrix;
+    }
+
+    private double haversine(int from, int to) {
+        double sinLat = Math.sin((latitudeRad[to] - latitudeRad[from]) / 2);
+        double sinLon = Math.sin((longitudeRad[to] - longitudeRad[from]) / 2);
+        double a = sinLat * sinLat + cosLatitude[from] * cosLatitude[to] * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.flightontime.backend.catalog;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Vista inmutable de los catálogos cargados en memoria.
+ *
+ * Cada recarga produce una instancia nueva que reemplaza a la anterior de forma
+ * atómica en {@link CatalogRegistry}; los lectores nunca ven un catálogo a medio
+ * construir y no necesitan sincronización.
+ */
+public final class CatalogIndex {
+
+    private final long generation;
+    private final String checksum;
+    private final String source;
+    private final Instant loadedAt;
+    private final CodeTable airlines;
+    private final CodeTable airports;
+    private final AirportGeoTable geo;
+
+    CatalogIndex(long generation, String checksum, String source, Instant loadedAt,
+                 Set<String> airlines, List<CatalogLoader.AirportRow> airports) {
+        this.generation = generation;
+        this.checksum = checksum;
+        this.source = source;
+        this.loadedAt = loadedAt;
+        this.airlines = CodeTable.airlines(airlines);
+        this.airports = CodeTable.airports(airports.stream().map(CatalogLoader.AirportRow::code).toList());
+        this.geo = new AirportGeoTable(airports);
+    }
+
+    /**
+     * Pertenencia al catálogo de aerolíneas, sin distinguir mayúsculas/minúsculas.
+     */
+    public boolean hasAirline(CharSequence code) {
+        return airlines.contains(code);
+    }
+
+    /**
+     * Pertenencia al catálogo de aeropuertos, sin distinguir mayúsculas/minúsculas.
+     */
+    public boolean hasAirport(CharSequence code) {
+        return airports.contains(code);
+    }
+
+    /**
+     * Código de aerolínea en mayúsculas tal como está en el catálogo, o null.
+     */
+    public String canonicalAirline(CharSequence code) {
+        return airlines.canonical(code);
+    }
+
+    /**
+     * Código de aeropuerto en mayúsculas tal como está en el catálogo, o null.
+     */
+    public String canonicalAirport(CharSequence code) {
+        return airports.canonical(code);
+    }
+
+    /**
+     * Distancia ortodrómica en km entre dos aeropuertos del catálogo, o
+     * {@code NaN} si alguno no existe o no tiene coordenadas. No asigna memoria.
+     */
+    public double distanceKm(CharSequence origin, CharSequence destination) {
+        return geo.distanceKm(origin, destination);
+    }
+
+    /**
+     * Zona horaria del aeropuerto, o null si el catálogo no la informa.
+     */
+    public ZoneId airportZone(CharSequence airport) {
+        return geo.zone(airport);
+    }
+
+    public int airlineCount() {
+        return airlines.size();
+    }
+
+    public int airportCount() {
+        return airports.size();
+    }
+
+    /**
+     * Número de carga dentro de este nodo (1 = carga inicial).
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Huella del contenido de los archivos; dos nodos con el mismo checksum
+     * sirven exactamente el mismo catálogo.
+     */
+    public String checksum() {
+        return checksum;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,173 @@
+package com.flightontime.backend.catalog;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Lectura y parseo de los archivos CSV de catálogo.
+ *
+ * Formato esperado: una cabecera seguida de una fila por código. El código
+ * siempre es la primera columna; airports.csv puede traer además las columnas
+ * {@code latitude}, {@code longitude} y {@code timezone}, que se ubican por
+ * nombre en la cabecera.
+ */
+final class CatalogLoader {
+
+    static final String AIRLINES_FILE = "airlines.csv";
+    static final String AIRPORTS_FILE = "airports.csv";
+    static final String CLASSPATH_DIR = "catalog/";
+
+    private CatalogLoader() {
+    }
+
+    /**
+     * Lee el archivo desde el directorio externo si existe; de lo contrario usa la
+     * copia empaquetada en el classpath.
+     */
+    static byte[] read(Path externalDir, String fileName) {
+        try {
+            if (externalDir != null) {
+                Path file = externalDir.resolve(fileName);
+                if (Files.isRegularFile(file)) {
+                    return Files.readAllBytes(file);
+                }
+            }
+            try (InputStream in = new ClassPathResource(CLASSPATH_DIR + fileName).getInputStream()) {
+                return in.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el catálogo de  (" + fileName + ")", e);
+        }
+    }
+
+    /**
+     * Fila de airports.csv. Latitud y longitud son {@code NaN} y la zona null
+     * cuando el archivo no las trae.
+     */
+    record AirportRow(String code, double latitude, double longitude, ZoneId zone) {
+    }
+
+    static Set<String> parseCodes(byte[] content) {
+        Set<String> codes = new HashSet<>();
+        for (String[] columns : parseRows(content)) {
+            codes.add(columns[0]);
+        }
+        return codes;
+    }
+
+    static List<AirportRow> parseAirports(byte[] content) {
+        List<String[]> rows = parseRows(content);
+        String[] header = header(content);
+        int latitude = indexOf(header, "latitude");
+        int longitude = indexOf(header, "longitude");
+        int timezone = indexOf(header, "timezone");
+
+        List<AirportRow> airports = new ArrayList<>(rows.size());
+        for (String[] columns : rows) {
+            try {
+                airports.add(new AirportRow(
+                        columns[0],
+                        doubleColumn(columns, latitude),
+                        doubleColumn(columns, longitude),
+                        zoneColumn(columns, timezone)
+                ));
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Fila inválida en airports.csv para el código " + columns[0], e);
+            }
+        }
+        return airports;
+    }
+
+    /**
+     * Filas de datos (sin cabecera) separadas en columnas; el código de la
+     * primera columna se normaliza a mayúsculas.
+     */
+    private static List<String[]> parseRows(byte[] content) {
+        List<String[]> rows = new ArrayList<>();
+        boolean header = true;
+        for (String line : lines(content)) {
+            if (header) { // saltar cabecera "code,..."
+                header = false;
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columns[i].trim();
+            }
+            if (!columns[0].isEmpty()) {
+                columns[0] = columns[0].toUpperCase(Locale.ROOT);
+                rows.add(columns);
+            }
+        }
+        return rows;
+    }
+
+    private static String[] header(byte[] content) {
+        List<String> lines = lines(content);
+        return lines.isEmpty() ? new String[0] : lines.get(0).toLowerCase(Locale.ROOT).split("\\s*,\\s*");
+    }
+
+    private static List<String> lines(byte[] content) {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo parsear el catálogo", e);
+        }
+        return lines;
+    }
+
+    private static int indexOf(String[] header, String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double doubleColumn(String[] columns, int index) {
+        if (index < 0 || index >= columns.length || columns[index].isEmpty()) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(columns[index]);
+    }
+
+    private static ZoneId zoneColumn(String[] columns, int index) {
+        if (index < 0 || index >= columns.length || columns[index].isEmpty()) {
+            return null;
+        }
+        return ZoneId.of(columns[index]);
+    }
+
+    static String checksum(byte[]... contents) {
+        CRC32 crc = new CRC32();
+        for (byte[] content : contents) {
+            crc.update(content);
+        }
+        return String.format("%08x", crc.getValue());
+    }
+}
@@ -0,0 +1,110 @@
+package com.flightontime.backend.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Mantiene el {@link CatalogIndex} vigente.
+ *
+ * Los catálogos se parsean una sola vez al arrancar. Si se configura
+ * {@code catalog.external-dir}, los archivos de ese directorio tienen prioridad
+ * sobre los del classpath y se revisan periódicamente: cuando cambian se
+ * construye un índice nuevo y se publica con una escritura volátil. La lectura
+ * ({@link #current()}) no toma ningún lock.
+ */
+@Component
+@Slf4j
+public class CatalogRegistry {
+
+    private final Path externalDir;
+
+    private volatile CatalogIndex current;
+    private volatile String lastStamp;
+
+    public CatalogRegistry(@Value("${catalog.external-dir:}") String externalDir) {
+        this.externalDir = externalDir == null || externalDir.isBlank() ? null : Paths.get(externalDir);
+        this.lastStamp = stamp();
+        this.current = load(1);
+        log.info("Catálogo cargado: version={}, aerolineas={}, aeropuertos={}, origen={}",
+                current.checksum(), current.airlineCount(), current.airportCount(), current.source());
+    }
+
+    public CatalogIndex current() {
+        return current;
+    }
+
+    /**
+     * Recarga el catálogo si los archivos externos cambiaron. Ante un archivo
+     * inválido se conserva el índice anterior.
+     */
+    @Scheduled(fixedDelayString = "${catalog.reload-interval-ms:30000}",
+            initialDelayString = "${catalog.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (externalDir == null) {
+            return;
+        }
+        String stamp = stamp();
+        if (Objects.equals(stamp, lastStamp)) {
+            return;
+        }
+        try {
+            CatalogIndex previous = current;
+            CatalogIndex next = load(previous.generation() + 1);
+            lastStamp = stamp;
+            if (next.checksum().equals(previous.checksum())) {
+                return;
+            }
+            current = next;
+            log.info("Catálogo recargado: version={} -> {}, aerolineas={}, aeropuertos={}",
+                    previous.checksum(), next.checksum(), next.airlineCount(), next.airportCount());
+        } catch (RuntimeException e) {
+            log.error("No se pudo recargar el catálogo desde {}. Se mantiene la version {}",
+                    externalDir, current.checksum(), e);
+        }
+    }
+
+    private CatalogIndex load(long generation) {
+        byte[] airlines = CatalogLoader.read(externalDir, CatalogLoader.AIRLINES_FILE);
+        byte[] airports = CatalogLoader.read(externalDir, CatalogLoader.AIRPORTS_FILE);
+
+        return new CatalogIndex(
+                generation,
+                CatalogLoader.checksum(airlines, airports),
+                externalDir != null ? externalDir.toString() : "classpath:" + CatalogLoader.CLASSPATH_DIR,
+                Instant.now(),
+                CatalogLoader.parseCodes(airlines),
+                CatalogLoader.parseAirports(airports)
+        );
+    }
+
+    /**
+     * Fecha de modificación y tamaño de los archivos externos; barato de calcular
+     * y suficiente para detectar cambios sin releer el contenido.
+     */
+    private String stamp() {
+        if (externalDir == null) {
+            return "";
+        }
+        return fileStamp(CatalogLoader.AIRLINES_FILE) + "|" + fileStamp(CatalogLoader.AIRPORTS_FILE);
+    }
+
+    private String fileStamp(String fileName) {
+        Path file = externalDir.resolve(fileName);
+        try {
+            return Files.isRegularFile(file)
+                    ? Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file)
+                    : "-";
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.flightontime.backend.catalog;
+
+import java.util.Collection;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Conjunto de códigos IATA codificados con {@link IataCode}.
+ *
+ * La pertenencia se resuelve con un bitset de {@code long[]} y cada código
+ * presente conserva su representación canónica (mayúsculas) para poder
+ * devolverla sin crear nuevos Strings.
+ */
+public final class CodeTable {
+
+    private final long[] bits;
+    private final String[] canonical;
+    private final int size;
+    private final ToIntFunction<CharSequence> encoder;
+
+    private CodeTable(long[] bits, String[] canonical, int size, ToIntFunction<CharSequence> encoder) {
+        this.bits = bits;
+        this.canonical = canonical;
+        this.size = size;
+        this.encoder = encoder;
+    }
+
+    public static CodeTable airlines(Collection<String> codes) {
+        return build(codes, IataCode.AIRLINE_SPACE, IataCode::airline, IataCode::airlineToString);
+    }
+
+    public static CodeTable airports(Collection<String> codes) {
+        return build(codes, IataCode.AIRPORT_SPACE, IataCode::airport, IataCode::airportToString);
+    }
+
+    private static CodeTable build(Collection<String> codes, int space, ToIntFunction<CharSequence> encoder,
+                                   IntFunction<String> decoder) {
+        long[] bits = new long[(space + 63) >>> 6];
+        String[] canonical = new String[space];
+        int size = 0;
+        for (String code : codes) {
+            int value = encoder.applyAsInt(code);
+            if (value == IataCode.NONE) {
+                throw new IllegalArgumentException("Código IATA inválido en el catálogo: " + code);
+            }
+            if ((bits[value >>> 6] & (1L << value)) == 0) {
+                bits[value >>> 6] |= 1L << value;
+                canonical[value] = decoder.apply(value).intern();
+                size++;
+            }
+        }
+        return new CodeTable(bits, canonical, size, encoder);
+    }
+
+    public boolean contains(int code) {
+        return code >= 0 && (bits[code >>> 6] & (1L << code)) != 0;
+    }
+
+    /**
+     * Búsqueda sin distinguir mayúsculas/minúsculas y sin asignar memoria.
+     */
+    public boolean contains(CharSequence code) {
+        return contains(encoder.applyAsInt(code));
+    }
+
+    /**
+     * Devuelve el código en mayúsculas tal como figura en el catálogo, o null si
+     * no pertenece a él.
+     */
+    public String canonical(CharSequence code) {
+        int value = encoder.applyAsInt(code);
+        return contains(value) ? canonical[value] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,91 @@
+package com.flightontime.backend.catalog;
+
+/**
+ * Codificación de códigos IATA en enteros pequeños.
+ *
+ * Aerolínea: 2 caracteres alfanuméricos (base 36) → [0, 1296).
+ * Aeropuerto: 3 letras (base 26) → [0, 17576).
+ *
+ * La codificación ignora mayúsculas/minúsculas y no crea objetos, así que las
+ * búsquedas en el catálogo no necesitan copias con {@code toUpperCase()}.
+ * Cualquier entrada inválida (null, longitud distinta, caracteres fuera del
+ * alfabeto) devuelve {@link #NONE}.
+ */
+public final class IataCode {
+
+    public static final int NONE = -1;
+
+    public static final int AIRLINE_SPACE = 36 * 36;
+    public static final int AIRPORT_SPACE = 26 * 26 * 26;
+
+    private IataCode() {
+    }
+
+    public static int airline(CharSequence code) {
+        if (code == null || code.length() != 2) {
+            return NONE;
+        }
+        int first = alphanumeric(code.charAt(0));
+        int second = alphanumeric(code.charAt(1));
+        if (first < 0 || second < 0) {
+            return NONE;
+        }
+        return first * 36 + second;
+    }
+
+    public static int airport(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return NONE;
+        }
+        int first = letter(code.charAt(0));
+        int second = letter(code.charAt(1));
+        int third = letter(code.charAt(2));
+        if (first < 0 || second < 0 || third < 0) {
+            return NONE;
+        }
+        return (first * 26 + second) * 26 + third;
+    }
+
+    public static String airlineToString(int code) {
+        if (code < 0 || code >= AIRLINE_SPACE) {
+            throw new IllegalArgumentException("Código de aerolínea fuera de rango: " + code);
+        }
+        return new String(new char[] {alphanumericChar(code / 36), alphanumericChar(code % 36)});
+    }
+
+    public static String airportToString(int code) {
+        if (code < 0 || code >= AIRPORT_SPACE) {
+            throw new IllegalArgumentException("Código de aeropuerto fuera de rango: " + code);
+        }
+        return new String(new char[] {
+                (char) ('A' + code / (26 * 26)),
+                (char) ('A' + (code / 26) % 26),
+                (char) ('A' + code % 26)
+        });
+    }
+
+    private static int letter(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return NONE;
+    }
+
+    private static int alphanumeric(char c) {
+        int letter = letter(c);
+        if (letter >= 0) {
+            return letter;
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + (c - '0');
+        }
+        return NONE;
+    }
+
+    private static char alphanumericChar(int value) {
+        return value < 26 ? (char) ('A' + value) : (char) ('0' + value - 26);
+    }
+}
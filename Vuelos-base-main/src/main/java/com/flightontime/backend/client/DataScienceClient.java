@@ -7,6 +7,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class DataScienceClient {
@@ -16,6 +20,9 @@ public class DataScienceClient {
     @Value("${datascience.api.url:}")
     private String dataScienceApiUrl;
 
+    @Value("${datascience.batching.path:/predict/batch}")
+    private String batchPath;
+
     public PredictionResponse predictDelay(PredictionRequest request) {
         // Si no está configurada la URL del modelo, devolvemos un mock como en el prototipo original
         if (dataScienceApiUrl == null || dataScienceApiUrl.isBlank()) {
@@ -25,6 +32,19 @@ public class DataScienceClient {
         String url = dataScienceApiUrl + "/predict";
         return restTemplate.postForObject(url, request, PredictionResponse.class);
     }
-}
 
+    /**
+     * Envía varios vuelos en una sola llamada al endpoint batch del modelo. La
+     * respuesta trae una predicción por vuelo en el mismo orden; una posición
+     * null indica que el modelo no pudo predecir ese vuelo.
+     */
+    public List<PredictionResponse> predictDelayBatch(List<PredictionRequest> requests) {
+        if (dataScienceApiUrl == null || dataScienceApiUrl.isBlank()) {
+            return Collections.nCopies(requests.size(), new PredictionResponse("Retrasado", 0.78));
+        }
 
+        String url = dataScienceApiUrl + batchPath;
+        PredictionResponse[] responses = restTemplate.postForObject(url, requests, PredictionResponse[].class);
+        return responses == null ? List.of() : Arrays.asList(responses);
+    }
+}
@@ -0,0 +1,266 @@
+package com.flightontime.backend.client;
+
+import com.flightontime.backend.concurrent.Futures;
+import com.flightontime.backend.concurrent.WorkerPools;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa predicciones concurrentes en llamadas batch al modelo.
+ *
+ * Los pedidos se encolan y un hilo despachador arma lotes de hasta
+ * {@code max-batch-size} elementos o lo que llegue dentro de {@code max-wait}
+ * desde el primero. Cada lote se envía en un hilo del pool de envío mientras el
+ * despachador sigue juntando el siguiente.
+ *
+ * Si la llamada batch falla, o devuelve una cantidad de predicciones distinta
+ * de la de vuelos, falla el lote entero: reintentar cada vuelo sumaría hasta
+ * {@code max-batch-size} llamadas contra un servicio que ya está fallando. Una
+ * posición vacía en una respuesta completa se reintenta con la llamada
+ * individual en el hilo de ese llamador, no en el del pool de envío.
+ *
+ * Ningún llamador espera más de {@code result-timeout}: los pedidos que el
+ * despachador no pudo enviar, o que quedan en la cola al detenerse la
+ * aplicación, fallan con {@link ResourceAccessException} (503).
+ */
+@Component
+@Slf4j
+public class PredictionBatcher {
+
+    private final DataScienceClient dataScienceClient;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Duration resultTimeout;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService senders;
+    private final Thread dispatcher;
+    private volatile boolean running;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedItems = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public PredictionBatcher(DataScienceClient dataScienceClient,
+                             @Value("${datascience.batching.enabled:false}") boolean enabled,
+                             @Value("${datascience.batching.max-batch-size:32}") int maxBatchSize,
+                             @Value("${datascience.batching.max-wait:5ms}") Duration maxWait,
+                             @Value("${datascience.batching.result-timeout:30s}") Duration resultTimeout,
+                             @Value("${datascience.batching.queue-capacity:10000}") int queueCapacity,
+                             @Value("${datascience.batching.sender-threads:8}") int senderThreads,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dataScienceClient = dataScienceClient;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.resultTimeout = resultTimeout;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        if (!enabled) {
+            this.senders = null;
+            this.dispatcher = null;
+            return;
+        }
+
+        this.senders = WorkerPools.newPool("datascience-batch-sender", senderThreads, virtualThreads);
+        this.running = true;
+        this.dispatcher = new Thread(this::dispatchLoop, "datascience-batch-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+
+        log.info("Micro-batching hacia Data Science activo: maxBatchSize={}, maxWait={}, cola={}",
+                this.maxBatchSize, maxWait, queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Predice el vuelo a través del próximo lote y espera el resultado. Si la
+     * cola está llena la llamada se hace directamente en el hilo llamador.
+     * Espera a lo sumo {@code result-timeout}; si el lote no trajo predicción
+     * para este vuelo, lo reintenta con la llamada individual.
+     */
+    public PredictionResponse predict(PredictionRequest request) {
+        if (!enabled) {
+            return dataScienceClient.predictDelay(request);
+        }
+
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return dataScienceClient.predictDelay(request);
+        }
+        if (!running && queue.remove(pending)) {
+            // Se encoló después de que shutdown vació la cola: nadie lo va a despachar
+            return dataScienceClient.predictDelay(request);
+        }
+        PredictionResponse response = await(pending);
+        if (response == null) {
+            fallbacks.increment();
+            return dataScienceClient.predictDelay(request);
+        }
+        return response;
+    }
+
+    private PredictionResponse await(Pending pending) {
+        try {
+            return pending.result().get(resultTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw Futures.unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            // Si el lote responde más tarde, complete() ya no tiene efecto
+            ResourceAccessException timeout = new ResourceAccessException(
+                    "El servicio de Data Science no respondió el lote en " + resultTimeout);
+            pending.result().completeExceptionally(timeout);
+            throw timeout;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Se interrumpió la espera del lote hacia Data Science");
+        }
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public long batchedItems() {
+        return batchedItems.sum();
+    }
+
+    /**
+     * Vuelos sin predicción en la respuesta del lote que hubo que reintentar
+     * con la llamada individual.
+     */
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            try {
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                senders.execute(() -> send(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, stopping());
+                return;
+            } catch (RuntimeException e) {
+                // Incluye el RejectedExecutionException del pool ya detenido
+                log.error("Error inesperado en el despachador de lotes", e);
+                failAll(batch, stopping());
+            }
+        }
+    }
+
+    private static ResourceAccessException stopping() {
+        return new ResourceAccessException("El servicio de Data Science no está disponible: la aplicación se está deteniendo");
+    }
+
+    private static void failAll(List<Pending> pendings, Throwable failure) {
+        for (Pending pending : pendings) {
+            pending.result().completeExceptionally(failure);
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        if (batch.size() == 1) {
+            sendIndividually(batch.get(0));
+            return;
+        }
+
+        batches.increment();
+        batchedItems.add(batch.size());
+
+        List<PredictionResponse> responses;
+        try {
+            List<PredictionRequest> requests = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                requests.add(pending.request());
+            }
+            responses = dataScienceClient.predictDelayBatch(requests);
+        } catch (RuntimeException | Error e) {
+            log.warn("Falló la llamada batch de {} vuelos: {}", batch.size(), e.getMessage());
+            failAll(batch, e);
+            return;
+        }
+
+        if (responses.size() != batch.size()) {
+            // Con otro largo no se puede saber a qué vuelo corresponde cada posición
+            log.warn("El servicio de Data Science devolvió {} predicciones para un lote de {} vuelos", responses.size(), batch.size());
+            failAll(batch, new RestClientException("El servicio de Data Science devolvió "
+                    + responses.size() + " predicciones para un lote de " + batch.size() + " vuelos"));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            // null: el llamador reintenta ese vuelo con la llamada individual
+            batch.get(i).result().complete(responses.get(i));
+        }
+    }
+
+    private void sendIndividually(Pending pending) {
+        try {
+            pending.result().complete(dataScienceClient.predictDelay(pending.request()));
+        } catch (RuntimeException | Error e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdown();
+
+        // Con el despachador detenido, lo que quede en la cola ya no se envía
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        failAll(remaining, stopping());
+    }
+
+    private record Pending(PredictionRequest request, CompletableFuture<PredictionResponse> result) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightontime.backend.client;
+
+import com.flightontime.backend.config.DataScienceHttpProperties;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante no bloqueante de {@link DataScienceClient}: la llamada devuelve un
+ * futuro y ningún hilo queda esperando la respuesta del modelo.
+ */
+@Component
+@ConditionalOnProperty(name = "prediction.stack", havingValue = "reactive")
+public class ReactiveDataScienceClient {
+
+    private final WebClient dataScienceWebClient;
+    private final Duration totalTimeout;
+
+    @Value("${datascience.api.url:}")
+    private String dataScienceApiUrl;
+
+    public ReactiveDataScienceClient(WebClient dataScienceWebClient, DataScienceHttpProperties properties) {
+        this.dataScienceWebClient = dataScienceWebClient;
+        this.totalTimeout = properties.totalTimeout();
+    }
+
+    public CompletableFuture<PredictionResponse> predictDelay(PredictionRequest request) {
+        // Si no está configurada la URL del modelo, devolvemos el mismo mock que el cliente bloqueante
+        if (dataScienceApiUrl == null || dataScienceApiUrl.isBlank()) {
+            return CompletableFuture.completedFuture(new PredictionResponse("Retrasado", 0.78));
+        }
+
+        return dataScienceWebClient.post()
+                .uri(dataScienceApiUrl + "/predict")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(PredictionResponse.class)
+                .timeout(totalTimeout)
+                .toFuture();
+    }
+}
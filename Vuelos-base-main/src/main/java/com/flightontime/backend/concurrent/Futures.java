@@ -0,0 +1,50 @@
+package com.flightontime.backend.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Utilidades para esperar futuros sin alterar las excepciones que ve el
+ * llamador.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Espera el futuro y relanza la causa original en lugar de la
+     * {@link CompletionException} que la envuelve, para que el manejo de errores
+     * existente (p.ej. {@code HttpServerErrorException} → 500) siga aplicando.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    public static RuntimeException unwrap(Throwable throwable) {
+        Throwable cause = cause(throwable);
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    /**
+     * La excepción original de un futuro fallido, sin la
+     * {@link CompletionException} que agregan las etapas intermedias.
+     */
+    public static Throwable cause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
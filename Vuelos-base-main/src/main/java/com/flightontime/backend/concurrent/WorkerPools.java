@@ -0,0 +1,40 @@
+package com.flightontime.backend.concurrent;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools de trabajo internos de la aplicación.
+ *
+ * Con {@code spring.threads.virtual.enabled=true} (perfil {@code virtual},
+ * Java 21) cada tarea corre en su propio hilo virtual y el límite de
+ * concurrencia queda a cargo de quien envía las tareas (semáforos, pool HTTP);
+ * si no, se usa un pool fijo de hilos de plataforma.
+ */
+public final class WorkerPools {
+
+    private WorkerPools() {
+    }
+
+    public static ExecutorService newPool(String name, int platformThreads, boolean virtual) {
+        if (virtual) {
+            // VirtualThreadTaskExecutor compila con Java 17 y sólo exige Java 21 al instanciarse
+            ThreadFactory factory = new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS, new SynchronousQueue<>(), factory);
+        }
+
+        AtomicInteger ids = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.flightontime.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del cliente HTTP saliente hacia la API de Data Science
+ * ({@code datascience.http.*}).
+ *
+ * @param maxConnections           conexiones totales del pool
+ * @param maxConnectionsPerRoute   conexiones por host destino
+ * @param connectTimeout           establecimiento de la conexión TCP/TLS
+ * @param connectionRequestTimeout espera máxima por una conexión libre del pool
+ * @param readTimeout              inactividad máxima del socket esperando datos
+ * @param totalTimeout             tope para la petición completa (pool + connect + envío + espera + lectura
+ *                                 del cuerpo)
+ * @param idleTimeout              conexiones ociosas más antiguas que esto se cierran
+ * @param connectionTimeToLive     vida máxima de una conexión reutilizable
+ * @param http2                    usa el cliente HTTP/2 del JDK en lugar del pool de Apache HttpClient
+ * @param gzip                     solicita y descomprime respuestas gzip
+ */
+@ConfigurationProperties(prefix = "datascience.http")
+public record DataScienceHttpProperties(
+        @DefaultValue("50") int maxConnections,
+        @DefaultValue("20") int maxConnectionsPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("500ms") Duration connectionRequestTimeout,
+        @DefaultValue("10s") Duration readTimeout,
+        @DefaultValue("15s") Duration totalTimeout,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("5m") Duration connectionTimeToLive,
+        @DefaultValue("false") boolean http2,
+        @DefaultValue("true") boolean gzip
+) {
+}
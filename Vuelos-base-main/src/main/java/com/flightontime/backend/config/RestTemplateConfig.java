@@ -1,17 +1,133 @@
 package com.flightontime.backend.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cliente HTTP saliente hacia la API de Data Science.
+ *
+ * Por defecto usa Apache HttpClient 5 con un pool de conexiones keep-alive, de
+ * modo que el handshake TLS se paga una vez por conexión y no por predicción.
+ * Con {@code datascience.http.http2=true} usa el cliente del JDK, que multiplexa
+ * las peticiones sobre una única conexión HTTP/2 (los límites del pool no
+ * aplican en ese modo).
+ */
 @Configuration
+@EnableConfigurationProperties(DataScienceHttpProperties.class)
+@Slf4j
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ClientHttpRequestFactory dataScienceRequestFactory) {
+        return new RestTemplate(dataScienceRequestFactory);
     }
-}
 
+    @Bean
+    @ConditionalOnProperty(name = "datascience.http.http2", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager dataScienceConnectionManager(DataScienceHttpProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnections())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.connectTimeout()))
+                        .setSocketTimeout(timeout(properties.readTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.connectionTimeToLive().toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Conexiones del pool disponibles, prestadas y pedidos esperando una
+     * ({@code httpcomponents.httpclient.pool.*}, tag {@code httpclient=datascience}).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datascience.http.http2", havingValue = "false", matchIfMissing = true)
+    public MeterBinder dataScienceConnectionPoolMetrics(PoolingHttpClientConnectionManager dataScienceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(dataScienceConnectionManager, "datascience");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datascience.http.http2", havingValue = "false", matchIfMissing = true)
+    public TotalTimeoutExecHandler totalTimeoutExecHandler(DataScienceHttpProperties properties) {
+        return new TotalTimeoutExecHandler(properties.totalTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datascience.http.http2", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient dataScienceHttpClient(PoolingHttpClientConnectionManager dataScienceConnectionManager,
+                                                     TotalTimeoutExecHandler totalTimeoutExecHandler,
+                                                     DataScienceHttpProperties properties) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(dataScienceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.connectionRequestTimeout()))
+                        .setResponseTimeout(timeout(properties.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.idleTimeout().toMillis()))
+                .addExecInterceptorFirst(TotalTimeoutExecHandler.NAME, totalTimeoutExecHandler);
+
+        // Apache HttpClient envía Accept-Encoding y descomprime gzip por defecto
+        if (!properties.gzip()) {
+            builder.disableContentCompression();
+        }
+
+        log.info("Cliente Data Science: pool Apache HttpClient (max={}, porRuta={}, connect={}, read={}, total={})",
+                properties.maxConnections(), properties.maxConnectionsPerRoute(),
+                properties.connectTimeout(), properties.readTimeout(), properties.totalTimeout());
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datascience.http.http2", havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory dataScienceRequestFactory(CloseableHttpClient dataScienceHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(dataScienceHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datascience.http.http2", havingValue = "true")
+    public ClientHttpRequestFactory dataScienceHttp2RequestFactory(DataScienceHttpProperties properties) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+        // En el cliente del JDK el timeout de lectura cubre la petición y la lectura del cuerpo
+        factory.setReadTimeout(properties.totalTimeout());
 
+        log.info("Cliente Data Science: HTTP/2 (JDK HttpClient, connect={}, total={}, gzip={})",
+                properties.connectTimeout(), properties.totalTimeout(), properties.gzip());
+        return properties.gzip()
+                ? new InterceptingClientHttpRequestFactory(factory, List.of(new GzipDecompressingInterceptor()))
+                : factory;
+    }
 
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
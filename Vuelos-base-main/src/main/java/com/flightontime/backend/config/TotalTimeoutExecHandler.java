@@ -0,0 +1,90 @@
+package com.flightontime.backend.config;
+
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.core5.concurrent.CancellableDependency;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Impone un tope total a cada petición de Apache HttpClient.
+ *
+ * Los timeouts nativos son por fase (espera del pool, connect, inactividad del
+ * socket); un servidor que envía bytes muy lentamente puede superarlos sin
+ * violar ninguno. Este handler cancela la petición si la respuesta completa no
+ * llegó dentro de {@code datascience.http.total-timeout}.
+ *
+ * La cadena devuelve la respuesta apenas llegan las cabeceras, así que el
+ * cuerpo se lee acá, todavía dentro del plazo, y se entrega ya en memoria. Las
+ * respuestas del modelo son de pocos bytes.
+ */
+class TotalTimeoutExecHandler implements ExecChainHandler, DisposableBean {
+
+    static final String NAME = "total-timeout";
+
+    private final long timeoutMillis;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    TotalTimeoutExecHandler(Duration totalTimeout) {
+        this.timeoutMillis = totalTimeout.toMillis();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "datascience-http-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public ClassicHttpResponse execute(ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain)
+            throws IOException, HttpException {
+        if (timeoutMillis <= 0 || !(scope.originalRequest instanceof CancellableDependency cancellable)) {
+            return chain.proceed(request, scope);
+        }
+
+        ScheduledFuture<?> deadline = scheduler.schedule(cancellable::cancel, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            ClassicHttpResponse response = chain.proceed(request, scope);
+            try {
+                readBody(response);
+            } catch (IOException | RuntimeException e) {
+                response.close();
+                throw e;
+            }
+            return response;
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    /**
+     * Lee el cuerpo completo; si vence el plazo, la cancelación cierra la
+     * conexión y la lectura falla.
+     */
+    private static void readBody(ClassicHttpResponse response) throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return;
+        }
+        byte[] body = EntityUtils.toByteArray(entity);
+        ContentType contentType = entity.getContentType() != null ? ContentType.parseLenient(entity.getContentType()) : null;
+        response.setEntity(new ByteArrayEntity(body, contentType, entity.getContentEncoding()));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.flightontime.backend.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Cliente HTTP no bloqueante hacia la API de Data Science, usado cuando
+ * {@code prediction.stack=reactive}.
+ *
+ * Reutiliza {@code datascience.http.*}: las conexiones del pool de Reactor Netty
+ * se comparten entre todos los pedidos en espera sin ocupar un hilo cada uno, y
+ * los que no consiguen conexión esperan como máximo
+ * {@code connection-request-timeout}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "prediction.stack", havingValue = "reactive")
+@EnableConfigurationProperties(DataScienceHttpProperties.class)
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider dataScienceConnectionProvider(DataScienceHttpProperties properties) {
+        return ConnectionProvider.builder("datascience")
+                .maxConnections(properties.maxConnections())
+                .pendingAcquireTimeout(properties.connectionRequestTimeout())
+                .maxIdleTime(properties.idleTimeout())
+                .maxLifeTime(properties.connectionTimeToLive())
+                // Gauges reactor.netty.connection.provider.* del pool
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient dataScienceWebClient(ConnectionProvider dataScienceConnectionProvider,
+                                          DataScienceHttpProperties properties) {
+        HttpClient httpClient = HttpClient.create(dataScienceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.readTimeout())
+                .compress(properties.gzip());
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.flightontime.backend.config;
+
+import com.flightontime.backend.wire.ProtobufPredictionConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Convertidores de los formatos binarios que se negocian con
+ * {@code Content-Type} / {@code Accept}: CBOR, Smile y protobuf. Spring Boot
+ * agrega estos beans a los convertidores de Spring MVC; JSON sigue siendo el
+ * formato por defecto porque los endpoints lo declaran primero en
+ * {@code produces}.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new JacksonCborHttpMessageConverter(CBORMapper.builder().build());
+    }
+
+    @Bean
+    public JacksonSmileHttpMessageConverter smileHttpMessageConverter() {
+        return new JacksonSmileHttpMessageConverter(SmileMapper.builder().build());
+    }
+
+    @Bean
+    public ProtobufPredictionConverter protobufPredictionConverter() {
+        return new ProtobufPredictionConverter();
+    }
+}
@@ -0,0 +1,85 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.dto.response.BatchPredictionLine;
+import com.flightontime.backend.service.BatchFormat;
+import com.flightontime.backend.service.BatchPredictionService;
+import com.flightontime.backend.wire.WireFormats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@Tag(
+		name = "Predicción de Vuelos",
+		description = "Endpoints para predecir retrasos de vuelos utilizando modelos de Machine Learning. Contrato definido con el equipo de Data Science."
+)
+@RestController
+@RequestMapping("/predict")
+@RequiredArgsConstructor
+public class BatchPredictionController {
+
+	private final BatchPredictionService batchPredictionService;
+
+	@Operation(
+			summary = "Predecir retrasos de muchos vuelos",
+			description = """
+            Recibe un array JSON (`application/json`) o un vuelo por línea (`application/x-ndjson`)
+            con el mismo formato que `POST /predict` y responde en NDJSON, una línea por vuelo
+            a medida que se van prediciendo.
+            
+            Con un array CBOR (`application/cbor`) responde una secuencia CBOR
+            (`application/cbor-seq`) con los mismos campos.
+            
+            - Las líneas no respetan el orden de entrada: `index` indica la posición del vuelo
+            - Un vuelo inválido o que el modelo no pudo predecir no corta el lote: su línea trae
+              `status` y `error` en lugar de `prediction`
+            - Las predicciones exitosas se guardan en el historial igual que en `POST /predict`
+            - La respuesta se escribe en el hilo del pedido, sin el timeout de los pedidos async
+            """
+	)
+	@ApiResponses(value = {
+			@ApiResponse(
+					responseCode = "200",
+					description = "Resultados por vuelo",
+					content = @Content(
+							mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+							schema = @Schema(implementation = BatchPredictionLine.class),
+							examples = @ExampleObject(
+									name = "Un vuelo predicho y uno inválido",
+									value = """
+                        {"index":1,"status":200,"prediction":{"prevision":"A TIEMPO","probabilidad":0.85}}
+                        {"index":0,"status":400,"error":"El codigo XX no existe en el catálogo de aerolíneas"}
+                        """
+							)
+					)
+			)
+	})
+	@PostMapping(
+			path = "/batch",
+			consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+			produces = {MediaType.APPLICATION_NDJSON_VALUE, WireFormats.APPLICATION_CBOR_SEQ_VALUE}
+	)
+	public void predictBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		MediaType contentType = MediaType.parseMediaType(request.getContentType());
+		BatchFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? BatchFormat.NDJSON
+				: MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? BatchFormat.CBOR
+				: BatchFormat.JSON;
+
+		// Se escribe en el hilo del pedido y no como StreamingResponseBody: así un lote largo no queda
+		// sujeto a spring.mvc.async.request-timeout, que lo cortaría a mitad de la respuesta
+		response.setContentType(format == BatchFormat.CBOR ? WireFormats.APPLICATION_CBOR_SEQ_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+		batchPredictionService.predict(request.getInputStream(), format, response.getOutputStream());
+	}
+}
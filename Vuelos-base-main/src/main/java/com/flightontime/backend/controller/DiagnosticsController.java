@@ -0,0 +1,191 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.cache.PredictionCache;
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.client.PredictionBatcher;
+import com.flightontime.backend.dto.response.BatchingStatsResponse;
+import com.flightontime.backend.dto.response.CacheStatsResponse;
+import com.flightontime.backend.dto.response.CatalogInfoResponse;
+import com.flightontime.backend.dto.response.HistoryWriterStatsResponse;
+import com.flightontime.backend.dto.response.ModelStatsResponse;
+import com.flightontime.backend.dto.response.ResilienceStatsResponse;
+import com.flightontime.backend.dto.response.ScheduleStatsResponse;
+import com.flightontime.backend.history.PredictionHistoryWriter;
+import com.flightontime.backend.model.LocalModelBackend;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.resilience.CircuitBreaker;
+import com.flightontime.backend.resilience.ModelCallGuard;
+import com.flightontime.backend.schedule.SchedulePrecomputer;
+import com.flightontime.backend.schedule.SchedulePredictions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+		name = "Diagnóstico",
+		description = "Estado interno del nodo: versiones cargadas y estadísticas de los componentes"
+)
+@RestController
+@RequestMapping("/internal")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+	private final CatalogRegistry catalogRegistry;
+	private final PredictionCache predictionCache;
+	private final PredictionBatcher predictionBatcher;
+	private final PredictionHistoryWriter historyWriter;
+	private final ModelCallGuard modelCallGuard;
+	private final ModelGateway modelGateway;
+	private final SchedulePredictions schedulePredictions;
+	private final SchedulePrecomputer schedulePrecomputer;
+
+	@Operation(
+			summary = "Versión del catálogo",
+			description = "Devuelve la versión y la cantidad de entradas del catálogo que está usando este nodo"
+	)
+	@GetMapping("/catalog")
+	public ResponseEntity<CatalogInfoResponse> catalog() {
+		CatalogIndex index = catalogRegistry.current();
+		return ResponseEntity.ok(new CatalogInfoResponse(
+				index.checksum(),
+				index.generation(),
+				index.source(),
+				index.loadedAt(),
+				index.airlineCount(),
+				index.airportCount()
+		));
+	}
+
+	@Operation(
+			summary = "Estadísticas de la caché de predicciones",
+			description = "Aciertos, fallos, pedidos coalescidos y desalojos de la caché delante del modelo"
+	)
+	@GetMapping("/prediction-cache")
+	public ResponseEntity<CacheStatsResponse> predictionCache() {
+		long hits = predictionCache.hits();
+		long coalesced = predictionCache.coalesced();
+		long misses = predictionCache.misses();
+		long total = hits + coalesced + misses;
+		return ResponseEntity.ok(new CacheStatsResponse(
+				predictionCache.isEnabled(),
+				predictionCache.size(),
+				hits,
+				misses,
+				coalesced,
+				predictionCache.evictions(),
+				total == 0 ? 0.0 : (double) (hits + coalesced) / total
+		));
+	}
+
+	@Operation(
+			summary = "Estadísticas del micro-batching",
+			description = "Lotes enviados al modelo, tamaño medio y vuelos reintentados con la llamada individual"
+	)
+	@GetMapping("/model-batching")
+	public ResponseEntity<BatchingStatsResponse> modelBatching() {
+		long batches = predictionBatcher.batches();
+		long items = predictionBatcher.batchedItems();
+		return ResponseEntity.ok(new BatchingStatsResponse(
+				predictionBatcher.isEnabled(),
+				batches,
+				items,
+				batches == 0 ? 0.0 : (double) items / batches,
+				predictionBatcher.fallbacks(),
+				predictionBatcher.queueDepth()
+		));
+	}
+
+	@Operation(
+			summary = "Predicciones de vuelos programados",
+			description = "Tamaño y antigüedad de la tabla precalculada, pedidos que respondió y resultado del precálculo"
+	)
+	@GetMapping("/scheduled-predictions")
+	public ResponseEntity<ScheduleStatsResponse> scheduledPredictions() {
+		return ResponseEntity.ok(new ScheduleStatsResponse(
+				schedulePredictions.isEnabled(),
+				schedulePredictions.source(),
+				schedulePredictions.builtAt(),
+				schedulePredictions.size(),
+				schedulePredictions.oldestEntryAgeSeconds(),
+				schedulePredictions.hits(),
+				schedulePredictions.misses(),
+				schedulePredictions.stale(),
+				schedulePrecomputer.predicted(),
+				schedulePrecomputer.reused(),
+				schedulePrecomputer.failed()
+		));
+	}
+
+	@Operation(
+			summary = "Estado del historial de predicciones",
+			description = "Profundidad de la cola de escritura diferida, filas escritas, descartadas o fallidas y latencia de los batches"
+	)
+	@GetMapping("/prediction-history")
+	public ResponseEntity<HistoryWriterStatsResponse> predictionHistory() {
+		return ResponseEntity.ok(new HistoryWriterStatsResponse(
+				historyWriter.isWriteBehind(),
+				historyWriter.overflowPolicy().name(),
+				historyWriter.queueDepth(),
+				historyWriter.queueCapacity(),
+				historyWriter.written(),
+				historyWriter.dropped(),
+				historyWriter.failed(),
+				historyWriter.callerRuns(),
+				historyWriter.flushes(),
+				historyWriter.averageFlushMillis(),
+				historyWriter.maxFlushMillis()
+		));
+	}
+
+	@Operation(
+			summary = "Estado de la protección del modelo",
+			description = "Circuit breaker, bulkhead y hedging alrededor de la llamada al modelo de Data Science"
+	)
+	@GetMapping("/model-resilience")
+	public ResponseEntity<ResilienceStatsResponse> modelResilience() {
+		CircuitBreaker circuitBreaker = modelCallGuard.circuitBreaker();
+		return ResponseEntity.ok(new ResilienceStatsResponse(
+				modelCallGuard.isEnabled(),
+				circuitBreaker.state().name(),
+				circuitBreaker.failureRate(),
+				circuitBreaker.slowCallRate(),
+				circuitBreaker.openings(),
+				circuitBreaker.notPermitted(),
+				modelCallGuard.bulkheadInUse(),
+				modelCallGuard.bulkheadCapacity(),
+				modelCallGuard.bulkheadRejected(),
+				modelCallGuard.calls(),
+				modelCallGuard.isHedgeEnabled(),
+				modelCallGuard.hedges(),
+				modelCallGuard.hedgesWon(),
+				modelCallGuard.latencyP95Millis()
+		));
+	}
+
+	@Operation(
+			summary = "Backend de predicción",
+			description = "Modo del backend, modelo local cargado y discrepancias con el modelo remoto en modo shadow"
+	)
+	@GetMapping("/model")
+	public ResponseEntity<ModelStatsResponse> model() {
+		LocalModelBackend local = modelGateway.local();
+		long comparisons = modelGateway.comparisons();
+		long disagreements = modelGateway.disagreements();
+		return ResponseEntity.ok(new ModelStatsResponse(
+				modelGateway.mode().name(),
+				local == null ? null : local.type(),
+				local == null ? null : local.version(),
+				comparisons,
+				disagreements,
+				comparisons == 0 ? 0.0 : (double) disagreements / comparisons,
+				modelGateway.meanProbabilityDelta(),
+				modelGateway.localErrors(),
+				modelGateway.fallbacks()
+		));
+	}
+}
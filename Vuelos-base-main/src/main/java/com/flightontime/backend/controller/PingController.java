@@ -0,0 +1,43 @@
+package com.flightontime.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Healthcheck, común al stack bloqueante y al reactivo.
+ */
+@Tag(
+		name = "Predicción de Vuelos",
+		description = "Endpoints para predecir retrasos de vuelos utilizando modelos de Machine Learning. Contrato definido con el equipo de Data Science."
+)
+@RestController
+@RequestMapping("/predict")
+public class PingController {
+
+	@Operation(
+			summary = "Verificar estado del servicio",
+			description = "Endpoint de healthcheck para verificar que el servicio está funcionando correctamente"
+	)
+	@ApiResponses(value = {
+			@ApiResponse(
+					responseCode = "200",
+					description = "Servicio funcionando correctamente",
+					content = @Content(
+							mediaType = "text/plain",
+							schema = @Schema(type = "string", example = "OK")
+					)
+			)
+	})
+	@GetMapping("/ping")
+	public ResponseEntity<String> ping() {
+		return ResponseEntity.ok("OK");
+	}
+}
@@ -3,6 +3,7 @@ package com.flightontime.backend.controller;
 import com.flightontime.backend.dto.request.PredictionRequest;
 import com.flightontime.backend.dto.response.PredictionResponse;
 import com.flightontime.backend.service.PredictionService;
+import com.flightontime.backend.wire.WireFormats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -12,8 +13,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,29 +28,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/predict")
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "prediction.stack", havingValue = "blocking", matchIfMissing = true)
 public class PredictionController {
 
 	private final PredictionService predictionService;
 
-	@Operation(
-			summary = "Verificar estado del servicio",
-			description = "Endpoint de healthcheck para verificar que el servicio está funcionando correctamente"
-	)
-	@ApiResponses(value = {
-			@ApiResponse(
-					responseCode = "200",
-					description = "Servicio funcionando correctamente",
-					content = @Content(
-							mediaType = "text/plain",
-							schema = @Schema(type = "string", example = "OK")
-					)
-			)
-	})
-	@GetMapping("/ping")
-	public ResponseEntity<String> ping() {
-		return ResponseEntity.ok("OK");
-	}
-
 	@Operation(
 			summary = "Predecir retraso de vuelo",
 			description = """
@@ -58,6 +42,11 @@ public class PredictionController {
             - Los códigos de aerolínea se convierten automáticamente a mayúsculas
             - La fecha debe estar en formato 'yyyy-MM-dd HH:mm:ss'
             - La distancia acepta hasta 7 dígitos enteros y 2 decimales
+            - La distancia es opcional: si se omite se calcula con las coordenadas del catálogo de aeropuertos;
+              si se envía debe ser plausible para la ruta
+            - Además de JSON (por defecto) acepta y devuelve CBOR (`application/cbor`), Smile
+              (`application/x-jackson-smile`) y protobuf (`application/x-protobuf`, esquema en
+              `src/main/proto/prediction.proto`) según `Content-Type` y `Accept`
             
             **Respuesta:**
             - `prevision`: "A TIEMPO" o "RETRASADO"
@@ -158,7 +147,13 @@ public class PredictionController {
 					)
 			)
 	})
-	@PostMapping
+	// JSON primero: es lo que recibe un cliente que no pide un formato binario
+	@PostMapping(produces = {
+			MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_CBOR_VALUE,
+			WireFormats.APPLICATION_SMILE_VALUE,
+			WireFormats.APPLICATION_PROTOBUF_VALUE
+	})
 	public ResponseEntity<PredictionResponse> predict(
 			@io.swagger.v3.oas.annotations.parameters.RequestBody(
 					description = "Datos del vuelo para realizar la predicción",
@@ -0,0 +1,111 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.dto.response.PredictionHistoryPageResponse;
+import com.flightontime.backend.export.ExportDateField;
+import com.flightontime.backend.export.ExportFormat;
+import com.flightontime.backend.export.ExportQuery;
+import com.flightontime.backend.export.PredictionExporter;
+import com.flightontime.backend.service.PredictionHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@Tag(
+		name = "Historial de Predicciones",
+		description = "Consulta paginada y exportación de las predicciones registradas"
+)
+@RestController
+@RequestMapping("/predictions")
+@RequiredArgsConstructor
+public class PredictionHistoryController {
+
+	private final PredictionHistoryService historyService;
+	private final PredictionExporter exporter;
+
+	@Operation(
+			summary = "Consultar el historial de predicciones",
+			description = """
+            Devuelve las predicciones registradas que cumplen los filtros, de a una página por vez.
+            
+            **Filtros obligatorios:** la ruta (`origen` y `destino`) o la `aerolinea`.
+            - Con ruta, las predicciones se ordenan por fecha de partida ascendente (`orden` = DEPARTURE)
+            - Sólo con aerolínea y un rango de partida (`desde`/`hasta`), por fecha de partida ascendente
+              (`orden` = AIRLINE_DEPARTURE)
+            - Sólo con aerolínea y sin rango, las más recientes primero (`orden` = RECENT)
+            - `prevision` no acota el índice: si descarta muchas filas, cada página lee más
+            
+            **Paginación:** cada respuesta trae `nextCursor`; para la página siguiente se repite el
+            pedido con los mismos filtros y `cursor=<nextCursor>`. Es `null` en la última página.
+            """
+	)
+	@GetMapping
+	public ResponseEntity<PredictionHistoryPageResponse> find(
+			@Parameter(description = "Código IATA de la aerolínea", example = "AA")
+			@RequestParam(required = false) String aerolinea,
+			@Parameter(description = "Código IATA del aeropuerto de origen", example = "SFO")
+			@RequestParam(required = false) String origen,
+			@Parameter(description = "Código IATA del aeropuerto de destino", example = "LAX")
+			@RequestParam(required = false) String destino,
+			@Parameter(description = "Partida desde (inclusive), yyyy-MM-dd HH:mm:ss", example = "2024-01-01 00:00:00")
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime desde,
+			@Parameter(description = "Partida hasta (exclusive), yyyy-MM-dd HH:mm:ss", example = "2024-02-01 00:00:00")
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime hasta,
+			@Parameter(description = "Resultado predicho: PUNTUAL o RETRASADO", example = "RETRASADO")
+			@RequestParam(required = false) String prevision,
+			@Parameter(description = "Cursor devuelto por la página anterior")
+			@RequestParam(required = false) String cursor,
+			@Parameter(description = "Tamaño de página (1 a " + PredictionHistoryService.MAX_PAGE_SIZE + ")", example = "50")
+			@RequestParam(required = false) Integer limite
+	) {
+		return ResponseEntity.ok(historyService.find(aerolinea, origen, destino, desde, hasta, prevision, cursor, limite));
+	}
+
+	@Operation(
+			summary = "Exportar el historial de predicciones",
+			description = """
+            Descarga todas las predicciones del rango en CSV o NDJSON, una fila por línea, a medida que se
+            leen de la base. Pensado para extraer millones de filas (por ejemplo para reentrenar el modelo).
+            
+            - `campo` indica a qué fecha se aplica el rango: `partida` (por defecto) o `registro`
+            - Con `gzip=true` la descarga es un archivo `.gz`
+            - Las filas no vienen en un orden particular
+            """
+	)
+	@GetMapping("/export")
+	public void export(
+			@Parameter(description = "csv o ndjson", example = "csv")
+			@RequestParam(defaultValue = "csv") String formato,
+			@Parameter(description = "Fecha a la que se aplica el rango: partida o registro", example = "registro")
+			@RequestParam(defaultValue = "partida") String campo,
+			@Parameter(description = "Desde (inclusive), yyyy-MM-dd HH:mm:ss", example = "2024-01-01 00:00:00")
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime desde,
+			@Parameter(description = "Hasta (exclusive), yyyy-MM-dd HH:mm:ss", example = "2024-02-01 00:00:00")
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime hasta,
+			@Parameter(description = "Comprimir la descarga con gzip", example = "true")
+			@RequestParam(defaultValue = "false") boolean gzip,
+			HttpServletResponse response
+	) throws IOException {
+		// Se valida antes de responder: una vez iniciada la descarga ya no se puede devolver 400
+		ExportFormat format = ExportFormat.fromName(formato);
+		ExportQuery query = new ExportQuery(ExportDateField.fromName(campo), desde, hasta);
+		String filename = "predictions." + format.extension() + (gzip ? ".gz" : "");
+
+		// Se escribe en el hilo del pedido y no como StreamingResponseBody: así la descarga no queda
+		// sujeta a spring.mvc.async.request-timeout, que cortaría las exportaciones largas
+		response.setContentType(gzip ? "application/gzip" : format.mediaType());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+		exporter.export(query, format, gzip, response.getOutputStream());
+	}
+}
@@ -0,0 +1,62 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.dto.response.DelayStatsResponse;
+import com.flightontime.backend.service.PredictionStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@Tag(
+		name = "Estadísticas",
+		description = "Tasas de retraso por ruta y aerolínea a partir de agregados diarios del historial"
+)
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class PredictionStatsController {
+
+	private final PredictionStatsService statsService;
+
+	@Operation(
+			summary = "Tasa de retraso de una ruta",
+			description = "Predicciones, retrasos y probabilidad de retraso media por día de partida en [desde, hasta)"
+	)
+	@GetMapping("/routes")
+	public ResponseEntity<DelayStatsResponse> route(
+			@Parameter(description = "Código IATA del aeropuerto de origen", example = "SFO")
+			@RequestParam String origen,
+			@Parameter(description = "Código IATA del aeropuerto de destino", example = "LAX")
+			@RequestParam String destino,
+			@Parameter(description = "Primer día de partida (inclusive), yyyy-MM-dd", example = "2024-01-01")
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+			@Parameter(description = "Último día de partida (exclusive), yyyy-MM-dd", example = "2024-02-01")
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta
+	) {
+		return ResponseEntity.ok(statsService.route(origen, destino, desde, hasta));
+	}
+
+	@Operation(
+			summary = "Tasa de retraso de una aerolínea",
+			description = "Predicciones, retrasos y probabilidad de retraso media por día de partida en [desde, hasta)"
+	)
+	@GetMapping("/airlines")
+	public ResponseEntity<DelayStatsResponse> airline(
+			@Parameter(description = "Código IATA de la aerolínea", example = "AA")
+			@RequestParam String aerolinea,
+			@Parameter(description = "Primer día de partida (inclusive), yyyy-MM-dd", example = "2024-01-01")
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+			@Parameter(description = "Último día de partida (exclusive), yyyy-MM-dd", example = "2024-02-01")
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta
+	) {
+		return ResponseEntity.ok(statsService.airline(aerolinea, desde, hasta));
+	}
+}
@@ -0,0 +1,68 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.service.PredictionService;
+import com.flightontime.backend.wire.WireFormats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code POST /predict} con {@code prediction.stack=reactive}: el hilo del
+ * servlet se libera apenas se valida el pedido y la respuesta se escribe cuando
+ * el modelo contesta. El contrato es el mismo que en {@link PredictionController}.
+ */
+@Tag(
+		name = "Predicción de Vuelos",
+		description = "Endpoints para predecir retrasos de vuelos utilizando modelos de Machine Learning. Contrato definido con el equipo de Data Science."
+)
+@RestController
+@RequestMapping("/predict")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "prediction.stack", havingValue = "reactive")
+public class ReactivePredictionController {
+
+	private final PredictionService predictionService;
+
+	@Operation(
+			summary = "Predecir retraso de vuelo",
+			description = "Mismo contrato que el stack bloqueante; la espera al modelo no ocupa un hilo del servidor."
+	)
+	@ApiResponses(value = {
+			@ApiResponse(
+					responseCode = "200",
+					description = "Predicción realizada exitosamente",
+					content = @Content(
+							mediaType = "application/json",
+							schema = @Schema(implementation = PredictionResponse.class)
+					)
+			),
+			@ApiResponse(responseCode = "400", description = "Error de validación en los datos de entrada"),
+			@ApiResponse(responseCode = "503", description = "El servicio de Data Science no está disponible")
+	})
+	// JSON primero: es lo que recibe un cliente que no pide un formato binario
+	@PostMapping(produces = {
+			MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_CBOR_VALUE,
+			WireFormats.APPLICATION_SMILE_VALUE,
+			WireFormats.APPLICATION_PROTOBUF_VALUE
+	})
+	public CompletableFuture<ResponseEntity<PredictionResponse>> predict(@RequestBody @Valid PredictionRequest request) {
+		return predictionService.predictAsync(request).thenApply(ResponseEntity::ok);
+	}
+}
@@ -52,14 +52,22 @@ public record PredictionRequest(
         LocalDateTime fechaPartida,
 
         @Schema(
-                description = "Distancia del vuelo en kilómetros (máximo 7 dígitos enteros, 2 decimales)",
+                description = "Distancia del vuelo en kilómetros (máximo 7 dígitos enteros, 2 decimales). "
+                        + "Opcional: si se omite se calcula a partir de las coordenadas del catálogo de aeropuertos",
                 example = "559.23",
                 minimum = "0.01",
-                maximum = "9999999.99"
+                maximum = "9999999.99",
+                nullable = true
         )
-        @NotNull(message = "La distancia es obligatoria")
         @Positive(message = "La distancia debe ser mayor a 0")
         @Digits(integer = 7, fraction = 2, message = "Formato inválido para distancia_km")
         Double distanciaKm
 ) {
+
+    /**
+     * Copia del request con la distancia indicada.
+     */
+    public PredictionRequest withDistanciaKm(Double distanciaKm) {
+        return new PredictionRequest(aerolinea, origen, destino, fechaPartida, distanciaKm);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.flightontime.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de un vuelo dentro de una predicción batch (una línea NDJSON)")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchPredictionLine(
+
+        @Schema(description = "Posición del vuelo en la entrada, empezando en 0", example = "0")
+        int index,
+
+        @Schema(description = "Status HTTP que habría tenido el vuelo como pedido individual", example = "200")
+        int status,
+
+        @Schema(description = "Predicción del modelo; ausente si el vuelo falló")
+        PredictionResponse prediction,
+
+        @Schema(description = "Motivo del fallo; ausente si el vuelo se predijo", example = "El codigo XX no existe en el catálogo de aerolíneas")
+        String error
+) {
+
+    public static BatchPredictionLine success(int index, PredictionResponse prediction) {
+        return new BatchPredictionLine(index, 200, prediction, null);
+    }
+
+    public static BatchPredictionLine failure(int index, int status, String error) {
+        return new BatchPredictionLine(index, status, null, error);
+    }
+}
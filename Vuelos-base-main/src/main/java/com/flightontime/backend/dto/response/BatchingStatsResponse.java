@@ -0,0 +1,26 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Estadísticas del micro-batching hacia el modelo de Data Science")
+public record BatchingStatsResponse(
+
+        @Schema(description = "Si el micro-batching está activo", example = "true")
+        boolean enabled,
+
+        @Schema(description = "Llamadas batch enviadas al modelo", example = "412")
+        long batches,
+
+        @Schema(description = "Vuelos enviados dentro de llamadas batch", example = "5120")
+        long batchedItems,
+
+        @Schema(description = "Vuelos por llamada batch en promedio", example = "12.4")
+        double averageBatchSize,
+
+        @Schema(description = "Vuelos reintentados con la llamada individual tras fallar en el lote", example = "3")
+        long fallbacks,
+
+        @Schema(description = "Pedidos esperando a ser agrupados", example = "0")
+        int queueDepth
+) {
+}
@@ -0,0 +1,29 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Estadísticas de la caché de predicciones de este nodo")
+public record CacheStatsResponse(
+
+        @Schema(description = "Si la caché está activa", example = "true")
+        boolean enabled,
+
+        @Schema(description = "Entradas actuales (estimado)", example = "1250")
+        long size,
+
+        @Schema(description = "Pedidos servidos desde la caché", example = "8421")
+        long hits,
+
+        @Schema(description = "Pedidos que llamaron al modelo", example = "1310")
+        long misses,
+
+        @Schema(description = "Pedidos que esperaron una llamada idéntica ya en curso", example = "37")
+        long coalesced,
+
+        @Schema(description = "Entradas desalojadas por tamaño", example = "0")
+        long evictions,
+
+        @Schema(description = "Proporción de pedidos que no llamaron al modelo", example = "0.87")
+        double hitRate
+) {
+}
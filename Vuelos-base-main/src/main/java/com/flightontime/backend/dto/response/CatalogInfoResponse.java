@@ -0,0 +1,28 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Versión del catálogo cargado en este nodo")
+public record CatalogInfoResponse(
+
+        @Schema(description = "Checksum del contenido de los archivos de catálogo", example = "1c291ca3")
+        String version,
+
+        @Schema(description = "Número de cargas realizadas desde el arranque", example = "1")
+        long generation,
+
+        @Schema(description = "Origen de los archivos", example = "classpath:catalog/")
+        String source,
+
+        @Schema(description = "Momento de la última carga")
+        Instant loadedAt,
+
+        @Schema(description = "Cantidad de aerolíneas", example = "5")
+        int airlines,
+
+        @Schema(description = "Cantidad de aeropuertos", example = "5")
+        int airports
+) {
+}
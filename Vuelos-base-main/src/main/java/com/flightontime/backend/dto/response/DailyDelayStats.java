@@ -0,0 +1,25 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Agregados de un día de partida")
+public record DailyDelayStats(
+
+        @Schema(description = "Día de partida", example = "2024-01-15")
+        LocalDate day,
+
+        @Schema(description = "Predicciones registradas", example = "412")
+        long predictions,
+
+        @Schema(description = "Predicciones con resultado RETRASADO", example = "97")
+        long delayed,
+
+        @Schema(description = "Proporción de predicciones con retraso", example = "0.235")
+        double delayRate,
+
+        @Schema(description = "Probabilidad de retraso media según el modelo", example = "0.31")
+        double averageDelayProbability
+) {
+}
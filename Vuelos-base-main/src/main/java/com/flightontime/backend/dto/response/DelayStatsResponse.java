@@ -0,0 +1,38 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Tasa de retraso de una aerolínea o ruta en un rango de días de partida")
+public record DelayStatsResponse(
+
+        @Schema(description = "Agrupación", example = "ROUTE", allowableValues = {"ROUTE", "AIRLINE"})
+        String dimension,
+
+        @Schema(description = "Código de aerolínea o ruta ORIGEN-DESTINO", example = "SFO-LAX")
+        String key,
+
+        @Schema(description = "Primer día del rango (inclusive)", example = "2024-01-01")
+        LocalDate desde,
+
+        @Schema(description = "Último día del rango (exclusive)", example = "2024-02-01")
+        LocalDate hasta,
+
+        @Schema(description = "Predicciones registradas en el rango", example = "12840")
+        long predictions,
+
+        @Schema(description = "Predicciones con resultado RETRASADO en el rango", example = "3011")
+        long delayed,
+
+        @Schema(description = "Proporción de predicciones con retraso", example = "0.2345")
+        double delayRate,
+
+        @Schema(description = "Probabilidad de retraso media según el modelo", example = "0.29")
+        double averageDelayProbability,
+
+        @Schema(description = "Detalle por día; sólo los días con predicciones")
+        List<DailyDelayStats> days
+) {
+}
@@ -0,0 +1,41 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Estado de la escritura diferida del historial de predicciones")
+public record HistoryWriterStatsResponse(
+
+        @Schema(description = "Si las filas se encolan y se escriben en segundo plano", example = "true")
+        boolean writeBehind,
+
+        @Schema(description = "Política aplicada con la cola llena", example = "BLOCK")
+        String overflowPolicy,
+
+        @Schema(description = "Filas esperando ser escritas", example = "42")
+        int queueDepth,
+
+        @Schema(description = "Capacidad de la cola", example = "10000")
+        int queueCapacity,
+
+        @Schema(description = "Filas escritas en la base", example = "98231")
+        long written,
+
+        @Schema(description = "Filas descartadas por la cola llena", example = "0")
+        long dropped,
+
+        @Schema(description = "Filas cuyo batch falló al escribirse", example = "0")
+        long failed,
+
+        @Schema(description = "Filas escritas en el hilo del pedido por la cola llena", example = "0")
+        long callerRuns,
+
+        @Schema(description = "Batches escritos", example = "1210")
+        long flushes,
+
+        @Schema(description = "Duración media de un batch en milisegundos", example = "4.2")
+        double averageFlushMillis,
+
+        @Schema(description = "Duración máxima de un batch en milisegundos", example = "38.7")
+        double maxFlushMillis
+) {
+}
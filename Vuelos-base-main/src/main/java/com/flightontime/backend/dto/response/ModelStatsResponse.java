@@ -0,0 +1,35 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Backend de predicción en uso y comparación entre el modelo remoto y el local")
+public record ModelStatsResponse(
+
+        @Schema(description = "Modo configurado: REMOTE, SHADOW, FALLBACK o LOCAL", example = "SHADOW")
+        String mode,
+
+        @Schema(description = "Tipo del modelo local; null si no hay modelo local cargado", example = "logistic")
+        String localType,
+
+        @Schema(description = "Versión del modelo local; null si no hay modelo local cargado", example = "2025-01")
+        String localVersion,
+
+        @Schema(description = "Predicciones evaluadas por ambos modelos en modo shadow", example = "10240")
+        long comparisons,
+
+        @Schema(description = "Comparaciones con previsiones distintas", example = "312")
+        long disagreements,
+
+        @Schema(description = "Proporción de comparaciones con previsiones distintas", example = "0.03")
+        double disagreementRate,
+
+        @Schema(description = "Diferencia media entre las probabilidades de retraso de ambos modelos", example = "0.06")
+        double meanProbabilityDelta,
+
+        @Schema(description = "Errores del modelo local", example = "0")
+        long localErrors,
+
+        @Schema(description = "Predicciones respondidas por el modelo local porque el remoto falló", example = "57")
+        long fallbacks
+) {
+}
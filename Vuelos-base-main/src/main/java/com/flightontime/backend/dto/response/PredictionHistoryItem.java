@@ -0,0 +1,40 @@
+package com.flightontime.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Predicción registrada en el historial")
+public record PredictionHistoryItem(
+
+        @Schema(description = "Identificador de la fila", example = "10452")
+        long id,
+
+        @Schema(description = "Código IATA de la aerolínea", example = "AA")
+        String aerolinea,
+
+        @Schema(description = "Código IATA del aeropuerto de origen", example = "SFO")
+        String origen,
+
+        @Schema(description = "Código IATA del aeropuerto de destino", example = "LAX")
+        String destino,
+
+        @Schema(description = "Fecha y hora de partida", example = "2024-01-15 14:30:00", type = "string")
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime fechaPartida,
+
+        @Schema(description = "Distancia usada en la predicción, en kilómetros", example = "559")
+        int distanciaKm,
+
+        @Schema(description = "Resultado predicho", example = "PUNTUAL", allowableValues = {"PUNTUAL", "RETRASADO"})
+        String prevision,
+
+        @Schema(description = "Probabilidad informada por el modelo", example = "0.85")
+        double probabilidad,
+
+        @Schema(description = "Momento en que se registró la predicción", example = "2024-01-10 09:12:45", type = "string")
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime createdAt
+) {
+}
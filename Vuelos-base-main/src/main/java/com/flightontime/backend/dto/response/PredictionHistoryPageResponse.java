@@ -0,0 +1,28 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página del historial de predicciones")
+public record PredictionHistoryPageResponse(
+
+        @Schema(description = "Predicciones de la página")
+        List<PredictionHistoryItem> items,
+
+        @Schema(
+                description = "Orden de la página: DEPARTURE (ruta, por fecha de partida ascendente), "
+                        + "AIRLINE_DEPARTURE (aerolínea con rango de partida, por fecha de partida ascendente) "
+                        + "o RECENT (aerolínea, más recientes primero)",
+                example = "DEPARTURE"
+        )
+        String orden,
+
+        @Schema(
+                description = "Cursor para pedir la página siguiente; null si no hay más resultados",
+                example = "RHwyMDI0LTAxLTE1VDE0OjMwfDEwNDUy",
+                nullable = true
+        )
+        String nextCursor
+) {
+}
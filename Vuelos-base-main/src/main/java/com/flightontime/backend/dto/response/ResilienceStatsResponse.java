@@ -0,0 +1,50 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Estado de la protección alrededor de la llamada al modelo de Data Science")
+public record ResilienceStatsResponse(
+
+        @Schema(description = "Si la protección está activa", example = "true")
+        boolean enabled,
+
+        @Schema(description = "Estado del circuit breaker: CLOSED, OPEN o HALF_OPEN", example = "CLOSED")
+        String circuitState,
+
+        @Schema(description = "Porcentaje de fallos en la ventana; -1 sin llamadas suficientes", example = "4.0")
+        double failureRate,
+
+        @Schema(description = "Porcentaje de llamadas lentas en la ventana; -1 sin llamadas suficientes", example = "10.0")
+        double slowCallRate,
+
+        @Schema(description = "Veces que se abrió el circuito", example = "2")
+        long circuitOpenings,
+
+        @Schema(description = "Llamadas rechazadas con el circuito abierto", example = "130")
+        long notPermitted,
+
+        @Schema(description = "Llamadas al modelo en curso", example = "12")
+        int bulkheadInUse,
+
+        @Schema(description = "Llamadas simultáneas permitidas", example = "100")
+        int bulkheadCapacity,
+
+        @Schema(description = "Llamadas rechazadas por el bulkhead", example = "0")
+        long bulkheadRejected,
+
+        @Schema(description = "Llamadas al modelo que pasaron las protecciones", example = "5120")
+        long calls,
+
+        @Schema(description = "Si el hedging está activo", example = "false")
+        boolean hedgeEnabled,
+
+        @Schema(description = "Intentos de respaldo enviados", example = "48")
+        long hedges,
+
+        @Schema(description = "Intentos de respaldo que respondieron primero", example = "31")
+        long hedgesWon,
+
+        @Schema(description = "p95 de las llamadas exitosas en milisegundos; -1 sin muestras", example = "420.5")
+        double latencyP95Millis
+) {
+}
@@ -0,0 +1,43 @@
+package com.flightontime.backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Estado de la tabla de predicciones precalculadas para vuelos programados de este nodo")
+public record ScheduleStatsResponse(
+
+        @Schema(description = "Si la tabla está activa (prediction.schedule.enabled)", example = "true")
+        boolean enabled,
+
+        @Schema(description = "Archivo de vuelos programados de la última tabla", example = "schedule/upcoming-flights.csv")
+        String source,
+
+        @Schema(description = "Inicio de la ejecución que construyó la tabla vigente", example = "2025-03-01T10:00:00Z")
+        Instant builtAt,
+
+        @Schema(description = "Vuelos en la tabla", example = "48210")
+        int entries,
+
+        @Schema(description = "Antigüedad de la predicción más vieja de la tabla, en segundos", example = "5400")
+        long oldestEntryAgeSeconds,
+
+        @Schema(description = "Pedidos respondidos desde la tabla", example = "91230")
+        long hits,
+
+        @Schema(description = "Pedidos sin vuelo programado que fueron al modelo", example = "15022")
+        long misses,
+
+        @Schema(description = "Pedidos con vuelo programado cuya predicción superaba max-age", example = "12")
+        long stale,
+
+        @Schema(description = "Vuelos predichos por el precálculo desde el arranque", example = "96420")
+        long predicted,
+
+        @Schema(description = "Vuelos reutilizados de la tabla anterior sin llamar al modelo", example = "240800")
+        long reused,
+
+        @Schema(description = "Vuelos cuya predicción falló al precalcular", example = "3")
+        long failed
+) {
+}
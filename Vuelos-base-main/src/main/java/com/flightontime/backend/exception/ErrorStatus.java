@@ -0,0 +1,34 @@
+package com.flightontime.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Traduce los errores del servicio al status HTTP que reciben los clientes.
+ * Lo comparten el GlobalExceptionHandler y el endpoint batch, que informa el
+ * status por línea.
+ */
+public final class ErrorStatus {
+
+    private ErrorStatus() {
+    }
+
+    public static HttpStatus of(RuntimeException ex) {
+        if (ex instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof IllegalStateException) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+
+        String message = ex.getMessage();
+        // Verificar si es un error de disponibilidad del servicio (503)
+        if (message != null && message.contains("no está disponible")) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        // Verificar si es un error de procesamiento del modelo (422)
+        if (message != null && message.contains("no pudo procesar")) {
+            return HttpStatus.valueOf(422);
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
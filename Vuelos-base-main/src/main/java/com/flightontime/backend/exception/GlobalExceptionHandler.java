@@ -1,6 +1,10 @@
 package com.flightontime.backend.exception;
 
+import com.flightontime.backend.validation.InvalidPredictionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -17,8 +21,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
 	@Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -41,6 +48,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 extractPath(request)
         );
 
+        countError(apiError, ex);
         return ResponseEntity.badRequest().body(apiError);
     }
 
@@ -60,9 +68,32 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 	            extractPath(request)
 	    );
 
+	    countError(apiError, ex);
 	    return ResponseEntity.badRequest().body(apiError);
 	}
 
+    /**
+     * Pedido rechazado por {@code PredictValidator}: una entrada de
+     * {@code details} por regla incumplida.
+     */
+    @ExceptionHandler(InvalidPredictionException.class)
+    public ResponseEntity<ApiError> handleInvalidPrediction(
+            InvalidPredictionException ex,
+            HttpServletRequest request) {
+
+        ApiError apiError = new ApiError(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "VALIDATION_ERROR",
+                "Error de validación en los datos de entrada",
+                ex.result().violations(),
+                request.getRequestURI()
+        );
+
+        countError(apiError, ex);
+        return ResponseEntity.badRequest().body(apiError);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgumentException(
             IllegalArgumentException ex,
@@ -77,6 +108,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 request.getRequestURI()
         );
 
+        countError(apiError, ex);
         return ResponseEntity.badRequest().body(apiError);
     }
 
@@ -94,6 +126,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 request.getRequestURI()
         );
 
+        countError(apiError, ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
     }
 
@@ -103,19 +136,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             HttpServletRequest request) {
 
         String message = ex.getMessage();
-        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
-        String errorCode = "INTERNAL_ERROR";
-
-        // Verificar si es un error de disponibilidad del servicio (503)
-        if (message != null && message.contains("no está disponible")) {
-            status = HttpStatus.SERVICE_UNAVAILABLE;
-            errorCode = "SERVICE_UNAVAILABLE";
-        }
-        // Verificar si es un error de procesamiento del modelo (422)
-        else if (message != null && message.contains("no pudo procesar")) {
-            status = HttpStatus.valueOf(422);
-            errorCode = "UNPROCESSABLE_ENTITY";
-        }
+        HttpStatus status = ErrorStatus.of(ex);
+        String errorCode = switch (status.value()) {
+            case 503 -> "SERVICE_UNAVAILABLE";
+            case 422 -> "UNPROCESSABLE_ENTITY";
+            default -> "INTERNAL_ERROR";
+        };
 
         ApiError apiError = new ApiError(
                 LocalDateTime.now(),
@@ -126,6 +152,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 request.getRequestURI()
         );
 
+        countError(apiError, ex);
         return ResponseEntity.status(status).body(apiError);
     }
 
@@ -143,9 +170,23 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                 request.getRequestURI()
         );
 
+        countError(apiError, ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiError);
     }
 
+    /**
+     * {@code api.errors}: errores respondidos por código de error y clase de
+     * excepción.
+     */
+    private void countError(ApiError apiError, Exception ex) {
+        Counter.builder("api.errors")
+                .description("Errores respondidos por el GlobalExceptionHandler")
+                .tag("code", apiError.error())
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
     private String extractPath(WebRequest request) {
         return request.getDescription(false).replace("uri=", "");
     }
@@ -0,0 +1,32 @@
+package com.flightontime.backend.export;
+
+/**
+ * Columna sobre la que se aplica el rango de fechas de la exportación.
+ */
+public enum ExportDateField {
+
+    /** Fecha de partida del vuelo. */
+    PARTIDA("fecha_partida"),
+
+    /** Momento en que se registró la predicción; sirve para exportaciones incrementales. */
+    REGISTRO("created_at");
+
+    private final String column;
+
+    ExportDateField(String column) {
+        this.column = column;
+    }
+
+    public static ExportDateField fromName(String name) {
+        for (ExportDateField field : values()) {
+            if (field.name().equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Campo de fecha no soportado: " + name + ". Use partida o registro");
+    }
+
+    String column() {
+        return column;
+    }
+}
@@ -0,0 +1,19 @@
+package com.flightontime.backend.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filas a exportar: {@code desde <= campo < hasta}. Los extremos nulos no
+ * acotan.
+ */
+public record ExportQuery(ExportDateField field, LocalDateTime desde, LocalDateTime hasta) {
+
+    public ExportQuery {
+        if (field == null) {
+            field = ExportDateField.PARTIDA;
+        }
+        if (desde != null && hasta != null && !desde.isBefore(hasta)) {
+            throw new IllegalArgumentException("La fecha 'desde' debe ser anterior a 'hasta'");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.flightontime.backend.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Comando que exporta el historial a un archivo y termina la aplicación:
+ *
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=prod --spring.main.web-application-type=none \
+ *     --prediction.export.run=true --prediction.export.output=predictions.csv.gz \
+ *     [--prediction.export.format=ndjson] [--prediction.export.field=registro] \
+ *     [--prediction.export.from=2024-01-01] [--prediction.export.to=2024-02-01T00:00]
+ * </pre>
+ *
+ * La salida se comprime con gzip si termina en {@code .gz}. Si la exportación
+ * falla se borra el archivo parcial.
+ */
+@Component
+@ConditionalOnProperty(name = "prediction.export.run", havingValue = "true")
+@Slf4j
+public class ExportRunner implements ApplicationRunner {
+
+    private final PredictionExporter exporter;
+    private final ConfigurableApplicationContext context;
+    private final Path output;
+    private final ExportFormat format;
+    private final ExportQuery query;
+
+    public ExportRunner(PredictionExporter exporter,
+                        ConfigurableApplicationContext context,
+                        @Value("${prediction.export.output}") String output,
+                        @Value("${prediction.export.format:csv}") String format,
+                        @Value("${prediction.export.field:partida}") String field,
+                        @Value("${prediction.export.from:}") String from,
+                        @Value("${prediction.export.to:}") String to) {
+        this.exporter = exporter;
+        this.context = context;
+        this.output = Path.of(output);
+        this.format = ExportFormat.fromName(format);
+        this.query = new ExportQuery(ExportDateField.fromName(field), dateTime(from), dateTime(to));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean gzip = output.getFileName().toString().endsWith(".gz");
+        int exitCode = 0;
+        try (OutputStream out = Files.newOutputStream(output)) {
+            long rows = exporter.export(query, format, gzip, out);
+            log.info("Historial exportado a {}: {} filas", output.toAbsolutePath(), rows);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error al exportar el historial a {}", output, e);
+            deleteQuietly();
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    /**
+     * Acepta una fecha ({@code 2024-01-01}, desde las 00:00) o fecha y hora ISO.
+     */
+    static LocalDateTime dateTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+
+    private void deleteQuietly() {
+        try {
+            Files.deleteIfExists(output);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar la exportación parcial {}", output, e);
+        }
+    }
+}
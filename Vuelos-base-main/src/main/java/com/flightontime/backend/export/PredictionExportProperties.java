@@ -0,0 +1,17 @@
+package com.flightontime.backend.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración de la exportación del historial ({@code prediction.export.*}).
+ *
+ * @param fetchSize  filas que el driver trae por viaje a la base; acota la memoria del cursor
+ * @param bufferSize bytes que se acumulan antes de escribir en la salida
+ */
+@ConfigurationProperties(prefix = "prediction.export")
+public record PredictionExportProperties(
+        @DefaultValue("5000") int fetchSize,
+        @DefaultValue("65536") int bufferSize
+) {
+}
@@ -0,0 +1,156 @@
+package com.flightontime.backend.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación del historial de predicciones en CSV o NDJSON.
+ *
+ * Las filas se leen con un cursor JDBC de sólo avance que trae
+ * {@code fetch-size} filas por viaje y se escriben en la salida a medida que
+ * llegan, sin entidades ni contexto de persistencia: la memoria no depende de
+ * cuántas filas se exporten. PostgreSQL sólo respeta el fetch size con
+ * autocommit desactivado, de ahí la transacción de sólo lectura, que mantiene
+ * una conexión del pool ocupada mientras dura la exportación.
+ */
+@Component
+@EnableConfigurationProperties(PredictionExportProperties.class)
+@Slf4j
+public class PredictionExporter {
+
+    static final String CSV_HEADER =
+            "id,aerolinea,origen,destino,fecha_partida,distancia_km,prevision,probabilidad,created_at\n";
+
+    private static final String SELECT_SQL = """
+            SELECT id, aerolinea, origen, destino, fecha_partida, distancia_km, prevision, probabilidad, created_at
+            FROM predictions
+            """;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int bufferSize;
+
+    public PredictionExporter(DataSource dataSource, PredictionExportProperties properties) {
+        // Plantilla propia: el fetch size sólo aplica a la exportación
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.bufferSize = Math.max(1024, properties.bufferSize());
+    }
+
+    /**
+     * Escribe en {@code out} las filas de la consulta y no cierra {@code out}.
+     * No hay ORDER BY: la base las entrega en el orden en que las lee, sin
+     * ordenar todo el resultado antes de la primera fila.
+     *
+     * @return filas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportQuery query, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, bufferSize) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), bufferSize);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        List<Object> args = new ArrayList<>(2);
+        String sql = buildSql(query, args);
+        StringBuilder line = new StringBuilder(192);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                line.setLength(0);
+                appendRow(format, rs, line);
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    // Típicamente el cliente cortó la descarga: se aborta la consulta
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exportación {} del historial: {} filas en {} ms (gzip={})",
+                format, rows[0], (System.nanoTime() - start) / 1_000_000, gzip);
+        return rows[0];
+    }
+
+    static String buildSql(ExportQuery query, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        String separator = "WHERE ";
+        if (query.desde() != null) {
+            sql.append(separator).append(query.field().column()).append(" >= ?");
+            args.add(Timestamp.valueOf(query.desde()));
+            separator = " AND ";
+        }
+        if (query.hasta() != null) {
+            sql.append(separator).append(query.field().column()).append(" < ?");
+            args.add(Timestamp.valueOf(query.hasta()));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Agrega la fila actual como una línea del formato. Los códigos son letras
+     * del catálogo y el resto números o fechas, así que ningún campo necesita
+     * comillas en CSV ni escapes en JSON.
+     */
+    private static void appendRow(ExportFormat format, ResultSet rs, StringBuilder line) throws SQLException {
+        if (format == ExportFormat.CSV) {
+            line.append(rs.getLong(1)).append(',')
+                    .append(rs.getString(2)).append(',')
+                    .append(rs.getString(3)).append(',')
+                    .append(rs.getString(4)).append(',');
+            TIMESTAMP.formatTo(rs.getTimestamp(5).toLocalDateTime(), line);
+            line.append(',').append(rs.getInt(6))
+                    .append(',').append(rs.getString(7))
+                    .append(',').append(rs.getDouble(8))
+                    .append(',');
+            TIMESTAMP.formatTo(rs.getTimestamp(9).toLocalDateTime(), line);
+        } else {
+            line.append("{\"id\":").append(rs.getLong(1))
+                    .append(",\"aerolinea\":\"").append(rs.getString(2))
+                    .append("\",\"origen\":\"").append(rs.getString(3))
+                    .append("\",\"destino\":\"").append(rs.getString(4))
+                    .append("\",\"fechaPartida\":\"");
+            TIMESTAMP.formatTo(rs.getTimestamp(5).toLocalDateTime(), line);
+            line.append("\",\"distanciaKm\":").append(rs.getInt(6))
+                    .append(",\"prevision\":\"").append(rs.getString(7))
+                    .append("\",\"probabilidad\":").append(rs.getDouble(8))
+                    .append(",\"createdAt\":\"");
+            TIMESTAMP.formatTo(rs.getTimestamp(9).toLocalDateTime(), line);
+            line.append("\"}");
+        }
+        line.append('\n');
+    }
+}
@@ -0,0 +1,15 @@
+package com.flightontime.backend.history;
+
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+
+import java.util.List;
+
+/**
+ * Recibe cada batch que el historial escribió con éxito. Se invoca en el hilo
+ * escritor (o en el del pedido sin write-behind), así que debe ser rápido y no
+ * tocar la base.
+ */
+public interface HistoryWriteListener {
+
+    void onWritten(List<PredictionEntity> predictions);
+}
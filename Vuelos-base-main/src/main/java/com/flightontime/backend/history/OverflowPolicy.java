@@ -0,0 +1,24 @@
+package com.flightontime.backend.history;
+
+/**
+ * Qué hacer con una predicción cuando la cola del historial está llena.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Espera hasta {@code prediction.history.offer-timeout} a que se libere
+     * lugar; si no se libera, la fila se descarta.
+     */
+    BLOCK,
+
+    /**
+     * Descarta la fila de inmediato. La respuesta al cliente nunca espera.
+     */
+    DROP,
+
+    /**
+     * Inserta la fila en el hilo del pedido, como antes del write-behind. No se
+     * pierde nada pero el pedido paga la escritura.
+     */
+    CALLER_RUNS
+}
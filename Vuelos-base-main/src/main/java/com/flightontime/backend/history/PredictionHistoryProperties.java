@@ -0,0 +1,29 @@
+package com.flightontime.backend.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la escritura diferida del historial ({@code prediction.history.*}).
+ *
+ * @param writeBehind     encola las filas y las escribe en segundo plano; si es false se insertan en el hilo del pedido
+ * @param capacity        filas que puede acumular la cola
+ * @param batchSize       filas por batch JDBC; al juntarse se escribe sin esperar
+ * @param flushInterval   espera máxima de una fila en la cola antes de escribirse
+ * @param overflowPolicy  comportamiento con la cola llena
+ * @param offerTimeout    espera máxima con la política BLOCK
+ * @param shutdownTimeout tiempo para vaciar la cola al detener la aplicación
+ */
+@ConfigurationProperties(prefix = "prediction.history")
+public record PredictionHistoryProperties(
+        @DefaultValue("true") boolean writeBehind,
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("250ms") Duration flushInterval,
+        @DefaultValue("BLOCK") OverflowPolicy overflowPolicy,
+        @DefaultValue("20ms") Duration offerTimeout,
+        @DefaultValue("10s") Duration shutdownTimeout
+) {
+}
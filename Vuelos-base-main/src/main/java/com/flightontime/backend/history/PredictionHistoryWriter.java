@@ -0,0 +1,352 @@
+package com.flightontime.backend.history;
+
+import com.flightontime.backend.persistence.PredictionBatchInserter;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escritura diferida del historial de predicciones.
+ *
+ * Los pedidos sólo encolan la fila y responden; un hilo escritor junta filas
+ * hasta {@code batch-size} o hasta que la más vieja lleva {@code flush-interval}
+ * en la cola, y las inserta en un único batch JDBC. Con la cola llena se aplica
+ * la {@link OverflowPolicy} configurada.
+ *
+ * Un fallo de base de datos no afecta a las predicciones ya respondidas: las
+ * filas del batch se cuentan como fallidas y se registra el error. Los batches
+ * escritos se notifican a los {@link HistoryWriteListener}.
+ */
+@Component
+@EnableConfigurationProperties(PredictionHistoryProperties.class)
+@Slf4j
+public class PredictionHistoryWriter {
+
+    /**
+     * Marca que despierta al escritor cuando se detiene la aplicación.
+     */
+    private static final PredictionEntity STOP = new PredictionEntity();
+
+    private final PredictionBatchInserter inserter;
+    private final List<HistoryWriteListener> listeners;
+    private final boolean writeBehind;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+    private final BlockingQueue<PredictionEntity> queue;
+    private final Thread writer;
+    private final ExecutorService directWriter;
+    private volatile boolean running;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public PredictionHistoryWriter(PredictionBatchInserter inserter,
+                                   PredictionHistoryProperties properties,
+                                   List<HistoryWriteListener> listeners) {
+        this.inserter = inserter;
+        this.listeners = List.copyOf(listeners);
+        this.writeBehind = properties.writeBehind();
+        this.batchSize = Math.max(1, properties.batchSize());
+        this.flushIntervalNanos = properties.flushInterval().toNanos();
+        this.overflowPolicy = properties.overflowPolicy();
+        this.offerTimeoutNanos = properties.offerTimeout().toNanos();
+        this.shutdownTimeoutMillis = properties.shutdownTimeout().toMillis();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.capacity()));
+
+        if (writeBehind) {
+            this.running = true;
+            this.writer = new Thread(this::writeLoop, "prediction-history-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+        // Sin cola propia, trySubmit escribe de a una fila en este hilo; el hilo se crea con la primera
+        this.directWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.capacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "prediction-history-direct");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        log.info("Historial de predicciones: writeBehind={}, capacity={}, batchSize={}, flushInterval={}, overflow={}",
+                writeBehind, properties.capacity(), batchSize, properties.flushInterval(), overflowPolicy);
+    }
+
+    /**
+     * Registra la predicción en el historial. Con write-behind sólo la encola.
+     */
+    public void submit(PredictionEntity prediction) {
+        LocalDateTime now = LocalDateTime.now();
+        prediction.setCreatedAt(now);
+        prediction.setUpdatedAt(now);
+
+        if (!running) {
+            flush(List.of(prediction));
+            return;
+        }
+        if (queue.offer(prediction)) {
+            if (missedShutdown(prediction)) {
+                flush(List.of(prediction));
+            }
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(prediction, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                        drop();
+                    } else if (missedShutdown(prediction)) {
+                        flush(List.of(prediction));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop();
+                }
+            }
+            case DROP -> drop();
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                flush(List.of(prediction));
+            }
+        }
+    }
+
+    /**
+     * Como {@link #submit} pero sin esperar a la cola ni a la base: con la cola
+     * llena la fila se descarta sea cual sea la política. Sin write-behind (o ya
+     * detenido) la fila se escribe en un hilo propio con su propia cola acotada,
+     * nunca en el llamador. Para hilos que no deberían bloquearse, como los de
+     * E/S del stack reactivo.
+     */
+    public void trySubmit(PredictionEntity prediction) {
+        LocalDateTime now = LocalDateTime.now();
+        prediction.setCreatedAt(now);
+        prediction.setUpdatedAt(now);
+
+        if (!running) {
+            try {
+                directWriter.execute(() -> flush(List.of(prediction)));
+            } catch (RejectedExecutionException e) {
+                drop();
+            }
+            return;
+        }
+        if (!queue.offer(prediction) || missedShutdown(prediction)) {
+            drop();
+        }
+    }
+
+    public void submitAll(List<PredictionEntity> predictions) {
+        for (PredictionEntity prediction : predictions) {
+            submit(prediction);
+        }
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public int queueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    /**
+     * Filas descartadas por la cola llena (o, en trySubmit, por el escritor
+     * directo saturado o detenido).
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Filas cuyo batch falló al escribirse.
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * Filas que, con la cola llena, se escribieron en el hilo del pedido.
+     */
+    public long callerRuns() {
+        return callerRuns.sum();
+    }
+
+    public long flushes() {
+        return flushes.sum();
+    }
+
+    public double averageFlushMillis() {
+        long count = flushes.sum();
+        return count == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double maxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Una fila encolada después de que {@link #shutdown} vació la cola no la
+     * escribe nadie. Si el llamador la encuentra todavía ahí, la retira y se hace
+     * cargo; si ya no está, la tomó el escritor o el vaciado final.
+     */
+    private boolean missedShutdown(PredictionEntity prediction) {
+        return !running && queue.remove(prediction);
+    }
+
+    private void drop() {
+        long total = dropped.sum();
+        dropped.increment();
+        // Un aviso por cada potencia de dos evita inundar el log cuando la base no da abasto
+        if (Long.bitCount(total + 1) == 1) {
+            log.warn("Cola del historial llena: {} predicciones descartadas hasta ahora", total + 1);
+        }
+    }
+
+    private void writeLoop() {
+        List<PredictionEntity> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PredictionEntity first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null || first == STOP) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PredictionEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null || next == STOP) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                batch.removeIf(prediction -> prediction == STOP);
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void flush(List<PredictionEntity> batch) {
+        long start = System.nanoTime();
+        try {
+            inserter.insert(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Error al persistir un batch de {} predicciones. Las predicciones se completaron pero no se guardaron en historial.",
+                    batch.size(), e);
+            return;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+        notifyListeners(batch);
+    }
+
+    private void notifyListeners(List<PredictionEntity> batch) {
+        for (HistoryWriteListener listener : listeners) {
+            try {
+                listener.onWritten(batch);
+            } catch (RuntimeException e) {
+                // Las filas ya están en la base: un listener fallido no las marca como fallidas
+                log.error("Error al notificar un batch de {} predicciones escritas", batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Deja de aceptar filas en la cola y espera a que el escritor vacíe lo
+     * pendiente; las filas que lleguen a la cola después de que el escritor
+     * terminó se escriben en este hilo. Lo que se registre después con
+     * {@link #submit} se escribe en el hilo llamador; con {@link #trySubmit} se
+     * descarta.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutdownDirectWriter();
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        // Si la cola está llena el escritor no está esperando y no hace falta despertarlo
+        queue.offer(STOP);
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queue.remove(STOP);
+        if (writer.isAlive()) {
+            log.warn("El historial se detuvo con {} predicciones sin escribir", queue.size());
+            return;
+        }
+
+        // Un submit que vio running=true pudo encolar después de que el escritor terminó
+        List<PredictionEntity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.removeIf(prediction -> prediction == STOP);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(new ArrayList<>(remaining.subList(from, Math.min(remaining.size(), from + batchSize))));
+        }
+    }
+
+    private void shutdownDirectWriter() {
+        directWriter.shutdown();
+        try {
+            if (!directWriter.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("El historial se detuvo con predicciones sin escribir en el escritor directo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
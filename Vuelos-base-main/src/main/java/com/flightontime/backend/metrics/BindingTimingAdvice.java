@@ -0,0 +1,52 @@
+package com.flightontime.backend.metrics;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Mide la etapa {@link PredictionStage#BINDING}: desde que Spring MVC empieza a
+ * leer el cuerpo de un {@link PredictionRequest} hasta que queda deserializado.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class BindingTimingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String START_ATTRIBUTE = BindingTimingAdvice.class.getName() + ".start";
+
+    private final PredictionMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == PredictionRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(START_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long start) {
+            metrics.recordSince(PredictionStage.BINDING, start);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,114 @@
+package com.flightontime.backend.metrics;
+
+import com.flightontime.backend.cache.PredictionCache;
+import com.flightontime.backend.client.PredictionBatcher;
+import com.flightontime.backend.history.PredictionHistoryWriter;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.partition.PartitionMaintenance;
+import com.flightontime.backend.resilience.CircuitBreaker;
+import com.flightontime.backend.resilience.ConcurrencyLimitFilter;
+import com.flightontime.backend.resilience.GradientLimiter;
+import com.flightontime.backend.resilience.ModelCallGuard;
+import com.flightontime.backend.schedule.SchedulePrecomputer;
+import com.flightontime.backend.schedule.SchedulePredictions;
+import com.flightontime.backend.stats.PredictionRollups;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica como métricas los contadores que los componentes ya llevan para
+ * {@code /internal}: caché, micro-batching, historial, agregados, particiones,
+ * vuelos programados, protección del modelo, límite de /predict y modo
+ * shadow. Se leen al momento del scrape, sin costo en el camino del pedido.
+ */
+@Component
+@RequiredArgsConstructor
+public class ComponentMetrics implements MeterBinder {
+
+    private final PredictionCache predictionCache;
+    private final PredictionBatcher predictionBatcher;
+    private final PredictionHistoryWriter historyWriter;
+    private final PredictionRollups rollups;
+    private final PartitionMaintenance partitionMaintenance;
+    private final SchedulePredictions schedulePredictions;
+    private final SchedulePrecomputer schedulePrecomputer;
+    private final ModelCallGuard modelCallGuard;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final ModelGateway modelGateway;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("prediction.cache.size", predictionCache, PredictionCache::size).register(registry);
+        counter(registry, "prediction.cache.requests", "result", "hit", predictionCache, PredictionCache::hits);
+        counter(registry, "prediction.cache.requests", "result", "miss", predictionCache, PredictionCache::misses);
+        counter(registry, "prediction.cache.requests", "result", "coalesced", predictionCache, PredictionCache::coalesced);
+        FunctionCounter.builder("prediction.cache.evictions", predictionCache, PredictionCache::evictions).register(registry);
+
+        FunctionCounter.builder("datascience.batching.batches", predictionBatcher, PredictionBatcher::batches).register(registry);
+        FunctionCounter.builder("datascience.batching.items", predictionBatcher, PredictionBatcher::batchedItems).register(registry);
+        FunctionCounter.builder("datascience.batching.fallbacks", predictionBatcher, PredictionBatcher::fallbacks).register(registry);
+        Gauge.builder("datascience.batching.queue", predictionBatcher, PredictionBatcher::queueDepth).register(registry);
+
+        Gauge.builder("prediction.history.queue", historyWriter, PredictionHistoryWriter::queueDepth).register(registry);
+        counter(registry, "prediction.history.rows", "result", "written", historyWriter, PredictionHistoryWriter::written);
+        counter(registry, "prediction.history.rows", "result", "dropped", historyWriter, PredictionHistoryWriter::dropped);
+        counter(registry, "prediction.history.rows", "result", "failed", historyWriter, PredictionHistoryWriter::failed);
+
+        Gauge.builder("prediction.stats.pending", rollups, PredictionRollups::pendingRows).register(registry);
+        counter(registry, "prediction.stats.flushes", "result", "ok", rollups, PredictionRollups::flushes);
+        counter(registry, "prediction.stats.flushes", "result", "failed", rollups, PredictionRollups::flushFailures);
+
+        FunctionCounter.builder("prediction.partitions.created", partitionMaintenance, PartitionMaintenance::created).register(registry);
+        FunctionCounter.builder("prediction.partitions.archived", partitionMaintenance, PartitionMaintenance::archived).register(registry);
+        FunctionCounter.builder("prediction.partitions.archived.rows", partitionMaintenance, PartitionMaintenance::archivedRows).register(registry);
+        FunctionCounter.builder("prediction.partitions.failures", partitionMaintenance, PartitionMaintenance::failures).register(registry);
+
+        Gauge.builder("prediction.schedule.entries", schedulePredictions, SchedulePredictions::size).register(registry);
+        Gauge.builder("prediction.schedule.oldest.entry.age", schedulePredictions, SchedulePredictions::oldestEntryAgeSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        counter(registry, "prediction.schedule.requests", "result", "hit", schedulePredictions, SchedulePredictions::hits);
+        counter(registry, "prediction.schedule.requests", "result", "miss", schedulePredictions, SchedulePredictions::misses);
+        counter(registry, "prediction.schedule.requests", "result", "stale", schedulePredictions, SchedulePredictions::stale);
+        counter(registry, "prediction.schedule.flights", "result", "predicted", schedulePrecomputer, SchedulePrecomputer::predicted);
+        counter(registry, "prediction.schedule.flights", "result", "reused", schedulePrecomputer, SchedulePrecomputer::reused);
+        counter(registry, "prediction.schedule.flights", "result", "failed", schedulePrecomputer, SchedulePrecomputer::failed);
+        FunctionCounter.builder("prediction.schedule.failed.runs", schedulePrecomputer, SchedulePrecomputer::failedRuns).register(registry);
+
+        CircuitBreaker circuitBreaker = modelCallGuard.circuitBreaker();
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            // Un gauge por estado con valor 1 en el actual: se grafica y alerta sin mapear códigos
+            Gauge.builder("datascience.circuit.state", circuitBreaker, cb -> cb.state() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("datascience.circuit.not.permitted", circuitBreaker, CircuitBreaker::notPermitted).register(registry);
+        Gauge.builder("datascience.bulkhead.in.use", modelCallGuard, ModelCallGuard::bulkheadInUse).register(registry);
+        FunctionCounter.builder("datascience.bulkhead.rejected", modelCallGuard, ModelCallGuard::bulkheadRejected).register(registry);
+        FunctionCounter.builder("datascience.hedges", modelCallGuard, ModelCallGuard::hedges).register(registry);
+        FunctionCounter.builder("datascience.hedges.won", modelCallGuard, ModelCallGuard::hedgesWon).register(registry);
+
+        GradientLimiter limiter = concurrencyLimitFilter.limiter();
+        Gauge.builder("prediction.limiter.limit", limiter, GradientLimiter::limit).register(registry);
+        Gauge.builder("prediction.limiter.in.flight", limiter, GradientLimiter::inFlight).register(registry);
+        Gauge.builder("prediction.limiter.reference.latency", limiter, GradientLimiter::referenceLatencyMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("prediction.limiter.rejected", limiter, GradientLimiter::rejected).register(registry);
+
+        FunctionCounter.builder("model.shadow.comparisons", modelGateway, ModelGateway::comparisons).register(registry);
+        FunctionCounter.builder("model.shadow.disagreements", modelGateway, ModelGateway::disagreements).register(registry);
+        FunctionCounter.builder("model.local.fallbacks", modelGateway, ModelGateway::fallbacks).register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, String tag, String value,
+                                    T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(name, source, count).tag(tag, value).register(registry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.flightontime.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers por etapa de la predicción ({@code prediction.stage}, tag
+ * {@code stage}). Publican histograma para que Prometheus calcule p95/p99 por
+ * etapa y sumando entre instancias.
+ */
+@Component
+public class PredictionMetrics {
+
+    private final Map<PredictionStage, Timer> timers = new EnumMap<>(PredictionStage.class);
+
+    public PredictionMetrics(MeterRegistry registry) {
+        for (PredictionStage stage : PredictionStage.values()) {
+            timers.put(stage, Timer.builder("prediction.stage")
+                    .description("Duración de cada etapa de una predicción")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public <T> T record(PredictionStage stage, Supplier<T> action) {
+        return timers.get(stage).record(action);
+    }
+
+    public void record(PredictionStage stage, Runnable action) {
+        timers.get(stage).record(action);
+    }
+
+    /**
+     * Registra una etapa que terminó en otro hilo, a partir del
+     * {@link System#nanoTime()} en que empezó.
+     */
+    public void recordSince(PredictionStage stage, long startNanos) {
+        timers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
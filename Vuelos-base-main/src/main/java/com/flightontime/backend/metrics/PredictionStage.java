@@ -0,0 +1,26 @@
+package com.flightontime.backend.metrics;
+
+/**
+ * Etapas del camino de una predicción que se miden por separado. El tiempo de
+ * punta a punta lo registra {@code http.server.requests}.
+ */
+public enum PredictionStage {
+    /** Lectura y deserialización del JSON del pedido. */
+    BINDING("binding"),
+    /** {@code PredictValidator.validation}. */
+    VALIDATION("validation"),
+    /** Llamada al modelo cuando la caché no tiene la respuesta. */
+    MODEL("model"),
+    /** Registro en el historial: encolado o escritura según prediction.history.write-behind. */
+    SAVE("save");
+
+    private final String tag;
+
+    PredictionStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,15 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante no bloqueante de {@link ModelBackend}: devuelve un futuro que se
+ * completa cuando responde el modelo.
+ */
+public interface AsyncModelBackend {
+
+    CompletableFuture<PredictionResponse> predictAsync(PredictionRequest request);
+}
@@ -0,0 +1,79 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Variables del vuelo que usan los modelos locales, ya convertidas a números
+ * o a códigos normalizados. Los arreglos se indexan con
+ * {@link Feature#index()}.
+ */
+public record FlightFeatures(double[] numeric, String[] categorical) {
+
+    /**
+     * Variables que puede referenciar un modelo exportado, con el nombre que
+     * usa el archivo.
+     */
+    public enum Feature {
+        DISTANCIA_KM("distanciaKm", false, 0),
+        // Hora de partida con fracción: 14:30 → 14.5
+        HORA("hora", false, 1),
+        // 1 = lunes … 7 = domingo
+        DIA_SEMANA("diaSemana", false, 2),
+        MES("mes", false, 3),
+        AEROLINEA("aerolinea", true, 0),
+        ORIGEN("origen", true, 1),
+        DESTINO("destino", true, 2);
+
+        static final int NUMERIC_COUNT = 4;
+        static final int CATEGORICAL_COUNT = 3;
+
+        private final String key;
+        private final boolean categorical;
+        private final int index;
+
+        Feature(String key, boolean categorical, int index) {
+            this.key = key;
+            this.categorical = categorical;
+            this.index = index;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public boolean isCategorical() {
+            return categorical;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public static Feature fromKey(String key) {
+            for (Feature feature : values()) {
+                if (feature.key.equals(key)) {
+                    return feature;
+                }
+            }
+            throw new IllegalArgumentException("Variable desconocida en el modelo: " + key);
+        }
+    }
+
+    public static FlightFeatures of(PredictionRequest request) {
+        LocalDateTime departure = request.fechaPartida();
+        double[] numeric = new double[Feature.NUMERIC_COUNT];
+        numeric[Feature.DISTANCIA_KM.index()] = request.distanciaKm() == null ? 0 : request.distanciaKm();
+        numeric[Feature.HORA.index()] = departure.getHour() + departure.getMinute() / 60.0;
+        numeric[Feature.DIA_SEMANA.index()] = departure.getDayOfWeek().getValue();
+        numeric[Feature.MES.index()] = departure.getMonthValue();
+
+        String[] categorical = new String[Feature.CATEGORICAL_COUNT];
+        categorical[Feature.AEROLINEA.index()] = request.aerolinea().toUpperCase(Locale.ROOT);
+        categorical[Feature.ORIGEN.index()] = request.origen().toUpperCase(Locale.ROOT);
+        categorical[Feature.DESTINO.index()] = request.destino().toUpperCase(Locale.ROOT);
+        return new FlightFeatures(numeric, categorical);
+    }
+}
@@ -0,0 +1,75 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Motor de predicción dentro de la JVM: evalúa un modelo exportado por Data
+ * Science (regresión logística o ensamble de árboles en JSON) en
+ * microsegundos y sin red.
+ *
+ * La respuesta tiene la misma forma que la del modelo remoto: la previsión y
+ * la confianza en esa previsión.
+ */
+@Slf4j
+public class LocalModelBackend implements ModelBackend {
+
+    private static final double DEFAULT_THRESHOLD = 0.5;
+
+    private final ScoringModel model;
+    private final double threshold;
+
+    public LocalModelBackend(ScoringModel model, double threshold) {
+        this.model = model;
+        this.threshold = threshold;
+    }
+
+    public static LocalModelBackend load(String location, ObjectMapper objectMapper) {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        ModelDefinition definition;
+        try (InputStream in = resource.getInputStream()) {
+            definition = objectMapper.readValue(in, ModelDefinition.class);
+        } catch (IOException | JacksonException e) {
+            throw new IllegalStateException("No se pudo leer el modelo local desde " + location, e);
+        }
+
+        LocalModelBackend backend = from(definition);
+        log.info("Modelo local cargado desde {}: type={}, version={}, threshold={}",
+                location, backend.model.type(), backend.model.version(), backend.threshold);
+        return backend;
+    }
+
+    public static LocalModelBackend from(ModelDefinition definition) {
+        ScoringModel model = switch (String.valueOf(definition.type())) {
+            case "logistic" -> new LogisticModel(definition);
+            case "trees" -> new TreeEnsembleModel(definition);
+            default -> throw new IllegalArgumentException("Tipo de modelo no soportado: " + definition.type());
+        };
+        double threshold = definition.threshold() == null ? DEFAULT_THRESHOLD : definition.threshold();
+        return new LocalModelBackend(model, threshold);
+    }
+
+    @Override
+    public PredictionResponse predict(PredictionRequest request) {
+        double delay = model.delayProbability(FlightFeatures.of(request));
+        return delay >= threshold
+                ? new PredictionResponse("Retrasado", delay)
+                : new PredictionResponse("Puntual", 1 - delay);
+    }
+
+    public String type() {
+        return model.type();
+    }
+
+    public String version() {
+        return model.version();
+    }
+}
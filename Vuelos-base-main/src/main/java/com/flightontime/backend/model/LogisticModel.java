@@ -0,0 +1,71 @@
+package com.flightontime.backend.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Regresión logística compilada: pesos numéricos en un arreglo indexado por
+ * variable y una tabla código → peso por variable categórica.
+ */
+final class LogisticModel implements ScoringModel {
+
+    private final String version;
+    private final double intercept;
+    private final double[] weights = new double[FlightFeatures.Feature.NUMERIC_COUNT];
+    @SuppressWarnings("unchecked")
+    private final Map<String, Double>[] categoryWeights = new Map[FlightFeatures.Feature.CATEGORICAL_COUNT];
+
+    LogisticModel(ModelDefinition definition) {
+        this.version = definition.version();
+        this.intercept = definition.intercept() == null ? 0 : definition.intercept();
+
+        if (definition.coefficients() != null) {
+            definition.coefficients().forEach((key, weight) -> {
+                FlightFeatures.Feature feature = FlightFeatures.Feature.fromKey(key);
+                if (feature.isCategorical()) {
+                    throw new IllegalArgumentException("La variable " + key + " es categórica: va en categories");
+                }
+                weights[feature.index()] = weight;
+            });
+        }
+        for (int i = 0; i < categoryWeights.length; i++) {
+            categoryWeights[i] = Map.of();
+        }
+        if (definition.categories() != null) {
+            definition.categories().forEach((key, codes) -> {
+                FlightFeatures.Feature feature = FlightFeatures.Feature.fromKey(key);
+                if (!feature.isCategorical()) {
+                    throw new IllegalArgumentException("La variable " + key + " es numérica: va en coefficients");
+                }
+                categoryWeights[feature.index()] = new HashMap<>(codes);
+            });
+        }
+    }
+
+    @Override
+    public double delayProbability(FlightFeatures features) {
+        double score = intercept;
+        double[] numeric = features.numeric();
+        for (int i = 0; i < weights.length; i++) {
+            score += weights[i] * numeric[i];
+        }
+        String[] categorical = features.categorical();
+        for (int i = 0; i < categoryWeights.length; i++) {
+            Double weight = categoryWeights[i].get(categorical[i]);
+            if (weight != null) {
+                score += weight;
+            }
+        }
+        return ScoringModel.sigmoid(score);
+    }
+
+    @Override
+    public String type() {
+        return "logistic";
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+}
@@ -0,0 +1,13 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+
+/**
+ * Un modelo capaz de predecir el retraso de un vuelo ya validado y con la
+ * distancia resuelta.
+ */
+public interface ModelBackend {
+
+    PredictionResponse predict(PredictionRequest request);
+}
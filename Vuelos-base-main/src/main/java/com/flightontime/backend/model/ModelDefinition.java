@@ -0,0 +1,42 @@
+package com.flightontime.backend.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formato JSON del modelo exportado. Los nombres de variables son los de
+ * {@link FlightFeatures.Feature#key()}.
+ *
+ * Regresión logística ({@code "type": "logistic"}): {@code intercept} más un
+ * coeficiente por variable numérica en {@code coefficients} y, para las
+ * categóricas, un peso por código en {@code categories}; los códigos que no
+ * figuran aportan 0.
+ *
+ * Ensamble de árboles ({@code "type": "trees"}): {@code baseScore} más la hoja
+ * alcanzada en cada árbol, todo en log-odds como exportan los modelos de
+ * gradient boosting. Cada árbol es una lista de nodos donde el 0 es la raíz.
+ *
+ * @param threshold probabilidad a partir de la cual la previsión es "Retrasado"
+ */
+public record ModelDefinition(
+        String type,
+        String version,
+        Double threshold,
+        Double intercept,
+        Map<String, Double> coefficients,
+        Map<String, Map<String, Double>> categories,
+        Double baseScore,
+        List<Tree> trees
+) {
+
+    public record Tree(List<Node> nodes) {
+    }
+
+    /**
+     * Nodo de un árbol. Una hoja sólo trae {@code leaf}. Un nodo interno va a
+     * {@code left} si la variable numérica es menor o igual a {@code threshold},
+     * o si la categórica es igual a {@code equals}; si no, a {@code right}.
+     */
+    public record Node(String feature, Double threshold, String equals, Integer left, Integer right, Double leaf) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.concurrent.Futures;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Elige el modelo que responde cada predicción según {@code model.mode}.
+ *
+ * En {@code shadow} responde siempre el remoto y el local se evalúa junto a él
+ * para comparar. El local tarda microsegundos, así que corre en el mismo hilo
+ * justo antes de la llamada remota en lugar de ocupar otro. Un error del local
+ * nunca afecta la respuesta.
+ *
+ * En {@code fallback} el local responde cuando el remoto falla o no está
+ * disponible (circuito abierto, timeout, 5xx). Un 4xx se propaga: el local no
+ * arreglaría un pedido que el modelo rechaza.
+ *
+ * {@link #predictAsync} aplica los mismos modos con el remoto no bloqueante de
+ * {@code prediction.stack=reactive}.
+ */
+@Component
+@EnableConfigurationProperties(ModelProperties.class)
+@Slf4j
+public class ModelGateway {
+
+    private final ModelMode mode;
+    private final ModelBackend remote;
+    // Sólo existe con prediction.stack=reactive
+    private final AsyncModelBackend asyncRemote;
+    private final LocalModelBackend local;
+
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder disagreements = new LongAdder();
+    private final DoubleAdder probabilityDelta = new DoubleAdder();
+    private final LongAdder localErrors = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ModelGateway(ModelProperties properties,
+                        RemoteModelBackend remote,
+                        ObjectProvider<ReactiveRemoteModelBackend> asyncRemote,
+                        ObjectMapper objectMapper) {
+        this(properties.mode(), remote, asyncRemote.getIfAvailable(),
+                properties.mode() == ModelMode.REMOTE ? null : LocalModelBackend.load(properties.localPath(), objectMapper));
+    }
+
+    ModelGateway(ModelMode mode, ModelBackend remote, LocalModelBackend local) {
+        this(mode, remote, null, local);
+    }
+
+    ModelGateway(ModelMode mode, ModelBackend remote, AsyncModelBackend asyncRemote, LocalModelBackend local) {
+        this.mode = mode;
+        this.remote = remote;
+        this.asyncRemote = asyncRemote;
+        this.local = local;
+        log.info("Backend de predicción: mode={}", mode);
+    }
+
+    public PredictionResponse predict(PredictionRequest request) {
+        return switch (mode) {
+            case REMOTE -> remote.predict(request);
+            case LOCAL -> local.predict(request);
+            case SHADOW -> shadow(request);
+            case FALLBACK -> withFallback(request);
+        };
+    }
+
+    /**
+     * Igual que {@link #predict} pero sin bloquear el hilo llamador mientras
+     * responde el remoto. El local se evalúa en el hilo llamador (shadow) o en
+     * el que completa el futuro del remoto (fallback).
+     */
+    public CompletableFuture<PredictionResponse> predictAsync(PredictionRequest request) {
+        try {
+            return switch (mode) {
+                case REMOTE -> asyncRemote.predictAsync(request);
+                case LOCAL -> CompletableFuture.completedFuture(local.predict(request));
+                case SHADOW -> shadowAsync(request);
+                case FALLBACK -> withFallbackAsync(request);
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private PredictionResponse shadow(PredictionRequest request) {
+        PredictionResponse shadow = localShadow(request);
+        PredictionResponse response = remote.predict(request);
+        if (shadow != null) {
+            compare(request, response, shadow);
+        }
+        return response;
+    }
+
+    private CompletableFuture<PredictionResponse> shadowAsync(PredictionRequest request) {
+        PredictionResponse shadow = localShadow(request);
+        return asyncRemote.predictAsync(request).thenApply(response -> {
+            if (shadow != null) {
+                compare(request, response, shadow);
+            }
+            return response;
+        });
+    }
+
+    private PredictionResponse localShadow(PredictionRequest request) {
+        try {
+            return local.predict(request);
+        } catch (RuntimeException e) {
+            localErrors.increment();
+            log.warn("El modelo local falló en modo shadow: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void compare(PredictionRequest request, PredictionResponse remote, PredictionResponse local) {
+        comparisons.increment();
+        probabilityDelta.add(Math.abs(delayProbability(remote) - delayProbability(local)));
+        if (!remote.prevision().equalsIgnoreCase(local.prevision())) {
+            disagreements.increment();
+            log.debug("Discrepancia de modelos para {} {}-{}: remoto={} ({}), local={} ({})",
+                    request.aerolinea(), request.origen(), request.destino(),
+                    remote.prevision(), remote.probabilidad(), local.prevision(), local.probabilidad());
+        }
+    }
+
+    private PredictionResponse withFallback(PredictionRequest request) {
+        try {
+            return remote.predict(request);
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return fallback(request, e);
+        }
+    }
+
+    private CompletableFuture<PredictionResponse> withFallbackAsync(PredictionRequest request) {
+        CompletableFuture<PredictionResponse> response;
+        try {
+            response = asyncRemote.predictAsync(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.exceptionally(error -> {
+            Throwable cause = Futures.cause(error);
+            if (cause instanceof WebClientResponseException e && e.getStatusCode().is4xxClientError()) {
+                throw e;
+            }
+            return fallback(request, cause);
+        });
+    }
+
+    private PredictionResponse fallback(PredictionRequest request, Throwable error) {
+        fallbacks.increment();
+        log.warn("Modelo remoto no disponible, responde el modelo local: {}", error.getMessage());
+        return local.predict(request);
+    }
+
+    /**
+     * Las respuestas traen la confianza en la previsión; para comparar se
+     * llevan a probabilidad de retraso.
+     */
+    private static double delayProbability(PredictionResponse response) {
+        return "Retrasado".equalsIgnoreCase(response.prevision())
+                ? response.probabilidad()
+                : 1 - response.probabilidad();
+    }
+
+    public ModelMode mode() {
+        return mode;
+    }
+
+    public LocalModelBackend local() {
+        return local;
+    }
+
+    /**
+     * Predicciones evaluadas por ambos modelos en modo shadow.
+     */
+    public long comparisons() {
+        return comparisons.sum();
+    }
+
+    /**
+     * Comparaciones en las que los modelos dieron previsiones distintas.
+     */
+    public long disagreements() {
+        return disagreements.sum();
+    }
+
+    /**
+     * Diferencia media entre las probabilidades de retraso de ambos modelos.
+     */
+    public double meanProbabilityDelta() {
+        long count = comparisons.sum();
+        return count == 0 ? 0.0 : probabilityDelta.sum() / count;
+    }
+
+    public long localErrors() {
+        return localErrors.sum();
+    }
+
+    /**
+     * Predicciones que respondió el modelo local porque el remoto falló.
+     */
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+}
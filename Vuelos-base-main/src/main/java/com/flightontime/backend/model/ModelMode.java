@@ -0,0 +1,15 @@
+package com.flightontime.backend.model;
+
+/**
+ * De dónde sale la predicción que recibe el cliente.
+ */
+public enum ModelMode {
+    /** Sólo el modelo remoto de Data Science. */
+    REMOTE,
+    /** Responde el remoto; el local se evalúa antes, en el mismo hilo, y se registran las diferencias. */
+    SHADOW,
+    /** Responde el remoto y, si no está disponible, el local. */
+    FALLBACK,
+    /** Sólo el modelo local, sin llamadas de red. */
+    LOCAL
+}
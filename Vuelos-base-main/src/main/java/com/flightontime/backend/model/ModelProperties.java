@@ -0,0 +1,18 @@
+package com.flightontime.backend.model;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración del backend de predicción ({@code model.*}).
+ *
+ * @param mode      remote, shadow, fallback o local
+ * @param localPath modelo exportado para el motor local, con prefijo
+ *                  {@code classpath:} o {@code file:}
+ */
+@ConfigurationProperties(prefix = "model")
+public record ModelProperties(
+        @DefaultValue("remote") ModelMode mode,
+        @DefaultValue("classpath:model/delay-model.json") String localPath
+) {
+}
@@ -0,0 +1,27 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.client.ReactiveDataScienceClient;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * El modelo de Data Science por {@code WebClient}, para
+ * {@code prediction.stack=reactive}.
+ */
+@Component
+@ConditionalOnProperty(name = "prediction.stack", havingValue = "reactive")
+@RequiredArgsConstructor
+public class ReactiveRemoteModelBackend implements AsyncModelBackend {
+
+    private final ReactiveDataScienceClient reactiveClient;
+
+    @Override
+    public CompletableFuture<PredictionResponse> predictAsync(PredictionRequest request) {
+        return reactiveClient.predictDelay(request);
+    }
+}
@@ -0,0 +1,25 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.client.PredictionBatcher;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.resilience.ModelCallGuard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * El modelo de Data Science por HTTP: pasa por el circuit breaker y el
+ * bulkhead y viaja agrupado en lotes cuando el micro-batching está activo.
+ */
+@Component
+@RequiredArgsConstructor
+public class RemoteModelBackend implements ModelBackend {
+
+    private final ModelCallGuard modelCallGuard;
+    private final PredictionBatcher predictionBatcher;
+
+    @Override
+    public PredictionResponse predict(PredictionRequest request) {
+        return modelCallGuard.call(() -> predictionBatcher.predict(request));
+    }
+}
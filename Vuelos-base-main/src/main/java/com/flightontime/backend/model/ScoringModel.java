@@ -0,0 +1,24 @@
+package com.flightontime.backend.model;
+
+/**
+ * Modelo exportado ya compilado a estructuras en memoria. Evalúa un vuelo sin
+ * E/S ni reservas de memoria apreciables.
+ */
+public interface ScoringModel {
+
+    /**
+     * Probabilidad de retraso del vuelo, entre 0 y 1.
+     */
+    double delayProbability(FlightFeatures features);
+
+    /**
+     * {@code logistic} o {@code trees}.
+     */
+    String type();
+
+    String version();
+
+    static double sigmoid(double score) {
+        return 1.0 / (1.0 + Math.exp(-score));
+    }
+}
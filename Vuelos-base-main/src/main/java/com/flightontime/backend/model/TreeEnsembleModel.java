@@ -0,0 +1,118 @@
+package com.flightontime.backend.model;
+
+import java.util.List;
+
+/**
+ * Ensamble de árboles compilado a arreglos paralelos: todos los nodos de todos
+ * los árboles quedan contiguos y cada árbol se recorre por índices, sin
+ * objetos por nodo.
+ */
+final class TreeEnsembleModel implements ScoringModel {
+
+    private static final byte LEAF = 0;
+    private static final byte NUMERIC_SPLIT = 1;
+    private static final byte CATEGORY_SPLIT = 2;
+
+    private final String version;
+    private final double baseScore;
+    private final int[] roots;
+    private final byte[] kind;
+    private final int[] feature;
+    private final double[] threshold;
+    private final String[] category;
+    private final int[] left;
+    private final int[] right;
+    private final double[] leaf;
+
+    TreeEnsembleModel(ModelDefinition definition) {
+        List<ModelDefinition.Tree> trees = definition.trees();
+        if (trees == null || trees.isEmpty()) {
+            throw new IllegalArgumentException("El modelo de árboles no trae árboles");
+        }
+        this.version = definition.version();
+        this.baseScore = definition.baseScore() == null ? 0 : definition.baseScore();
+
+        int total = 0;
+        for (ModelDefinition.Tree tree : trees) {
+            total += tree.nodes().size();
+        }
+        this.roots = new int[trees.size()];
+        this.kind = new byte[total];
+        this.feature = new int[total];
+        this.threshold = new double[total];
+        this.category = new String[total];
+        this.left = new int[total];
+        this.right = new int[total];
+        this.leaf = new double[total];
+
+        int offset = 0;
+        for (int t = 0; t < trees.size(); t++) {
+            List<ModelDefinition.Node> nodes = trees.get(t).nodes();
+            roots[t] = offset;
+            for (int n = 0; n < nodes.size(); n++) {
+                compile(nodes.get(n), offset, n, nodes.size(), t);
+            }
+            offset += nodes.size();
+        }
+    }
+
+    private void compile(ModelDefinition.Node node, int offset, int index, int treeSize, int tree) {
+        int at = offset + index;
+        if (node.leaf() != null) {
+            kind[at] = LEAF;
+            leaf[at] = node.leaf();
+            return;
+        }
+        // Los hijos van siempre después del padre: así ningún recorrido puede ciclar
+        if (node.feature() == null || node.left() == null || node.right() == null
+                || node.left() <= index || node.left() >= treeSize
+                || node.right() <= index || node.right() >= treeSize) {
+            throw new IllegalArgumentException("Nodo inválido en el árbol " + tree + ": " + node);
+        }
+        FlightFeatures.Feature split = FlightFeatures.Feature.fromKey(node.feature());
+        if (split.isCategorical()) {
+            if (node.equals() == null) {
+                throw new IllegalArgumentException("El nodo categórico del árbol " + tree + " no trae equals: " + node);
+            }
+            kind[at] = CATEGORY_SPLIT;
+            category[at] = node.equals();
+        } else {
+            if (node.threshold() == null) {
+                throw new IllegalArgumentException("El nodo numérico del árbol " + tree + " no trae threshold: " + node);
+            }
+            kind[at] = NUMERIC_SPLIT;
+            threshold[at] = node.threshold();
+        }
+        feature[at] = split.index();
+        left[at] = offset + node.left();
+        right[at] = offset + node.right();
+    }
+
+    @Override
+    public double delayProbability(FlightFeatures features) {
+        double[] numeric = features.numeric();
+        String[] categorical = features.categorical();
+        double score = baseScore;
+        for (int root : roots) {
+            int node = root;
+            while (kind[node] != LEAF) {
+                boolean goLeft = kind[node] == NUMERIC_SPLIT
+                        ? numeric[feature[node]] <= threshold[node]
+                        : category[node].equals(categorical[feature[node]]);
+                node = goLeft ? left[node] : right[node];
+            }
+            score += leaf[node];
+        }
+        return ScoringModel.sigmoid(score);
+    }
+
+    @Override
+    public String type() {
+        return "trees";
+    }
+
+    @Override
+    public String version() {
+        return version;
+    }
+}
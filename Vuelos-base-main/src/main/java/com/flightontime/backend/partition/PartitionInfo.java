@@ -0,0 +1,58 @@
+package com.flightontime.backend.partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partición de {@code predictions} con su rango {@code [lower, upper)} sobre
+ * {@code created_at}. Un extremo nulo es MINVALUE o MAXVALUE; la partición
+ * DEFAULT no tiene rango.
+ */
+record PartitionInfo(String name, boolean isDefault, LocalDateTime lower, LocalDateTime upper) {
+
+    private static final Pattern RANGE = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    /**
+     * Nombre de la partición de un mes: {@code predictions_y2026m10}.
+     */
+    static String monthName(YearMonth month) {
+        return "predictions_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Interpreta el rango tal como lo devuelve {@code pg_get_expr}, por ejemplo
+     * {@code FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-11-01 00:00:00')}.
+     */
+    static PartitionInfo parse(String name, String bound) {
+        if ("DEFAULT".equals(bound)) {
+            return new PartitionInfo(name, true, null, null);
+        }
+        Matcher matcher = RANGE.matcher(bound);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Rango de partición no soportado en " + name + ": " + bound);
+        }
+        return new PartitionInfo(name, false, value(matcher.group(1)), value(matcher.group(2)));
+    }
+
+    private static LocalDateTime value(String literal) {
+        if (literal.equals("MINVALUE") || literal.equals("MAXVALUE")) {
+            return null;
+        }
+        return LocalDateTime.parse(literal.replace("'", "").replace(' ', 'T'));
+    }
+
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return !isDefault
+                && (lower == null || lower.isBefore(to))
+                && (upper == null || upper.isAfter(from));
+    }
+
+    /**
+     * Todas sus filas se registraron antes de {@code cutoff}.
+     */
+    boolean endsBefore(LocalDateTime cutoff) {
+        return !isDefault && upper != null && !upper.isAfter(cutoff);
+    }
+}
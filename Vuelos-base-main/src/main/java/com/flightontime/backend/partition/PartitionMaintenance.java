@@ -0,0 +1,174 @@
+package com.flightontime.backend.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ciclo de vida de las particiones mensuales de {@code predictions}
+ * (particionada por rango de {@code created_at}, ver db/004).
+ *
+ * Al arrancar y cada día crea las particiones del mes actual y de los
+ * {@code premake-months} siguientes, así los inserts nunca caen en la
+ * partición DEFAULT. Las particiones cuyo rango terminó antes del corte de
+ * retención se archivan como CSV con gzip en el directorio local y se borran;
+ * borrar una partición es instantáneo y no deja filas muertas ni trabajo de
+ * VACUUM, a diferencia de un DELETE por fecha.
+ *
+ * Varios nodos pueden ejecutarlo a la vez: crear es idempotente y cada
+ * partición vencida se procesa con un advisory lock, así la archiva un solo
+ * nodo. Los archivos quedan en el disco de ese nodo.
+ */
+@Component
+@EnableConfigurationProperties(PartitionProperties.class)
+@Slf4j
+public class PartitionMaintenance {
+
+    private final PartitionStore store;
+    private final PartitionProperties properties;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder archivedRows = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public PartitionMaintenance(PartitionStore store, PartitionProperties properties) {
+        this(store, properties, Clock.systemDefaultZone());
+    }
+
+    PartitionMaintenance(PartitionStore store, PartitionProperties properties, Clock clock) {
+        this.store = store;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * La primera pasada corre en segundo plano: archivar particiones vencidas
+     * puede tardar y el nodo no debe esperarla para aceptar tráfico.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.enabled()) {
+            Thread thread = new Thread(this::run, "partition-maintenance-startup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Scheduled(cron = "${prediction.partitions.cron:0 15 3 * * *}")
+    public void run() {
+        if (!properties.enabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<PartitionInfo> partitions;
+            try {
+                if (!store.isPartitioned()) {
+                    log.warn("prediction.partitions.enabled=true pero predictions no está particionada; ejecute db/004");
+                    return;
+                }
+                partitions = store.partitions();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("Error al leer las particiones de predictions", e);
+                return;
+            }
+            // Cada paso falla por separado: no poder crear un mes no frena el vencimiento, ni al revés
+            try {
+                createUpcoming(partitions);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("Error al crear las particiones de los próximos meses", e);
+            }
+            try {
+                expire(partitions);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("Error al vencer las particiones de predictions", e);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void createUpcoming(List<PartitionInfo> partitions) {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= properties.premakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            // El mes puede estar cubierto por otra partición (por ejemplo la heredada de la migración)
+            if (partitions.stream().anyMatch(partition -> partition.overlaps(from, to))) {
+                continue;
+            }
+            store.createMonth(month);
+            created.increment();
+            log.info("Partición {} creada", PartitionInfo.monthName(month));
+        }
+    }
+
+    private void expire(List<PartitionInfo> partitions) {
+        if (properties.retentionMonths() <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = YearMonth.now(clock).minusMonths(properties.retentionMonths()).atDay(1).atStartOfDay();
+        Path directory = Path.of(properties.archive().directory());
+        for (PartitionInfo partition : partitions) {
+            if (!partition.endsBefore(cutoff)) {
+                continue;
+            }
+            Path archive = properties.archive().enabled() ? directory.resolve(partition.name() + ".csv.gz") : null;
+            try {
+                long rows = store.archiveAndDrop(partition.name(), archive);
+                if (rows == PartitionStore.LOCKED) {
+                    log.info("Partición {} en proceso en otro nodo", partition.name());
+                    continue;
+                }
+                archived.increment();
+                archivedRows.add(rows);
+                log.info("Partición {} vencida (corte {}): {}", partition.name(), cutoff,
+                        archive == null ? "borrada sin archivar" : rows + " filas archivadas en " + archive.toAbsolutePath());
+            } catch (RuntimeException e) {
+                // La transacción se revirtió: la partición sigue en la tabla y se reintenta en la próxima ejecución
+                failures.increment();
+                log.error("Error al archivar la partición {}", partition.name(), e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public long created() {
+        return created.sum();
+    }
+
+    /**
+     * Particiones vencidas que se archivaron (o sólo borraron) y quitaron de la tabla.
+     */
+    public long archived() {
+        return archived.sum();
+    }
+
+    public long archivedRows() {
+        return archivedRows.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+}
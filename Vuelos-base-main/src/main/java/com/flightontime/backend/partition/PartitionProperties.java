@@ -0,0 +1,32 @@
+package com.flightontime.backend.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Mantenimiento de las particiones mensuales de {@code predictions}
+ * ({@code prediction.partitions.*}).
+ *
+ * @param enabled         crea particiones y aplica la retención; requiere la migración db/004
+ * @param premakeMonths   meses futuros con partición creada de antemano
+ * @param retentionMonths meses completos que se conservan además del actual; 0 conserva todo
+ * @param archive         copia de las particiones vencidas antes de borrarlas
+ */
+@ConfigurationProperties(prefix = "prediction.partitions")
+public record PartitionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("3") int premakeMonths,
+        @DefaultValue("24") int retentionMonths,
+        @DefaultValue Archive archive
+) {
+
+    /**
+     * @param enabled   escribe la partición en {@code directory} (CSV con gzip) antes de borrarla
+     * @param directory directorio local de los archivos
+     */
+    public record Archive(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("archive") String directory
+    ) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.flightontime.backend.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Operaciones de PostgreSQL sobre las particiones de {@code predictions}.
+ */
+@Repository
+@Slf4j
+public class PartitionStore {
+
+    /**
+     * Resultado de {@link #archiveAndDrop} cuando otro nodo está procesando la
+     * misma partición.
+     */
+    public static final long LOCKED = -1;
+
+    private static final String IS_PARTITIONED_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                WHERE c.relname = 'predictions' AND c.relnamespace = to_regnamespace(current_schema())
+            )
+            """;
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'predictions' AND p.relnamespace = to_regnamespace(current_schema())
+            ORDER BY c.relname
+            """;
+
+    private static final String COPY_OUT_SQL = """
+            COPY (SELECT id, aerolinea, origen, destino, fecha_partida, distancia_km, prevision, probabilidad, created_at, updated_at
+                  FROM %s)
+            TO STDOUT WITH (FORMAT csv, HEADER)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartitionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class));
+    }
+
+    List<PartitionInfo> partitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> PartitionInfo.parse(rs.getString(1), rs.getString(2)));
+    }
+
+    void createMonth(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PartitionInfo.monthName(month)
+                + " PARTITION OF predictions FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Copia la partición a {@code archive} (CSV con encabezado, gzip) y la
+     * borra, todo en una transacción. El archivo se escribe en un temporal y
+     * se mueve a su nombre final sólo si la copia terminó; si algo falla la
+     * partición queda intacta. Con {@code archive} nulo sólo la borra.
+     *
+     * @return filas archivadas, o {@link #LOCKED} si otro nodo tiene la partición
+     */
+    @Transactional
+    public long archiveAndDrop(String partition, Path archive) {
+        // Lock de transacción: se libera solo con el commit o rollback
+        Boolean acquired = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, partition);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return LOCKED;
+        }
+
+        String table = quote(partition);
+        long rows = 0;
+        if (archive != null) {
+            rows = copyOut(table, archive);
+        }
+        jdbcTemplate.execute("DROP TABLE " + table);
+        return rows;
+    }
+
+    private long copyOut(String table, Path archive) {
+        Path temp = archive.resolveSibling(archive.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(archive.toAbsolutePath().getParent());
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    try {
+                        return connection.unwrap(PGConnection.class).getCopyAPI()
+                                .copyOut(COPY_OUT_SQL.formatted(table), out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            // El DROP se confirma después: el archivo tiene que estar en disco antes
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al archivar " + table + " en " + archive, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el archivo temporal {}", temp, e);
+            }
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
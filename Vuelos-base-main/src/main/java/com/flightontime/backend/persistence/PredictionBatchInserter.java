@@ -0,0 +1,146 @@
+package com.flightontime.backend.persistence;
+
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Inserción del historial de predicciones en batches JDBC.
+ *
+ * Evita el ciclo de vida de JPA (contexto de persistencia, dirty checking y un
+ * INSERT por entidad): todas las filas viajan en un único {@code executeBatch}
+ * dentro de una transacción, que el driver reescribe como INSERT multi-fila con
+ * {@code reWriteBatchedInserts}. Los lotes de al menos {@code copy.min-rows}
+ * filas pueden cargarse con el protocolo COPY de PostgreSQL.
+ *
+ * Los ids se reservan de la misma secuencia y con el mismo tamaño de bloque que
+ * usa Hibernate, así ambos caminos conviven sin colisiones.
+ */
+@Repository
+@Slf4j
+public class PredictionBatchInserter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO predictions
+                (id, aerolinea, origen, destino, fecha_partida, distancia_km, prevision, probabilidad, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String COPY_SQL = """
+            COPY predictions
+                (id, aerolinea, origen, destino, fecha_partida, distancia_km, prevision, probabilidad, created_at, updated_at)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String NEXT_ID_SQL = "SELECT nextval('" + PredictionEntity.ID_SEQUENCE + "')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean copyEnabled;
+    private final int copyMinRows;
+
+    public PredictionBatchInserter(JdbcTemplate jdbcTemplate,
+                                   @Value("${prediction.history.copy.enabled:false}") boolean copyEnabled,
+                                   @Value("${prediction.history.copy.min-rows:1000}") int copyMinRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyEnabled = copyEnabled;
+        this.copyMinRows = copyMinRows;
+    }
+
+    @Transactional
+    public void insert(List<PredictionEntity> predictions) {
+        if (predictions.isEmpty()) {
+            return;
+        }
+        assignIds(predictions);
+
+        if (copyEnabled && predictions.size() >= copyMinRows) {
+            copy(predictions);
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, predictions, predictions.size(), (ps, entity) -> {
+            ps.setLong(1, entity.getId());
+            ps.setString(2, entity.getAerolinea());
+            ps.setString(3, entity.getOrigen());
+            ps.setString(4, entity.getDestino());
+            ps.setTimestamp(5, Timestamp.valueOf(entity.getFechaPartida()));
+            ps.setInt(6, entity.getDistanciaKm());
+            ps.setString(7, entity.getPrevision().name());
+            ps.setDouble(8, entity.getProbabilidad());
+            ps.setTimestamp(9, Timestamp.valueOf(entity.getCreatedAt()));
+            ps.setTimestamp(10, Timestamp.valueOf(entity.getUpdatedAt()));
+        });
+    }
+
+    private void assignIds(List<PredictionEntity> predictions) {
+        assignIds(predictions, () -> jdbcTemplate.queryForObject(NEXT_ID_SQL, Long.class));
+    }
+
+    /**
+     * Reserva bloques de {@link PredictionEntity#ID_ALLOCATION_SIZE} ids con la
+     * misma regla que el optimizador pooled de Hibernate: cada valor {@code v} de
+     * la secuencia cubre los ids {@code v - size + 1 .. v}, salvo el valor
+     * inicial de una secuencia recién creada ({@code START 1}), que es el primer
+     * id y cuyo bloque llega hasta el siguiente valor.
+     */
+    static void assignIds(List<PredictionEntity> predictions, LongSupplier nextValue) {
+        int blockSize = PredictionEntity.ID_ALLOCATION_SIZE;
+        long next = 0;
+        long blockEnd = -1;
+        for (PredictionEntity prediction : predictions) {
+            if (next > blockEnd) {
+                long value = nextValue.getAsLong();
+                if (value == PredictionEntity.ID_INITIAL_VALUE) {
+                    next = value;
+                    blockEnd = nextValue.getAsLong();
+                } else {
+                    blockEnd = value;
+                    next = value - blockSize + 1;
+                }
+            }
+            prediction.setId(next++);
+        }
+    }
+
+    private void copy(List<PredictionEntity> predictions) {
+        long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            try (PGCopyOutputStream out = new PGCopyOutputStream(pg, COPY_SQL, 1 << 16)) {
+                StringBuilder row = new StringBuilder(128);
+                for (PredictionEntity entity : predictions) {
+                    row.setLength(0);
+                    // Códigos del catálogo, números y fechas ISO: ningún campo necesita comillas en CSV
+                    row.append(entity.getId()).append(',')
+                            .append(entity.getAerolinea()).append(',')
+                            .append(entity.getOrigen()).append(',')
+                            .append(entity.getDestino()).append(',')
+                            .append(entity.getFechaPartida()).append(',')
+                            .append(entity.getDistanciaKm()).append(',')
+                            .append(entity.getPrevision().name()).append(',')
+                            .append(entity.getProbabilidad()).append(',')
+                            .append(entity.getCreatedAt()).append(',')
+                            .append(entity.getUpdatedAt()).append('\n');
+                    out.write(row.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                out.endCopy();
+                return out.getHandledRowCount();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error al enviar filas por COPY", e);
+            }
+        });
+        log.debug("COPY de {} predicciones", copied);
+    }
+}
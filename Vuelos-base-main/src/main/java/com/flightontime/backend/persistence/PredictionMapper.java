@@ -0,0 +1,30 @@
+package com.flightontime.backend.persistence;
+
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.persistence.entity.PredictionResult;
+
+/**
+ * Conversión de un pedido ya validado y su predicción a la fila del historial.
+ */
+public final class PredictionMapper {
+
+    private PredictionMapper() {
+    }
+
+    public static PredictionEntity toEntity(PredictionRequest request, PredictionResponse response, CatalogIndex catalog) {
+        PredictionEntity entity = new PredictionEntity();
+
+        // Los códigos ya fueron validados: se reutiliza la instancia canónica del catálogo
+        entity.setAerolinea(catalog.canonicalAirline(request.aerolinea()));
+        entity.setOrigen(catalog.canonicalAirport(request.origen()));
+        entity.setDestino(catalog.canonicalAirport(request.destino()));
+        entity.setFechaPartida(request.fechaPartida());
+        entity.setDistanciaKm(request.distanciaKm().intValue());
+        entity.setPrevision(PredictionResult.fromLabel(response.prevision()));
+        entity.setProbabilidad(response.probabilidad());
+        return entity;
+    }
+}
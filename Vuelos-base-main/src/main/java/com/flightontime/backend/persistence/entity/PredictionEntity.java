@@ -6,8 +6,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import java.time.LocalDateTime;
@@ -16,14 +18,35 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "predictions")
+// Índices de las consultas del historial (ver db/002-predictions-history-indexes.sql y db/005);
+// el id al final desempata la paginación por keyset dentro del mismo índice
+@Table(name = "predictions", indexes = {
+        @Index(name = "idx_predictions_route_departure", columnList = "origen, destino, fechaPartida, id"),
+        @Index(name = "idx_predictions_airline_created", columnList = "aerolinea, createdAt, id"),
+        @Index(name = "idx_predictions_airline_departure", columnList = "aerolinea, fechaPartida, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PredictionEntity {
 
+    public static final String ID_SEQUENCE = "predictions_id_seq";
+
+    /**
+     * Ids que reserva cada llamada a la secuencia (optimizador pooled). Debe
+     * coincidir con el INCREMENT BY de {@link #ID_SEQUENCE}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Primer valor de {@link #ID_SEQUENCE} cuando la crea Hibernate.
+     */
+    public static final long ID_INITIAL_VALUE = 1;
+
+    // Con secuencia (y no IDENTITY) Hibernate puede agrupar los INSERT en batches JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "predictions_id")
+    @SequenceGenerator(name = "predictions_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 2)
@@ -48,6 +71,7 @@ public class PredictionEntity {
     @Column(nullable = false)
     private Double probabilidad;
 
+    // Clave de partición de predictions: una partición por mes (ver db/004-predictions-monthly-partitions.sql)
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
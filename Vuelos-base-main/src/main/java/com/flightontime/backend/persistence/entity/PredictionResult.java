@@ -2,5 +2,18 @@ package com.flightontime.backend.persistence.entity;
 
 public enum PredictionResult {
     PUNTUAL,
-    RETRASADO
+    RETRASADO;
+
+    /**
+     * Equivalente a {@code valueOf(label.toUpperCase())} sin crear la copia en
+     * mayúsculas.
+     */
+    public static PredictionResult fromLabel(String label) {
+        for (PredictionResult result : values()) {
+            if (result.name().equalsIgnoreCase(label)) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("No existe un resultado de predicción para " + label);
+    }
 }
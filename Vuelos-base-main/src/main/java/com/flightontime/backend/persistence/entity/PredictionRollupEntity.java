@@ -0,0 +1,62 @@
+package com.flightontime.backend.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agregados diarios del historial por aerolínea o ruta. Los escribe y lee
+ * {@code RollupStore} por JDBC; la entidad existe para que Hibernate cree y
+ * valide la tabla (ver db/003-prediction-daily-rollups.sql).
+ */
+@Entity
+@Table(name = "prediction_daily_rollups")
+@IdClass(PredictionRollupEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionRollupEntity {
+
+    @Id
+    @Column(nullable = false, length = 8)
+    private String dimension;
+
+    // Código de aerolínea o ruta ORIGEN-DESTINO
+    @Id
+    @Column(nullable = false, length = 7)
+    private String rollupKey;
+
+    // Día de partida; "day" es palabra reservada en algunas bases
+    @Id
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private Long predictions;
+
+    @Column(nullable = false)
+    private Long delayed;
+
+    @Column(nullable = false)
+    private Double delayProbabilitySum;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String dimension;
+        private String rollupKey;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,74 @@
+package com.flightontime.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+/**
+ * Posición de la última fila de una página: el valor de la columna de orden y
+ * el id que desempata. La página siguiente empieza estrictamente después de
+ * esa clave (keyset), sin OFFSET.
+ *
+ * Se serializa como texto opaco en Base64 URL-safe; incluye el orden y una
+ * huella de los filtros con los que se generó para rechazarlo si se reutiliza
+ * con otra consulta.
+ */
+public record HistoryCursor(PredictionHistoryOrder order, int filterHash, LocalDateTime position, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static HistoryCursor after(PredictionHistoryOrder order, PredictionHistoryFilter filter, PredictionSummary last) {
+        LocalDateTime position = order == PredictionHistoryOrder.RECENT ? last.createdAt() : last.fechaPartida();
+        return new HistoryCursor(order, fingerprint(filter), position, last.id());
+    }
+
+    /**
+     * Huella de los filtros, estable entre nodos y reinicios (no depende de
+     * {@code hashCode}).
+     */
+    public static int fingerprint(PredictionHistoryFilter filter) {
+        String canonical = filter.aerolinea() + "|" + filter.origen() + "|" + filter.destino() + "|"
+                + filter.desde() + "|" + filter.hasta() + "|"
+                + (filter.prevision() == null ? null : filter.prevision().name());
+        CRC32 crc = new CRC32();
+        crc.update(canonical.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    public boolean matches(PredictionHistoryFilter filter) {
+        return filterHash == fingerprint(filter);
+    }
+
+    public String encode() {
+        String raw = order.code() + "|" + Integer.toHexString(filterHash) + "|" + position + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Interpreta un cursor devuelto por una página anterior.
+     *
+     * @throws IllegalArgumentException si el texto no es un cursor válido
+     */
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\|", -1);
+            PredictionHistoryOrder order = parts.length == 4 && parts[0].length() == 1
+                    ? PredictionHistoryOrder.fromCode(parts[0].charAt(0))
+                    : null;
+            if (order == null) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new HistoryCursor(order,
+                    Integer.parseUnsignedInt(parts[1], 16),
+                    LocalDateTime.parse(parts[2]),
+                    Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 mal formado, partes faltantes, huella, fecha o id ilegibles
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.flightontime.backend.repository;
+
+import com.flightontime.backend.persistence.entity.PredictionResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros de la consulta del historial. Los campos nulos no filtran; los
+ * códigos llegan normalizados en mayúsculas. La partida se acota con
+ * {@code desde <= fechaPartida < hasta}.
+ */
+public record PredictionHistoryFilter(
+        String aerolinea,
+        String origen,
+        String destino,
+        LocalDateTime desde,
+        LocalDateTime hasta,
+        PredictionResult prevision
+) {
+}
@@ -0,0 +1,76 @@
+package com.flightontime.backend.repository;
+
+/**
+ * Orden de recorrido del historial. Cada orden se apoya en uno de los índices
+ * compuestos de {@code predictions}, así la consulta lee sólo las filas de la
+ * página sin ordenar en memoria.
+ */
+public enum PredictionHistoryOrder {
+
+    /**
+     * Por fecha de partida ascendente dentro de una ruta: índice
+     * {@code (origen, destino, fecha_partida, id)}.
+     */
+    DEPARTURE('D', "fecha_partida", false),
+
+    /**
+     * Por fecha de partida ascendente dentro de una aerolínea, cuando se pide
+     * un rango de partida: índice {@code (aerolinea, fecha_partida, id)}.
+     */
+    AIRLINE_DEPARTURE('A', "fecha_partida", false),
+
+    /**
+     * Más recientes primero dentro de una aerolínea: índice
+     * {@code (aerolinea, created_at, id)}.
+     */
+    RECENT('R', "created_at", true);
+
+    private final char code;
+    private final String column;
+    private final boolean descending;
+
+    PredictionHistoryOrder(char code, String column, boolean descending) {
+        this.code = code;
+        this.column = column;
+        this.descending = descending;
+    }
+
+    /**
+     * Elige el orden según los filtros: la ruta completa usa el índice de
+     * ruta; la aerolínea, el de aerolínea y fecha de partida si hay rango de
+     * partida (en el de registro el rango no acota la lectura) o el de
+     * aerolínea y registro si no. Sin ruta ni aerolínea no hay índice que
+     * acote la consulta y se rechaza.
+     */
+    public static PredictionHistoryOrder forFilter(PredictionHistoryFilter filter) {
+        if (filter.origen() != null && filter.destino() != null) {
+            return DEPARTURE;
+        }
+        if (filter.aerolinea() != null) {
+            return filter.desde() != null || filter.hasta() != null ? AIRLINE_DEPARTURE : RECENT;
+        }
+        throw new IllegalArgumentException(
+                "La consulta del historial requiere la ruta (origen y destino) o la aerolínea");
+    }
+
+    static PredictionHistoryOrder fromCode(char code) {
+        for (PredictionHistoryOrder order : values()) {
+            if (order.code == code) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    char code() {
+        return code;
+    }
+
+    String column() {
+        return column;
+    }
+
+    boolean descending() {
+        return descending;
+    }
+}
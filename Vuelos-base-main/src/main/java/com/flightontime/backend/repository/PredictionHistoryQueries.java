@@ -0,0 +1,19 @@
+package com.flightontime.backend.repository;
+
+import java.util.List;
+
+/**
+ * Consultas de lectura del historial que no encajan en los métodos derivados
+ * de Spring Data: filtros opcionales, paginación por keyset y proyección.
+ */
+public interface PredictionHistoryQueries {
+
+    /**
+     * Devuelve hasta {@code limit} filas que cumplen el filtro, en el orden
+     * indicado y posteriores a {@code after} (o desde el principio si es null).
+     */
+    List<PredictionSummary> findHistory(PredictionHistoryFilter filter,
+                                        PredictionHistoryOrder order,
+                                        HistoryCursor after,
+                                        int limit);
+}
@@ -0,0 +1,118 @@
+package com.flightontime.backend.repository;
+
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación JDBC de {@link PredictionHistoryQueries}.
+ *
+ * El SQL se arma sólo con los filtros presentes (nada de
+ * {@code :x IS NULL OR col = :x}, que impide usar el índice con planes
+ * genéricos) y la posición se compara como valor de fila,
+ * {@code (col, id) > (?, ?)}, para que PostgreSQL la resuelva como rango
+ * dentro del índice. Cada página lee {@code limit} entradas del índice y
+ * {@code limit} filas de la tabla, sin importar cuántas haya antes.
+ *
+ * {@code prevision} no está en ningún índice: se evalúa sobre las filas que
+ * devuelve el recorrido, que lee tantas entradas de más como filas descarte.
+ */
+public class PredictionHistoryQueriesImpl implements PredictionHistoryQueries {
+
+    private static final String SELECT_SQL = """
+            SELECT id, aerolinea, origen, destino, fecha_partida, distancia_km, prevision, probabilidad, created_at
+            FROM predictions
+            """;
+
+    private static final RowMapper<PredictionSummary> ROW_MAPPER = (rs, rowNum) -> new PredictionSummary(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getTimestamp(5).toLocalDateTime(),
+            rs.getInt(6),
+            PredictionResult.valueOf(rs.getString(7)),
+            rs.getDouble(8),
+            rs.getTimestamp(9).toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PredictionHistoryQueriesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PredictionSummary> findHistory(PredictionHistoryFilter filter,
+                                               PredictionHistoryOrder order,
+                                               HistoryCursor after,
+                                               int limit) {
+        List<Object> args = new ArrayList<>(10);
+        String sql = buildSql(filter, order, after, limit, args);
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    static String buildSql(PredictionHistoryFilter filter,
+                           PredictionHistoryOrder order,
+                           HistoryCursor after,
+                           int limit,
+                           List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL.length() + 256).append(SELECT_SQL);
+        String separator = "WHERE ";
+
+        // Primero las columnas iniciales del índice que corresponde al orden
+        if (order == PredictionHistoryOrder.DEPARTURE) {
+            sql.append(separator).append("origen = ? AND destino = ?");
+            args.add(filter.origen());
+            args.add(filter.destino());
+            separator = " AND ";
+            if (filter.aerolinea() != null) {
+                sql.append(separator).append("aerolinea = ?");
+                args.add(filter.aerolinea());
+            }
+        } else {
+            sql.append(separator).append("aerolinea = ?");
+            args.add(filter.aerolinea());
+            separator = " AND ";
+            if (filter.origen() != null) {
+                sql.append(separator).append("origen = ?");
+                args.add(filter.origen());
+            }
+            if (filter.destino() != null) {
+                sql.append(separator).append("destino = ?");
+                args.add(filter.destino());
+            }
+        }
+
+        if (filter.desde() != null) {
+            sql.append(separator).append("fecha_partida >= ?");
+            args.add(Timestamp.valueOf(filter.desde()));
+        }
+        if (filter.hasta() != null) {
+            sql.append(separator).append("fecha_partida < ?");
+            args.add(Timestamp.valueOf(filter.hasta()));
+        }
+        if (filter.prevision() != null) {
+            sql.append(separator).append("prevision = ?");
+            args.add(filter.prevision().name());
+        }
+
+        String direction = order.descending() ? " DESC" : "";
+        if (after != null) {
+            sql.append(separator).append('(').append(order.column()).append(", id) ")
+                    .append(order.descending() ? '<' : '>').append(" (?, ?)");
+            args.add(Timestamp.valueOf(after.position()));
+            args.add(after.id());
+        }
+
+        sql.append("\nORDER BY ").append(order.column()).append(direction)
+                .append(", id").append(direction)
+                .append("\nLIMIT ?");
+        args.add(limit);
+        return sql.toString();
+    }
+}
@@ -6,5 +6,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PredictionRepository extends JpaRepository<PredictionEntity, Long> {
+public interface PredictionRepository extends JpaRepository<PredictionEntity, Long>, PredictionHistoryQueries {
 }
\ No newline at end of file
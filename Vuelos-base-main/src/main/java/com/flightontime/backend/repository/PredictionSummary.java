@@ -0,0 +1,22 @@
+package com.flightontime.backend.repository;
+
+import com.flightontime.backend.persistence.entity.PredictionResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una fila del historial: sólo las columnas que devuelve la
+ * consulta, sin instanciar la entidad ni pasar por el contexto de persistencia.
+ */
+public record PredictionSummary(
+        long id,
+        String aerolinea,
+        String origen,
+        String destino,
+        LocalDateTime fechaPartida,
+        int distanciaKm,
+        PredictionResult prevision,
+        double probabilidad,
+        LocalDateTime createdAt
+) {
+}
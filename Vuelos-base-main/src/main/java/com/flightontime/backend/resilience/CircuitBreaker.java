@@ -0,0 +1,216 @@
+package com.flightontime.backend.resilience;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker por tasa de fallos y de llamadas lentas sobre las últimas
+ * {@code window-size} llamadas.
+ *
+ * Cerrado deja pasar todo. Cuando la ventana tiene al menos
+ * {@code minimum-calls} resultados y alguna de las dos tasas alcanza su umbral
+ * se abre y rechaza sin llamar durante {@code open-duration}. Después deja pasar
+ * {@code half-open-calls} llamadas de prueba: si cumplen los umbrales se cierra
+ * con la ventana vacía, si no vuelve a abrirse.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Resultados de las últimas llamadas como máscara FAILED | SLOW
+    private final byte[] window;
+    private int size;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenCompleted;
+    private int halfOpenFailures;
+    private int halfOpenSlowCalls;
+
+    private final LongAdder notPermitted = new LongAdder();
+    private final LongAdder openings = new LongAdder();
+
+    public CircuitBreaker(ResilienceProperties.CircuitBreaker properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CircuitBreaker(ResilienceProperties.CircuitBreaker properties, LongSupplier clock) {
+        this.window = new byte[Math.max(1, properties.windowSize())];
+        this.minimumCalls = Math.max(1, Math.min(properties.minimumCalls(), window.length));
+        this.failureRateThreshold = properties.failureRateThreshold();
+        this.slowCallRateThreshold = properties.slowCallRateThreshold();
+        this.slowCallNanos = properties.slowCallDuration().toNanos();
+        this.openNanos = properties.openDuration().toNanos();
+        this.halfOpenCalls = Math.max(1, properties.halfOpenCalls());
+        this.clock = clock;
+    }
+
+    /**
+     * Reserva el paso de una llamada. Si devuelve {@code true} el llamador debe
+     * informar el resultado con {@link #onResult}.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+                state = State.HALF_OPEN;
+                halfOpenPermits = 0;
+                halfOpenCompleted = 0;
+                halfOpenFailures = 0;
+                halfOpenSlowCalls = 0;
+            }
+            boolean permitted = switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (halfOpenPermits == halfOpenCalls) {
+                        yield false;
+                    }
+                    halfOpenPermits++;
+                    yield true;
+                }
+            };
+            if (!permitted) {
+                notPermitted.increment();
+            }
+            return permitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve el paso reservado por una llamada que finalmente no se hizo.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermits > halfOpenCompleted) {
+                halfOpenPermits--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onResult(long durationNanos, boolean failed) {
+        boolean slow = durationNanos >= slowCallNanos;
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> record(failed, slow);
+                case HALF_OPEN -> recordTrial(failed, slow);
+                // Llamadas que empezaron antes de abrirse: ya no cambian nada
+                case OPEN -> {
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (size == window.length) {
+            byte evicted = window[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            size++;
+        }
+        window[next] = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        next = (next + 1) % window.length;
+        failures += failed ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+
+        if (size >= minimumCalls && exceeds(failures, slowCalls, size)) {
+            open();
+        }
+    }
+
+    private void recordTrial(boolean failed, boolean slow) {
+        halfOpenCompleted++;
+        halfOpenFailures += failed ? 1 : 0;
+        halfOpenSlowCalls += slow ? 1 : 0;
+        if (halfOpenCompleted < halfOpenCalls) {
+            return;
+        }
+        if (exceeds(halfOpenFailures, halfOpenSlowCalls, halfOpenCompleted)) {
+            open();
+        } else {
+            state = State.CLOSED;
+            size = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    private boolean exceeds(int failed, int slow, int total) {
+        return failed * 100 >= failureRateThreshold * total
+                || slow * 100 >= slowCallRateThreshold * total;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        openings.increment();
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Porcentaje de fallos en la ventana actual, o -1 si todavía no hay
+     * {@code minimum-calls} resultados.
+     */
+    public double failureRate() {
+        lock.lock();
+        try {
+            return size < minimumCalls ? -1 : failures * 100.0 / size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double slowCallRate() {
+        lock.lock();
+        try {
+            return size < minimumCalls ? -1 : slowCalls * 100.0 / size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long notPermitted() {
+        return notPermitted.sum();
+    }
+
+    public long openings() {
+        return openings.sum();
+    }
+}
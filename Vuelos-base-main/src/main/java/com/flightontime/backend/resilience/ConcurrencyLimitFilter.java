@@ -0,0 +1,162 @@
+package com.flightontime.backend.resilience;
+
+import com.flightontime.backend.exception.ApiError;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Descarta carga en {@code POST /predict} antes de que llegue al controller.
+ *
+ * Cada pedido toma un lugar del {@link GradientLimiter}; sin lugar se responde
+ * 503 con {@code Retry-After} en el acto, sin ocupar el hilo de Tomcat
+ * esperando al modelo. Con hilos de plataforma el límite nunca supera
+ * {@code server.tomcat.threads.max - reserved-threads}: aunque /predict esté
+ * saturado quedan hilos para {@code /predict/ping} y actuator, que no pasan
+ * por el limitador.
+ *
+ * En el stack reactivo el pedido libera el hilo al iniciar el procesamiento
+ * asíncrono; el lugar se devuelve cuando se completa la respuesta.
+ */
+@Component
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/predict";
+
+    private final boolean enabled;
+    private final GradientLimiter limiter;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                  ObjectMapper objectMapper,
+                                  @Value("${server.tomcat.threads.max:200}") int tomcatThreads,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.enabled = properties.enabled();
+        this.objectMapper = objectMapper;
+        // Con hilos virtuales el pool de Tomcat no es el recurso escaso
+        int maxLimit = virtualThreads
+                ? properties.maxLimit()
+                : Math.min(properties.maxLimit(), tomcatThreads - properties.reservedThreads());
+        this.limiter = new GradientLimiter(properties.initialLimit(), properties.minLimit(), maxLimit,
+                properties.tolerance(), properties.smoothing(), properties.windowSamples(), properties.longWindow());
+        this.retryAfterSeconds = Long.toString(Math.max(1, (properties.retryAfter().toMillis() + 999) / 1000));
+
+        log.info("Límite adaptativo de /predict: enabled={}, inicial={}, rango=[{}, {}]",
+                enabled, limiter.limit(), properties.minLimit(), maxLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start, completed && isSample(response.getStatus()));
+            }
+        }
+    }
+
+    /**
+     * Sólo las respuestas exitosas miden al modelo: los 4xx se resuelven sin
+     * llamarlo y los 5xx pueden ser rechazos inmediatos del circuit breaker.
+     */
+    private static boolean isSample(int status) {
+        return status < 400;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiError apiError = new ApiError(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "SERVICE_UNAVAILABLE",
+                "El servicio de predicción no está disponible: demasiados pedidos en curso",
+                List.of("Reintentar en " + retryAfterSeconds + " s"),
+                request.getRequestURI()
+        );
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(apiError));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public GradientLimiter limiter() {
+        return limiter;
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final long start;
+        private volatile boolean failed;
+
+        ReleaseOnComplete(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Después de un timeout o error el contenedor igual completa el pedido: se libera una sola vez
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limiter.release(System.nanoTime() - start, !failed && isSample(response.getStatus()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un nuevo ciclo asíncrono sobre el mismo pedido: hay que seguir escuchándolo
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
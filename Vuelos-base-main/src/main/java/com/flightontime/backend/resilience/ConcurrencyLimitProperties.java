@@ -0,0 +1,38 @@
+package com.flightontime.backend.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Límite adaptativo de pedidos simultáneos a {@code POST /predict}
+ * ({@code prediction.limiter.*}).
+ *
+ * @param enabled         rechaza con 503 los pedidos que superan el límite
+ * @param initialLimit    límite al arrancar, antes de observar latencias
+ * @param minLimit        el límite nunca baja de este valor
+ * @param maxLimit        el límite nunca sube de este valor
+ * @param reservedThreads hilos de Tomcat que nunca ocupa /predict: quedan para
+ *                        {@code /predict/ping}, actuator y el resto de los endpoints
+ * @param tolerance       cuánto puede crecer la latencia reciente sobre la de
+ *                        referencia antes de bajar el límite (1.5 = 50 %)
+ * @param smoothing       peso de cada ajuste sobre el límite anterior (0-1)
+ * @param windowSamples   pedidos por ventana: el límite se recalcula al cerrar cada una
+ * @param longWindow      ventanas que promedia la latencia de referencia
+ * @param retryAfter      valor de {@code Retry-After} en los rechazos
+ */
+@ConfigurationProperties(prefix = "prediction.limiter")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("20") int reservedThreads,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("25") int windowSamples,
+        @DefaultValue("600") int longWindow,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
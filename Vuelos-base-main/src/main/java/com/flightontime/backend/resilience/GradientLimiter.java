@@ -0,0 +1,154 @@
+package com.flightontime.backend.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de pedidos simultáneos que se ajusta según la latencia observada
+ * (algoritmo de gradiente).
+ *
+ * Cada {@code windowSamples} pedidos se compara la latencia media de la
+ * ventana con una latencia de referencia, la media móvil exponencial de las
+ * ventanas anteriores. Mientras la latencia reciente no supere la de
+ * referencia por más de {@code tolerance}, el límite crece de a
+ * √límite por ventana; cuando la supera, se multiplica por
+ * referencia × tolerance / reciente (nunca menos de la mitad). Así el límite
+ * sigue a la concurrencia que el modelo atiende sin encolar, y lo que sobra se
+ * rechaza de inmediato en lugar de esperar un hilo.
+ *
+ * Las ventanas en las que no se usó ni la mitad del límite no lo modifican:
+ * con poco tráfico la latencia no dice nada sobre cuánta concurrencia se
+ * soporta.
+ *
+ * Las muestras se registran con {@code tryLock}: si otro pedido está
+ * actualizando la ventana, la muestra se descarta en lugar de esperar. Perder
+ * alguna no cambia la media y el pedido nunca se bloquea ni fija su hilo
+ * virtual.
+ */
+public class GradientLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int windowSamples;
+    private final double longRttAlpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+
+    // Ventana en curso y latencia de referencia; sólo se modifican con window tomado
+    private final ReentrantLock window = new ReentrantLock();
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private volatile double longRttNanos = -1;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                           double smoothing, int windowSamples, int longWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.windowSamples = Math.max(1, windowSamples);
+        this.longRttAlpha = 2.0 / (Math.max(1, longWindow) + 1);
+        this.limit = clamp(initialLimit, this.minLimit, this.maxLimit);
+    }
+
+    /**
+     * Reserva un lugar si hay menos pedidos en curso que el límite. Cada
+     * reserva exitosa debe terminar con {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Libera el lugar. {@code sample} indica si la latencia representa el
+     * trabajo del modelo; los pedidos rechazados por validación o que
+     * terminaron en error no se usan para ajustar el límite.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int concurrent = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(rttNanos, concurrent);
+        }
+    }
+
+    private void onSample(long rttNanos, int concurrent) {
+        if (!window.tryLock()) {
+            return;
+        }
+        try {
+            addSample(rttNanos, concurrent);
+        } finally {
+            window.unlock();
+        }
+    }
+
+    private void addSample(long rttNanos, int concurrent) {
+        windowRttSum += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, concurrent);
+        if (++windowCount < windowSamples) {
+            return;
+        }
+
+        double shortRtt = Math.max(1, (double) windowRttSum / windowCount);
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        if (longRttNanos < 0) {
+            longRttNanos = shortRtt;
+            return;
+        }
+        longRttNanos += longRttAlpha * (shortRtt - longRttNanos);
+        // El modelo se recuperó: la referencia vuelve rápido en lugar de esperar a la media móvil
+        if (longRttNanos > 2 * shortRtt) {
+            longRttNanos = 2 * shortRtt;
+        }
+
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = clamp(tolerance * longRttNanos / shortRtt, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Latencia de referencia en milisegundos, o -1 antes de la primera ventana.
+     */
+    public double referenceLatencyMillis() {
+        double reference = longRttNanos;
+        return reference < 0 ? -1 : reference / 1_000_000.0;
+    }
+}
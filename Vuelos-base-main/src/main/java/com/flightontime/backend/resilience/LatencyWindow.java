@@ -0,0 +1,73 @@
+package com.flightontime.backend.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latencias de las últimas llamadas exitosas al modelo y su p95.
+ *
+ * Registrar una muestra es una escritura en un anillo sin locks. El percentil
+ * se recalcula cada {@code RECOMPUTE_EVERY} muestras con {@code tryLock}: si
+ * otro hilo ya lo está recalculando, el llamador sigue sin esperar. El hedging
+ * sólo necesita una referencia que siga los cambios de latencia del modelo.
+ */
+final class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final ReentrantLock recompute = new ReentrantLock();
+    // Sólo se usa con el lock tomado
+    private final long[] sorted;
+    private volatile long p95Nanos = -1;
+
+    LatencyWindow(int capacity) {
+        this.samples = new AtomicLongArray(Math.max(1, capacity));
+        this.sorted = new long[samples.length()];
+    }
+
+    void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        // 0 marca una posición todavía sin escribir
+        samples.set((int) (index % samples.length()), Math.max(1, nanos));
+        if ((index + 1) % RECOMPUTE_EVERY == 0 || p95Nanos < 0) {
+            tryRecompute();
+        }
+    }
+
+    private void tryRecompute() {
+        if (!recompute.tryLock()) {
+            return;
+        }
+        try {
+            int count = 0;
+            for (int i = 0; i < samples.length(); i++) {
+                long sample = samples.get(i);
+                if (sample > 0) {
+                    sorted[count++] = sample;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            Arrays.sort(sorted, 0, count);
+            p95Nanos = sorted[(int) Math.ceil(count * 0.95) - 1];
+        } finally {
+            recompute.unlock();
+        }
+    }
+
+    int size() {
+        return (int) Math.min(recorded.get(), samples.length());
+    }
+
+    /**
+     * El p95 observado, o -1 si todavía no hubo llamadas exitosas.
+     */
+    long p95Nanos() {
+        return p95Nanos;
+    }
+}
@@ -0,0 +1,274 @@
+package com.flightontime.backend.resilience;
+
+import com.flightontime.backend.concurrent.Futures;
+import com.flightontime.backend.concurrent.WorkerPools;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Protección alrededor de la llamada bloqueante al modelo de Data Science.
+ *
+ * Cada llamada pasa, en orden, por el circuit breaker (rechaza de inmediato si
+ * está abierto), el bulkhead (limita las llamadas simultáneas y rechaza si no
+ * hay lugar dentro de {@code max-wait}) y, si está activo, el hedging: cuando
+ * el primer intento supera el p95 observado se envía un segundo y gana la
+ * primera respuesta exitosa. El intento de respaldo ocupa su propio lugar del
+ * bulkhead y no se envía si no lo hay. El intento perdedor no se interrumpe;
+ * termina solo dentro del timeout total del cliente HTTP y recién entonces
+ * devuelve su lugar, así que las llamadas en curso al modelo nunca superan
+ * {@code max-concurrent}.
+ *
+ * Los rechazos se lanzan como {@link ModelUnavailableException} (503). Los
+ * errores 4xx del modelo responden al contenido del pedido y no cuentan como
+ * fallos para el circuito.
+ */
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+@Slf4j
+public class ModelCallGuard {
+
+    private static final int LATENCY_WINDOW = 1024;
+
+    private final boolean enabled;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayNanos;
+    private final int hedgeMinSamples;
+    private final int hedgeMaxExtraPercent;
+    private final LatencyWindow latencies = new LatencyWindow(LATENCY_WINDOW);
+    private final ExecutorService hedgePool;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder bulkheadRejected = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    public ModelCallGuard(ResilienceProperties properties,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.enabled = properties.enabled();
+        this.circuitBreaker = new CircuitBreaker(properties.circuitBreaker());
+        this.maxConcurrent = Math.max(1, properties.bulkhead().maxConcurrent());
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = properties.bulkhead().maxWait().toNanos();
+
+        ResilienceProperties.Hedge hedge = properties.hedge();
+        this.hedgeEnabled = enabled && hedge.enabled();
+        this.hedgeMinDelayNanos = hedge.minDelay().toNanos();
+        this.hedgeMinSamples = Math.max(1, hedge.minSamples());
+        this.hedgeMaxExtraPercent = hedge.maxExtraPercent();
+        // Cada llamada ocupa a lo sumo dos hilos: el intento original y el de respaldo
+        this.hedgePool = hedgeEnabled
+                ? WorkerPools.newPool("datascience-hedge", maxConcurrent * 2, virtualThreads)
+                : null;
+
+        log.info("Protección de la llamada al modelo: enabled={}, bulkhead={}, hedging={}",
+                enabled, maxConcurrent, hedgeEnabled);
+    }
+
+    public <T> T call(Supplier<T> modelCall) {
+        if (!enabled) {
+            return modelCall.get();
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            throw new ModelUnavailableException(
+                    "El servicio de Data Science no está disponible: circuito abierto tras fallos o lentitud recientes");
+        }
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkheadRejected.increment();
+            // La llamada no se hizo: no cuenta para las tasas del circuito
+            circuitBreaker.release();
+            throw new ModelUnavailableException(
+                    "El servicio de Data Science no está disponible: demasiadas llamadas simultáneas al modelo");
+        }
+
+        calls.increment();
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return hedgeEnabled ? hedged(modelCall) : timed(modelCall);
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        } finally {
+            if (!hedgeEnabled) {
+                bulkhead.release();
+            }
+            circuitBreaker.onResult(System.nanoTime() - start, failed);
+        }
+    }
+
+    private <T> T timed(Supplier<T> modelCall) {
+        long start = System.nanoTime();
+        T result = modelCall.get();
+        latencies.record(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Hace la llamada con un posible intento de respaldo. Libera el lugar del
+     * bulkhead que tomó {@link #call} cuando termina el intento original, aunque
+     * el respaldo haya respondido antes.
+     */
+    private <T> T hedged(Supplier<T> modelCall) {
+        long delayNanos = hedgeDelayNanos();
+        if (delayNanos < 0) {
+            try {
+                return timed(modelCall);
+            } finally {
+                bulkhead.release();
+            }
+        }
+
+        CompletableFuture<T> first;
+        try {
+            first = CompletableFuture.supplyAsync(() -> timed(modelCall), hedgePool);
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            throw e;
+        }
+        first.whenComplete((result, error) -> bulkhead.release());
+        try {
+            return first.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Supera el p95: se evalúa el intento de respaldo
+        } catch (ExecutionException e) {
+            throw Futures.unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelUnavailableException("El servicio de Data Science no está disponible: llamada interrumpida");
+        }
+
+        // El respaldo es una llamada más al modelo: sin lugar en el bulkhead se espera al original
+        if (!withinHedgeBudget() || !bulkhead.tryAcquire()) {
+            return Futures.join(first);
+        }
+        CompletableFuture<T> second;
+        try {
+            second = CompletableFuture.supplyAsync(() -> timed(modelCall), hedgePool);
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            return Futures.join(first);
+        }
+        hedges.increment();
+        second.whenComplete((result, error) -> bulkhead.release());
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        first.whenComplete((result, error) -> settle(winner, result, error, failures, false));
+        second.whenComplete((result, error) -> settle(winner, result, error, failures, true));
+        return Futures.join(winner);
+    }
+
+    private <T> void settle(CompletableFuture<T> winner, T result, Throwable error,
+                            AtomicInteger failures, boolean hedge) {
+        if (error == null) {
+            if (winner.complete(result) && hedge) {
+                hedgesWon.increment();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            // Sólo falla si fallan los dos intentos
+            winner.completeExceptionally(Futures.cause(error));
+        }
+    }
+
+    /**
+     * Espera antes del intento de respaldo: el p95 observado, nunca menos que
+     * {@code min-delay}. Devuelve -1 mientras no haya suficientes muestras.
+     */
+    private long hedgeDelayNanos() {
+        if (latencies.size() < hedgeMinSamples) {
+            return -1;
+        }
+        return Math.max(hedgeMinDelayNanos, latencies.p95Nanos());
+    }
+
+    private boolean withinHedgeBudget() {
+        return (hedges.sum() + 1) * 100 <= calls.sum() * hedgeMaxExtraPercent;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isHedgeEnabled() {
+        return hedgeEnabled;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int bulkheadCapacity() {
+        return maxConcurrent;
+    }
+
+    public int bulkheadInUse() {
+        return maxConcurrent - bulkhead.availablePermits();
+    }
+
+    public long bulkheadRejected() {
+        return bulkheadRejected.sum();
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * Intentos de respaldo enviados.
+     */
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * Intentos de respaldo que respondieron antes que el original.
+     */
+    public long hedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * p95 de las llamadas exitosas en milisegundos, o -1 si no hay muestras.
+     */
+    public double latencyP95Millis() {
+        long p95 = latencies.p95Nanos();
+        return p95 < 0 ? -1 : p95 / 1_000_000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hedgePool != null) {
+            hedgePool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.flightontime.backend.resilience;
+
+/**
+ * La llamada al modelo se rechazó sin intentarse: circuito abierto o bulkhead
+ * lleno. El mensaje mantiene "no está disponible" para que el cliente reciba
+ * 503, igual que cuando el modelo no responde.
+ */
+public class ModelUnavailableException extends RuntimeException {
+
+    public ModelUnavailableException(String message) {
+        super(message);
+    }
+}
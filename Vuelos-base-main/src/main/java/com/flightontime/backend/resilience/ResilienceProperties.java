@@ -0,0 +1,68 @@
+package com.flightontime.backend.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la protección alrededor de la llamada al modelo
+ * ({@code datascience.resilience.*}).
+ *
+ * @param enabled        activa circuit breaker, bulkhead y hedging
+ * @param circuitBreaker corta las llamadas cuando el modelo falla o tarda demasiado
+ * @param bulkhead       limita las llamadas simultáneas al modelo
+ * @param hedge          segundo intento cuando el primero supera el p95 observado
+ */
+@ConfigurationProperties(prefix = "datascience.resilience")
+public record ResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Bulkhead bulkhead,
+        @DefaultValue Hedge hedge
+) {
+
+    /**
+     * @param windowSize           últimas llamadas que se evalúan
+     * @param minimumCalls         llamadas necesarias en la ventana antes de poder abrir
+     * @param failureRateThreshold porcentaje de fallos que abre el circuito
+     * @param slowCallRateThreshold porcentaje de llamadas lentas que abre el circuito
+     * @param slowCallDuration     a partir de qué duración una llamada es lenta
+     * @param openDuration         tiempo abierto antes de dejar pasar llamadas de prueba
+     * @param halfOpenCalls        llamadas de prueba que deciden si se cierra o vuelve a abrir
+     */
+    public record CircuitBreaker(
+            @DefaultValue("50") int windowSize,
+            @DefaultValue("20") int minimumCalls,
+            @DefaultValue("50") int failureRateThreshold,
+            @DefaultValue("80") int slowCallRateThreshold,
+            @DefaultValue("5s") Duration slowCallDuration,
+            @DefaultValue("30s") Duration openDuration,
+            @DefaultValue("5") int halfOpenCalls
+    ) {
+    }
+
+    /**
+     * @param maxConcurrent llamadas simultáneas al modelo
+     * @param maxWait       espera máxima por un lugar antes de rechazar
+     */
+    public record Bulkhead(
+            @DefaultValue("100") int maxConcurrent,
+            @DefaultValue("50ms") Duration maxWait
+    ) {
+    }
+
+    /**
+     * @param enabled         envía un segundo intento si el primero tarda más que el p95
+     * @param minDelay        espera mínima antes del segundo intento
+     * @param minSamples      latencias observadas antes de empezar a usar el p95
+     * @param maxExtraPercent tope de intentos extra, en porcentaje de las llamadas
+     */
+    public record Hedge(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("50ms") Duration minDelay,
+            @DefaultValue("100") int minSamples,
+            @DefaultValue("10") int maxExtraPercent
+    ) {
+    }
+}
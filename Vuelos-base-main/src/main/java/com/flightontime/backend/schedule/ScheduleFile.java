@@ -0,0 +1,97 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lectura del archivo de vuelos programados: CSV con cabecera
+ *
+ * <pre>
+ * aerolinea,origen,destino,fecha_partida[,distancia_km]
+ * AA,JFK,LAX,2025-03-01 08:30:00,3983.0
+ * </pre>
+ *
+ * La fecha usa el mismo formato que {@code POST /predict}. Las columnas se
+ * ubican por nombre; {@code distancia_km} es opcional y, si falta, se usa la
+ * del catálogo. Las filas mal formadas se cuentan y se saltean.
+ */
+final class ScheduleFile {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ScheduleFile() {
+    }
+
+    record Parsed(List<PredictionRequest> flights, int malformed) {
+    }
+
+    static Parsed parse(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return new Parsed(List.of(), 0);
+        }
+        String[] header = headerLine.trim().toLowerCase(Locale.ROOT).split("\\s*,\\s*");
+        int airline = required(header, "aerolinea");
+        int origin = required(header, "origen");
+        int destination = required(header, "destino");
+        int departure = required(header, "fecha_partida");
+        int distance = indexOf(header, "distancia_km");
+
+        List<PredictionRequest> flights = new ArrayList<>();
+        int malformed = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            try {
+                flights.add(new PredictionRequest(
+                        column(columns, airline),
+                        column(columns, origin),
+                        column(columns, destination),
+                        LocalDateTime.parse(column(columns, departure), DATE_FORMAT),
+                        distance < 0 || column(columns, distance).isEmpty()
+                                ? null
+                                : Double.valueOf(column(columns, distance))
+                ));
+            } catch (ArrayIndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                malformed++;
+            }
+        }
+        return new Parsed(flights, malformed);
+    }
+
+    private static String column(String[] columns, int index) {
+        return columns[index].trim();
+    }
+
+    private static int required(String[] header, String name) {
+        int index = indexOf(header, name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Falta la columna " + name + " en el archivo de vuelos programados");
+        }
+        return index;
+    }
+
+    private static int indexOf(String[] header, String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.catalog.IataCode;
+import com.flightontime.backend.dto.request.PredictionRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Clave de un vuelo programado empaquetada en un {@code long}:
+ *
+ * <pre>
+ * bit 63      62..52      51..37     36..22      21..0
+ *  0    aerolínea (11)  origen (15)  destino (15)  minuto (22)
+ * </pre>
+ *
+ * Los códigos van codificados con {@link IataCode}; el minuto de partida es
+ * relativo al minuto base de la tabla, lo que alcanza para unos 8 años de
+ * horizonte. El orden numérico de las claves agrupa por aerolínea y ruta, y
+ * dentro de la ruta ordena por hora de partida.
+ *
+ * La partida se compara al minuto exacto: un pedido con segundos distintos de
+ * cero no corresponde a ningún vuelo programado.
+ */
+final class ScheduleKey {
+
+    static final long NONE = -1L;
+
+    static final int MINUTE_BITS = 22;
+    static final long MAX_MINUTE = (1L << MINUTE_BITS) - 1;
+
+    private static final int DESTINATION_SHIFT = MINUTE_BITS;
+    private static final int ORIGIN_SHIFT = DESTINATION_SHIFT + 15;
+    private static final int AIRLINE_SHIFT = ORIGIN_SHIFT + 15;
+
+    private ScheduleKey() {
+    }
+
+    static long pack(int airline, int origin, int destination, long minute) {
+        return (long) airline << AIRLINE_SHIFT
+                | (long) origin << ORIGIN_SHIFT
+                | (long) destination << DESTINATION_SHIFT
+                | minute;
+    }
+
+    /**
+     * Clave del pedido para una tabla con minuto base {@code baseMinute}, o
+     * {@link #NONE} si los códigos no son válidos o la partida no cae en un
+     * minuto exacto dentro del rango de la tabla. No asigna memoria.
+     */
+    static long of(PredictionRequest request, long baseMinute) {
+        LocalDateTime departure = request.fechaPartida();
+        if (departure == null || departure.getSecond() != 0) {
+            return NONE;
+        }
+        int airline = IataCode.airline(request.aerolinea());
+        int origin = IataCode.airport(request.origen());
+        int destination = IataCode.airport(request.destino());
+        if (airline == IataCode.NONE || origin == IataCode.NONE || destination == IataCode.NONE) {
+            return NONE;
+        }
+        long minute = epochMinute(departure) - baseMinute;
+        if (minute < 0 || minute > MAX_MINUTE) {
+            return NONE;
+        }
+        return pack(airline, origin, destination, minute);
+    }
+
+    /**
+     * Minuto de partida como el resto de la aplicación trata las fechas del
+     * pedido: hora local del vuelo leída como UTC.
+     */
+    static long epochMinute(LocalDateTime departure) {
+        return Math.floorDiv(departure.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
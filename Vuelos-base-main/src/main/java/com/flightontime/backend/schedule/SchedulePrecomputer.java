@@ -0,0 +1,278 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.concurrent.WorkerPools;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.validation.PredictValidator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Construye la tabla de {@link SchedulePredictions} a partir del archivo de
+ * vuelos programados, al arrancar y según {@code prediction.schedule.cron}.
+ *
+ * Cada ejecución lee el archivo completo y descarta los vuelos fuera de
+ * {@code [ahora, ahora + horizon]} y los que no pasan la validación. Las
+ * entradas de la tabla anterior calculadas hace menos de {@code refresh-after}
+ * se reutilizan; el resto se predice con a lo sumo {@code parallelism}
+ * llamadas simultáneas al modelo. Un vuelo cuya predicción falla conserva la
+ * entrada anterior, que se sigue sirviendo hasta {@code max-age}.
+ *
+ * Las llamadas van directo a {@link ModelGateway}: no pasan por la caché ni se
+ * guardan en el historial, que registra las predicciones que piden los clientes.
+ * Cada nodo construye su propia tabla.
+ */
+@Component
+@Slf4j
+public class SchedulePrecomputer {
+
+    private final SchedulePredictions predictions;
+    private final ScheduleProperties properties;
+    private final ModelGateway modelGateway;
+    private final PredictValidator predictValidator;
+    private final CatalogRegistry catalogRegistry;
+    private final ExecutorService workers;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder predicted = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder failedRuns = new LongAdder();
+
+    public SchedulePrecomputer(SchedulePredictions predictions,
+                               ScheduleProperties properties,
+                               ModelGateway modelGateway,
+                               PredictValidator predictValidator,
+                               CatalogRegistry catalogRegistry,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(predictions, properties, modelGateway, predictValidator, catalogRegistry,
+                WorkerPools.newPool("schedule-precompute", Math.max(1, properties.parallelism()), virtualThreads),
+                Clock.systemDefaultZone());
+    }
+
+    SchedulePrecomputer(SchedulePredictions predictions,
+                        ScheduleProperties properties,
+                        ModelGateway modelGateway,
+                        PredictValidator predictValidator,
+                        CatalogRegistry catalogRegistry,
+                        ExecutorService workers,
+                        Clock clock) {
+        if (properties.horizon().toMinutes() > ScheduleKey.MAX_MINUTE) {
+            throw new IllegalArgumentException("prediction.schedule.horizon supera el rango de la tabla: " + properties.horizon());
+        }
+        this.predictions = predictions;
+        this.properties = properties;
+        this.modelGateway = modelGateway;
+        this.predictValidator = predictValidator;
+        this.catalogRegistry = catalogRegistry;
+        this.workers = workers;
+        this.clock = clock;
+    }
+
+    /**
+     * La primera tabla se construye en segundo plano: con miles de vuelos puede
+     * tardar minutos y el nodo no debe esperarla para aceptar tráfico.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.enabled()) {
+            Thread thread = new Thread(this::run, "schedule-precompute-startup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Scheduled(cron = "${prediction.schedule.cron:0 0 * * * *}")
+    public void run() {
+        if (!properties.enabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            precompute();
+        } catch (IOException | RuntimeException e) {
+            // La tabla anterior sigue publicada; sus entradas vencen por max-age
+            failedRuns.increment();
+            log.error("Error al precalcular las predicciones de vuelos programados desde {}", properties.file(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    void precompute() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Instant startedAt = clock.instant();
+        LocalDateTime now = LocalDateTime.now(clock).withSecond(0).withNano(0);
+        LocalDateTime limit = now.plus(properties.horizon());
+        long baseMinute = ScheduleKey.epochMinute(now);
+        long refreshAfterSeconds = properties.refreshAfter().toSeconds();
+
+        Path file = Path.of(properties.file());
+        ScheduleFile.Parsed parsed;
+        try (InputStream in = Files.newInputStream(file)) {
+            parsed = ScheduleFile.parse(in);
+        }
+
+        CatalogIndex catalog = catalogRegistry.current();
+        ScheduleTable previous = predictions.current();
+        ScheduleTable.Builder builder = new ScheduleTable.Builder(baseMinute, file.toString(), startedAt);
+        int parallelism = Math.max(1, properties.parallelism());
+        Semaphore inFlight = new Semaphore(parallelism);
+        Queue<Computed> results = new ConcurrentLinkedQueue<>();
+        Set<Long> seen = new HashSet<>();
+        int outside = 0;
+        int invalid = parsed.malformed();
+        int reusedNow = 0;
+
+        try {
+            for (PredictionRequest flight : parsed.flights()) {
+                LocalDateTime departure = flight.fechaPartida();
+                if (departure.isBefore(now) || departure.isAfter(limit)) {
+                    outside++;
+                    continue;
+                }
+                long key = ScheduleKey.of(flight, baseMinute);
+                if (key == ScheduleKey.NONE || !predictValidator.check(flight).isValid()) {
+                    invalid++;
+                    continue;
+                }
+                if (!seen.add(key)) {
+                    continue;
+                }
+
+                int previousIndex = previous.indexOf(ScheduleKey.of(flight, previous.baseMinute()));
+                if (previousIndex >= 0
+                        && startedAt.getEpochSecond() - previous.computedAtEpochSecond(previousIndex) < refreshAfterSeconds) {
+                    builder.add(key, previous.response(previousIndex), previous.computedAtEpochSecond(previousIndex));
+                    reusedNow++;
+                    continue;
+                }
+
+                PredictionRequest resolved = withRouteDistance(flight, catalog);
+                inFlight.acquire();
+                try {
+                    workers.execute(() -> {
+                        try {
+                            results.add(predict(key, resolved, previousIndex));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    results.add(new Computed(key, null, 0, previousIndex, "el pool de precálculo está detenido"));
+                }
+            }
+        } finally {
+            // Las predicciones en curso terminan antes de armar la tabla (o de abandonarla si se interrumpió)
+            inFlight.acquireUninterruptibly(parallelism);
+            inFlight.release(parallelism);
+        }
+
+        int predictedNow = 0;
+        int failedNow = 0;
+        String lastError = null;
+        for (Computed result : results) {
+            if (result.response() != null) {
+                builder.add(result.key(), result.response(), result.computedAt());
+                predictedNow++;
+                continue;
+            }
+            failedNow++;
+            lastError = result.error();
+            if (result.previousIndex() >= 0) {
+                builder.add(result.key(), previous.response(result.previousIndex()),
+                        previous.computedAtEpochSecond(result.previousIndex()));
+            }
+        }
+
+        ScheduleTable table = builder.build();
+        predictions.publish(table);
+        predicted.add(predictedNow);
+        reused.add(reusedNow);
+        failed.add(failedNow);
+
+        log.info("Vuelos programados precalculados en {} ms: {} en la tabla ({} predichos, {} reutilizados, {} fallidos), "
+                        + "{} fuera del horizonte, {} inválidos",
+                (System.nanoTime() - start) / 1_000_000, table.size(), predictedNow, reusedNow, failedNow,
+                outside, invalid);
+        if (failedNow > 0) {
+            log.warn("{} vuelos programados no se pudieron predecir; último error: {}", failedNow, lastError);
+        }
+    }
+
+    private Computed predict(long key, PredictionRequest request, int previousIndex) {
+        try {
+            PredictionResponse response = modelGateway.predict(request);
+            if (response == null || response.prevision() == null || response.probabilidad() == null) {
+                return new Computed(key, null, 0, previousIndex, "respuesta incompleta del modelo");
+            }
+            return new Computed(key, response, clock.instant().getEpochSecond(), previousIndex, null);
+        } catch (RuntimeException e) {
+            return new Computed(key, null, 0, previousIndex, e.getMessage());
+        }
+    }
+
+    /**
+     * Igual que en {@code POST /predict}: sin distancia se usa la ortodrómica
+     * del catálogo, que el validador ya garantizó.
+     */
+    private static PredictionRequest withRouteDistance(PredictionRequest request, CatalogIndex catalog) {
+        if (request.distanciaKm() != null) {
+            return request;
+        }
+        double routeKm = catalog.distanceKm(request.origen(), request.destino());
+        return request.withDistanciaKm(Math.round(routeKm * 100) / 100.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public long predicted() {
+        return predicted.sum();
+    }
+
+    public long reused() {
+        return reused.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long failedRuns() {
+        return failedRuns.sum();
+    }
+
+    private record Computed(long key, PredictionResponse response, long computedAt, int previousIndex, String error) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tabla vigente de predicciones precalculadas para los vuelos programados
+ * (la construye {@link SchedulePrecomputer}).
+ *
+ * {@link #find} resuelve un pedido con una búsqueda binaria sobre claves
+ * {@code long}, sin llamar al modelo ni asignar memoria más allá de la
+ * respuesta. Sólo sirve coincidencias exactas de aerolínea, ruta y minuto de
+ * partida cuya predicción tenga menos de {@code max-age}; el resto sigue el
+ * camino normal (caché y modelo).
+ *
+ * La tabla se reemplaza entera con una escritura volátil, igual que el catálogo:
+ * los pedidos en curso terminan con la versión que leyeron.
+ */
+@Component
+@EnableConfigurationProperties(ScheduleProperties.class)
+public class SchedulePredictions {
+
+    private final boolean enabled;
+    private final long maxAgeSeconds;
+    private final Clock clock;
+    private volatile ScheduleTable table = ScheduleTable.EMPTY;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public SchedulePredictions(ScheduleProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    SchedulePredictions(ScheduleProperties properties, Clock clock) {
+        this.enabled = properties.enabled();
+        this.maxAgeSeconds = properties.maxAge().toSeconds();
+        this.clock = clock;
+    }
+
+    /**
+     * Predicción precalculada del vuelo, o null si no está en la tabla o está
+     * vencida.
+     */
+    public PredictionResponse find(PredictionRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        ScheduleTable current = table;
+        int index = current.indexOf(ScheduleKey.of(request, current.baseMinute()));
+        if (index < 0) {
+            misses.increment();
+            return null;
+        }
+        if (clock.millis() / 1000 - current.computedAtEpochSecond(index) > maxAgeSeconds) {
+            stale.increment();
+            return null;
+        }
+        hits.increment();
+        return current.response(index);
+    }
+
+    ScheduleTable current() {
+        return table;
+    }
+
+    void publish(ScheduleTable table) {
+        this.table = table;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public String source() {
+        return table.source();
+    }
+
+    public Instant builtAt() {
+        return table.size() == 0 ? null : table.builtAt();
+    }
+
+    /**
+     * Antigüedad en segundos de la entrada más vieja de la tabla; 0 sin entradas.
+     */
+    public long oldestEntryAgeSeconds() {
+        long oldest = table.oldestComputedAt();
+        return oldest < 0 ? 0 : Math.max(0, clock.millis() / 1000 - oldest);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Vuelos encontrados en la tabla cuya predicción superaba {@code max-age}.
+     */
+    public long stale() {
+        return stale.sum();
+    }
+}
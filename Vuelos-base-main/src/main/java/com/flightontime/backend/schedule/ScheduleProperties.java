@@ -0,0 +1,30 @@
+package com.flightontime.backend.schedule;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Predicciones precalculadas de los vuelos programados
+ * ({@code prediction.schedule.*}).
+ *
+ * @param enabled      precalcula la tabla al arrancar y según {@code prediction.schedule.cron}
+ * @param file         CSV de vuelos programados (ver {@link ScheduleFile})
+ * @param parallelism  llamadas simultáneas al modelo mientras se precalcula
+ * @param horizon      sólo se precalculan los vuelos que parten dentro de este plazo
+ * @param refreshAfter una entrada más nueva que esto se reutiliza en la siguiente
+ *                     ejecución sin volver a llamar al modelo
+ * @param maxAge       una entrada más vieja que esto deja de servirse y el pedido
+ *                     va al modelo
+ */
+@ConfigurationProperties(prefix = "prediction.schedule")
+public record ScheduleProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("schedule/upcoming-flights.csv") String file,
+        @DefaultValue("8") int parallelism,
+        @DefaultValue("7d") Duration horizon,
+        @DefaultValue("6h") Duration refreshAfter,
+        @DefaultValue("24h") Duration maxAge
+) {
+}
@@ -0,0 +1,149 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.dto.response.PredictionResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predicciones precalculadas de los vuelos programados, en formato columnar e
+ * inmutable.
+ *
+ * Las claves ({@link ScheduleKey}) están ordenadas en un {@code long[]} y la
+ * búsqueda es binaria; cada posición {@code i} tiene su probabilidad, su
+ * previsión (índice en un diccionario: el modelo devuelve muy pocas distintas)
+ * y el instante en que se calculó, en segundos desde el minuto base. Son unos
+ * 21 bytes por vuelo, sin objetos por entrada.
+ */
+final class ScheduleTable {
+
+    static final ScheduleTable EMPTY = new Builder(0, null, Instant.EPOCH).build();
+
+    private final long baseMinute;
+    private final long[] keys;
+    private final double[] probabilities;
+    private final byte[] labelIndexes;
+    private final String[] labels;
+    private final int[] computedAt;
+    private final long oldestComputedAt;
+    private final String source;
+    private final Instant builtAt;
+
+    private ScheduleTable(long baseMinute, long[] keys, double[] probabilities, byte[] labelIndexes, String[] labels,
+                          int[] computedAt, String source, Instant builtAt) {
+        this.baseMinute = baseMinute;
+        this.keys = keys;
+        this.probabilities = probabilities;
+        this.labelIndexes = labelIndexes;
+        this.labels = labels;
+        this.computedAt = computedAt;
+        this.source = source;
+        this.builtAt = builtAt;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < computedAt.length; i++) {
+            oldest = Math.min(oldest, computedAtEpochSecond(i));
+        }
+        this.oldestComputedAt = computedAt.length == 0 ? -1 : oldest;
+    }
+
+    /**
+     * Posición de la clave o un valor negativo si no está.
+     */
+    int indexOf(long key) {
+        return key == ScheduleKey.NONE ? -1 : Arrays.binarySearch(keys, key);
+    }
+
+    PredictionResponse response(int index) {
+        return new PredictionResponse(labels[labelIndexes[index]], probabilities[index]);
+    }
+
+    long computedAtEpochSecond(int index) {
+        return baseMinute * 60 + computedAt[index];
+    }
+
+    long baseMinute() {
+        return baseMinute;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Instante de cálculo de la entrada más vieja, en segundos epoch; -1 sin entradas.
+     */
+    long oldestComputedAt() {
+        return oldestComputedAt;
+    }
+
+    String source() {
+        return source;
+    }
+
+    Instant builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * Acumula las entradas de una tabla nueva. No es thread-safe: los hilos
+     * que predicen entregan sus resultados a quien construye.
+     */
+    static final class Builder {
+
+        private final long baseMinute;
+        private final String source;
+        private final Instant builtAt;
+        private final List<Entry> entries = new ArrayList<>();
+
+        Builder(long baseMinute, String source, Instant builtAt) {
+            this.baseMinute = baseMinute;
+            this.source = source;
+            this.builtAt = builtAt;
+        }
+
+        void add(long key, PredictionResponse response, long computedAtEpochSecond) {
+            entries.add(new Entry(key, response.prevision(), response.probabilidad(),
+                    Math.toIntExact(computedAtEpochSecond - baseMinute * 60)));
+        }
+
+        ScheduleTable build() {
+            entries.sort(Comparator.comparingLong(Entry::key));
+            int n = entries.size();
+            long[] keys = new long[n];
+            double[] probabilities = new double[n];
+            byte[] labelIndexes = new byte[n];
+            int[] computedAt = new int[n];
+            Map<String, Integer> labelIds = new HashMap<>();
+            List<String> labels = new ArrayList<>();
+            int size = 0;
+            for (Entry entry : entries) {
+                if (size > 0 && keys[size - 1] == entry.key()) {
+                    continue;
+                }
+                Integer label = labelIds.computeIfAbsent(entry.label(), value -> {
+                    labels.add(value);
+                    return labels.size() - 1;
+                });
+                if (label > Byte.MAX_VALUE) {
+                    throw new IllegalStateException("Demasiadas previsiones distintas en la tabla de vuelos programados");
+                }
+                keys[size] = entry.key();
+                probabilities[size] = entry.probability();
+                labelIndexes[size] = label.byteValue();
+                computedAt[size] = entry.computedAt();
+                size++;
+            }
+            return new ScheduleTable(baseMinute, Arrays.copyOf(keys, size), Arrays.copyOf(probabilities, size),
+                    Arrays.copyOf(labelIndexes, size), labels.toArray(String[]::new), Arrays.copyOf(computedAt, size),
+                    source, builtAt);
+        }
+
+        private record Entry(long key, String label, double probability, int computedAt) {
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.flightontime.backend.service;
+
+/**
+ * Formato del cuerpo de {@code POST /predict/batch}; también define el de la
+ * respuesta.
+ */
+public enum BatchFormat {
+
+    /** Array JSON; responde NDJSON. */
+    JSON,
+
+    /** Un vuelo JSON por línea; responde NDJSON. */
+    NDJSON,
+
+    /**
+     * Array CBOR o valores CBOR concatenados; responde una secuencia CBOR
+     * ({@code application/cbor-seq}), un valor por vuelo sin separadores.
+     */
+    CBOR
+}
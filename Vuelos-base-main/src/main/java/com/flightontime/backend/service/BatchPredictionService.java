@@ -0,0 +1,283 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.concurrent.WorkerPools;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.BatchPredictionLine;
+import com.flightontime.backend.exception.ErrorStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Predicción de muchos vuelos en un solo pedido.
+ *
+ * La entrada se lee de a un vuelo por vez (array JSON, NDJSON o CBOR) y cada
+ * vuelo se predice en el pool compartido, con a lo sumo {@code max-in-flight}
+ * vuelos en curso por pedido: cuando se alcanza el límite la lectura se
+ * detiene, así que ni la entrada ni la salida se acumulan en memoria. Cada
+ * resultado se escribe como una línea NDJSON (o un valor CBOR) apenas está
+ * listo, por lo que el orden de salida no es el de entrada; el campo
+ * {@code index} permite correlacionarlos.
+ */
+@Service
+@Slf4j
+public class BatchPredictionService {
+
+    private final PredictionService predictionService;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter lineWriter;
+    private final ObjectReader cborRequestReader;
+    private final ObjectWriter cborLineWriter;
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final int persistChunkSize;
+
+    public BatchPredictionService(PredictionService predictionService,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${prediction.batch.threads:32}") int threads,
+                                  @Value("${prediction.batch.max-in-flight:16}") int maxInFlight,
+                                  @Value("${prediction.batch.persist-chunk-size:500}") int persistChunkSize,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.predictionService = predictionService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(PredictionRequest.class);
+        this.lineWriter = objectMapper.writerFor(BatchPredictionLine.class);
+        CBORMapper cborMapper = CBORMapper.builder().build();
+        this.cborRequestReader = cborMapper.readerFor(PredictionRequest.class);
+        this.cborLineWriter = cborMapper.writerFor(BatchPredictionLine.class);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.persistChunkSize = Math.max(1, persistChunkSize);
+
+        this.workers = WorkerPools.newPool("prediction-batch", threads, virtualThreads);
+    }
+
+    /**
+     * Lee los vuelos de {@code in}, los predice y escribe una línea por vuelo en
+     * {@code out}. Vuelve cuando todos los vuelos leídos terminaron y fueron
+     * entregados al historial.
+     */
+    public void predict(InputStream in, BatchFormat format, OutputStream out) throws IOException {
+        BatchRun run = format == BatchFormat.CBOR
+                ? new BatchRun(out, cborLineWriter, false)
+                : new BatchRun(out, lineWriter, true);
+        try {
+            switch (format) {
+                case NDJSON -> readLines(in, run);
+                case JSON -> readArray(in, requestReader, format, run);
+                case CBOR -> readArray(in, cborRequestReader, format, run);
+            }
+        } finally {
+            run.finish();
+        }
+        log.info("Predicción batch completada: vuelos={}, fallidos={}", run.total, run.failed.get());
+    }
+
+    private void readLines(InputStream in, BatchRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while (!run.aborted && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int index = run.total++;
+            PredictionRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JacksonException e) {
+                run.fail(index, HttpStatus.BAD_REQUEST, "Línea con JSON inválido: " + e.getOriginalMessage());
+                continue;
+            }
+            run.submit(index, request);
+        }
+    }
+
+    private void readArray(InputStream in, ObjectReader reader, BatchFormat format, BatchRun run) throws IOException {
+        try (MappingIterator<PredictionRequest> values = reader.readValues(in)) {
+            while (!run.aborted && values.hasNextValue()) {
+                int index = run.total++;
+                PredictionRequest request;
+                try {
+                    request = values.nextValue();
+                } catch (JacksonException e) {
+                    run.fail(index, HttpStatus.BAD_REQUEST, "Elemento con formato inválido: " + e.getOriginalMessage());
+                    continue;
+                }
+                run.submit(index, request);
+            }
+        } catch (JacksonException e) {
+            // Cuerpo mal formado: no se puede seguir leyendo el array
+            run.fail(run.total, HttpStatus.BAD_REQUEST, format.name() + " inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private String violations(PredictionRequest request) {
+        Set<ConstraintViolation<PredictionRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Estado de un pedido batch: permisos de vuelos en curso, la salida
+     * compartida y las predicciones pendientes de persistir.
+     */
+    private final class BatchRun {
+
+        private final OutputStream out;
+        private final ObjectWriter writer;
+        // NDJSON separa las líneas; en una secuencia CBOR cada valor se delimita solo
+        private final boolean newline;
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final ReentrantLock outputLock = new ReentrantLock();
+        private final ReentrantLock persistLock = new ReentrantLock();
+        private final AtomicInteger failed = new AtomicInteger();
+        private List<PredictedFlight> unsaved = new ArrayList<>();
+        private int total;
+        private volatile boolean aborted;
+
+        private BatchRun(OutputStream out, ObjectWriter writer, boolean newline) {
+            this.out = out;
+            this.writer = writer;
+            this.newline = newline;
+        }
+
+        void submit(int index, PredictionRequest request) throws IOException {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                aborted = true;
+                throw new IOException("Predicción batch interrumpida", e);
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        predictOne(index, request);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                fail(index, HttpStatus.SERVICE_UNAVAILABLE, "El servicio de predicción no está disponible");
+            }
+        }
+
+        private void predictOne(int index, PredictionRequest request) {
+            String invalid = violations(request);
+            if (invalid != null) {
+                fail(index, HttpStatus.BAD_REQUEST, invalid);
+                return;
+            }
+
+            PredictedFlight predicted;
+            try {
+                predicted = predictionService.evaluate(request);
+            } catch (RuntimeException e) {
+                fail(index, ErrorStatus.of(e), e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                return;
+            }
+
+            write(BatchPredictionLine.success(index, predicted.response()));
+            persist(predicted);
+        }
+
+        void fail(int index, HttpStatus status, String message) {
+            failed.incrementAndGet();
+            write(BatchPredictionLine.failure(index, status.value(), message));
+        }
+
+        private void write(BatchPredictionLine line) {
+            if (aborted) {
+                return;
+            }
+            byte[] encoded = writer.writeValueAsBytes(line);
+            outputLock.lock();
+            try {
+                out.write(encoded);
+                if (newline) {
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                // El cliente cortó la conexión: se deja de leer y de escribir
+                log.warn("Se interrumpe la predicción batch: no se pudo escribir la respuesta ({})", e.getMessage());
+                aborted = true;
+            } finally {
+                outputLock.unlock();
+            }
+        }
+
+        private void persist(PredictedFlight predicted) {
+            List<PredictedFlight> chunk = null;
+            persistLock.lock();
+            try {
+                unsaved.add(predicted);
+                if (unsaved.size() >= persistChunkSize) {
+                    chunk = unsaved;
+                    unsaved = new ArrayList<>();
+                }
+            } finally {
+                persistLock.unlock();
+            }
+            if (chunk != null) {
+                predictionService.savePredictions(chunk);
+            }
+        }
+
+        /**
+         * Espera a los vuelos en curso y persiste lo que quedó pendiente.
+         */
+        void finish() {
+            inFlight.acquireUninterruptibly(maxInFlight);
+            inFlight.release(maxInFlight);
+
+            List<PredictedFlight> rest;
+            persistLock.lock();
+            try {
+                rest = unsaved;
+                unsaved = new ArrayList<>();
+            } finally {
+                persistLock.unlock();
+            }
+            predictionService.savePredictions(rest);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.catalog.IataCode;
+
+/**
+ * Normalización de los códigos IATA que llegan como parámetros de consulta.
+ */
+final class CodeParams {
+
+    private CodeParams() {
+    }
+
+    /**
+     * Código de aerolínea en mayúsculas, o null si no se envió.
+     */
+    static String airline(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        int encoded = IataCode.airline(code);
+        if (encoded == IataCode.NONE) {
+            throw new IllegalArgumentException("Código de aerolínea inválido: " + code);
+        }
+        return IataCode.airlineToString(encoded);
+    }
+
+    /**
+     * Código de aeropuerto en mayúsculas, o null si no se envió.
+     */
+    static String airport(String code, String field) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        int encoded = IataCode.airport(code);
+        if (encoded == IataCode.NONE) {
+            throw new IllegalArgumentException("Código de " + field + " inválido: " + code);
+        }
+        return IataCode.airportToString(encoded);
+    }
+}
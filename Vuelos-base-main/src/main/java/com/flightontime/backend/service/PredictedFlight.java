@@ -0,0 +1,10 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+
+/**
+ * Pedido ya validado y con la distancia resuelta, junto con la predicción del modelo.
+ */
+public record PredictedFlight(PredictionRequest request, PredictionResponse response) {
+}
@@ -0,0 +1,92 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.dto.response.PredictionHistoryItem;
+import com.flightontime.backend.dto.response.PredictionHistoryPageResponse;
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import com.flightontime.backend.repository.HistoryCursor;
+import com.flightontime.backend.repository.PredictionHistoryFilter;
+import com.flightontime.backend.repository.PredictionHistoryOrder;
+import com.flightontime.backend.repository.PredictionRepository;
+import com.flightontime.backend.repository.PredictionSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consulta paginada del historial de predicciones.
+ *
+ * La paginación es por keyset: cada página devuelve un cursor con la clave de
+ * su última fila y la siguiente continúa desde ahí, así el costo de una página
+ * no crece con su posición ni con el tamaño de la tabla.
+ */
+@Service
+@RequiredArgsConstructor
+public class PredictionHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final PredictionRepository predictionRepository;
+
+    public PredictionHistoryPageResponse find(String aerolinea,
+                                              String origen,
+                                              String destino,
+                                              LocalDateTime desde,
+                                              LocalDateTime hasta,
+                                              String prevision,
+                                              String cursor,
+                                              Integer limite) {
+        int limit = limite == null ? DEFAULT_PAGE_SIZE : limite;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        if (desde != null && hasta != null && !desde.isBefore(hasta)) {
+            throw new IllegalArgumentException("La fecha 'desde' debe ser anterior a 'hasta'");
+        }
+
+        PredictionHistoryFilter filter = new PredictionHistoryFilter(
+                CodeParams.airline(aerolinea),
+                CodeParams.airport(origen, "origen"),
+                CodeParams.airport(destino, "destino"),
+                desde,
+                hasta,
+                prevision == null ? null : PredictionResult.fromLabel(prevision)
+        );
+        PredictionHistoryOrder order = PredictionHistoryOrder.forFilter(filter);
+
+        HistoryCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = HistoryCursor.decode(cursor);
+            if (after.order() != order || !after.matches(filter)) {
+                throw new IllegalArgumentException("El cursor corresponde a una consulta con otros filtros");
+            }
+        }
+
+        // Una fila de más indica si existe una página siguiente sin hacer un COUNT
+        List<PredictionSummary> rows = predictionRepository.findHistory(filter, order, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<PredictionHistoryItem> items = new ArrayList<>(rows.size());
+        for (PredictionSummary row : rows) {
+            items.add(new PredictionHistoryItem(
+                    row.id(),
+                    row.aerolinea(),
+                    row.origen(),
+                    row.destino(),
+                    row.fechaPartida(),
+                    row.distanciaKm(),
+                    row.prevision().name(),
+                    row.probabilidad(),
+                    row.createdAt()
+            ));
+        }
+        String nextCursor = hasMore ? HistoryCursor.after(order, filter, rows.get(rows.size() - 1)).encode() : null;
+        return new PredictionHistoryPageResponse(items, order.name(), nextCursor);
+    }
+}
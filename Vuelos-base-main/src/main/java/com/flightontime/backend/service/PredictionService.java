@@ -1,11 +1,20 @@
 package com.flightontime.backend.service;
 
-import com.flightontime.backend.client.DataScienceClient;
+import com.flightontime.backend.cache.PredictionCache;
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.concurrent.Futures;
+import com.flightontime.backend.history.PredictionHistoryWriter;
+import com.flightontime.backend.metrics.PredictionMetrics;
+import com.flightontime.backend.metrics.PredictionStage;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.persistence.PredictionMapper;
 import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.resilience.ModelUnavailableException;
+import com.flightontime.backend.schedule.SchedulePredictions;
 import com.flightontime.backend.dto.request.PredictionRequest;
 import com.flightontime.backend.dto.response.PredictionResponse;
-import com.flightontime.backend.persistence.entity.PredictionResult;
-import com.flightontime.backend.repository.PredictionRepository;
+import com.flightontime.backend.validation.InvalidPredictionException;
 import com.flightontime.backend.validation.PredictValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,94 +23,233 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class PredictionService {
 
-    private final PredictionRepository repository;
-    private final DataScienceClient dataScienceClient;
+    private final PredictionHistoryWriter historyWriter;
+    private final ModelGateway modelGateway;
     private final PredictValidator predictValidator;
+    private final CatalogRegistry catalogRegistry;
+    private final PredictionCache predictionCache;
+    private final SchedulePredictions schedulePredictions;
+    private final PredictionMetrics metrics;
     
 
 
     public PredictionResponse predict(PredictionRequest request) {
         log.debug("Iniciando predict metodo: aerolinea={}, origen={}, destino={}", 
                 request.aerolinea(), request.origen(), request.destino());
-        
-        try {
-            // Validación de datos de entrada
-            predictValidator.validation(request);
-            // Llamada (o mock) al modelo de Data Science
-            PredictionResponse response = dataScienceClient.predictDelay(request);
-            log.info("Predicción completada exitosamente: prevision={}, probabilidad={}", 
-                    response.prevision(), response.probabilidad());
 
-            savePrediction(request, response);
+        PredictedFlight predicted = evaluate(request);
+        PredictionResponse response = predicted.response();
 
-            log.info("Predicción completada exitosamente: prevision={}, probabilidad={}",
-                    response.prevision(), response.probabilidad());
-            return response;
+        metrics.record(PredictionStage.SAVE, () -> savePrediction(predicted.request(), response));
+
+        log.info("Predicción completada exitosamente: prevision={}, probabilidad={}",
+                response.prevision(), response.probabilidad());
+        return response;
+    }
+
+    /**
+     * Valida el pedido, completa la distancia y consulta el modelo sin persistir
+     * el resultado. El endpoint batch lo usa por vuelo y persiste por lotes con
+     * {@link #savePredictions(List)}.
+     *
+     * Los vuelos programados con una predicción precalculada vigente se
+     * responden desde {@link SchedulePredictions}, sin caché ni modelo.
+     */
+    public PredictedFlight evaluate(PredictionRequest request) {
+        try {
+            // Validación de datos de entrada
+            metrics.record(PredictionStage.VALIDATION, () -> predictValidator.validation(request));
+            PredictionRequest resolved = withRouteDistance(request);
+            // Vuelos programados: la predicción ya está calculada
+            PredictionResponse precomputed = schedulePredictions.find(resolved);
+            if (precomputed != null) {
+                return new PredictedFlight(resolved, precomputed);
+            }
+            // Llamada al modelo (remoto, local o ambos según model.mode); los pedidos equivalentes se
+            // sirven desde la caché
+            PredictionResponse response = predictionCache.get(resolved,
+                    () -> metrics.record(PredictionStage.MODEL, () -> modelGateway.predict(resolved)));
+            return new PredictedFlight(resolved, response);
             
+        } catch (InvalidPredictionException e) {
+            // Error del cliente: sin stack trace, para que una ráfaga de pedidos inválidos no llene el log
+            log.debug("Pedido inválido: {}", e.getMessage());
+            throw e;
+
         } catch (IllegalArgumentException | IllegalStateException e) {
             log.warn("Error de validación del request: {}", e.getMessage(), e);
             // Re-lanzamos la excepción para que el GlobalExceptionHandler la maneje como 400
             throw e;
             
-        } catch (HttpClientErrorException e) {
-            log.error("Error del cliente HTTP al consultar modelo de Data Science. Status: {}, Response: {}", 
-                    e.getStatusCode(), e.getResponseBodyAsString(), e);
-            // Para 422 (Unprocessable Entity), se propaga con el status code original
-            if (e.getStatusCode().value() == 422) {
-                throw new RuntimeException("El modelo de Data Science no pudo procesar la solicitud: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw modelFailure(e);
+        }
+    }
+
+    /**
+     * Variante no bloqueante de {@link #predict} para {@code prediction.stack=reactive}:
+     * valida en el hilo del pedido y devuelve un futuro que se completa cuando
+     * responde el modelo, sin ocupar un hilo mientras tanto. Los errores de
+     * validación se lanzan directamente; los del modelo completan el futuro con
+     * la misma excepción que el flujo bloqueante.
+     */
+    public CompletableFuture<PredictionResponse> predictAsync(PredictionRequest request) {
+        log.debug("Iniciando predictAsync metodo: aerolinea={}, origen={}, destino={}",
+                request.aerolinea(), request.origen(), request.destino());
+
+        PredictionRequest resolved;
+        try {
+            metrics.record(PredictionStage.VALIDATION, () -> predictValidator.validation(request));
+            resolved = withRouteDistance(request);
+        } catch (InvalidPredictionException e) {
+            log.debug("Pedido inválido: {}", e.getMessage());
+            throw e;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Error de validación del request: {}", e.getMessage(), e);
+            throw e;
+        }
+
+        PredictionResponse precomputed = schedulePredictions.find(resolved);
+        if (precomputed != null) {
+            metrics.record(PredictionStage.SAVE, () -> savePredictionWithoutBlocking(resolved, precomputed));
+            return CompletableFuture.completedFuture(precomputed);
+        }
+
+        CompletableFuture<PredictionResponse> prediction;
+        try {
+            // Remoto, local o ambos según model.mode, igual que en el flujo bloqueante
+            prediction = predictionCache.getAsync(resolved, () -> {
+                long start = System.nanoTime();
+                return modelGateway.predictAsync(resolved)
+                        .whenComplete((response, error) -> metrics.recordSince(PredictionStage.MODEL, start));
+            });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(modelFailure(e));
+        }
+
+        return prediction.handle((response, error) -> {
+            if (error != null) {
+                throw modelFailure(Futures.cause(error));
             }
-            // Para otros errores 4xx, se propaga como error de servicio
-            throw new RuntimeException("Error al consultar el modelo de Data Science: " + e.getMessage(), e);
-            
-        } catch (HttpServerErrorException e) {
-            log.error("Error del servidor HTTP en el modelo de Data Science. Status: {}, Response: {}", 
-                    e.getStatusCode(), e.getResponseBodyAsString(), e);
-            throw new RuntimeException("Error interno en el modelo de Data Science: " + e.getMessage(), e);
-            
-        } catch (ResourceAccessException e) {
+            log.info("Predicción completada exitosamente: prevision={}, probabilidad={}",
+                    response.prevision(), response.probabilidad());
+            // Se completa en un hilo de E/S: el historial nunca debe bloquearlo
+            metrics.record(PredictionStage.SAVE, () -> savePredictionWithoutBlocking(resolved, response));
+            return response;
+        });
+    }
+
+    /**
+     * Traduce el fallo de la llamada al modelo, bloqueante o reactiva, a la
+     * excepción que el GlobalExceptionHandler convierte en 422, 503 o 500.
+     */
+    private RuntimeException modelFailure(Throwable e) {
+        if (e instanceof ModelUnavailableException unavailable) {
+            // Rechazo sin llamar al modelo: ya trae el mensaje que se traduce a 503
+            log.warn(unavailable.getMessage());
+            return unavailable;
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            log.error("Error del cliente HTTP al consultar modelo de Data Science. Status: {}, Response: {}", 
+                    clientError.getStatusCode(), clientError.getResponseBodyAsString(), e);
+            return clientErrorFailure(clientError.getStatusCode().value(), e);
+        }
+        if (e instanceof WebClientResponseException responseError && responseError.getStatusCode().is4xxClientError()) {
+            log.error("Error del cliente HTTP al consultar modelo de Data Science. Status: {}, Response: {}",
+                    responseError.getStatusCode(), responseError.getResponseBodyAsString(), e);
+            return clientErrorFailure(responseError.getStatusCode().value(), e);
+        }
+        if (e instanceof HttpServerErrorException || e instanceof WebClientResponseException) {
+            log.error("Error del servidor HTTP en el modelo de Data Science: {}", e.getMessage(), e);
+            return new RuntimeException("Error interno en el modelo de Data Science: " + e.getMessage(), e);
+        }
+        if (e instanceof ResourceAccessException || e instanceof WebClientRequestException || e instanceof TimeoutException) {
             log.error("No se pudo conectar con el servicio de Data Science: {}", e.getMessage(), e);
-            throw new RuntimeException("El servicio de Data Science no está disponible temporalmente", e);
-            
-        } catch (RestClientException e) {
+            return new RuntimeException("El servicio de Data Science no está disponible temporalmente", e);
+        }
+        if (e instanceof RestClientException || e instanceof WebClientException) {
             log.error("Error inesperado al comunicarse con el modelo de Data Science: {}", e.getMessage(), e);
-            throw new RuntimeException("Error al comunicarse con el modelo de Data Science: " + e.getMessage(), e);
-            
-        } catch (Exception e) {
-            log.error("Error inesperado durante la predicción: {}", e.getMessage(), e);
-            throw new RuntimeException("Error inesperado al procesar la predicción: " + e.getMessage(), e);
+            return new RuntimeException("Error al comunicarse con el modelo de Data Science: " + e.getMessage(), e);
         }
+        log.error("Error inesperado durante la predicción: {}", e.getMessage(), e);
+        return new RuntimeException("Error inesperado al procesar la predicción: " + e.getMessage(), e);
     }
 
+    private static RuntimeException clientErrorFailure(int status, Throwable e) {
+        // Para 422 (Unprocessable Entity), se propaga con el status code original
+        if (status == 422) {
+            return new RuntimeException("El modelo de Data Science no pudo procesar la solicitud: " + e.getMessage(), e);
+        }
+        // Para otros errores 4xx, se propaga como error de servicio
+        return new RuntimeException("Error al consultar el modelo de Data Science: " + e.getMessage(), e);
+    }
 
-    @Transactional
-    private void savePrediction(PredictionRequest request, PredictionResponse response) {
-        try {
-            PredictionEntity entity = new PredictionEntity();
+    /**
+     * Completa distanciaKm con la distancia ortodrómica precalculada de la ruta
+     * cuando el cliente no la envía. El validador ya garantizó que la ruta tiene
+     * coordenadas en ese caso.
+     */
+    private PredictionRequest withRouteDistance(PredictionRequest request) {
+        if (request.distanciaKm() != null) {
+            return request;
+        }
+        double routeKm = catalogRegistry.current().distanceKm(request.origen(), request.destino());
+        return request.withDistanciaKm(Math.round(routeKm * 100) / 100.0);
+    }
 
-            entity.setAerolinea(request.aerolinea().toUpperCase());
-            entity.setOrigen(request.origen().toUpperCase());
-            entity.setDestino(request.destino().toUpperCase());
-            entity.setFechaPartida(request.fechaPartida());
-            entity.setDistanciaKm(request.distanciaKm().intValue());
-            entity.setPrevision(PredictionResult.valueOf(response.prevision().toUpperCase()));
-            entity.setProbabilidad(response.probabilidad());
+    private void savePredictionWithoutBlocking(PredictionRequest request, PredictionResponse response) {
+        try {
+            historyWriter.trySubmit(PredictionMapper.toEntity(request, response, catalogRegistry.current()));
 
-            repository.save(entity);
+        } catch (Exception e) {
+            log.error("Error al persistir la predicción en la base de datos. La predicción se completó pero no se guardó en historial.", e);
+        }
+    }
 
-            log.debug("Predicción persistida exitosamente con ID: {}", entity.getId());
+    private void savePrediction(PredictionRequest request, PredictionResponse response) {
+        try {
+            // La fila se encola y la escribe el escritor del historial; la respuesta no espera a la base
+            historyWriter.submit(PredictionMapper.toEntity(request, response, catalogRegistry.current()));
 
         } catch (Exception e) {
             log.error("Error al persistir la predicción en la base de datos. La predicción se completó pero no se guardó en historial.", e);
         }
     }
-}
 
+    /**
+     * Registra un grupo de predicciones en el historial. Igual que en el flujo
+     * individual, un fallo de base de datos no invalida las predicciones.
+     */
+    public void savePredictions(List<PredictedFlight> predictions) {
+        if (predictions.isEmpty()) {
+            return;
+        }
+        try {
+            CatalogIndex catalog = catalogRegistry.current();
+            List<PredictionEntity> entities = new ArrayList<>(predictions.size());
+            for (PredictedFlight predicted : predictions) {
+                entities.add(PredictionMapper.toEntity(predicted.request(), predicted.response(), catalog));
+            }
 
+            historyWriter.submitAll(entities);
 
+        } catch (Exception e) {
+            log.error("Error al persistir un lote de {} predicciones. Las predicciones se completaron pero no se guardaron en historial.",
+                    predictions.size(), e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.dto.response.DailyDelayStats;
+import com.flightontime.backend.dto.response.DelayStatsResponse;
+import com.flightontime.backend.stats.DailyRollup;
+import com.flightontime.backend.stats.PredictionStatsProperties;
+import com.flightontime.backend.stats.RollupDimension;
+import com.flightontime.backend.stats.RollupStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tasas de retraso por aerolínea y por ruta, leídas de los agregados diarios
+ * que mantiene {@link com.flightontime.backend.stats.PredictionRollups}. Cada
+ * consulta lee a lo sumo una fila por día del rango, sin recorrer el
+ * historial. Los valores pueden ir hasta un {@code flush-interval} por detrás
+ * de lo escrito en el historial.
+ */
+@Service
+@RequiredArgsConstructor
+public class PredictionStatsService {
+
+    private final RollupStore rollupStore;
+    private final PredictionStatsProperties properties;
+
+    public DelayStatsResponse route(String origen, String destino, LocalDate desde, LocalDate hasta) {
+        String from = CodeParams.airport(origen, "origen");
+        String to = CodeParams.airport(destino, "destino");
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("El origen y el destino son obligatorios");
+        }
+        return stats(RollupDimension.ROUTE, RollupDimension.routeKey(from, to), desde, hasta);
+    }
+
+    public DelayStatsResponse airline(String aerolinea, LocalDate desde, LocalDate hasta) {
+        String airline = CodeParams.airline(aerolinea);
+        if (airline == null) {
+            throw new IllegalArgumentException("La aerolínea es obligatoria");
+        }
+        return stats(RollupDimension.AIRLINE, airline, desde, hasta);
+    }
+
+    private DelayStatsResponse stats(RollupDimension dimension, String key, LocalDate desde, LocalDate hasta) {
+        if (!desde.isBefore(hasta)) {
+            throw new IllegalArgumentException("La fecha 'desde' debe ser anterior a 'hasta'");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) > properties.maxRangeDays()) {
+            throw new IllegalArgumentException("El rango no puede superar " + properties.maxRangeDays() + " días");
+        }
+
+        List<DailyRollup> rollups = rollupStore.findRange(dimension, key, desde, hasta);
+        List<DailyDelayStats> days = new ArrayList<>(rollups.size());
+        long predictions = 0;
+        long delayed = 0;
+        double delayProbabilitySum = 0;
+        for (DailyRollup rollup : rollups) {
+            days.add(new DailyDelayStats(
+                    rollup.day(),
+                    rollup.predictions(),
+                    rollup.delayed(),
+                    ratio(rollup.delayed(), rollup.predictions()),
+                    ratio(rollup.delayProbabilitySum(), rollup.predictions())
+            ));
+            predictions += rollup.predictions();
+            delayed += rollup.delayed();
+            delayProbabilitySum += rollup.delayProbabilitySum();
+        }
+        return new DelayStatsResponse(
+                dimension.name(),
+                key,
+                desde,
+                hasta,
+                predictions,
+                delayed,
+                ratio(delayed, predictions),
+                ratio(delayProbabilitySum, predictions),
+                days
+        );
+    }
+
+    private static double ratio(double value, long count) {
+        return count == 0 ? 0.0 : value / count;
+    }
+}
@@ -0,0 +1,65 @@
+package com.flightontime.backend.startup;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Marca como lazy los beans de {@code startup.lazy-packages}: se crean recién
+ * cuando alguien los pide, en lugar de durante el arranque. Pensado para
+ * componentes que no atienden tráfico de predicción, como springdoc.
+ *
+ * Un bean pertenece al paquete si su clase o la clase que declara su método
+ * {@code @Bean} está en él; así entran tanto los componentes como lo que
+ * registran las auto-configuraciones del paquete. Los post-processors y los
+ * {@code SmartLifecycle} se crean igual al arrancar: Spring los necesita antes
+ * que al resto, con o sin lazy.
+ */
+class LazyPackagesPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> packages;
+
+    LazyPackagesPostProcessor(List<String> packages) {
+        this.packages = packages.stream()
+                .map(p -> p.endsWith(".") ? p : p + ".")
+                .toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (packages.isEmpty()) {
+            return;
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE
+                    && (matches(definition.getBeanClassName()) || matches(declaringClass(definition)))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private static String declaringClass(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            return factoryMethod != null ? factoryMethod.getDeclaringClassName() : null;
+        }
+        return null;
+    }
+
+    boolean matches(String className) {
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : packages) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
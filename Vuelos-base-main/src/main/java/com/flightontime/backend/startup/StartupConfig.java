@@ -0,0 +1,25 @@
+package com.flightontime.backend.startup;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Estático y con {@link Binder}: los post-processors de la fábrica se crean
+     * antes que los {@code @ConfigurationProperties}.
+     */
+    @Bean
+    public static LazyPackagesPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return new LazyPackagesPostProcessor(packages);
+    }
+}
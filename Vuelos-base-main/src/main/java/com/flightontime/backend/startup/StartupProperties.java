@@ -0,0 +1,39 @@
+package com.flightontime.backend.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Arranque de la aplicación ({@code startup.*}); el perfil Spring {@code fast}
+ * activa ambas partes.
+ *
+ * @param lazyPackages paquetes cuyos beans se crean recién al primer uso
+ *                     (p.ej. {@code org.springdoc}); no aplica a post-processors
+ * @param warmup       calentamiento antes de reportar readiness
+ */
+@ConfigurationProperties(prefix = "startup")
+public record StartupProperties(
+        @DefaultValue List<String> lazyPackages,
+        @DefaultValue Warmup warmup
+) {
+
+    /**
+     * @param enabled     ejecuta el calentamiento antes de aceptar tráfico
+     * @param modelCalls  predicciones reales al modelo para abrir conexiones del pool HTTP;
+     *                    no se guardan en el historial
+     * @param iterations  vueltas sobre el camino caliente (validación, JSON, modelo local)
+     *                    para que el JIT lo compile
+     * @param maxDuration tope del calentamiento completo: al alcanzarlo se corta y la
+     *                    aplicación pasa a aceptar tráfico igual
+     */
+    public record Warmup(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("4") int modelCalls,
+            @DefaultValue("20000") int iterations,
+            @DefaultValue("20s") Duration maxDuration
+    ) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.flightontime.backend.startup;
+
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.model.LocalModelBackend;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.validation.PredictValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calienta la aplicación antes de que reciba tráfico: los runners corren
+ * antes de {@code ApplicationReadyEvent}, así que el readiness
+ * ({@code /actuator/health/readiness}) sigue en {@code REFUSING_TRAFFIC}
+ * hasta que termina.
+ *
+ * <ol>
+ *   <li>Catálogo: lo lee y resuelve las rutas de los vuelos sintéticos.</li>
+ *   <li>Base: pide una conexión, con lo que Hikari abre el pool.</li>
+ *   <li>Modelo: {@code model-calls} predicciones simultáneas a través de
+ *       {@link ModelGateway}, que abren otras tantas conexiones del pool HTTP.</li>
+ *   <li>Camino caliente: JSON del pedido y la respuesta, validación y modelo
+ *       local si está cargado, en un ciclo para que el JIT lo compile.</li>
+ * </ol>
+ *
+ * Nada se guarda en el historial ni pasa por la caché o las métricas de
+ * predicción. Un paso que falla se registra y no frena el arranque: una
+ * instancia sin modelo remoto responde igual con el modelo local o con 503.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "startup.warmup.enabled", havingValue = "true")
+@EnableConfigurationProperties(StartupProperties.class)
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    /** Rutas del catálogo incluido en el jar; con otro catálogo la validación falla y se calienta igual. */
+    private static final String[][] ROUTES = {
+            {"AA", "JFK", "LAX"},
+            {"IB", "MAD", "GRU"},
+            {"DL", "ATL", "MIA"},
+            {"UA", "SFO", "JFK"},
+            {"LA", "GRU", "MIA"},
+    };
+
+    private static final PredictionResponse SAMPLE_RESPONSE = new PredictionResponse("Puntual", 0.5);
+
+    private final StartupProperties.Warmup properties;
+    private final CatalogRegistry catalogRegistry;
+    private final PredictValidator predictValidator;
+    private final ModelGateway modelGateway;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<DataSource> dataSource;
+
+    public WarmupRunner(StartupProperties properties,
+                        CatalogRegistry catalogRegistry,
+                        PredictValidator predictValidator,
+                        ModelGateway modelGateway,
+                        ObjectMapper objectMapper,
+                        ObjectProvider<DataSource> dataSource) {
+        this.properties = properties.warmup();
+        this.catalogRegistry = catalogRegistry;
+        this.predictValidator = predictValidator;
+        this.modelGateway = modelGateway;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + properties.maxDuration().toNanos();
+
+        List<PredictionRequest> requests = syntheticRequests();
+        long catalogMs = elapsedMillis(start);
+
+        long step = System.nanoTime();
+        warmDatabase();
+        long databaseMs = elapsedMillis(step);
+
+        step = System.nanoTime();
+        int modelCalls = warmModel(requests, deadline);
+        long modelMs = elapsedMillis(step);
+
+        step = System.nanoTime();
+        int iterations = warmHotPath(requests, deadline);
+        long hotPathMs = elapsedMillis(step);
+
+        log.info("Calentamiento completado en {} ms: catálogo {} ms, base {} ms, modelo {} ms ({}/{} llamadas), "
+                        + "camino caliente {} ms ({} iteraciones)",
+                elapsedMillis(start), catalogMs, databaseMs, modelMs, modelCalls, properties.modelCalls(),
+                hotPathMs, iterations);
+        if (System.nanoTime() - deadline >= 0) {
+            log.warn("El calentamiento alcanzó startup.warmup.max-duration={} y se cortó", properties.maxDuration());
+        }
+    }
+
+    private List<PredictionRequest> syntheticRequests() {
+        CatalogIndex catalog = catalogRegistry.current();
+        LocalDateTime departure = LocalDateTime.now().plusDays(7).withNano(0);
+        List<PredictionRequest> requests = new ArrayList<>(ROUTES.length);
+        for (int i = 0; i < ROUTES.length; i++) {
+            String[] route = ROUTES[i];
+            double routeKm = catalog.distanceKm(route[1], route[2]);
+            Double distance = Double.isNaN(routeKm) ? 1000.0 : Math.round(routeKm * 100) / 100.0;
+            requests.add(new PredictionRequest(route[0], route[1], route[2], departure.plusHours(i), distance));
+        }
+        return requests;
+    }
+
+    private void warmDatabase() {
+        DataSource source = dataSource.getIfAvailable();
+        if (source == null) {
+            return;
+        }
+        try (Connection connection = source.getConnection()) {
+            if (!connection.isValid(2)) {
+                log.warn("Calentamiento: la conexión a la base no respondió");
+            }
+        } catch (Exception e) {
+            log.warn("Calentamiento: no se pudo abrir la conexión a la base: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Llamadas simultáneas para que el pool HTTP quede con varias conexiones
+     * abiertas (TLS incluido) y el modelo remoto despierto.
+     */
+    private int warmModel(List<PredictionRequest> requests, long deadline) {
+        int calls = properties.modelCalls();
+        if (calls <= 0) {
+            return 0;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(calls);
+        try {
+            List<Future<PredictionResponse>> futures = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                PredictionRequest request = requests.get(i % requests.size());
+                futures.add(executor.submit(() -> modelGateway.predict(request)));
+            }
+            int completed = 0;
+            for (Future<PredictionResponse> future : futures) {
+                try {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    completed++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.warn("Calentamiento: falló una predicción del modelo: {}", e.toString());
+                }
+            }
+            return completed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int warmHotPath(List<PredictionRequest> requests, long deadline) {
+        LocalModelBackend local = modelGateway.local();
+        int iterations = 0;
+        long sink = 0;
+        try {
+            for (; iterations < properties.iterations(); iterations++) {
+                if ((iterations & 0xFF) == 0 && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                byte[] json = objectMapper.writeValueAsBytes(requests.get(iterations % requests.size()));
+                PredictionRequest request = objectMapper.readValue(json, PredictionRequest.class);
+                sink += predictValidator.check(request).violations().size();
+                PredictionResponse response = local != null ? local.predict(request) : SAMPLE_RESPONSE;
+                sink += objectMapper.writeValueAsBytes(response).length;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Calentamiento: el camino caliente falló en la iteración {}: {}", iterations, e.toString());
+        }
+        log.debug("Calentamiento del camino caliente: {} iteraciones ({})", iterations, sink);
+        return iterations;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
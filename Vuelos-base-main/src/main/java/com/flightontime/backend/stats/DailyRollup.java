@@ -0,0 +1,9 @@
+package com.flightontime.backend.stats;
+
+import java.time.LocalDate;
+
+/**
+ * Totales de un día para una aerolínea o ruta.
+ */
+public record DailyRollup(LocalDate day, long predictions, long delayed, double delayProbabilitySum) {
+}
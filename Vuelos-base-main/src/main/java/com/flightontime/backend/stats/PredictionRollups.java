@@ -0,0 +1,207 @@
+package com.flightontime.backend.stats;
+
+import com.flightontime.backend.history.HistoryWriteListener;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agregados diarios por aerolínea y por ruta, mantenidos a medida que el
+ * historial escribe sus batches.
+ *
+ * Cada batch escrito suma sus filas a contadores en memoria repartidos en
+ * particiones (stripes) con su propio lock, así el escritor del historial y el
+ * volcado rara vez compiten por el mismo. Cada {@code flush-interval} las
+ * particiones se intercambian por mapas vacíos y los incrementos acumulados se
+ * suman a {@code prediction_daily_rollups} en un único batch. Si el volcado
+ * falla, los incrementos vuelven a las particiones y se reintentan en el
+ * siguiente.
+ *
+ * Lo acumulado desde el último volcado se pierde si el proceso termina de forma
+ * abrupta; {@link RollupRebuildRunner} recalcula los agregados desde el
+ * historial.
+ */
+@Component
+@EnableConfigurationProperties(PredictionStatsProperties.class)
+@Slf4j
+public class PredictionRollups implements HistoryWriteListener {
+
+    private final RollupStore store;
+    private final boolean enabled;
+    private final Stripe[] stripes;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+
+    public PredictionRollups(RollupStore store, PredictionStatsProperties properties) {
+        this.store = store;
+        this.enabled = properties.enabled();
+        int count = Integer.highestOneBit(Math.max(1, properties.stripes() - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        log.info("Agregados del historial: enabled={}, flushInterval={}, stripes={}",
+                enabled, properties.flushInterval(), count);
+    }
+
+    @Override
+    public void onWritten(List<PredictionEntity> predictions) {
+        if (!enabled) {
+            return;
+        }
+        for (PredictionEntity prediction : predictions) {
+            boolean delayed = prediction.getPrevision() == PredictionResult.RETRASADO;
+            double delayProbability = delayed ? prediction.getProbabilidad() : 1.0 - prediction.getProbabilidad();
+            for (RollupDimension dimension : RollupDimension.values()) {
+                RollupKey key = new RollupKey(dimension, dimension.keyOf(prediction),
+                        prediction.getFechaPartida().toLocalDate());
+                stripeFor(key).add(key, delayed, delayProbability);
+            }
+        }
+        recorded.add(predictions.size());
+    }
+
+    /**
+     * Suma lo acumulado a la tabla de agregados.
+     */
+    @Scheduled(fixedDelayString = "${prediction.stats.flush-interval:10s}",
+            initialDelayString = "${prediction.stats.flush-interval:10s}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<Map.Entry<RollupKey, RollupDelta>> pending = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                pending.addAll(stripe.drain().entrySet());
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            pending.sort(Map.Entry.comparingByKey());
+            try {
+                store.add(pending);
+                flushes.increment();
+                flushedRows.add(pending.size());
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                for (Map.Entry<RollupKey, RollupDelta> entry : pending) {
+                    stripeFor(entry.getKey()).merge(entry.getKey(), entry.getValue());
+                }
+                log.error("Error al volcar {} filas de agregados; se reintentarán en el próximo volcado",
+                        pending.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Vuelca lo pendiente al detener la aplicación. El historial depende de
+     * este componente, así que ya escribió sus últimos batches.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Filas de agregados con incrementos sin volcar.
+     */
+    public int pendingRows() {
+        int rows = 0;
+        for (Stripe stripe : stripes) {
+            rows += stripe.size();
+        }
+        return rows;
+    }
+
+    /**
+     * Predicciones sumadas a los contadores desde el arranque.
+     */
+    public long recorded() {
+        return recorded.sum();
+    }
+
+    public long flushes() {
+        return flushes.sum();
+    }
+
+    public long flushFailures() {
+        return flushFailures.sum();
+    }
+
+    public long flushedRows() {
+        return flushedRows.sum();
+    }
+
+    private Stripe stripeFor(RollupKey key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+
+        void add(RollupKey key, boolean delayed, double delayProbability) {
+            lock.lock();
+            try {
+                deltas.computeIfAbsent(key, k -> new RollupDelta()).add(delayed, delayProbability);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void merge(RollupKey key, RollupDelta delta) {
+            lock.lock();
+            try {
+                deltas.computeIfAbsent(key, k -> new RollupDelta()).merge(delta);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<RollupKey, RollupDelta> drain() {
+            lock.lock();
+            try {
+                Map<RollupKey, RollupDelta> drained = deltas;
+                deltas = new HashMap<>();
+                return drained;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return deltas.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
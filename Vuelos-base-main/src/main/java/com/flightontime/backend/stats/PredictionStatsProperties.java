@@ -0,0 +1,23 @@
+package com.flightontime.backend.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de los agregados del historial ({@code prediction.stats.*}).
+ *
+ * @param enabled       acumula los batches escritos y los vuelca en la tabla de agregados
+ * @param flushInterval cada cuánto se vuelcan los contadores en memoria
+ * @param stripes       particiones de los contadores; se redondea a potencia de dos
+ * @param maxRangeDays  días que puede abarcar una consulta de /stats
+ */
+@ConfigurationProperties(prefix = "prediction.stats")
+public record PredictionStatsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10s") Duration flushInterval,
+        @DefaultValue("16") int stripes,
+        @DefaultValue("366") int maxRangeDays
+) {
+}
@@ -0,0 +1,26 @@
+package com.flightontime.backend.stats;
+
+/**
+ * Incrementos pendientes de una fila de agregados. Sólo se modifica con el
+ * lock de su partición tomado.
+ */
+final class RollupDelta {
+
+    long predictions;
+    long delayed;
+    double delayProbabilitySum;
+
+    void add(boolean isDelayed, double delayProbability) {
+        predictions++;
+        if (isDelayed) {
+            delayed++;
+        }
+        delayProbabilitySum += delayProbability;
+    }
+
+    void merge(RollupDelta other) {
+        predictions += other.predictions;
+        delayed += other.delayed;
+        delayProbabilitySum += other.delayProbabilitySum;
+    }
+}
@@ -0,0 +1,23 @@
+package com.flightontime.backend.stats;
+
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+
+/**
+ * Agrupaciones que se mantienen en {@code prediction_daily_rollups}. La clave
+ * de cada fila es el código de la aerolínea o la ruta {@code ORIGEN-DESTINO}.
+ */
+public enum RollupDimension {
+
+    ROUTE,
+    AIRLINE;
+
+    public static String routeKey(String origen, String destino) {
+        return origen + "-" + destino;
+    }
+
+    String keyOf(PredictionEntity prediction) {
+        return this == ROUTE
+                ? routeKey(prediction.getOrigen(), prediction.getDestino())
+                : prediction.getAerolinea();
+    }
+}
@@ -0,0 +1,23 @@
+package com.flightontime.backend.stats;
+
+import java.time.LocalDate;
+
+/**
+ * Fila de {@code prediction_daily_rollups}: agrupación, clave y día de partida.
+ */
+record RollupKey(RollupDimension dimension, String key, LocalDate day) implements Comparable<RollupKey> {
+
+    /**
+     * Orden de la clave primaria. Todos los nodos actualizan las filas en este
+     * orden, así dos volcados concurrentes no se bloquean mutuamente.
+     */
+    @Override
+    public int compareTo(RollupKey other) {
+        int byDimension = dimension.name().compareTo(other.dimension.name());
+        if (byDimension != 0) {
+            return byDimension;
+        }
+        int byKey = key.compareTo(other.key);
+        return byKey != 0 ? byKey : day.compareTo(other.day);
+    }
+}
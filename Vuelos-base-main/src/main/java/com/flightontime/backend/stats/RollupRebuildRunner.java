@@ -0,0 +1,65 @@
+package com.flightontime.backend.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Comando que recalcula {@code prediction_daily_rollups} desde el historial y
+ * termina la aplicación:
+ *
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=prod --spring.main.web-application-type=none \
+ *     --prediction.stats.rebuild.run=true [--prediction.stats.rebuild.from=2024-01-01] [--prediction.stats.rebuild.to=2024-02-01]
+ * </pre>
+ *
+ * Sin rango reconstruye todo el historial. Con rango, sólo los días de
+ * partida en {@code [from, to)}. Los nodos en servicio siguen sumando sus
+ * volcados mientras tanto: para que el resultado sea exacto conviene
+ * reconstruir días cuyas predicciones ya no cambian.
+ */
+@Component
+@ConditionalOnProperty(name = "prediction.stats.rebuild.run", havingValue = "true")
+@Slf4j
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    private final RollupStore store;
+    private final ConfigurableApplicationContext context;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public RollupRebuildRunner(RollupStore store,
+                               ConfigurableApplicationContext context,
+                               @Value("${prediction.stats.rebuild.from:}") String from,
+                               @Value("${prediction.stats.rebuild.to:}") String to) {
+        this.store = store;
+        this.context = context;
+        this.from = from.isBlank() ? null : LocalDate.parse(from);
+        this.to = to.isBlank() ? null : LocalDate.parse(to);
+        if (this.from != null && this.to != null && !this.from.isBefore(this.to)) {
+            throw new IllegalArgumentException("prediction.stats.rebuild.from debe ser anterior a prediction.stats.rebuild.to");
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            for (RollupDimension dimension : RollupDimension.values()) {
+                store.rebuild(dimension, from, to);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error al reconstruir los agregados del historial", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,138 @@
+package com.flightontime.backend.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acceso JDBC a {@code prediction_daily_rollups}.
+ *
+ * Los volcados suman sobre la fila existente ({@code ON CONFLICT DO UPDATE}),
+ * así varios nodos acumulan en las mismas filas sin coordinarse. Las lecturas
+ * recorren la clave primaria {@code (dimension, rollup_key, rollup_day)}: su costo
+ * depende de los días pedidos, no del tamaño del historial.
+ */
+@Repository
+@Slf4j
+public class RollupStore {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO prediction_daily_rollups
+                (dimension, rollup_key, rollup_day, predictions, delayed, delay_probability_sum, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (dimension, rollup_key, rollup_day) DO UPDATE SET
+                predictions = prediction_daily_rollups.predictions + EXCLUDED.predictions,
+                delayed = prediction_daily_rollups.delayed + EXCLUDED.delayed,
+                delay_probability_sum = prediction_daily_rollups.delay_probability_sum + EXCLUDED.delay_probability_sum,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String RANGE_SQL = """
+            SELECT rollup_day, predictions, delayed, delay_probability_sum
+            FROM prediction_daily_rollups
+            WHERE dimension = ? AND rollup_key = ? AND rollup_day >= ? AND rollup_day < ?
+            ORDER BY rollup_day
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM prediction_daily_rollups WHERE dimension = ?";
+
+    // Probabilidad de retraso de cada fila: la confianza del modelo si predijo retraso, su complemento si no
+    private static final String REBUILD_SELECT = """
+            SELECT '%s', %s, CAST(fecha_partida AS DATE), COUNT(*),
+                   SUM(CASE WHEN prevision = 'RETRASADO' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN prevision = 'RETRASADO' THEN probabilidad ELSE 1 - probabilidad END),
+                   LOCALTIMESTAMP
+            FROM predictions
+            """;
+
+    private static final String REBUILD_INSERT = """
+            INSERT INTO prediction_daily_rollups
+                (dimension, rollup_key, rollup_day, predictions, delayed, delay_probability_sum, updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RollupStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Suma los incrementos a sus filas, en el orden de la clave primaria.
+     */
+    @Transactional
+    public void add(List<Map.Entry<RollupKey, RollupDelta>> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, entry) -> {
+            RollupKey key = entry.getKey();
+            RollupDelta delta = entry.getValue();
+            ps.setString(1, key.dimension().name());
+            ps.setString(2, key.key());
+            ps.setDate(3, Date.valueOf(key.day()));
+            ps.setLong(4, delta.predictions);
+            ps.setLong(5, delta.delayed);
+            ps.setDouble(6, delta.delayProbabilitySum);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    /**
+     * Días con predicciones de la clave en {@code [from, to)}.
+     */
+    public List<DailyRollup> findRange(RollupDimension dimension, String key, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(RANGE_SQL, (rs, rowNum) -> new DailyRollup(
+                        rs.getDate(1).toLocalDate(),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        rs.getDouble(4)),
+                dimension.name(), key, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Reemplaza los agregados de {@code [from, to)} (o de todo el historial si
+     * ambos son null) por los calculados desde {@code predictions}. Borrado e
+     * inserción van en la misma transacción: las lecturas ven los valores
+     * anteriores hasta el commit.
+     *
+     * @return filas de agregados generadas
+     */
+    @Transactional
+    public int rebuild(RollupDimension dimension, LocalDate from, LocalDate to) {
+        String keyExpression = dimension == RollupDimension.ROUTE ? "origen || '-' || destino" : "aerolinea";
+        String groupBy = dimension == RollupDimension.ROUTE ? "origen, destino" : "aerolinea";
+
+        StringBuilder delete = new StringBuilder(DELETE_SQL);
+        StringBuilder insert = new StringBuilder(REBUILD_INSERT).append(REBUILD_SELECT.formatted(dimension.name(), keyExpression));
+        List<Object> deleteArgs = new ArrayList<>(List.of(dimension.name()));
+        List<Object> insertArgs = new ArrayList<>(2);
+        String separator = "WHERE ";
+        if (from != null) {
+            delete.append(" AND rollup_day >= ?");
+            deleteArgs.add(Date.valueOf(from));
+            insert.append(separator).append("fecha_partida >= ?");
+            insertArgs.add(Timestamp.valueOf(from.atStartOfDay()));
+            separator = " AND ";
+        }
+        if (to != null) {
+            delete.append(" AND rollup_day < ?");
+            deleteArgs.add(Date.valueOf(to));
+            insert.append(separator).append("fecha_partida < ?");
+            insertArgs.add(Timestamp.valueOf(to.atStartOfDay()));
+        }
+        insert.append("\nGROUP BY ").append(groupBy).append(", CAST(fecha_partida AS DATE)");
+
+        int deleted = jdbcTemplate.update(delete.toString(), deleteArgs.toArray());
+        int inserted = jdbcTemplate.update(insert.toString(), insertArgs.toArray());
+        log.info("Agregados {} reconstruidos: {} filas borradas, {} generadas (desde={}, hasta={})",
+                dimension, deleted, inserted, from, to);
+        return inserted;
+    }
+}
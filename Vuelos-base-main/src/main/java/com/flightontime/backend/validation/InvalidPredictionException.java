@@ -0,0 +1,29 @@
+package com.flightontime.backend.validation;
+
+/**
+ * Pedido que no pasó {@link PredictValidator#check}. Lleva todas las
+ * violaciones y no captura stack trace: es un error del cliente y llenar la
+ * pila en cada 400 es justo el costo que se quiere evitar cuando un cliente
+ * envía pedidos inválidos en masa.
+ *
+ * Extiende IllegalArgumentException para que los manejos existentes (status
+ * por línea del batch, {@code ErrorStatus}) lo sigan tratando como 400.
+ */
+public class InvalidPredictionException extends IllegalArgumentException {
+
+    private final transient ValidationResult result;
+
+    public InvalidPredictionException(ValidationResult result) {
+        super(result.toString());
+        this.result = result;
+    }
+
+    public ValidationResult result() {
+        return result;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
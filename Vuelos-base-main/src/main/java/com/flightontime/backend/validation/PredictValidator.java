@@ -1,39 +1,87 @@
 package com.flightontime.backend.validation;
 
+import com.flightontime.backend.catalog.CatalogIndex;
+import com.flightontime.backend.catalog.CatalogRegistry;
 import com.flightontime.backend.dto.request.PredictionRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-
-import java.nio.charset.StandardCharsets;
-import java.util.Set;
-import java.util.stream.Collectors;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiPredicate;
 
 
 @Component
 @RequiredArgsConstructor
 public class PredictValidator {
 
+	private final CatalogRegistry catalogRegistry;
+
+	/**
+	 * Rango aceptado para distanciaKm / distancia ortodrómica. La distancia volada
+	 * suele ser algo mayor que la ortodrómica por aerovías y esperas.
+	 */
+	@Value("${catalog.distance.min-ratio:0.9}")
+	private double minDistanceRatio = 0.9;
+
+	@Value("${catalog.distance.max-ratio:1.5}")
+	private double maxDistanceRatio = 1.5;
+
 	/**
-	 * Valida el request convirtiendo todos los strings a mayúsculas antes de
-	 * enviarlo al validador. Esto asegura que la validación se haga con los valores
-	 * normalizados.
+	 * Valida el request y lanza {@link InvalidPredictionException}, sin stack
+	 * trace, con todas las violaciones encontradas.
 	 */
 	public void validation(PredictionRequest request) {
+		ValidationResult result = check(request);
+		if (!result.isValid()) {
+			throw new InvalidPredictionException(result);
+		}
+	}
+
+	/**
+	 * Evalúa todas las reglas de catálogo, fecha y ruta sin lanzar excepciones y
+	 * devuelve las violaciones en orden. Los códigos se comparan contra el
+	 * catálogo sin distinguir mayúsculas/minúsculas, por lo que no hace falta
+	 * crear una copia normalizada del request.
+	 *
+	 * Las reglas de ruta dependen de las de aeropuerto: la distancia sólo se
+	 * controla cuando origen y destino existen y son distintos, para no sumar
+	 * errores que son consecuencia de otro.
+	 */
+	public ValidationResult check(PredictionRequest request) {
+		// Una sola lectura del catálogo: todas las reglas ven la misma versión
+		CatalogIndex catalog = catalogRegistry.current();
+		List<String> violations = null;
+
+		violations = add(violations, airlineViolation(catalog, request.aerolinea()));
+		String origin = airportViolation(catalog, request.origen());
+		String destination = airportViolation(catalog, request.destino());
+		violations = add(violations, origin);
+		violations = add(violations, destination);
+		violations = add(violations, departureViolation(request.fechaPartida()));
+
+		String sameAirport = sameAirportViolation(request.origen(), request.destino());
+		violations = add(violations, sameAirport);
+		if (origin == null && destination == null && sameAirport == null) {
+			violations = add(violations,
+					distanceViolation(catalog, request.origen(), request.destino(), request.distanciaKm()));
+		}
+
+		return violations == null ? ValidationResult.VALID : ValidationResult.of(violations);
+	}
 
-		PredictionRequest normalizedRequest = normalizeToUpperCase(request);
-		validAreoline(normalizedRequest.aerolinea());
-		validAirport(normalizedRequest.origen()); // validation origin airport
-		validAirport(normalizedRequest.destino()); // validation destination airport
-		validateDepartureDateIsNotPast(request.fechaPartida()); //valida fecha futura
-		validateOriginAndDestinationAreDifferent(normalizedRequest.origen(), normalizedRequest.destino());
+	private static List<String> add(List<String> violations, String violation) {
+		if (violation == null) {
+			return violations;
+		}
+		List<String> list = violations != null ? violations : new ArrayList<>(4);
+		list.add(violation);
+		return list;
 	}
 
 	/**
@@ -41,7 +89,7 @@ public class PredictValidator {
 	 * definido en resources/catalog/airlines.csv.
 	 */
 	public void validAreoline(String aerolinea) {
-		validateField(aerolinea, loadCatalogFromFile("catalog/airlines.csv"), "airlines.csv");
+		throwIfViolated(airlineViolation(catalogRegistry.current(), aerolinea));
 	}
 
 	/**
@@ -49,101 +97,119 @@ public class PredictValidator {
 	 * definido en resources/catalog/airports.csv.
 	 */
 	public void validAirport(String airport) {
-		validateField(airport, loadCatalogFromFile("catalog/airports.csv"), "airports.csv");
+		throwIfViolated(airportViolation(catalogRegistry.current(), airport));
+	}
+
+	private static String airlineViolation(CatalogIndex catalog, String aerolinea) {
+		return fieldViolation(aerolinea, catalog, catalog.airlineCount(), CatalogIndex::hasAirline, "airlines.csv");
+	}
+
+	private static String airportViolation(CatalogIndex catalog, String airport) {
+		return fieldViolation(airport, catalog, catalog.airportCount(), CatalogIndex::hasAirport, "airports.csv");
 	}
 
 	/**
-	 * Método genérico para validar un campo contra un catálogo.
+	 * Método genérico para validar un campo contra un catálogo. El catálogo se
+	 * toma del índice en memoria que mantiene {@link CatalogRegistry}.
 	 */
-	private void validateField(String fieldName, Set<String> catalog, String catalogName) {
-		if (fieldName == null || fieldName.isBlank() || catalog.isEmpty()) {
-			throw new IllegalArgumentException("Campo o catalogo es null o vacio");
+	private static String fieldViolation(String fieldName, CatalogIndex catalog, int catalogSize,
+			BiPredicate<CatalogIndex, String> contains, String catalogName) {
+		if (fieldName == null || fieldName.isBlank() || catalogSize == 0) {
+			return "Campo o catalogo es null o vacio";
 		}
 
-		if (!catalog.contains(fieldName)) {
-			throw new IllegalArgumentException("El codigo " + fieldName + " no existe en el catálogo " + catalogName);
+		if (!contains.test(catalog, fieldName)) {
+			return "El codigo " + fieldName + " no existe en el catálogo " + catalogName;
 		}
+		return null;
 	}
 
 	/**
-	 * Lee un archivo CSV desde el classpath y devuelve el conjunto de códigos
-	 * válidos.
+	 * Valida que la fecha de partida no esté en el pasado.
 	 *
-	 * Formato esperado del archivo (una columna): code AA DL ...
+	 * Reglas:
+	 * - fechas anteriores a now() → error
+	 * - fecha igual a now() → permitido
+	 * - fechas futuras → permitido
 	 */
-	private Set<String> loadCatalogFromFile(String filePath) {
-		ClassPathResource resource = new ClassPathResource(filePath);
+	public void validateDepartureDateIsNotPast(LocalDateTime fechaPartida) {
+		throwIfViolated(departureViolation(fechaPartida));
+	}
 
-		try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+	private static String departureViolation(LocalDateTime fechaPartida) {
+		if (fechaPartida == null) {
+			return "La fecha de partida es obligatoria";
+		}
 
-			return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).skip(1) // saltar cabecera "code"
-					.map(String::toUpperCase).collect(Collectors.toSet());
+		LocalDateTime now = LocalDateTime.now().withNano(0);
+		LocalDateTime departure = fechaPartida.withNano(0);
 
-		} catch (IOException e) {
-			throw new IllegalStateException("No se pudo leer el catálogo de  (" + filePath + ")", e);
+		if (departure.isBefore(now)) {
+			return "La fecha de partida debe ser futura";
 		}
+		return null;
+	}
+
+	/**
+	 * Valida la distancia contra la distancia ortodrómica de la ruta.
+	 *
+	 * Reglas:
+	 * - sin distancia y ruta con coordenadas → permitido (se calcula en el servidor)
+	 * - sin distancia y ruta sin coordenadas → error
+	 * - distancia fuera de [min-ratio, max-ratio] × ortodrómica → error
+	 */
+	public void validateDistance(String origin, String destination, Double distanciaKm) {
+		throwIfViolated(distanceViolation(catalogRegistry.current(), origin, destination, distanciaKm));
 	}
 
-	   /**
-     * Valida que la fecha de partida no esté en el pasado.
-     *
-     * Reglas:
-     * - fechas anteriores a now() → error
-     * - fecha igual a now() → permitido
-     * - fechas futuras → permitido
-     */
-	   public void validateDepartureDateIsNotPast(LocalDateTime fechaPartida) {
-        if (fechaPartida == null) {
-            throw new IllegalArgumentException("La fecha de partida es obligatoria");
-        }
-
-        LocalDateTime now = LocalDateTime.now().withNano(0);
-        LocalDateTime departure = fechaPartida.withNano(0);
-
-        if (departure.isBefore(now)) {
-            throw new IllegalArgumentException(
-                    "La fecha de partida debe ser futura"
-            );
-        }
-    }
-
-
-    /**
-     * Valida que el aeropuerto de origen y destino no sean iguales.
-     * La comparación es case-insensitive.
-     *
-     * @param origin aeropuerto de origen
-     * @param destination aeropuerto de destino
-     */
-    public void validateOriginAndDestinationAreDifferent(String origin, String destination) {
-
-        if (origin == null || destination == null) {
-            return;
-        }
-
-        if (origin.equalsIgnoreCase(destination)) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "El origen y el destino no pueden ser iguales"
-            );
-        }
-    }   
+	private String distanceViolation(CatalogIndex catalog, String origin, String destination, Double distanciaKm) {
+		double routeKm = catalog.distanceKm(origin, destination);
+
+		if (Double.isNaN(routeKm)) {
+			if (distanciaKm == null) {
+				return "La distancia es obligatoria para rutas sin coordenadas en el catálogo";
+			}
+			return null;
+		}
+
+		if (distanciaKm != null
+				&& (distanciaKm < routeKm * minDistanceRatio || distanciaKm > routeKm * maxDistanceRatio)) {
+			return String.format(Locale.ROOT,
+					"La distancia informada (%.2f km) no es plausible para la ruta %s-%s (%.2f km)",
+					distanciaKm, origin, destination, routeKm);
+		}
+		return null;
+	}
 
 	/**
-	 * Crea un nuevo PredictionRequest con todos los strings convertidos a
-	 * mayúsculas. Los valores numéricos y fechas se mantienen igual.
+	 * Valida que el aeropuerto de origen y destino no sean iguales.
+	 * La comparación es case-insensitive.
+	 *
+	 * @param origin aeropuerto de origen
+	 * @param destination aeropuerto de destino
 	 */
-	private PredictionRequest normalizeToUpperCase(PredictionRequest request) {
-		if (request == null) {
+	public void validateOriginAndDestinationAreDifferent(String origin, String destination) {
+		String violation = sameAirportViolation(origin, destination);
+		if (violation != null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violation);
+		}
+	}
+
+	private static String sameAirportViolation(String origin, String destination) {
+		if (origin == null || destination == null) {
 			return null;
 		}
 
+		if (origin.equalsIgnoreCase(destination)) {
+			return "El origen y el destino no pueden ser iguales";
+		}
+		return null;
+	}
 
-		return new PredictionRequest(request.aerolinea() != null ? request.aerolinea().toUpperCase() : null,
-				request.origen() != null ? request.origen().toUpperCase() : null,
-				request.destino() != null ? request.destino().toUpperCase() : null, request.fechaPartida(),
-				request.distanciaKm());
+	private static void throwIfViolated(String violation) {
+		if (violation != null) {
+			throw new IllegalArgumentException(violation);
+		}
 	}
 
 }
@@ -0,0 +1,36 @@
+package com.flightontime.backend.validation;
+
+import java.util.List;
+
+/**
+ * Resultado de validar un pedido: la lista de reglas que no cumple, en el
+ * orden en que se evaluaron. Un pedido válido comparte la instancia
+ * {@link #VALID}, así validar un pedido correcto no reserva memoria.
+ */
+public final class ValidationResult {
+
+    public static final ValidationResult VALID = new ValidationResult(List.of());
+
+    private final List<String> violations;
+
+    private ValidationResult(List<String> violations) {
+        this.violations = violations;
+    }
+
+    public static ValidationResult of(List<String> violations) {
+        return violations.isEmpty() ? VALID : new ValidationResult(List.copyOf(violations));
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public List<String> violations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "válido" : String.join("; ", violations);
+    }
+}
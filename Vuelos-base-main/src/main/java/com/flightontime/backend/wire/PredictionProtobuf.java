@@ -0,0 +1,244 @@
+package com.flightontime.backend.wire;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Codificación protobuf de {@link PredictionRequest} y {@link PredictionResponse}
+ * según {@code src/main/proto/prediction.proto}.
+ *
+ * Son dos mensajes chicos y fijos, así que se escriben y leen a mano sobre el
+ * formato de cable de protobuf en lugar de generar clases con protoc. Al leer
+ * se ignoran los campos desconocidos, igual que en las clases generadas: un
+ * cliente con una versión más nueva del .proto sigue siendo compatible.
+ */
+public final class PredictionProtobuf {
+
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    // PredictionRequest
+    private static final int AEROLINEA = 1;
+    private static final int ORIGEN = 2;
+    private static final int DESTINO = 3;
+    private static final int FECHA_PARTIDA = 4;
+    private static final int DISTANCIA_KM = 5;
+
+    // PredictionResponse
+    private static final int PREVISION = 1;
+    private static final int PROBABILIDAD = 2;
+
+    private PredictionProtobuf() {
+    }
+
+    public static byte[] encode(PredictionRequest request) {
+        Writer out = new Writer(40);
+        out.string(AEROLINEA, request.aerolinea());
+        out.string(ORIGEN, request.origen());
+        out.string(DESTINO, request.destino());
+        if (request.fechaPartida() != null) {
+            out.fixed64(FECHA_PARTIDA, request.fechaPartida().toEpochSecond(ZoneOffset.UTC));
+        }
+        if (request.distanciaKm() != null) {
+            out.fixed64(DISTANCIA_KM, Double.doubleToRawLongBits(request.distanciaKm()));
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(PredictionResponse response) {
+        Writer out = new Writer(24);
+        out.string(PREVISION, response.prevision());
+        if (response.probabilidad() != null) {
+            out.fixed64(PROBABILIDAD, Double.doubleToRawLongBits(response.probabilidad()));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException si el mensaje está truncado o mal formado
+     */
+    public static PredictionRequest decodeRequest(byte[] bytes) {
+        String aerolinea = null;
+        String origen = null;
+        String destino = null;
+        LocalDateTime fechaPartida = null;
+        Double distanciaKm = null;
+
+        Reader in = new Reader(bytes);
+        while (in.hasMore()) {
+            int tag = in.varint32();
+            switch (tag) {
+                case AEROLINEA << 3 | LENGTH_DELIMITED -> aerolinea = in.string();
+                case ORIGEN << 3 | LENGTH_DELIMITED -> origen = in.string();
+                case DESTINO << 3 | LENGTH_DELIMITED -> destino = in.string();
+                case FECHA_PARTIDA << 3 | FIXED64 ->
+                        fechaPartida = epochSecond(in.fixed64());
+                case DISTANCIA_KM << 3 | FIXED64 -> distanciaKm = Double.longBitsToDouble(in.fixed64());
+                default -> in.skip(tag & 7);
+            }
+        }
+        return new PredictionRequest(aerolinea, origen, destino, fechaPartida, distanciaKm);
+    }
+
+    /**
+     * @throws IllegalArgumentException si el mensaje está truncado o mal formado
+     */
+    public static PredictionResponse decodeResponse(byte[] bytes) {
+        String prevision = null;
+        Double probabilidad = null;
+
+        Reader in = new Reader(bytes);
+        while (in.hasMore()) {
+            int tag = in.varint32();
+            switch (tag) {
+                case PREVISION << 3 | LENGTH_DELIMITED -> prevision = in.string();
+                case PROBABILIDAD << 3 | FIXED64 -> probabilidad = Double.longBitsToDouble(in.fixed64());
+                default -> in.skip(tag & 7);
+            }
+        }
+        return new PredictionResponse(prevision, probabilidad);
+    }
+
+    private static LocalDateTime epochSecond(long seconds) {
+        try {
+            return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("fecha_partida fuera de rango: " + seconds, e);
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void string(int field, String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(field << 3 | LENGTH_DELIMITED);
+            varint(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buffer, size, utf8.length);
+            size += utf8.length;
+        }
+
+        void fixed64(int field, long value) {
+            varint(field << 3 | FIXED64);
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasMore() {
+            return position < bytes.length;
+        }
+
+        long varint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = next();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Mensaje protobuf inválido: varint demasiado largo");
+        }
+
+        int varint32() {
+            long value = varint();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Mensaje protobuf inválido: tag fuera de rango");
+            }
+            return (int) value;
+        }
+
+        long fixed64() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (bytes[position++] & 0xFFL) << (8 * i);
+            }
+            return value;
+        }
+
+        String string() {
+            int length = varint32();
+            require(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skip(int wireType) {
+            switch (wireType) {
+                case VARINT -> varint();
+                case FIXED64 -> advance(8);
+                case LENGTH_DELIMITED -> advance(varint32());
+                case FIXED32 -> advance(4);
+                default -> throw new IllegalArgumentException(
+                        "Mensaje protobuf inválido: tipo de campo " + wireType + " no soportado");
+            }
+        }
+
+        private void advance(int length) {
+            require(length);
+            position += length;
+        }
+
+        private byte next() {
+            require(1);
+            return bytes[position++];
+        }
+
+        private void require(int length) {
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Mensaje protobuf inválido: truncado");
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.flightontime.backend.wire;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Lee y escribe {@link PredictionRequest} y {@link PredictionResponse} como
+ * {@code application/x-protobuf} con {@link PredictionProtobuf}. Los demás
+ * tipos (por ejemplo los errores) no se convierten: los clientes protobuf
+ * deberían aceptar también JSON para recibirlos.
+ */
+public class ProtobufPredictionConverter extends AbstractHttpMessageConverter<Object> {
+
+    // Un PredictionRequest con códigos IATA ocupa unos 40 bytes; esto corta cuerpos absurdos
+    private static final int MAX_MESSAGE_BYTES = 64 * 1024;
+
+    public ProtobufPredictionConverter() {
+        super(WireFormats.APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PredictionRequest.class || clazz == PredictionResponse.class;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] bytes = inputMessage.getBody().readNBytes(MAX_MESSAGE_BYTES + 1);
+        if (bytes.length > MAX_MESSAGE_BYTES) {
+            throw new HttpMessageNotReadableException("Mensaje protobuf demasiado grande", inputMessage);
+        }
+        try {
+            return clazz == PredictionRequest.class
+                    ? PredictionProtobuf.decodeRequest(bytes)
+                    : PredictionProtobuf.decodeResponse(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = value instanceof PredictionRequest request
+                ? PredictionProtobuf.encode(request)
+                : PredictionProtobuf.encode((PredictionResponse) value);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+}
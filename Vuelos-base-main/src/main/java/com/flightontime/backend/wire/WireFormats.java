@@ -0,0 +1,24 @@
+package com.flightontime.backend.wire;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Tipos de contenido que aceptan y devuelven {@code POST /predict} y
+ * {@code POST /predict/batch} además de JSON.
+ */
+public final class WireFormats {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /** Mensajes de {@code src/main/proto/prediction.proto}. */
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+    /** Valores CBOR concatenados (RFC 8742): la respuesta del batch en CBOR. */
+    public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE);
+
+    private WireFormats() {
+    }
+}
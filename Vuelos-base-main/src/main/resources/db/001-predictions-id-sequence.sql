@@ -0,0 +1,22 @@
+-- Migra predictions.id de IDENTITY a una secuencia con INCREMENT BY 50.
+--
+-- PredictionEntity reserva ids de a bloques de 50 (optimizador pooled) y
+-- PredictionBatchInserter usa la misma secuencia, así que el incremento debe
+-- coincidir con PredictionEntity.ID_ALLOCATION_SIZE. En producción
+-- (ddl-auto=validate) hay que ejecutarlo antes de desplegar esta versión; las
+-- bases nuevas creadas con ddl-auto=update ya nacen con la secuencia correcta.
+
+BEGIN;
+
+LOCK TABLE predictions IN EXCLUSIVE MODE;
+
+ALTER TABLE predictions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE predictions ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS predictions_id_seq;
+
+CREATE SEQUENCE predictions_id_seq INCREMENT BY 50;
+
+-- El próximo nextval devuelve max(id) + 50 y el bloque que cubre empieza en max(id) + 1
+SELECT setval('predictions_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM predictions), 1));
+
+COMMIT;
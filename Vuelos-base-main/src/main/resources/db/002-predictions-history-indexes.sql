@@ -0,0 +1,20 @@
+-- Índices compuestos para GET /predictions (PredictionHistoryQueriesImpl).
+--
+-- Cada combinación de filtros recorre uno de los dos índices en el orden de la
+-- página: la ruta por fecha de partida y la aerolínea por fecha de registro.
+-- El id al final de ambos desempata la paginación por keyset, así la condición
+-- (col, id) > (?, ?) es un rango del índice y cada página lee sólo sus filas.
+--
+-- CONCURRENTLY no bloquea las escrituras del historial mientras se construye,
+-- pero no puede ejecutarse dentro de una transacción: correr cada sentencia por
+-- separado (psql en modo autocommit). Si una construcción se interrumpe, el
+-- índice queda INVALID y hay que borrarlo y volver a crearlo. Las bases creadas
+-- con ddl-auto=update ya los crean a partir de PredictionEntity.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_predictions_route_departure
+    ON predictions (origen, destino, fecha_partida, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_predictions_airline_created
+    ON predictions (aerolinea, created_at, id);
+
+ANALYZE predictions;
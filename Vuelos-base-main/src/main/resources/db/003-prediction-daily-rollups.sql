@@ -0,0 +1,18 @@
+-- Tabla de agregados diarios por aerolínea y por ruta (GET /stats/*).
+--
+-- PredictionRollups suma cada flush-interval los contadores en memoria con
+-- INSERT ... ON CONFLICT DO UPDATE, y RollupStore lee rangos de días por la
+-- clave primaria. En producción (ddl-auto=validate) hay que crearla antes de
+-- desplegar esta versión; después se puede poblar con el historial existente
+-- ejecutando el comando de reconstrucción (ver RollupRebuildRunner).
+
+CREATE TABLE IF NOT EXISTS prediction_daily_rollups (
+    dimension             VARCHAR(8)       NOT NULL,
+    rollup_key            VARCHAR(7)       NOT NULL,
+    rollup_day            DATE             NOT NULL,
+    predictions           BIGINT           NOT NULL,
+    delayed               BIGINT           NOT NULL,
+    delay_probability_sum DOUBLE PRECISION NOT NULL,
+    updated_at            TIMESTAMP(6)     NOT NULL,
+    PRIMARY KEY (dimension, rollup_key, rollup_day)
+);
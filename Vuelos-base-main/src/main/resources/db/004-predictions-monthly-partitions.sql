@@ -0,0 +1,56 @@
+-- Convierte predictions en una tabla particionada por mes de created_at.
+--
+-- La tabla actual pasa a ser la partición predictions_legacy con todas las
+-- filas hasta el fin del mes en curso; desde el mes siguiente cada mes tiene
+-- su partición, que crea PartitionMaintenance con
+-- prediction.partitions.enabled=true. Las particiones se borran enteras al
+-- vencer la retención, sin DELETE ni VACUUM, y las consultas acotadas por
+-- created_at sólo leen las particiones del rango.
+--
+-- La clave primaria de una tabla particionada debe incluir la columna de
+-- partición: pasa a ser (id, created_at). Los ids siguen saliendo de
+-- predictions_id_seq, así que siguen siendo únicos.
+--
+-- Bloquea predictions mientras valida el rango de la partición heredada y
+-- construye el índice (id, created_at) sobre ella: ejecutar en una ventana de
+-- mantenimiento, con la aplicación detenida, después de 001 a 003.
+
+BEGIN;
+
+LOCK TABLE predictions IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE predictions RENAME TO predictions_legacy;
+ALTER TABLE predictions_legacy RENAME CONSTRAINT predictions_pkey TO predictions_legacy_pkey;
+ALTER INDEX IF EXISTS idx_predictions_route_departure RENAME TO idx_predictions_legacy_route_departure;
+ALTER INDEX IF EXISTS idx_predictions_airline_created RENAME TO idx_predictions_legacy_airline_created;
+
+CREATE TABLE predictions (LIKE predictions_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+ALTER TABLE predictions ADD CONSTRAINT predictions_pkey PRIMARY KEY (id, created_at);
+CREATE INDEX idx_predictions_route_departure ON predictions (origen, destino, fecha_partida, id);
+CREATE INDEX idx_predictions_airline_created ON predictions (aerolinea, created_at, id);
+
+DO $$
+DECLARE
+    legacy_end timestamp := date_trunc('month', localtimestamp) + interval '1 month';
+BEGIN
+    -- Con el CHECK ya validado, ATTACH no vuelve a recorrer la tabla
+    EXECUTE format('ALTER TABLE predictions_legacy ADD CONSTRAINT predictions_legacy_range CHECK (created_at < %L)', legacy_end);
+    EXECUTE format('ALTER TABLE predictions ATTACH PARTITION predictions_legacy FOR VALUES FROM (MINVALUE) TO (%L)', legacy_end);
+    -- Dos meses por adelantado por si la aplicación arranca sin el mantenimiento activado
+    EXECUTE format('CREATE TABLE predictions_y%sm%s PARTITION OF predictions FOR VALUES FROM (%L) TO (%L)',
+                   to_char(legacy_end, 'YYYY'), to_char(legacy_end, 'MM'), legacy_end, legacy_end + interval '1 month');
+    EXECUTE format('CREATE TABLE predictions_y%sm%s PARTITION OF predictions FOR VALUES FROM (%L) TO (%L)',
+                   to_char(legacy_end + interval '1 month', 'YYYY'), to_char(legacy_end + interval '1 month', 'MM'),
+                   legacy_end + interval '1 month', legacy_end + interval '2 months');
+END
+$$;
+
+-- Red de seguridad: si faltara la partición de un mes, los inserts no fallan
+CREATE TABLE predictions_default PARTITION OF predictions DEFAULT;
+
+ALTER TABLE predictions_legacy DROP CONSTRAINT predictions_legacy_range;
+
+COMMIT;
+
+ANALYZE predictions;
@@ -0,0 +1,18 @@
+-- Índice para GET /predictions por aerolínea con rango de fecha de partida
+-- (orden AIRLINE_DEPARTURE de PredictionHistoryQueriesImpl).
+--
+-- Con el índice (aerolinea, created_at, id) el rango de fecha_partida no acota
+-- la lectura: se recorren todas las predicciones de la aerolínea hasta juntar
+-- la página. Con éste, aerolinea + rango de partida es un rango del índice.
+--
+-- Sobre la tabla sin particionar se crea con CONCURRENTLY, fuera de una
+-- transacción, como en 002. Si ya se aplicó 004, PostgreSQL no admite
+-- CONCURRENTLY sobre una tabla particionada: quitarlo y ejecutar la sentencia
+-- en una ventana de mantenimiento. Las particiones que cree después
+-- PartitionMaintenance heredan el índice. Las bases creadas con
+-- ddl-auto=update ya lo crean a partir de PredictionEntity.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_predictions_airline_departure
+    ON predictions (aerolinea, fecha_partida, id);
+
+ANALYZE predictions;
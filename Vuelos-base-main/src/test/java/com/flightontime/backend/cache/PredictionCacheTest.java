@@ -0,0 +1,182 @@
+package com.flightontime.backend.cache;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionCacheTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 1, 15, 14, 10);
+    private static final PredictionResponse RESPONSE = new PredictionResponse("Retrasado", 0.78);
+
+    private final PredictionCache cache = new PredictionCache(
+            new PredictionCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofHours(1)));
+
+    @Test
+    void shouldServeEquivalentRequestsFromCache() {
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get(request("AA", "MAD", DEPARTURE), () -> load(calls));
+        PredictionResponse cached = cache.get(request("aa", "mad", DEPARTURE.plusMinutes(40)), () -> load(calls));
+
+        assertSame(RESPONSE, cached);
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void shouldMissWhenDepartureFallsInAnotherBucket() {
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get(request("AA", "MAD", DEPARTURE), () -> load(calls));
+        cache.get(request("AA", "MAD", DEPARTURE.plusHours(1)), () -> load(calls));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentIdenticalMisses() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PredictionResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get(request("AA", "MAD", DEPARTURE), () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return RESPONSE;
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<PredictionResponse> result : results) {
+                assertSame(RESPONSE, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.misses());
+        assertEquals(7, cache.hits() + cache.coalesced());
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.get(request("AA", "MAD", DEPARTURE), () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("modelo caído");
+        }));
+        PredictionResponse response = cache.get(request("AA", "MAD", DEPARTURE), () -> load(calls));
+
+        assertSame(RESPONSE, response);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldShareInFlightFutureForAsyncLoads() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<PredictionResponse> model = new CompletableFuture<>();
+
+        CompletableFuture<PredictionResponse> first = cache.getAsync(request("AA", "MAD", DEPARTURE), () -> {
+            calls.incrementAndGet();
+            return model;
+        });
+        CompletableFuture<PredictionResponse> second = cache.getAsync(request("AA", "MAD", DEPARTURE), () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(RESPONSE);
+        });
+        model.complete(RESPONSE);
+
+        assertSame(RESPONSE, first.join());
+        assertSame(RESPONSE, second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void shouldNotCacheFailedAsyncLoads() {
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<PredictionResponse> failed = cache.getAsync(request("AA", "MAD", DEPARTURE), () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("modelo caído"));
+        });
+        PredictionResponse retried = cache.getAsync(request("AA", "MAD", DEPARTURE), () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(RESPONSE);
+        }).join();
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertSame(RESPONSE, retried);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldCountOnlySizeEvictions() throws InterruptedException {
+        PredictionCache small = new PredictionCache(
+                new PredictionCacheProperties(true, 1, Duration.ofMinutes(10), Duration.ofHours(1)));
+        AtomicInteger calls = new AtomicInteger();
+
+        small.get(request("AA", "MAD", DEPARTURE), () -> load(calls));
+        small.get(request("UA", "MAD", DEPARTURE), () -> load(calls));
+
+        // Caffeine desaloja en su mantenimiento, fuera del hilo del pedido
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (small.evictions() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, small.evictions());
+    }
+
+    @Test
+    void shouldNotCountExpiredEntriesAsEvictions() throws InterruptedException {
+        PredictionCache shortLived = new PredictionCache(
+                new PredictionCacheProperties(true, 100, Duration.ofMillis(20), Duration.ofHours(1)));
+        AtomicInteger calls = new AtomicInteger();
+
+        shortLived.get(request("AA", "MAD", DEPARTURE), () -> load(calls));
+        Thread.sleep(50);
+        shortLived.get(request("AA", "MAD", DEPARTURE), () -> load(calls));
+        Thread.sleep(50);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, shortLived.evictions());
+    }
+
+    private static PredictionResponse load(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return RESPONSE;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PredictionRequest request(String airline, String origin, LocalDateTime departure) {
+        return new PredictionRequest(airline, origin, "GRU", departure, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.flightontime.backend.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldLoadClasspathCatalogWhenNoExternalDir() {
+        CatalogRegistry registry = new CatalogRegistry("");
+
+        CatalogIndex index = registry.current();
+
+        assertEquals(1, index.generation());
+        assertTrue(index.hasAirline("AA"));
+        assertTrue(index.hasAirport("MAD"));
+        assertTrue(index.airlineCount() > 0);
+        assertTrue(index.airportCount() > 0);
+    }
+
+    @Test
+    void shouldComputeRouteDistanceFromCoordinates() {
+        CatalogIndex index = new CatalogRegistry("").current();
+
+        assertEquals(543.0, index.distanceKm("SFO", "lax"), 5.0);
+        assertEquals(index.distanceKm("SFO", "LAX"), index.distanceKm("LAX", "SFO"));
+        assertEquals(0.0, index.distanceKm("MAD", "MAD"));
+        assertTrue(Double.isNaN(index.distanceKm("MAD", "XXX")));
+        assertEquals("Europe/Madrid", index.airportZone("mad").getId());
+    }
+
+    @Test
+    void shouldKeepAirportsWithoutCoordinatesInCatalog() throws IOException {
+        Files.writeString(dir.resolve("airports.csv"), "code,latitude,longitude,timezone\nMAD,40.4719,-3.5626,Europe/Madrid\nZZZ,,,\n");
+
+        CatalogIndex index = new CatalogRegistry(dir.toString()).current();
+
+        assertTrue(index.hasAirport("ZZZ"));
+        assertNull(index.airportZone("ZZZ"));
+        assertTrue(Double.isNaN(index.distanceKm("MAD", "ZZZ")));
+    }
+
+    @Test
+    void shouldPreferExternalFilesAndFallbackToClasspath() throws IOException {
+        Files.writeString(dir.resolve("airlines.csv"), "code\nZZ\n");
+
+        CatalogIndex index = new CatalogRegistry(dir.toString()).current();
+
+        assertTrue(index.hasAirline("ZZ"));
+        assertFalse(index.hasAirline("AA"));
+        assertTrue(index.hasAirport("MAD"));
+    }
+
+    @Test
+    void shouldSwapIndexWhenExternalFileChanges() throws IOException {
+        Path airlines = dir.resolve("airlines.csv");
+        Files.writeString(airlines, "code\nAA\n");
+        CatalogRegistry registry = new CatalogRegistry(dir.toString());
+        CatalogIndex before = registry.current();
+
+        Files.writeString(airlines, "code\nAA\nxx\n");
+        Files.setLastModifiedTime(airlines, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        registry.reloadIfChanged();
+
+        CatalogIndex after = registry.current();
+        assertNotSame(before, after);
+        assertEquals(2, after.generation());
+        assertNotEquals(before.checksum(), after.checksum());
+        assertTrue(after.hasAirline("XX"));
+        assertFalse(before.hasAirline("XX"));
+    }
+
+    @Test
+    void shouldKeepIndexWhenNothingChanged() throws IOException {
+        Files.writeString(dir.resolve("airlines.csv"), "code\nAA\n");
+        CatalogRegistry registry = new CatalogRegistry(dir.toString());
+        CatalogIndex before = registry.current();
+
+        registry.reloadIfChanged();
+
+        assertSame(before, registry.current());
+    }
+}
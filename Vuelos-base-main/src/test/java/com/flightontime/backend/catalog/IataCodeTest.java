@@ -0,0 +1,45 @@
+package com.flightontime.backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IataCodeTest {
+
+    @Test
+    void shouldEncodeIgnoringCase() {
+        assertEquals(IataCode.airline("AA"), IataCode.airline("aa"));
+        assertEquals(IataCode.airport("MAD"), IataCode.airport("mAd"));
+    }
+
+    @Test
+    void shouldRoundTripCodes() {
+        assertEquals("U2", IataCode.airlineToString(IataCode.airline("u2")));
+        assertEquals("GRU", IataCode.airportToString(IataCode.airport("gru")));
+        assertEquals("ZZZ", IataCode.airportToString(IataCode.AIRPORT_SPACE - 1));
+    }
+
+    @Test
+    void shouldRejectInvalidCodes() {
+        assertEquals(IataCode.NONE, IataCode.airline(null));
+        assertEquals(IataCode.NONE, IataCode.airline("AAA"));
+        assertEquals(IataCode.NONE, IataCode.airline("A-"));
+        assertEquals(IataCode.NONE, IataCode.airport("MA"));
+        assertEquals(IataCode.NONE, IataCode.airport("M4D"));
+        assertEquals(IataCode.NONE, IataCode.airport("   "));
+    }
+
+    @Test
+    void shouldReturnCanonicalInstanceFromTable() {
+        CodeTable table = CodeTable.airports(List.of("MAD", "GRU", "MAD"));
+
+        assertEquals(2, table.size());
+        assertTrue(table.contains("mad"));
+        assertFalse(table.contains("EZE"));
+        assertEquals("GRU", table.canonical("gRu"));
+        assertSame(table.canonical("gru"), table.canonical("GRU"));
+        assertNull(table.canonical("EZE"));
+    }
+}
@@ -0,0 +1,214 @@
+package com.flightontime.backend.client;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionBatcherTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 1, 15, 14, 10);
+
+    private final FakeClient client = new FakeClient();
+    private PredictionBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void shouldGroupConcurrentRequestsIntoBatches() throws Exception {
+        batcher = new PredictionBatcher(client, true, 8, Duration.ofMillis(200), Duration.ofSeconds(5), 100, 2, false);
+
+        List<PredictionResponse> responses = predictConcurrently(8);
+
+        assertEquals(8, responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals("Puntual", responses.get(i).prevision());
+        }
+        assertEquals(8, batcher.batchedItems());
+        assertTrue(batcher.batches() < 8);
+        assertEquals(0, client.singleCalls.get());
+    }
+
+    @Test
+    void shouldFailWholeBatchWhenBatchCallFails() throws Exception {
+        client.failBatch = true;
+        batcher = new PredictionBatcher(client, true, 4, Duration.ofMillis(200), Duration.ofSeconds(5), 100, 2, false);
+
+        List<Throwable> failures = failConcurrently(4);
+
+        assertEquals(4, failures.size());
+        for (Throwable failure : failures) {
+            assertEquals("Connection refused", failure.getMessage());
+        }
+        // Sin reintentos por vuelo contra un servicio que ya está fallando
+        assertEquals(0, client.singleCalls.get());
+        assertEquals(0, batcher.fallbacks());
+    }
+
+    @Test
+    void shouldFailWholeBatchWhenResponseSizeDiffers() throws Exception {
+        client.missingResponses = 1;
+        batcher = new PredictionBatcher(client, true, 4, Duration.ofMillis(200), Duration.ofSeconds(5), 100, 2, false);
+
+        List<Throwable> failures = failConcurrently(4);
+
+        assertEquals(4, failures.size());
+        for (Throwable failure : failures) {
+            assertTrue(failure instanceof RestClientException);
+        }
+        assertEquals(0, client.singleCalls.get());
+    }
+
+    @Test
+    void shouldRetryEmptyPositionOnCallerThread() throws Exception {
+        client.emptyPosition = true;
+        batcher = new PredictionBatcher(client, true, 4, Duration.ofMillis(200), Duration.ofSeconds(5), 100, 2, false);
+
+        List<PredictionResponse> responses = predictConcurrently(4);
+
+        assertEquals(4, responses.size());
+        assertEquals(1, client.singleCalls.get());
+        assertEquals(1, batcher.fallbacks());
+        assertFalse(client.singleCallThreads.get(0).startsWith("datascience-batch-sender"));
+    }
+
+    @Test
+    void shouldCallModelDirectlyWhenDisabled() {
+        batcher = new PredictionBatcher(client, false, 8, Duration.ofMillis(5), Duration.ofSeconds(5), 100, 2, false);
+
+        PredictionResponse response = batcher.predict(request("AA"));
+
+        assertEquals("Puntual", response.prevision());
+        assertEquals(1, client.singleCalls.get());
+        assertEquals(0, batcher.batches());
+    }
+
+    @Test
+    void shouldFailWaitingCallersOnShutdown() throws Exception {
+        batcher = new PredictionBatcher(client, true, 8, Duration.ofSeconds(30), Duration.ofSeconds(30), 100, 2, false);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<PredictionResponse> waiting = pool.submit(() -> batcher.predict(request("AA")));
+            Thread.sleep(100);
+
+            batcher.shutdown();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> waiting.get(2, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof ResourceAccessException);
+            assertEquals(0, batcher.queueDepth());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStopWaitingAfterResultTimeout() {
+        client.delayMillis = 1000;
+        batcher = new PredictionBatcher(client, true, 8, Duration.ofMillis(5), Duration.ofMillis(100), 100, 2, false);
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> batcher.predict(request("AA")));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    private List<PredictionResponse> predictConcurrently(int count) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<PredictionResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(pool.submit(() -> batcher.predict(request("AA"))));
+            }
+            List<PredictionResponse> responses = new ArrayList<>();
+            for (Future<PredictionResponse> future : futures) {
+                responses.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<Throwable> failConcurrently(int count) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<PredictionResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(pool.submit(() -> batcher.predict(request("AA"))));
+            }
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<PredictionResponse> future : futures) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                failures.add(failure.getCause());
+            }
+            return failures;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static PredictionRequest request(String airline) {
+        return new PredictionRequest(airline, "MAD", "GRU", DEPARTURE, 8000.0);
+    }
+
+    private static final class FakeClient extends DataScienceClient {
+
+        private final AtomicInteger singleCalls = new AtomicInteger();
+        private final List<String> singleCallThreads = new CopyOnWriteArrayList<>();
+        private volatile boolean failBatch;
+        private volatile int missingResponses;
+        private volatile boolean emptyPosition;
+        private volatile long delayMillis;
+
+        FakeClient() {
+            super(null);
+        }
+
+        @Override
+        public PredictionResponse predictDelay(PredictionRequest request) {
+            singleCalls.incrementAndGet();
+            singleCallThreads.add(Thread.currentThread().getName());
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new PredictionResponse("Puntual", 0.31);
+        }
+
+        @Override
+        public List<PredictionResponse> predictDelayBatch(List<PredictionRequest> requests) {
+            if (failBatch) {
+                throw new ResourceAccessException("Connection refused");
+            }
+            List<PredictionResponse> responses = new ArrayList<>();
+            for (int i = 0; i < requests.size() - missingResponses; i++) {
+                responses.add(emptyPosition && i == 0 ? null : new PredictionResponse("Puntual", 0.31));
+            }
+            return responses;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.flightontime.backend.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipDecompressingInterceptorTest {
+
+    private static final String BODY = "{\"prevision\":\"Puntual\",\"probabilidad\":0.8}";
+
+    private final ClientHttpRequestFactory factory = new InterceptingClientHttpRequestFactory(
+            new JdkClientHttpRequestFactory(HttpClient.newHttpClient()), List.of(new GzipDecompressingInterceptor()));
+    private HttpServer server;
+    private volatile String acceptEncoding;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            acceptEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            byte[] compressed = gzip(BODY);
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, compressed.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(compressed);
+            }
+        });
+        server.createContext("/plain", exchange -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldDecompressAndDropCompressedBodyHeaders() throws IOException {
+        try (ClientHttpResponse response = factory.createRequest(uri("/gzip"), HttpMethod.GET).execute()) {
+            assertEquals("gzip", acceptEncoding);
+            assertEquals(BODY, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+            // Describían el cuerpo comprimido
+            assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+            assertEquals("application/json", response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        }
+    }
+
+    @Test
+    void shouldLeaveUncompressedResponsesUntouched() throws IOException {
+        try (ClientHttpResponse response = factory.createRequest(uri("/plain"), HttpMethod.GET).execute()) {
+            assertEquals(BODY, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(Integer.toString(BODY.length()), response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,181 @@
+package com.flightontime.backend.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ejercita los clientes que arma {@link RestTemplateConfig} contra un servidor
+ * HTTP local que demora las cabeceras o el cuerpo de la respuesta.
+ */
+class RestTemplateConfigTest {
+
+    private static final Duration TOTAL_TIMEOUT = Duration.ofMillis(300);
+    private static final byte[] BODY = "{\"prevision\":\"Puntual\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private HttpServer server;
+    private ExecutorService serverPool;
+    private CloseableHttpClient httpClient;
+    private TotalTimeoutExecHandler totalTimeout;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverPool = Executors.newCachedThreadPool();
+        server.setExecutor(serverPool);
+        server.createContext("/fast", exchange -> respond(exchange, 0, 0));
+        // Cabeceras después de 2 s
+        server.createContext("/slow-headers", exchange -> respond(exchange, 2000, 0));
+        // Cabeceras enseguida y un byte cada 100 ms: ninguna lectura supera el read-timeout
+        server.createContext("/slow-body", exchange -> respond(exchange, 0, 100));
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (totalTimeout != null) {
+            totalTimeout.destroy();
+        }
+        server.stop(0);
+        serverPool.shutdownNow();
+    }
+
+    @Test
+    void shouldAnswerWithinTotalTimeout() {
+        RestTemplate restTemplate = new RestTemplate(pooledFactory());
+
+        assertEquals("{\"prevision\":\"Puntual\"}", restTemplate.getForObject(url("/fast"), String.class));
+    }
+
+    @Test
+    void shouldCancelWhenHeadersArriveAfterTotalTimeout() {
+        RestTemplate restTemplate = new RestTemplate(pooledFactory());
+
+        assertTimesOut(ResourceAccessException.class, () -> restTemplate.getForObject(url("/slow-headers"), String.class));
+    }
+
+    @Test
+    void shouldCancelWhenBodyArrivesAfterTotalTimeout() {
+        RestTemplate restTemplate = new RestTemplate(pooledFactory());
+
+        // El cuerpo se lee dentro del plazo, antes de devolver la respuesta
+        assertTimesOut(ResourceAccessException.class, () -> restTemplate.getForObject(url("/slow-body"), String.class));
+    }
+
+    @Test
+    void shouldCancelSlowBodyOverHttp2Client() {
+        RestTemplate restTemplate = new RestTemplate(config.dataScienceHttp2RequestFactory(properties(true, false)));
+
+        // El read-timeout del cliente JDK cierra el cuerpo mientras el convertidor lo lee
+        assertTimesOut(RestClientException.class, () -> restTemplate.getForObject(url("/slow-body"), String.class));
+    }
+
+    @Test
+    void shouldUseApacheConnectionPoolByDefault() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(RestTemplateConfig.class)
+                .run(context -> {
+                    assertTrue(context.getBean(ClientHttpRequestFactory.class) instanceof HttpComponentsClientHttpRequestFactory);
+                    assertEquals(1, context.getBeansOfType(PoolingHttpClientConnectionManager.class).size());
+                    assertEquals(1, context.getBeansOfType(TotalTimeoutExecHandler.class).size());
+                });
+    }
+
+    @Test
+    void shouldUseJdkClientWithHttp2() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(RestTemplateConfig.class)
+                .withPropertyValues("datascience.http.http2=true", "datascience.http.gzip=false")
+                .run(context -> {
+                    assertTrue(context.getBean(ClientHttpRequestFactory.class) instanceof JdkClientHttpRequestFactory);
+                    assertTrue(context.getBeansOfType(PoolingHttpClientConnectionManager.class).isEmpty());
+                });
+    }
+
+    @Test
+    void shouldAddGzipInterceptorToHttp2Client() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(RestTemplateConfig.class)
+                .withPropertyValues("datascience.http.http2=true")
+                .run(context -> assertTrue(
+                        context.getBean(ClientHttpRequestFactory.class) instanceof InterceptingClientHttpRequestFactory));
+    }
+
+    private ClientHttpRequestFactory pooledFactory() {
+        DataScienceHttpProperties properties = properties(false, false);
+        totalTimeout = config.totalTimeoutExecHandler(properties);
+        httpClient = config.dataScienceHttpClient(config.dataScienceConnectionManager(properties), totalTimeout, properties);
+        return config.dataScienceRequestFactory(httpClient);
+    }
+
+    private static DataScienceHttpProperties properties(boolean http2, boolean gzip) {
+        return new DataScienceHttpProperties(10, 10, Duration.ofSeconds(1), Duration.ofMillis(500),
+                Duration.ofSeconds(5), TOTAL_TIMEOUT, Duration.ofSeconds(30), Duration.ofMinutes(5), http2, gzip);
+    }
+
+    private static void assertTimesOut(Class<? extends RestClientException> expected, Runnable call) {
+        long start = System.nanoTime();
+        assertThrows(expected, call::run);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 1500, "falló recién a los " + elapsedMillis + " ms");
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, long headerDelayMillis, long byteDelayMillis) throws IOException {
+        try (exchange) {
+            sleep(headerDelayMillis);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            OutputStream out = exchange.getResponseBody();
+            if (byteDelayMillis == 0) {
+                out.write(BODY);
+                return;
+            }
+            for (byte b : BODY) {
+                out.write(b);
+                out.flush();
+                sleep(byteDelayMillis);
+            }
+        } catch (IOException e) {
+            // El cliente cortó la conexión al vencer el plazo
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.service.BatchFormat;
+import com.flightontime.backend.service.BatchPredictionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BatchPredictionControllerTest {
+
+	private final EchoService service = new EchoService();
+	private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BatchPredictionController(service)).build();
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void shouldWriteNdjsonOnTheRequestThread() throws Exception {
+		// Sin pedido async: el lote no queda sujeto a spring.mvc.async.request-timeout
+		mockMvc.perform(post("/predict/batch")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content("{}"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(content().string("NDJSON\n"));
+	}
+
+	@Test
+	void shouldAnswerCborSequenceForCborInput() throws Exception {
+		mockMvc.perform(post("/predict/batch")
+						.contentType(MediaType.APPLICATION_CBOR)
+						.accept("application/cbor-seq")
+						.content(new byte[]{(byte) 0x80}))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(content().contentType("application/cbor-seq"))
+				.andExpect(content().string("CBOR\n"));
+	}
+
+	private static final class EchoService extends BatchPredictionService {
+
+		EchoService() {
+			super(null, null, JsonMapper.builder().build(), 1, 1, 1, false);
+		}
+
+		@Override
+		public void predict(InputStream in, BatchFormat format, OutputStream out) throws IOException {
+			out.write((format.name() + "\n").getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
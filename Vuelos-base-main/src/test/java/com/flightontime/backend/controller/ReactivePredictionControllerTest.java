@@ -0,0 +1,65 @@
+package com.flightontime.backend.controller;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.service.PredictionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactivePredictionControllerTest {
+
+	private static final PredictionRequest REQUEST =
+			new PredictionRequest("AA", "MAD", "GRU", LocalDateTime.of(2030, 1, 15, 14, 10), 8000.0);
+
+	private final CompletableFuture<PredictionResponse> prediction = new CompletableFuture<>();
+	private final ReactivePredictionController controller = new ReactivePredictionController(new StubService(prediction));
+
+	@Test
+	void shouldAnswerOkWhenPredictionCompletes() throws Exception {
+		CompletableFuture<ResponseEntity<PredictionResponse>> result = controller.predict(REQUEST);
+
+		// El hilo del servlet vuelve sin esperar al modelo
+		assertFalse(result.isDone());
+		prediction.complete(new PredictionResponse("Puntual", 0.31));
+
+		ResponseEntity<PredictionResponse> response = result.get(5, TimeUnit.SECONDS);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Puntual", response.getBody().prevision());
+	}
+
+	@Test
+	void shouldPropagateModelFailureToExceptionHandler() {
+		CompletableFuture<ResponseEntity<PredictionResponse>> result = controller.predict(REQUEST);
+
+		ResourceAccessException failure = new ResourceAccessException("Connection refused");
+		prediction.completeExceptionally(failure);
+
+		// Spring desenvuelve la CompletionException antes de llegar al GlobalExceptionHandler
+		CompletionException error = assertThrows(CompletionException.class, result::join);
+		assertSame(failure, error.getCause());
+	}
+
+	private static final class StubService extends PredictionService {
+
+		private final CompletableFuture<PredictionResponse> prediction;
+
+		StubService(CompletableFuture<PredictionResponse> prediction) {
+			super(null, null, null, null, null, null, null);
+			this.prediction = prediction;
+		}
+
+		@Override
+		public CompletableFuture<PredictionResponse> predictAsync(PredictionRequest request) {
+			return prediction;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.flightontime.backend.export;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionExporterTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 1, 15, 14, 10);
+    private static final LocalDateTime CREATED = LocalDateTime.of(2030, 1, 10, 9, 0, 5);
+
+    private final List<Object[]> rows = List.of(
+            new Object[] {1L, "AA", "MAD", "GRU", Timestamp.valueOf(DEPARTURE), 8000, "RETRASADO", 0.78, Timestamp.valueOf(CREATED)},
+            new Object[] {2L, "UA", "SFO", "LAX", Timestamp.valueOf(DEPARTURE), 559, "PUNTUAL", 0.9, Timestamp.valueOf(CREATED)});
+    private final List<Integer> fetchSizes = new ArrayList<>();
+    private final List<String> statements = new ArrayList<>();
+
+    @Test
+    void shouldStreamCsvWithConfiguredFetchSize() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exporter().export(new ExportQuery(null, null, null), ExportFormat.CSV, false, out);
+
+        assertEquals(2, exported);
+        assertEquals(PredictionExporter.CSV_HEADER
+                        + "1,AA,MAD,GRU,2030-01-15 14:10:00,8000,RETRASADO,0.78,2030-01-10 09:00:05\n"
+                        + "2,UA,SFO,LAX,2030-01-15 14:10:00,559,PUNTUAL,0.9,2030-01-10 09:00:05\n",
+                out.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of(500), fetchSizes);
+    }
+
+    @Test
+    void shouldCompressNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter().export(new ExportQuery(ExportDateField.REGISTRO, CREATED, null), ExportFormat.NDJSON, true, out);
+
+        String text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(text.startsWith("{\"id\":1,\"aerolinea\":\"AA\",\"origen\":\"MAD\",\"destino\":\"GRU\","
+                + "\"fechaPartida\":\"2030-01-15 14:10:00\",\"distanciaKm\":8000,\"prevision\":\"RETRASADO\","
+                + "\"probabilidad\":0.78,\"createdAt\":\"2030-01-10 09:00:05\"}\n"));
+        assertEquals(2, text.lines().count());
+        assertTrue(statements.get(0).endsWith("WHERE created_at >= ?"));
+    }
+
+    @Test
+    void shouldRejectInvertedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExportQuery(ExportDateField.PARTIDA, DEPARTURE, DEPARTURE.minusDays(1)));
+        assertEquals(DEPARTURE.toLocalDate().atStartOfDay(), ExportRunner.dateTime("2030-01-15"));
+    }
+
+    private PredictionExporter exporter() {
+        return new PredictionExporter(dataSource(), new PredictionExportProperties(500, 4096));
+    }
+
+    /**
+     * DataSource mínimo que devuelve {@link #rows} a cualquier consulta.
+     */
+    private DataSource dataSource() {
+        int[] cursor = {-1};
+        ResultSet resultSet = proxy(ResultSet.class, (method, args) -> switch (method) {
+            case "next" -> ++cursor[0] < rows.size();
+            case "getLong", "getString", "getTimestamp", "getInt", "getDouble" ->
+                    rows.get(cursor[0])[(Integer) args[0] - 1];
+            default -> null;
+        });
+        PreparedStatement statement = proxy(PreparedStatement.class, (method, args) -> switch (method) {
+            case "setFetchSize" -> {
+                fetchSizes.add((Integer) args[0]);
+                yield null;
+            }
+            case "executeQuery" -> resultSet;
+            default -> null;
+        });
+        Connection connection = proxy(Connection.class, (method, args) -> {
+            if (method.equals("prepareStatement")) {
+                statements.add(((String) args[0]).strip());
+                return statement;
+            }
+            return null;
+        });
+        return proxy(DataSource.class, (method, args) -> method.equals("getConnection") ? connection : null);
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(PredictionExporterTest.class.getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> {
+                    Object result = handler.handle(method.getName(), args);
+                    if (result == null && method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (result == null && method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,264 @@
+package com.flightontime.backend.history;
+
+import com.flightontime.backend.persistence.PredictionBatchInserter;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionHistoryWriterTest {
+
+    private PredictionHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFlushWhenBatchSizeIsReached() throws Exception {
+        RecordingInserter inserter = new RecordingInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(true, 100, 5, Duration.ofMinutes(1), OverflowPolicy.BLOCK), List.of());
+
+        for (int i = 0; i < 5; i++) {
+            writer.submit(prediction());
+        }
+
+        assertTrue(inserter.firstBatch.await(5, TimeUnit.SECONDS));
+        writer.shutdown();
+        assertEquals(List.of(5), inserter.batchSizes);
+        assertEquals(5, writer.written());
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterInterval() throws Exception {
+        RecordingInserter inserter = new RecordingInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(true, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of());
+
+        writer.submit(prediction());
+        writer.submit(prediction());
+
+        assertTrue(inserter.firstBatch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, inserter.batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void shouldDropWhenQueueIsFull() {
+        BlockedInserter inserter = new BlockedInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(true, 1, 1, Duration.ofMillis(1), OverflowPolicy.DROP), List.of());
+
+        // La primera fila ocupa al escritor, la segunda llena la cola y las demás se descartan
+        writer.submit(prediction());
+        awaitQuietly(inserter.entered);
+        writer.submit(prediction());
+        writer.submit(prediction());
+        writer.submit(prediction());
+
+        assertEquals(2, writer.dropped());
+        inserter.release.countDown();
+    }
+
+    @Test
+    void shouldWriteOnCallerThreadWhenDisabled() {
+        RecordingInserter inserter = new RecordingInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of());
+
+        writer.submit(prediction());
+
+        assertEquals(List.of(1), inserter.batchSizes);
+        assertEquals(1, writer.written());
+    }
+
+    @Test
+    void shouldNotWriteOnCallerThreadInTrySubmitWhenDisabled() throws Exception {
+        RecordingInserter inserter = new RecordingInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of());
+
+        writer.trySubmit(prediction());
+
+        assertTrue(inserter.firstBatch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1), inserter.batchSizes);
+        assertNotEquals(Thread.currentThread().getName(), inserter.threads.get(0));
+    }
+
+    @Test
+    void shouldDropInTrySubmitWhenDirectWriterIsFull() {
+        BlockedInserter inserter = new BlockedInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(false, 1, 1, Duration.ofMillis(1), OverflowPolicy.BLOCK), List.of());
+
+        // La primera fila ocupa al escritor directo, la segunda llena su cola y la tercera se descarta
+        writer.trySubmit(prediction());
+        awaitQuietly(inserter.entered);
+        writer.trySubmit(prediction());
+        writer.trySubmit(prediction());
+
+        assertEquals(1, writer.dropped());
+        inserter.release.countDown();
+    }
+
+    @Test
+    void shouldCountFailedRowsWithoutThrowing() {
+        PredictionBatchInserter failing = new PredictionBatchInserter(null, false, 0) {
+            @Override
+            public void insert(List<PredictionEntity> predictions) {
+                throw new IllegalStateException("connection refused");
+            }
+        };
+        writer = new PredictionHistoryWriter(failing, properties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of());
+
+        writer.submit(prediction());
+
+        assertEquals(1, writer.failed());
+        assertEquals(0, writer.written());
+    }
+
+    @Test
+    void shouldNotifyListenersOnlyOfWrittenBatches() {
+        List<Integer> notified = new CopyOnWriteArrayList<>();
+        HistoryWriteListener listener = predictions -> notified.add(predictions.size());
+        PredictionBatchInserter failing = new PredictionBatchInserter(null, false, 0) {
+            @Override
+            public void insert(List<PredictionEntity> predictions) {
+                throw new IllegalStateException("connection refused");
+            }
+        };
+
+        writer = new PredictionHistoryWriter(new RecordingInserter(),
+                properties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of(listener));
+        writer.submitAll(List.of(prediction(), prediction()));
+        writer = new PredictionHistoryWriter(failing,
+                properties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of(listener));
+        writer.submit(prediction());
+
+        assertEquals(List.of(1, 1), notified);
+    }
+
+    @Test
+    void shouldWriteOrCountRowsSubmittedDuringShutdown() throws Exception {
+        RecordingInserter inserter = new RecordingInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(true, 100_000, 50, Duration.ofMillis(1), OverflowPolicy.BLOCK), List.of());
+        int threads = 4;
+        int rowsPerThread = 5_000;
+        CountDownLatch started = new CountDownLatch(threads);
+        ExecutorService submitters = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                submitters.execute(() -> {
+                    started.countDown();
+                    for (int i = 0; i < rowsPerThread; i++) {
+                        if (i % 2 == 0) {
+                            writer.submit(prediction());
+                        } else {
+                            writer.trySubmit(prediction());
+                        }
+                    }
+                });
+            }
+
+            // Detener con los productores todavía encolando
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            writer.shutdown();
+            submitters.shutdown();
+            assertTrue(submitters.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            submitters.shutdownNow();
+        }
+
+        assertEquals(0, writer.queueDepth());
+        assertEquals(0, writer.failed());
+        assertEquals(threads * rowsPerThread, writer.written() + writer.dropped());
+        assertEquals(writer.written(), inserter.rows());
+    }
+
+    @Test
+    void shouldWriteOnCallerThreadOrDropAfterShutdown() {
+        RecordingInserter inserter = new RecordingInserter();
+        writer = new PredictionHistoryWriter(inserter, properties(true, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK), List.of());
+        writer.shutdown();
+
+        writer.submit(prediction());
+        writer.trySubmit(prediction());
+
+        assertEquals(1, writer.written());
+        assertEquals(Thread.currentThread().getName(), inserter.threads.get(0));
+        assertEquals(1, writer.dropped());
+        assertEquals(0, writer.queueDepth());
+    }
+
+    private static PredictionHistoryProperties properties(boolean writeBehind, int capacity, int batchSize,
+                                                          Duration flushInterval, OverflowPolicy policy) {
+        return new PredictionHistoryProperties(writeBehind, capacity, batchSize, flushInterval, policy,
+                Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private static PredictionEntity prediction() {
+        PredictionEntity entity = new PredictionEntity();
+        entity.setAerolinea("AA");
+        entity.setOrigen("MAD");
+        entity.setDestino("GRU");
+        entity.setFechaPartida(LocalDateTime.of(2030, 1, 15, 14, 10));
+        entity.setDistanciaKm(8000);
+        entity.setPrevision(PredictionResult.RETRASADO);
+        entity.setProbabilidad(0.78);
+        return entity;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingInserter extends PredictionBatchInserter {
+
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstBatch = new CountDownLatch(1);
+
+        RecordingInserter() {
+            super(null, false, 0);
+        }
+
+        int rows() {
+            return batchSizes.stream().mapToInt(Integer::intValue).sum();
+        }
+
+        @Override
+        public void insert(List<PredictionEntity> predictions) {
+            batchSizes.add(predictions.size());
+            threads.add(Thread.currentThread().getName());
+            firstBatch.countDown();
+        }
+    }
+
+    private static class BlockedInserter extends PredictionBatchInserter {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        BlockedInserter() {
+            super(null, false, 0);
+        }
+
+        @Override
+        public void insert(List<PredictionEntity> predictions) {
+            entered.countDown();
+            awaitQuietly(release);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.flightontime.backend.metrics;
+
+import com.flightontime.backend.cache.PredictionCache;
+import com.flightontime.backend.cache.PredictionCacheProperties;
+import com.flightontime.backend.client.PredictionBatcher;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.history.OverflowPolicy;
+import com.flightontime.backend.history.PredictionHistoryProperties;
+import com.flightontime.backend.history.PredictionHistoryWriter;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.model.ModelMode;
+import com.flightontime.backend.model.ModelProperties;
+import com.flightontime.backend.model.ReactiveRemoteModelBackend;
+import com.flightontime.backend.partition.PartitionMaintenance;
+import com.flightontime.backend.partition.PartitionProperties;
+import com.flightontime.backend.resilience.ConcurrencyLimitFilter;
+import com.flightontime.backend.resilience.ConcurrencyLimitProperties;
+import com.flightontime.backend.resilience.ModelCallGuard;
+import com.flightontime.backend.resilience.ResilienceProperties;
+import com.flightontime.backend.schedule.SchedulePrecomputer;
+import com.flightontime.backend.schedule.ScheduleProperties;
+import com.flightontime.backend.schedule.SchedulePredictions;
+import com.flightontime.backend.stats.PredictionRollups;
+import com.flightontime.backend.stats.PredictionStatsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentMetricsTest {
+
+    private static final PredictionRequest REQUEST =
+            new PredictionRequest("AA", "MAD", "GRU", LocalDateTime.of(2030, 1, 15, 14, 10), 8000.0);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PredictionCache cache =
+            new PredictionCache(new PredictionCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofHours(1)));
+    private final PredictionBatcher batcher =
+            new PredictionBatcher(null, false, 8, Duration.ofMillis(5), Duration.ofSeconds(5), 100, 1, false);
+    private final PredictionHistoryWriter historyWriter = new PredictionHistoryWriter(null,
+            new PredictionHistoryProperties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK,
+                    Duration.ofMillis(1), Duration.ofSeconds(5)),
+            List.of());
+    private final ScheduleProperties scheduleProperties =
+            new ScheduleProperties(false, "", 1, Duration.ofDays(7), Duration.ofHours(6), Duration.ofHours(24));
+    private final SchedulePredictions schedulePredictions = new SchedulePredictions(scheduleProperties);
+    private final ModelGateway modelGateway = new ModelGateway(new ModelProperties(ModelMode.REMOTE, ""), null,
+            new DefaultListableBeanFactory().getBeanProvider(ReactiveRemoteModelBackend.class), null);
+    private final SchedulePrecomputer schedulePrecomputer =
+            new SchedulePrecomputer(schedulePredictions, scheduleProperties, modelGateway, null, null, false);
+    private final ModelCallGuard modelCallGuard = new ModelCallGuard(new ResilienceProperties(true,
+            new ResilienceProperties.CircuitBreaker(4, 4, 50, 50, Duration.ofSeconds(5), Duration.ofSeconds(30), 2),
+            new ResilienceProperties.Bulkhead(10, Duration.ZERO),
+            new ResilienceProperties.Hedge(false, Duration.ofMillis(50), 100, 10)), false);
+    private final ConcurrencyLimitFilter limitFilter = new ConcurrencyLimitFilter(
+            new ConcurrencyLimitProperties(true, 8, 1, 16, 0, 1.5, 0.2, 1, 10, Duration.ofSeconds(2)),
+            JsonMapper.builder().build(), 200, false);
+
+    @BeforeEach
+    void bind() {
+        new ComponentMetrics(cache, batcher, historyWriter,
+                new PredictionRollups(null, new PredictionStatsProperties(false, Duration.ofSeconds(10), 4, 366)),
+                new PartitionMaintenance(null, new PartitionProperties(false, 3, 24, new PartitionProperties.Archive(false, "archive"))),
+                schedulePredictions, schedulePrecomputer, modelCallGuard, limitFilter, modelGateway)
+                .bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        historyWriter.shutdown();
+        schedulePrecomputer.shutdown();
+        modelCallGuard.shutdown();
+    }
+
+    @Test
+    void shouldPublishEveryComponent() {
+        for (String name : List.of("prediction.cache.size", "prediction.cache.requests", "prediction.cache.evictions",
+                "datascience.batching.batches", "datascience.batching.queue",
+                "prediction.history.queue", "prediction.history.rows",
+                "prediction.stats.pending", "prediction.stats.flushes",
+                "prediction.partitions.created", "prediction.partitions.failures",
+                "prediction.schedule.entries", "prediction.schedule.requests", "prediction.schedule.flights",
+                "datascience.circuit.state", "datascience.bulkhead.in.use", "datascience.hedges",
+                "prediction.limiter.limit", "prediction.limiter.in.flight", "prediction.limiter.rejected",
+                "model.shadow.comparisons", "model.local.fallbacks")) {
+            assertFalse(registry.find(name).meters().isEmpty(), name);
+        }
+        assertEquals(3, registry.find("prediction.cache.requests").functionCounters().size());
+        assertEquals(3, registry.find("prediction.history.rows").functionCounters().size());
+    }
+
+    @Test
+    void shouldReadCountersAtScrapeTime() {
+        assertEquals(0, cacheRequests("miss"));
+
+        cache.get(REQUEST, () -> new PredictionResponse("Puntual", 0.2));
+        cache.get(REQUEST, () -> new PredictionResponse("Puntual", 0.2));
+
+        assertEquals(1, cacheRequests("miss"));
+        assertEquals(1, cacheRequests("hit"));
+        assertEquals(1, registry.get("prediction.cache.size").gauge().value());
+    }
+
+    @Test
+    void shouldMarkOnlyTheCurrentCircuitState() {
+        assertEquals(1, registry.get("datascience.circuit.state").tag("state", "closed").gauge().value());
+        assertEquals(0, registry.get("datascience.circuit.state").tag("state", "open").gauge().value());
+        assertEquals(8, registry.get("prediction.limiter.limit").gauge().value());
+    }
+
+    private double cacheRequests(String result) {
+        return registry.get("prediction.cache.requests").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,160 @@
+package com.flightontime.backend.metrics;
+
+import com.flightontime.backend.cache.PredictionCache;
+import com.flightontime.backend.cache.PredictionCacheProperties;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.controller.PredictionController;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.exception.GlobalExceptionHandler;
+import com.flightontime.backend.history.OverflowPolicy;
+import com.flightontime.backend.history.PredictionHistoryProperties;
+import com.flightontime.backend.history.PredictionHistoryWriter;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.model.ModelMode;
+import com.flightontime.backend.model.ModelProperties;
+import com.flightontime.backend.model.ReactiveRemoteModelBackend;
+import com.flightontime.backend.model.RemoteModelBackend;
+import com.flightontime.backend.persistence.PredictionBatchInserter;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.schedule.ScheduleProperties;
+import com.flightontime.backend.schedule.SchedulePredictions;
+import com.flightontime.backend.service.PredictionService;
+import com.flightontime.backend.validation.PredictValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Recorre {@code POST /predict} con el controlador, el servicio y los advices
+ * reales sobre un {@link SimpleMeterRegistry}: sólo el modelo y el historial
+ * están simulados.
+ */
+class PredictionMetricsTest {
+
+    private static final String VALID =
+            "{\"aerolinea\":\"AA\",\"origen\":\"MAD\",\"destino\":\"GRU\",\"fechaPartida\":\"2030-01-15 14:10:00\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PredictionMetrics metrics = new PredictionMetrics(registry);
+    private final FakeModel model = new FakeModel();
+    private final CatalogRegistry catalogRegistry = new CatalogRegistry("");
+    private final PredictionHistoryWriter historyWriter = new PredictionHistoryWriter(new NoOpInserter(),
+            new PredictionHistoryProperties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK,
+                    Duration.ofMillis(1), Duration.ofSeconds(5)),
+            List.of());
+    private final PredictionService service = new PredictionService(
+            historyWriter,
+            new ModelGateway(new ModelProperties(ModelMode.REMOTE, ""), model,
+                    new DefaultListableBeanFactory().getBeanProvider(ReactiveRemoteModelBackend.class), null),
+            new PredictValidator(catalogRegistry),
+            catalogRegistry,
+            new PredictionCache(new PredictionCacheProperties(false, 100, Duration.ofMinutes(10), Duration.ofHours(1))),
+            new SchedulePredictions(new ScheduleProperties(false, "", 1, Duration.ofDays(7), Duration.ofHours(6), Duration.ofHours(24))),
+            metrics);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PredictionController(service))
+            .setControllerAdvice(new BindingTimingAdvice(metrics), new GlobalExceptionHandler(registry))
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        historyWriter.shutdown();
+    }
+
+    @Test
+    void shouldRecordEveryStageOfOnePrediction() throws Exception {
+        mockMvc.perform(predict(VALID)).andExpect(status().isOk());
+
+        for (PredictionStage stage : PredictionStage.values()) {
+            assertEquals(1, stageCount(stage), stage.tag());
+        }
+        assertEquals(1, model.calls.get());
+        assertTrue(registry.find("api.errors").meters().isEmpty());
+    }
+
+    @Test
+    void shouldStopRecordingAtTheStageThatFails() throws Exception {
+        mockMvc.perform(predict(VALID.replace("\"AA\"", "\"ZZ\""))).andExpect(status().isBadRequest());
+
+        assertEquals(1, stageCount(PredictionStage.BINDING));
+        assertEquals(1, stageCount(PredictionStage.VALIDATION));
+        assertEquals(0, stageCount(PredictionStage.MODEL));
+        assertEquals(0, stageCount(PredictionStage.SAVE));
+    }
+
+    @Test
+    void shouldCountErrorsByCodeAndException() throws Exception {
+        mockMvc.perform(predict(VALID.replace("\"AA\"", "\"ZZ\""))).andExpect(status().isBadRequest());
+        mockMvc.perform(predict(VALID.replace("\"AA\"", "\"A1\""))).andExpect(status().isBadRequest());
+        mockMvc.perform(predict("{\"aerolinea\":")).andExpect(status().isBadRequest());
+        model.failure = new ResourceAccessException("Connection refused");
+        mockMvc.perform(predict(VALID)).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(predict(VALID)).andExpect(status().isServiceUnavailable());
+
+        assertEquals(1, errors("VALIDATION_ERROR", "InvalidPredictionException"));
+        assertEquals(1, errors("VALIDATION_ERROR", "MethodArgumentNotValidException"));
+        assertEquals(1, errors("INVALID_REQUEST", "HttpMessageNotReadableException"));
+        assertEquals(2, errors("SERVICE_UNAVAILABLE", "RuntimeException"));
+        assertEquals(4, registry.find("api.errors").counters().size());
+        // El JSON ilegible no llega a deserializarse
+        assertEquals(4, stageCount(PredictionStage.BINDING));
+    }
+
+    private long stageCount(PredictionStage stage) {
+        return registry.get("prediction.stage").tag("stage", stage.tag()).timer().count();
+    }
+
+    private double errors(String code, String exception) {
+        Counter counter = registry.find("api.errors").tag("code", code).tag("exception", exception).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static MockHttpServletRequestBuilder predict(String body) {
+        return post("/predict").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static final class FakeModel extends RemoteModelBackend {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile RuntimeException failure;
+
+        FakeModel() {
+            super(null, null);
+        }
+
+        @Override
+        public PredictionResponse predict(PredictionRequest request) {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return new PredictionResponse("Puntual", 0.2);
+        }
+    }
+
+    private static final class NoOpInserter extends PredictionBatchInserter {
+
+        NoOpInserter() {
+            super(null, false, 0);
+        }
+
+        @Override
+        public void insert(List<PredictionEntity> predictions) {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalModelBackendTest {
+
+    // Miércoles 16/01/2030
+    private static final LocalDateTime EVENING = LocalDateTime.of(2030, 1, 16, 18, 30);
+    private static final LocalDateTime MORNING = LocalDateTime.of(2030, 1, 16, 6, 0);
+
+    @Test
+    void shouldScoreLogisticRegression() {
+        LocalModelBackend backend = LocalModelBackend.from(new ModelDefinition(
+                "logistic", "v1", 0.5, -2.0,
+                Map.of("hora", 0.1, "distanciaKm", 0.001),
+                Map.of("aerolinea", Map.of("AA", 0.5)),
+                null, null));
+
+        // -2 + 0.1 * 18.5 + 0.001 * 1000 + 0.5 = 1.35
+        PredictionResponse delayed = backend.predict(request("aa", EVENING, 1000.0));
+        assertEquals("Retrasado", delayed.prevision());
+        assertEquals(ScoringModel.sigmoid(1.35), delayed.probabilidad(), 1e-9);
+
+        // -2 + 0.6 + 0.1 (sin peso para DL) = -1.3
+        PredictionResponse onTime = backend.predict(request("DL", MORNING, 100.0));
+        assertEquals("Puntual", onTime.prevision());
+        assertEquals(1 - ScoringModel.sigmoid(-1.3), onTime.probabilidad(), 1e-9);
+    }
+
+    @Test
+    void shouldSumLeavesOfTreeEnsemble() {
+        ModelDefinition.Tree byHour = new ModelDefinition.Tree(List.of(
+                new ModelDefinition.Node("hora", 12.0, null, 1, 2, null),
+                new ModelDefinition.Node(null, null, null, null, null, -1.0),
+                new ModelDefinition.Node(null, null, null, null, null, 1.0)));
+        ModelDefinition.Tree byOrigin = new ModelDefinition.Tree(List.of(
+                new ModelDefinition.Node("origen", null, "ORD", 1, 2, null),
+                new ModelDefinition.Node(null, null, null, null, null, 0.5),
+                new ModelDefinition.Node(null, null, null, null, null, -0.25)));
+        LocalModelBackend backend = LocalModelBackend.from(new ModelDefinition(
+                "trees", "v2", 0.5, null, null, null, 0.1, List.of(byHour, byOrigin)));
+
+        PredictionResponse evening = backend.predict(request("AA", EVENING, 500.0));
+        assertEquals("Retrasado", evening.prevision());
+        assertEquals(ScoringModel.sigmoid(0.1 + 1.0 + 0.5), evening.probabilidad(), 1e-9);
+
+        PredictionResponse morning = backend.predict(new PredictionRequest("AA", "SFO", "LAX", MORNING, 500.0));
+        assertEquals("Puntual", morning.prevision());
+        assertEquals(1 - ScoringModel.sigmoid(0.1 - 1.0 - 0.25), morning.probabilidad(), 1e-9);
+    }
+
+    @Test
+    void shouldRejectInvalidDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> LocalModelBackend.from(new ModelDefinition(
+                "logistic", "v1", null, 0.0, Map.of("altitud", 1.0), null, null, null)));
+
+        // Un nodo que apunta a sí mismo ciclaría al evaluar
+        ModelDefinition.Tree cyclic = new ModelDefinition.Tree(List.of(
+                new ModelDefinition.Node("hora", 12.0, null, 0, 1, null),
+                new ModelDefinition.Node(null, null, null, null, null, 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> LocalModelBackend.from(new ModelDefinition(
+                "trees", "v1", null, null, null, null, 0.0, List.of(cyclic))));
+
+        assertThrows(IllegalArgumentException.class, () -> LocalModelBackend.from(new ModelDefinition(
+                "onnx", "v1", null, null, null, null, null, null)));
+    }
+
+    private static PredictionRequest request(String airline, LocalDateTime departure, Double distanceKm) {
+        return new PredictionRequest(airline, "ORD", "LAX", departure, distanceKm);
+    }
+}
@@ -0,0 +1,124 @@
+package com.flightontime.backend.model;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.resilience.ModelUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelGatewayTest {
+
+    private static final PredictionRequest REQUEST =
+            new PredictionRequest("AA", "ORD", "LAX", LocalDateTime.of(2030, 1, 16, 18, 30), 2800.0);
+
+    // Siempre predice retraso con probabilidad sigmoid(2) ≈ 0.88
+    private final LocalModelBackend local = LocalModelBackend.from(new ModelDefinition(
+            "logistic", "v1", 0.5, 2.0, Map.of(), Map.of(), null, null));
+
+    @Test
+    void shouldAnswerWithRemoteAndRecordDisagreementInShadowMode() {
+        AtomicInteger remoteCalls = new AtomicInteger();
+        ModelGateway gateway = new ModelGateway(ModelMode.SHADOW, request -> {
+            remoteCalls.incrementAndGet();
+            return new PredictionResponse("Puntual", 0.7);
+        }, local);
+
+        PredictionResponse response = gateway.predict(REQUEST);
+
+        assertEquals("Puntual", response.prevision());
+        assertEquals(1, remoteCalls.get());
+        assertEquals(1, gateway.comparisons());
+        assertEquals(1, gateway.disagreements());
+        // remoto: 0.3 de retraso, local: 0.88
+        assertEquals(ScoringModel.sigmoid(2.0) - 0.3, gateway.meanProbabilityDelta(), 1e-9);
+    }
+
+    @Test
+    void shouldUseLocalModelWhenRemoteIsUnavailable() {
+        ModelGateway gateway = new ModelGateway(ModelMode.FALLBACK, request -> {
+            throw new ModelUnavailableException("El servicio de Data Science no está disponible");
+        }, local);
+
+        PredictionResponse response = gateway.predict(REQUEST);
+
+        assertEquals("Retrasado", response.prevision());
+        assertEquals(1, gateway.fallbacks());
+    }
+
+    @Test
+    void shouldNotFallBackOnClientErrors() {
+        ModelGateway gateway = new ModelGateway(ModelMode.FALLBACK, request -> {
+            throw new HttpClientErrorException(HttpStatus.UNPROCESSABLE_CONTENT);
+        }, local);
+
+        assertThrows(HttpClientErrorException.class, () -> gateway.predict(REQUEST));
+        assertEquals(0, gateway.fallbacks());
+    }
+
+    @Test
+    void shouldNeverCallRemoteInLocalMode() {
+        ModelGateway gateway = new ModelGateway(ModelMode.LOCAL, request -> {
+            throw new AssertionError("no debe llamarse al modelo remoto");
+        }, local);
+
+        assertEquals("Retrasado", gateway.predict(REQUEST).prevision());
+    }
+
+    @Test
+    void shouldApplyShadowModeToAsyncPredictions() throws Exception {
+        CompletableFuture<PredictionResponse> remote = new CompletableFuture<>();
+        ModelGateway gateway = new ModelGateway(ModelMode.SHADOW, null, request -> remote, local);
+
+        CompletableFuture<PredictionResponse> response = gateway.predictAsync(REQUEST);
+        remote.complete(new PredictionResponse("Puntual", 0.7));
+
+        assertEquals("Puntual", response.get(5, TimeUnit.SECONDS).prevision());
+        assertEquals(1, gateway.comparisons());
+        assertEquals(1, gateway.disagreements());
+    }
+
+    @Test
+    void shouldUseLocalModelWhenAsyncRemoteFails() throws Exception {
+        ModelGateway gateway = new ModelGateway(ModelMode.FALLBACK, null,
+                request -> CompletableFuture.failedFuture(new ResourceAccessException("Connection refused")), local);
+
+        PredictionResponse response = gateway.predictAsync(REQUEST).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Retrasado", response.prevision());
+        assertEquals(1, gateway.fallbacks());
+    }
+
+    @Test
+    void shouldNotFallBackOnAsyncClientErrors() {
+        WebClientResponseException rejected = WebClientResponseException.create(
+                422, "Unprocessable Content", null, null, null);
+        ModelGateway gateway = new ModelGateway(ModelMode.FALLBACK, null,
+                request -> CompletableFuture.failedFuture(rejected), local);
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> gateway.predictAsync(REQUEST).get(5, TimeUnit.SECONDS));
+        assertSame(rejected, failure.getCause());
+        assertEquals(0, gateway.fallbacks());
+    }
+
+    @Test
+    void shouldAnswerAsyncPredictionsLocallyInLocalMode() throws Exception {
+        ModelGateway gateway = new ModelGateway(ModelMode.LOCAL, null, request -> {
+            throw new AssertionError("no debe llamarse al modelo remoto");
+        }, local);
+
+        assertEquals("Retrasado", gateway.predictAsync(REQUEST).get(5, TimeUnit.SECONDS).prevision());
+    }
+}
@@ -0,0 +1,143 @@
+package com.flightontime.backend.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionMaintenanceTest {
+
+    // 17 de octubre de 2026
+    private static final Clock CLOCK = Clock.fixed(
+            LocalDateTime.of(2026, 10, 17, 3, 15).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Test
+    void shouldParseBoundsFromCatalog() {
+        PartitionInfo legacy = PartitionInfo.parse("predictions_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2024-11-01 00:00:00')");
+        PartitionInfo month = PartitionInfo.parse("predictions_y2026m10",
+                "FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-11-01 00:00:00')");
+
+        assertNull(legacy.lower());
+        assertEquals(LocalDateTime.of(2024, 11, 1, 0, 0), legacy.upper());
+        assertEquals(LocalDateTime.of(2026, 10, 1, 0, 0), month.lower());
+        assertTrue(PartitionInfo.parse("predictions_default", "DEFAULT").isDefault());
+        assertEquals("predictions_y2026m10", PartitionInfo.monthName(YearMonth.of(2026, 10)));
+    }
+
+    @Test
+    void shouldCreateOnlyMissingMonths() {
+        FakeStore store = new FakeStore(List.of(
+                PartitionInfo.parse("predictions_legacy", "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')"),
+                PartitionInfo.parse("predictions_y2026m11", "FOR VALUES FROM ('2026-11-01 00:00:00') TO ('2026-12-01 00:00:00')"),
+                PartitionInfo.parse("predictions_default", "DEFAULT")));
+
+        maintenance(store, 3, 0, true).run();
+
+        assertEquals(List.of(YearMonth.of(2026, 12), YearMonth.of(2027, 1)), store.createdMonths);
+        assertTrue(store.dropped.isEmpty());
+    }
+
+    @Test
+    void shouldArchiveAndDropOnlyExpiredPartitions() {
+        FakeStore store = new FakeStore(List.of(
+                PartitionInfo.parse("predictions_legacy", "FOR VALUES FROM (MINVALUE) TO ('2024-10-01 00:00:00')"),
+                PartitionInfo.parse("predictions_y2024m10", "FOR VALUES FROM ('2024-10-01 00:00:00') TO ('2024-11-01 00:00:00')"),
+                PartitionInfo.parse("predictions_y2026m10", "FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-11-01 00:00:00')"),
+                PartitionInfo.parse("predictions_default", "DEFAULT")));
+
+        PartitionMaintenance maintenance = maintenance(store, 0, 24, true);
+        maintenance.run();
+
+        // Corte: 2024-10-01. El mes de octubre de 2024 sigue dentro de la retención
+        assertEquals(List.of("predictions_legacy"), store.dropped);
+        assertEquals(Path.of("archive", "predictions_legacy.csv.gz"), store.archives.get(0));
+        assertEquals(1, maintenance.archived());
+    }
+
+    @Test
+    void shouldSkipPartitionLockedByAnotherNode() {
+        FakeStore store = new FakeStore(List.of(
+                PartitionInfo.parse("predictions_y2023m01", "FOR VALUES FROM ('2023-01-01 00:00:00') TO ('2023-02-01 00:00:00')"),
+                PartitionInfo.parse("predictions_y2023m02", "FOR VALUES FROM ('2023-02-01 00:00:00') TO ('2023-03-01 00:00:00')")));
+        store.locked.add("predictions_y2023m01");
+
+        PartitionMaintenance maintenance = maintenance(store, 0, 12, false);
+        maintenance.run();
+
+        assertEquals(List.of("predictions_y2023m02"), store.dropped);
+        assertNull(store.archives.get(0));
+        assertEquals(1, maintenance.archived());
+        assertEquals(0, maintenance.failures());
+    }
+
+    @Test
+    void shouldExpireEvenWhenCreatingMonthsFails() {
+        FakeStore store = new FakeStore(List.of(
+                PartitionInfo.parse("predictions_y2023m01", "FOR VALUES FROM ('2023-01-01 00:00:00') TO ('2023-02-01 00:00:00')")));
+        store.failCreate = true;
+
+        PartitionMaintenance maintenance = maintenance(store, 1, 12, false);
+        maintenance.run();
+
+        assertEquals(List.of("predictions_y2023m01"), store.dropped);
+        assertEquals(1, maintenance.archived());
+        assertEquals(1, maintenance.failures());
+    }
+
+    private static PartitionMaintenance maintenance(FakeStore store, int premake, int retention, boolean archive) {
+        PartitionProperties properties = new PartitionProperties(true, premake, retention,
+                new PartitionProperties.Archive(archive, "archive"));
+        return new PartitionMaintenance(store, properties, CLOCK);
+    }
+
+    private static final class FakeStore extends PartitionStore {
+
+        private final List<PartitionInfo> partitions;
+        private final List<YearMonth> createdMonths = new ArrayList<>();
+        private final List<String> dropped = new ArrayList<>();
+        private final List<Path> archives = new ArrayList<>();
+        private final List<String> locked = new ArrayList<>();
+        private boolean failCreate;
+
+        FakeStore(List<PartitionInfo> partitions) {
+            super(null);
+            this.partitions = partitions;
+        }
+
+        @Override
+        public boolean isPartitioned() {
+            return true;
+        }
+
+        @Override
+        List<PartitionInfo> partitions() {
+            return partitions;
+        }
+
+        @Override
+        void createMonth(YearMonth month) {
+            if (failCreate) {
+                throw new IllegalStateException("permission denied for schema public");
+            }
+            createdMonths.add(month);
+        }
+
+        @Override
+        public long archiveAndDrop(String partition, Path archive) {
+            if (locked.contains(partition)) {
+                return LOCKED;
+            }
+            dropped.add(partition);
+            archives.add(archive);
+            return 10;
+        }
+    }
+}
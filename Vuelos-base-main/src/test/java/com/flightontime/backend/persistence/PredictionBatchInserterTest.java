@@ -0,0 +1,64 @@
+package com.flightontime.backend.persistence;
+
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionBatchInserterTest {
+
+    @Test
+    void shouldStartAtOneOnFreshSequence() {
+        // Secuencia creada por Hibernate: START 1 INCREMENT 50
+        List<PredictionEntity> predictions = predictions(120);
+
+        PredictionBatchInserter.assignIds(predictions, sequence(1));
+
+        for (int i = 0; i < predictions.size(); i++) {
+            assertEquals(i + 1L, (long) predictions.get(i).getId());
+        }
+    }
+
+    @Test
+    void shouldUseBlockEndingAtSequenceValue() {
+        List<PredictionEntity> predictions = predictions(60);
+
+        PredictionBatchInserter.assignIds(predictions, sequence(101));
+
+        assertEquals(52L, (long) predictions.get(0).getId());
+        assertEquals(101L, (long) predictions.get(49).getId());
+        assertEquals(102L, (long) predictions.get(50).getId());
+        assertEquals(111L, (long) predictions.get(59).getId());
+    }
+
+    @Test
+    void shouldNotOverlapBlocksAfterFreshStart() {
+        // Primer bloque 1..51 (el optimizador lee dos valores), el siguiente 52..101
+        LongSupplier sequence = sequence(1);
+        List<PredictionEntity> first = predictions(51);
+        List<PredictionEntity> second = predictions(1);
+
+        PredictionBatchInserter.assignIds(first, sequence);
+        PredictionBatchInserter.assignIds(second, sequence);
+
+        assertEquals(51L, (long) first.get(50).getId());
+        assertEquals(52L, (long) second.get(0).getId());
+    }
+
+    private static LongSupplier sequence(long start) {
+        long[] value = {start - PredictionEntity.ID_ALLOCATION_SIZE};
+        return () -> value[0] += PredictionEntity.ID_ALLOCATION_SIZE;
+    }
+
+    private static List<PredictionEntity> predictions(int count) {
+        List<PredictionEntity> predictions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            predictions.add(new PredictionEntity());
+        }
+        return predictions;
+    }
+}
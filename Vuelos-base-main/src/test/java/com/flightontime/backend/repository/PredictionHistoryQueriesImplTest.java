@@ -0,0 +1,119 @@
+package com.flightontime.backend.repository;
+
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionHistoryQueriesImplTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2024, 1, 15, 14, 30);
+
+    @Test
+    void shouldSeekAlongRouteIndexByDeparture() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter(
+                null, "SFO", "LAX", DEPARTURE.minusDays(1), null, PredictionResult.RETRASADO);
+        HistoryCursor after = new HistoryCursor(PredictionHistoryOrder.DEPARTURE, HistoryCursor.fingerprint(filter), DEPARTURE, 42);
+        List<Object> args = new ArrayList<>();
+
+        String sql = PredictionHistoryQueriesImpl.buildSql(
+                filter, PredictionHistoryOrder.forFilter(filter), after, 51, args);
+
+        assertTrue(sql.contains("WHERE origen = ? AND destino = ? AND fecha_partida >= ? AND prevision = ?"));
+        assertTrue(sql.contains("(fecha_partida, id) > (?, ?)"));
+        assertTrue(sql.endsWith("ORDER BY fecha_partida, id\nLIMIT ?"));
+        assertFalse(sql.contains("OFFSET"));
+        assertEquals(List.of("SFO", "LAX", Timestamp.valueOf(DEPARTURE.minusDays(1)), "RETRASADO",
+                Timestamp.valueOf(DEPARTURE), 42L, 51), args);
+    }
+
+    @Test
+    void shouldSeekAlongAirlineIndexNewestFirst() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter("AA", "SFO", null, null, null, null);
+        List<Object> args = new ArrayList<>();
+
+        String sql = PredictionHistoryQueriesImpl.buildSql(
+                filter, PredictionHistoryOrder.forFilter(filter), null, 10, args);
+
+        assertTrue(sql.contains("WHERE aerolinea = ? AND origen = ?"));
+        assertFalse(sql.contains("created_at, id) <"));
+        assertTrue(sql.endsWith("ORDER BY created_at DESC, id DESC\nLIMIT ?"));
+        assertEquals(List.of("AA", "SFO", 10), args);
+    }
+
+    @Test
+    void shouldSeekAlongAirlineDepartureIndexWhenDepartureRangeIsGiven() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter(
+                "AA", null, null, DEPARTURE.minusDays(7), DEPARTURE, PredictionResult.PUNTUAL);
+        HistoryCursor after = new HistoryCursor(PredictionHistoryOrder.AIRLINE_DEPARTURE,
+                HistoryCursor.fingerprint(filter), DEPARTURE.minusDays(3), 42);
+        List<Object> args = new ArrayList<>();
+
+        PredictionHistoryOrder order = PredictionHistoryOrder.forFilter(filter);
+        String sql = PredictionHistoryQueriesImpl.buildSql(filter, order, after, 51, args);
+
+        assertEquals(PredictionHistoryOrder.AIRLINE_DEPARTURE, order);
+        assertTrue(sql.contains("WHERE aerolinea = ? AND fecha_partida >= ? AND fecha_partida < ? AND prevision = ?"));
+        assertTrue(sql.contains("(fecha_partida, id) > (?, ?)"));
+        assertTrue(sql.endsWith("ORDER BY fecha_partida, id\nLIMIT ?"));
+        assertEquals(List.of("AA", Timestamp.valueOf(DEPARTURE.minusDays(7)), Timestamp.valueOf(DEPARTURE), "PUNTUAL",
+                Timestamp.valueOf(DEPARTURE.minusDays(3)), 42L, 51), args);
+    }
+
+    @Test
+    void shouldPositionCursorOnTheOrderColumn() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter("AA", null, null, DEPARTURE.minusDays(7), null, null);
+        PredictionSummary last = new PredictionSummary(42, "AA", "SFO", "LAX", DEPARTURE, 559,
+                PredictionResult.PUNTUAL, 0.85, DEPARTURE.minusDays(30));
+
+        assertEquals(DEPARTURE, HistoryCursor.after(PredictionHistoryOrder.AIRLINE_DEPARTURE, filter, last).position());
+        assertEquals(DEPARTURE.minusDays(30), HistoryCursor.after(PredictionHistoryOrder.RECENT, filter, last).position());
+        HistoryCursor decoded = HistoryCursor.decode(HistoryCursor.after(PredictionHistoryOrder.AIRLINE_DEPARTURE, filter, last).encode());
+        assertEquals(PredictionHistoryOrder.AIRLINE_DEPARTURE, decoded.order());
+    }
+
+    @Test
+    void shouldRejectFilterWithoutIndexedPrefix() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter(null, "SFO", null, DEPARTURE, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> PredictionHistoryOrder.forFilter(filter));
+    }
+
+    @Test
+    void shouldRoundTripCursor() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter("AA", null, null, null, null, null);
+        HistoryCursor cursor = new HistoryCursor(PredictionHistoryOrder.RECENT, HistoryCursor.fingerprint(filter),
+                DEPARTURE.withNano(123_456_000), 10452);
+
+        HistoryCursor decoded = HistoryCursor.decode(cursor.encode());
+        assertEquals(cursor, decoded);
+        assertTrue(decoded.matches(filter));
+    }
+
+    @Test
+    void shouldNotMatchCursorFromOtherFilters() {
+        PredictionHistoryFilter filter = new PredictionHistoryFilter(
+                null, "SFO", "LAX", DEPARTURE.minusDays(1), null, PredictionResult.RETRASADO);
+        HistoryCursor cursor = new HistoryCursor(PredictionHistoryOrder.DEPARTURE, HistoryCursor.fingerprint(filter), DEPARTURE, 42);
+
+        // Mismo orden (ruta), distinto rango o resultado
+        assertFalse(cursor.matches(new PredictionHistoryFilter(
+                null, "SFO", "LAX", DEPARTURE.minusDays(2), null, PredictionResult.RETRASADO)));
+        assertFalse(cursor.matches(new PredictionHistoryFilter(
+                null, "SFO", "LAX", DEPARTURE.minusDays(1), null, PredictionResult.PUNTUAL)));
+        assertTrue(cursor.matches(new PredictionHistoryFilter(
+                null, "SFO", "LAX", DEPARTURE.minusDays(1), null, PredictionResult.RETRASADO)));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("no es un cursor"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("WHwyMDI0LTAxLTE1VDE0OjMwfDEw"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("RHw"));
+    }
+}
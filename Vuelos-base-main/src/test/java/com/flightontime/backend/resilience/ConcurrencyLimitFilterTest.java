@@ -0,0 +1,154 @@
+package com.flightontime.backend.resilience;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final StubController controller = new StubController();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new ConcurrencyLimitProperties(true, 1, 1, 1, 0, 1.5, 0.2, 1, 10, Duration.ofSeconds(2)),
+            JsonMapper.builder().build(), 200, false);
+    private final GradientLimiter limiter = filter.limiter();
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).addFilters(filter).build();
+
+    @Test
+    void shouldRejectWithRetryAfterWhenLimitIsReached() throws Exception {
+        MvcResult waiting = mockMvc.perform(predict("async")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(predict("sync"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"))
+                .andExpect(jsonPath("$.path").value("/predict"));
+        assertEquals(1, limiter.rejected());
+
+        controller.pending.complete(ResponseEntity.ok("ok"));
+        mockMvc.perform(asyncDispatch(waiting)).andExpect(status().isOk());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldNotLimitOtherPaths() throws Exception {
+        MvcResult waiting = mockMvc.perform(predict("async")).andReturn();
+
+        // Con el único lugar tomado, ping y batch siguen respondiendo
+        mockMvc.perform(get("/predict/ping").servletPath("/predict/ping")).andExpect(status().isOk());
+        mockMvc.perform(post("/predict/batch").servletPath("/predict/batch")).andExpect(status().isOk());
+        assertEquals(0, limiter.rejected());
+
+        controller.pending.complete(ResponseEntity.ok("ok"));
+        mockMvc.perform(asyncDispatch(waiting));
+    }
+
+    @Test
+    void shouldReleaseAsyncPermitOnceOnCompletion() throws Exception {
+        MvcResult waiting = mockMvc.perform(predict("async")).andExpect(request().asyncStarted()).andReturn();
+        // El hilo del servlet ya volvió, pero el lugar sigue tomado hasta completar la respuesta
+        assertEquals(1, limiter.inFlight());
+
+        controller.pending.complete(ResponseEntity.ok("ok"));
+        mockMvc.perform(asyncDispatch(waiting)).andExpect(status().isOk());
+
+        assertEquals(0, limiter.inFlight());
+        assertTrue(limiter.referenceLatencyMillis() >= 0);
+    }
+
+    @Test
+    void shouldReleaseAsyncPermitOnceAfterTimeout() throws Exception {
+        MvcResult waiting = mockMvc.perform(predict("async")).andReturn();
+
+        MockAsyncContext context = (MockAsyncContext) waiting.getRequest().getAsyncContext();
+        AsyncEvent event = new AsyncEvent(context, waiting.getRequest(), waiting.getResponse());
+        for (AsyncListener listener : new ArrayList<>(context.getListeners())) {
+            listener.onTimeout(event);
+        }
+        context.complete();
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(-1, limiter.referenceLatencyMillis());
+    }
+
+    @Test
+    void shouldReleaseAsyncPermitOnceAfterError() throws Exception {
+        MvcResult waiting = mockMvc.perform(predict("async")).andReturn();
+
+        MockAsyncContext context = (MockAsyncContext) waiting.getRequest().getAsyncContext();
+        AsyncEvent event = new AsyncEvent(context, waiting.getRequest(), waiting.getResponse(), new IllegalStateException("reset"));
+        for (AsyncListener listener : new ArrayList<>(context.getListeners())) {
+            listener.onError(event);
+        }
+        context.complete();
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(-1, limiter.referenceLatencyMillis());
+        // El lugar liberado vuelve a estar disponible
+        mockMvc.perform(predict("sync")).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldNotSampleErrorResponses() throws Exception {
+        mockMvc.perform(predict("sync").param("status", "400")).andExpect(status().isBadRequest());
+        mockMvc.perform(predict("sync").param("status", "503")).andExpect(status().isServiceUnavailable());
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(-1, limiter.referenceLatencyMillis());
+
+        mockMvc.perform(predict("sync")).andExpect(status().isOk());
+        assertTrue(limiter.referenceLatencyMillis() >= 0);
+    }
+
+    private static MockHttpServletRequestBuilder predict(String mode) {
+        return post("/predict").servletPath("/predict").param("mode", mode);
+    }
+
+    @RestController
+    static class StubController {
+
+        final CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+
+        @PostMapping(path = "/predict", params = "mode=sync")
+        ResponseEntity<String> predict(@RequestParam(defaultValue = "200") int status) {
+            return ResponseEntity.status(status).body("ok");
+        }
+
+        @PostMapping(path = "/predict", params = "mode=async")
+        CompletableFuture<ResponseEntity<String>> predictAsync() {
+            return pending;
+        }
+
+        @GetMapping("/predict/ping")
+        String ping() {
+            return "pong";
+        }
+
+        @PostMapping("/predict/batch")
+        String batch() {
+            return "batch";
+        }
+    }
+}
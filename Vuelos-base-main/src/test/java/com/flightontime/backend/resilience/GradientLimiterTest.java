@@ -0,0 +1,93 @@
+package com.flightontime.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void shouldRejectBeyondLimit() {
+        GradientLimiter limiter = new GradientLimiter(2, 1, 10, 1.5, 0.2, 10, 100);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST, true);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1, limiter.rejected());
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    void shouldGrowWhileLatencyIsStableAndLimitIsUsed() {
+        GradientLimiter limiter = new GradientLimiter(10, 1, 100, 1.5, 0.5, 10, 100);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, FAST);
+        }
+
+        assertTrue(limiter.limit() > 10, "límite=" + limiter.limit());
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyRises() {
+        GradientLimiter limiter = new GradientLimiter(40, 4, 100, 1.5, 0.5, 10, 100);
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, FAST);
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, SLOW);
+        }
+
+        assertTrue(limiter.limit() < before / 2, "antes=" + before + ", después=" + limiter.limit());
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    void shouldIgnoreWindowsThatDoNotUseTheLimit() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 100, 1.5, 0.5, 10, 100);
+
+        // Un pedido a la vez: la latencia no dice nada sobre la concurrencia que se soporta
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    void shouldNotAdjustWithoutSamples() {
+        GradientLimiter limiter = new GradientLimiter(10, 1, 100, 1.5, 0.5, 1, 100);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, -1);
+        }
+
+        assertEquals(10, limiter.limit());
+        assertEquals(-1, limiter.referenceLatencyMillis());
+    }
+
+    /**
+     * Ocupa todo el límite y libera cada lugar con la latencia indicada; -1
+     * libera sin muestra.
+     */
+    private static void saturate(GradientLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(Math.max(0, rttNanos), rttNanos >= 0);
+        }
+    }
+}
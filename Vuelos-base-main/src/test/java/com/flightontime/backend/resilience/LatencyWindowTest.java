@@ -0,0 +1,35 @@
+package com.flightontime.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyWindowTest {
+
+    @Test
+    void shouldReportP95FromFirstSample() {
+        LatencyWindow window = new LatencyWindow(100);
+
+        assertEquals(-1, window.p95Nanos());
+        window.record(7);
+
+        assertEquals(7, window.p95Nanos());
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    void shouldKeepOnlyLastSamples() {
+        LatencyWindow window = new LatencyWindow(64);
+
+        // Las primeras 64 muestras son lentas y el anillo las reemplaza por 64 rápidas
+        for (int i = 0; i < 64; i++) {
+            window.record(1_000_000);
+        }
+        for (int i = 1; i <= 64; i++) {
+            window.record(i);
+        }
+
+        assertEquals(64, window.size());
+        assertEquals(61, window.p95Nanos());
+    }
+}
@@ -0,0 +1,247 @@
+package com.flightontime.backend.resilience;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ejercita el guard contra un servidor HTTP local que simula al modelo, con
+ * latencia y fallos configurables por pedido.
+ */
+class ModelCallGuardTest {
+
+    private final AtomicLong latencyMillis = new AtomicLong();
+    // Pedidos que reciben slowLatencyMillis en lugar de latencyMillis
+    private final AtomicInteger slowRequests = new AtomicInteger();
+    private final AtomicLong slowLatencyMillis = new AtomicLong();
+    private final AtomicInteger failing = new AtomicInteger();
+    private final AtomicInteger received = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverPool;
+    private HttpClient http;
+    private ModelCallGuard guard;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverPool = Executors.newCachedThreadPool();
+        server.setExecutor(serverPool);
+        server.createContext("/predict", exchange -> {
+            received.incrementAndGet();
+            long delay = slowRequests.getAndUpdate(n -> Math.max(0, n - 1)) > 0
+                    ? slowLatencyMillis.get()
+                    : latencyMillis.get();
+            sleep(delay);
+            int status = failing.get() > 0 ? 500 : 200;
+            byte[] body = "{\"prevision\":\"Puntual\",\"probabilidad\":0.8}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        http = HttpClient.newBuilder().executor(Executors.newCachedThreadPool()).build();
+    }
+
+    @AfterEach
+    void stopStub() {
+        if (guard != null) {
+            guard.shutdown();
+        }
+        server.stop(0);
+        serverPool.shutdownNow();
+    }
+
+    @Test
+    void shouldOpenOnFailuresAndFailFastUntilTrialCallsSucceed() throws Exception {
+        guard = new ModelCallGuard(properties(circuitBreaker(Duration.ofSeconds(5), Duration.ofMillis(200)),
+                new ResilienceProperties.Bulkhead(10, Duration.ZERO), noHedge()), false);
+        failing.set(1);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> guard.call(this::callModel));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitBreaker().state());
+
+        int before = received.get();
+        ModelUnavailableException rejected = assertThrows(ModelUnavailableException.class, () -> guard.call(this::callModel));
+        assertTrue(rejected.getMessage().contains("no está disponible"));
+        assertEquals(before, received.get(), "con el circuito abierto no debe llamarse al modelo");
+
+        failing.set(0);
+        Thread.sleep(250);
+        for (int i = 0; i < 2; i++) {
+            assertEquals("Puntual", guard.call(this::callModel));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitBreaker().state());
+    }
+
+    @Test
+    void shouldOpenWhenCallsAreSlow() {
+        guard = new ModelCallGuard(properties(circuitBreaker(Duration.ofMillis(30), Duration.ofSeconds(30)),
+                new ResilienceProperties.Bulkhead(10, Duration.ZERO), noHedge()), false);
+        latencyMillis.set(60);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("Puntual", guard.call(this::callModel));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitBreaker().state());
+        assertThrows(ModelUnavailableException.class, () -> guard.call(this::callModel));
+        assertEquals(1, guard.circuitBreaker().notPermitted());
+    }
+
+    @Test
+    void shouldRejectWhenBulkheadIsFull() throws Exception {
+        guard = new ModelCallGuard(properties(circuitBreaker(Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                new ResilienceProperties.Bulkhead(1, Duration.ZERO), noHedge()), false);
+        latencyMillis.set(300);
+        CountDownLatch started = new CountDownLatch(1);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> inFlight = caller.submit(() -> guard.call(() -> {
+                started.countDown();
+                return callModel();
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            assertThrows(ModelUnavailableException.class, () -> guard.call(this::callModel));
+            assertEquals(1, guard.bulkheadRejected());
+            assertEquals("Puntual", inFlight.get(2, TimeUnit.SECONDS));
+            assertEquals(0, guard.bulkheadInUse());
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldAnswerWithHedgeWhenFirstAttemptStalls() {
+        guard = new ModelCallGuard(properties(circuitBreaker(Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                new ResilienceProperties.Bulkhead(10, Duration.ZERO),
+                new ResilienceProperties.Hedge(true, Duration.ofMillis(20), 5, 50)), false);
+        latencyMillis.set(5);
+        for (int i = 0; i < 5; i++) {
+            guard.call(this::callModel);
+        }
+        assertEquals(0, guard.hedges());
+
+        // El próximo pedido queda 2s colgado; el respaldo debe contestar mucho antes
+        slowLatencyMillis.set(2000);
+        slowRequests.set(1);
+        long start = System.nanoTime();
+        assertEquals("Puntual", guard.call(this::callModel));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1000, "respondió en " + elapsedMillis + " ms");
+        assertEquals(1, guard.hedges());
+        assertEquals(1, guard.hedgesWon());
+    }
+
+    @Test
+    void shouldHoldOriginalPermitUntilLosingAttemptFinishes() throws Exception {
+        guard = new ModelCallGuard(properties(circuitBreaker(Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                new ResilienceProperties.Bulkhead(2, Duration.ZERO),
+                new ResilienceProperties.Hedge(true, Duration.ofMillis(20), 5, 50)), false);
+        latencyMillis.set(5);
+        for (int i = 0; i < 5; i++) {
+            guard.call(this::callModel);
+        }
+
+        slowLatencyMillis.set(500);
+        slowRequests.set(1);
+        assertEquals("Puntual", guard.call(this::callModel));
+        assertEquals(1, guard.hedgesWon());
+
+        // El original sigue llamando al modelo: su lugar no vuelve hasta que termina
+        assertEquals(1, guard.bulkheadInUse());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (guard.bulkheadInUse() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, guard.bulkheadInUse());
+    }
+
+    @Test
+    void shouldSkipHedgeWhenBulkheadIsFull() {
+        guard = new ModelCallGuard(properties(circuitBreaker(Duration.ofSeconds(5), Duration.ofSeconds(30)),
+                new ResilienceProperties.Bulkhead(1, Duration.ZERO),
+                new ResilienceProperties.Hedge(true, Duration.ofMillis(20), 5, 50)), false);
+        latencyMillis.set(5);
+        for (int i = 0; i < 5; i++) {
+            guard.call(this::callModel);
+        }
+
+        // El único lugar del bulkhead lo ocupa el intento original: no hay respaldo
+        slowLatencyMillis.set(300);
+        slowRequests.set(1);
+        assertEquals("Puntual", guard.call(this::callModel));
+
+        assertEquals(0, guard.hedges());
+        assertEquals(6, received.get());
+        assertEquals(0, guard.bulkheadInUse());
+    }
+
+    private String callModel() {
+        try {
+            HttpResponse<String> response = http.send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/predict")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 500) {
+                throw new ResourceAccessException("status " + response.statusCode());
+            }
+            return response.body().contains("Puntual") ? "Puntual" : "Retrasado";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResilienceProperties.CircuitBreaker circuitBreaker(Duration slowCall, Duration open) {
+        return new ResilienceProperties.CircuitBreaker(4, 4, 50, 50, slowCall, open, 2);
+    }
+
+    private static ResilienceProperties.Hedge noHedge() {
+        return new ResilienceProperties.Hedge(false, Duration.ofMillis(50), 100, 10);
+    }
+
+    private static ResilienceProperties properties(ResilienceProperties.CircuitBreaker circuitBreaker,
+                                                   ResilienceProperties.Bulkhead bulkhead,
+                                                   ResilienceProperties.Hedge hedge) {
+        return new ResilienceProperties(true, circuitBreaker, bulkhead, hedge);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulePredictionsTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 1, 2, 8, 30);
+    private static final PredictionResponse RESPONSE = new PredictionResponse("Puntual", 0.91);
+
+    @Test
+    void shouldServeExactMatchesOnly() {
+        SchedulePredictions predictions = predictions(true);
+        predictions.publish(table(NOW.minus(Duration.ofHours(1))));
+
+        assertEquals(RESPONSE, predictions.find(request("aa", "jfk", "lax", DEPARTURE, 3983.0)));
+        assertNull(predictions.find(request("AA", "JFK", "LAX", DEPARTURE.plusMinutes(1), null)));
+        assertNull(predictions.find(request("AA", "JFK", "LAX", DEPARTURE.plusSeconds(1), null)));
+        assertNull(predictions.find(request("DL", "JFK", "LAX", DEPARTURE, null)));
+
+        assertEquals(1, predictions.hits());
+        assertEquals(3, predictions.misses());
+        assertEquals(3600, predictions.oldestEntryAgeSeconds());
+    }
+
+    @Test
+    void shouldNotServeEntriesOlderThanMaxAge() {
+        SchedulePredictions predictions = predictions(true);
+        predictions.publish(table(NOW.minus(Duration.ofHours(25))));
+
+        assertNull(predictions.find(request("AA", "JFK", "LAX", DEPARTURE, null)));
+        assertEquals(1, predictions.stale());
+        assertEquals(0, predictions.hits());
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        SchedulePredictions predictions = predictions(false);
+        predictions.publish(table(NOW));
+
+        assertNull(predictions.find(request("AA", "JFK", "LAX", DEPARTURE, null)));
+        assertEquals(0, predictions.misses());
+    }
+
+    private static SchedulePredictions predictions(boolean enabled) {
+        ScheduleProperties properties = new ScheduleProperties(enabled, "test.csv", 4,
+                Duration.ofDays(7), Duration.ofHours(6), Duration.ofHours(24));
+        return new SchedulePredictions(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static ScheduleTable table(Instant computedAt) {
+        long baseMinute = ScheduleKey.epochMinute(LocalDateTime.of(2030, 1, 1, 12, 0));
+        ScheduleTable.Builder builder = new ScheduleTable.Builder(baseMinute, "test.csv", computedAt);
+        builder.add(ScheduleKey.of(request("AA", "JFK", "LAX", DEPARTURE, null), baseMinute), RESPONSE,
+                computedAt.getEpochSecond());
+        return builder.build();
+    }
+
+    private static PredictionRequest request(String airline, String origin, String destination,
+                                             LocalDateTime departure, Double distance) {
+        return new PredictionRequest(airline, origin, destination, departure, distance);
+    }
+}
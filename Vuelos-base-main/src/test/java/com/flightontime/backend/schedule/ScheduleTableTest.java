@@ -0,0 +1,89 @@
+package com.flightontime.backend.schedule;
+
+import com.flightontime.backend.catalog.IataCode;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleTableTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final long BASE_MINUTE = ScheduleKey.epochMinute(BASE);
+
+    @Test
+    void shouldPackKeysInAirlineRouteAndTimeOrder() {
+        long early = ScheduleKey.of(request("AA", "JFK", "LAX", BASE.plusHours(1)), BASE_MINUTE);
+        long late = ScheduleKey.of(request("aa", "jfk", "lax", BASE.plusDays(300)), BASE_MINUTE);
+        long otherRoute = ScheduleKey.of(request("AA", "JFK", "MIA", BASE), BASE_MINUTE);
+        long otherAirline = ScheduleKey.of(request("UA", "ATL", "ATL", BASE), BASE_MINUTE);
+
+        assertTrue(early > 0);
+        assertTrue(early < late);
+        assertTrue(late < otherRoute);
+        assertTrue(otherRoute < otherAirline);
+        assertEquals(ScheduleKey.pack(IataCode.airline("AA"), IataCode.airport("JFK"), IataCode.airport("LAX"), 60), early);
+    }
+
+    @Test
+    void shouldNotKeyRequestsOutsideTheTable() {
+        assertEquals(ScheduleKey.NONE, ScheduleKey.of(request("AA", "JFK", "LAX", BASE.plusSeconds(30)), BASE_MINUTE));
+        assertEquals(ScheduleKey.NONE, ScheduleKey.of(request("AA", "JFK", "LAX", BASE.minusMinutes(1)), BASE_MINUTE));
+        assertEquals(ScheduleKey.NONE, ScheduleKey.of(request("AA", "JFK", "LAX", BASE.plusYears(9)), BASE_MINUTE));
+        assertEquals(ScheduleKey.NONE, ScheduleKey.of(request("A-", "JFK", "LAX", BASE), BASE_MINUTE));
+    }
+
+    @Test
+    void shouldFindEntriesAndKeepTheFirstOfDuplicatedKeys() {
+        long computedAt = Instant.parse("2029-12-31T22:00:00Z").getEpochSecond();
+        long jfkLax = ScheduleKey.of(request("AA", "JFK", "LAX", BASE.plusHours(8)), BASE_MINUTE);
+        long madGru = ScheduleKey.of(request("IB", "MAD", "GRU", BASE.plusHours(2)), BASE_MINUTE);
+        ScheduleTable.Builder builder = new ScheduleTable.Builder(BASE_MINUTE, "test.csv", Instant.EPOCH);
+        builder.add(madGru, new PredictionResponse("Retrasado", 0.78), computedAt);
+        builder.add(jfkLax, new PredictionResponse("Puntual", 0.91), computedAt + 60);
+        builder.add(jfkLax, new PredictionResponse("Retrasado", 0.5), computedAt + 120);
+
+        ScheduleTable table = builder.build();
+
+        assertEquals(2, table.size());
+        int index = table.indexOf(jfkLax);
+        assertTrue(index >= 0);
+        assertEquals(new PredictionResponse("Puntual", 0.91), table.response(index));
+        assertEquals(computedAt + 60, table.computedAtEpochSecond(index));
+        assertEquals(new PredictionResponse("Retrasado", 0.78), table.response(table.indexOf(madGru)));
+        assertEquals(computedAt, table.oldestComputedAt());
+        assertTrue(table.indexOf(ScheduleKey.of(request("AA", "JFK", "LAX", BASE.plusHours(9)), BASE_MINUTE)) < 0);
+        assertTrue(table.indexOf(ScheduleKey.NONE) < 0);
+    }
+
+    @Test
+    void shouldParseScheduleFileByColumnName() throws IOException {
+        String csv = """
+                fecha_partida,aerolinea,origen,destino,distancia_km
+                2030-01-01 08:30:00,AA,JFK,LAX,3983.5
+                2030-01-01 09:00:00,IB,MAD,GRU,
+
+                2030-01-01 9:00,IB,MAD,GRU,
+                2030-01-01 10:00:00,DL,ATL
+                """;
+
+        ScheduleFile.Parsed parsed = ScheduleFile.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, parsed.flights().size());
+        assertEquals(2, parsed.malformed());
+        assertEquals(request("AA", "JFK", "LAX", BASE.withHour(8).withMinute(30)).withDistanciaKm(3983.5),
+                parsed.flights().get(0));
+        assertNull(parsed.flights().get(1).distanciaKm());
+    }
+
+    private static PredictionRequest request(String airline, String origin, String destination, LocalDateTime departure) {
+        return new PredictionRequest(airline, origin, destination, departure, null);
+    }
+}
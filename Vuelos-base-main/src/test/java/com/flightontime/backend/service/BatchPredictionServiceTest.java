@@ -0,0 +1,196 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.BatchPredictionLine;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPredictionServiceTest {
+
+    private static final String VALID = "{\"aerolinea\":\"AA\",\"origen\":\"MAD\",\"destino\":\"GRU\",\"fechaPartida\":\"2030-01-15 14:10:00\"}";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final ValidatorFactory validation = Validation.buildDefaultValidatorFactory();
+    private final FakePredictionService predictions = new FakePredictionService();
+    private final BatchPredictionService service =
+            new BatchPredictionService(predictions, validation.getValidator(), objectMapper, 8, 4, 2, false);
+
+    @AfterEach
+    void tearDown() {
+        predictions.gate.countDown();
+        service.shutdown();
+        validation.close();
+    }
+
+    @Test
+    void shouldReportStatusPerLineWithoutStoppingTheBatch() throws IOException {
+        predictions.gate.countDown();
+        String input = String.join("\n",
+                VALID,
+                "{no es json",
+                VALID.replace("\"AA\"", "\"XX\""),
+                "{\"aerolinea\":\"AA\",\"origen\":\"MAD\",\"destino\":\"GRU\"}",
+                "",
+                VALID.replace("\"AA\"", "\"DS\""),
+                VALID);
+
+        List<BatchPredictionLine> lines = run(input, BatchFormat.NDJSON);
+
+        assertEquals(6, lines.size());
+        assertEquals(200, lines.get(0).status());
+        assertEquals("Puntual", lines.get(0).prediction().prevision());
+        assertEquals(400, lines.get(1).status());
+        assertTrue(lines.get(1).error().startsWith("Línea con JSON inválido"));
+        assertEquals(400, lines.get(2).status());
+        assertEquals("El codigo XX no existe en el catálogo de aerolíneas", lines.get(2).error());
+        assertEquals(400, lines.get(3).status());
+        assertEquals("La fecha de partida es obligatoria", lines.get(3).error());
+        assertEquals(503, lines.get(4).status());
+        assertNull(lines.get(4).prediction());
+        assertEquals(200, lines.get(5).status());
+    }
+
+    @Test
+    void shouldNumberLinesInInputOrderAndPersistEveryPrediction() throws IOException {
+        predictions.gate.countDown();
+        List<String> flights = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            flights.add(VALID);
+        }
+
+        List<BatchPredictionLine> lines = run("[" + String.join(",", flights) + "]", BatchFormat.JSON);
+
+        // La salida llega en el orden en que terminan los vuelos; index identifica cada uno una sola vez
+        assertEquals(25, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i, lines.get(i).index());
+        }
+        assertEquals(25, predictions.saved.size());
+    }
+
+    @Test
+    void shouldStopReadingAtMaxInFlight() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            input.append(VALID).append('\n');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(() -> {
+            try {
+                service.predict(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), BatchFormat.NDJSON, out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(predictions.started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        // Con los 4 permisos tomados no se lee ni se predice ningún vuelo más
+        assertEquals(4, predictions.calls.get());
+        assertFalse(batch.isDone());
+
+        predictions.gate.countDown();
+        batch.get(5, TimeUnit.SECONDS);
+        assertEquals(20, predictions.calls.get());
+        assertEquals(4, predictions.maxConcurrent.get());
+    }
+
+    @Test
+    void shouldStopReadingWhenClientDisconnects() throws IOException {
+        predictions.gate.countDown();
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append(VALID).append('\n');
+        }
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        service.predict(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), BatchFormat.NDJSON, closed);
+
+        // Se deja de leer apenas falla la escritura; los vuelos ya en curso terminan y se guardan
+        assertTrue(predictions.calls.get() < 1000);
+        assertEquals(predictions.calls.get(), predictions.saved.size());
+    }
+
+    private List<BatchPredictionLine> run(String input, BatchFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.predict(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, out);
+
+        List<BatchPredictionLine> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readValue(line, BatchPredictionLine.class));
+        }
+        lines.sort(Comparator.comparingInt(BatchPredictionLine::index));
+        return lines;
+    }
+
+    private static final class FakePredictionService extends PredictionService {
+
+        final CountDownLatch gate = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(4);
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final List<PredictedFlight> saved = new CopyOnWriteArrayList<>();
+
+        FakePredictionService() {
+            super(null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public PredictedFlight evaluate(PredictionRequest request) {
+            calls.incrementAndGet();
+            maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                started.countDown();
+                gate.await(5, TimeUnit.SECONDS);
+                return switch (request.aerolinea()) {
+                    case "XX" -> throw new IllegalArgumentException("El codigo XX no existe en el catálogo de aerolíneas");
+                    case "DS" -> throw new RuntimeException("El servicio de Data Science no está disponible temporalmente");
+                    default -> new PredictedFlight(request, new PredictionResponse("Puntual", 0.2));
+                };
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void savePredictions(List<PredictedFlight> predictions) {
+            saved.addAll(predictions);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.flightontime.backend.service;
+
+import com.flightontime.backend.cache.PredictionCache;
+import com.flightontime.backend.cache.PredictionCacheProperties;
+import com.flightontime.backend.catalog.CatalogRegistry;
+import com.flightontime.backend.client.ReactiveDataScienceClient;
+import com.flightontime.backend.config.DataScienceHttpProperties;
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import com.flightontime.backend.history.OverflowPolicy;
+import com.flightontime.backend.history.PredictionHistoryProperties;
+import com.flightontime.backend.history.PredictionHistoryWriter;
+import com.flightontime.backend.metrics.PredictionMetrics;
+import com.flightontime.backend.model.ModelGateway;
+import com.flightontime.backend.model.ModelMode;
+import com.flightontime.backend.model.ModelProperties;
+import com.flightontime.backend.model.ReactiveRemoteModelBackend;
+import com.flightontime.backend.persistence.PredictionBatchInserter;
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.schedule.ScheduleProperties;
+import com.flightontime.backend.schedule.SchedulePredictions;
+import com.flightontime.backend.validation.PredictValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionServiceTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2030, 1, 15, 14, 10);
+
+    private final CatalogRegistry catalogRegistry = new CatalogRegistry("");
+    private final RecordingInserter inserter = new RecordingInserter();
+    private final FakeReactiveClient client = new FakeReactiveClient();
+    private final PredictionHistoryWriter historyWriter = new PredictionHistoryWriter(inserter,
+            new PredictionHistoryProperties(false, 100, 50, Duration.ofMillis(20), OverflowPolicy.BLOCK,
+                    Duration.ofMillis(1), Duration.ofSeconds(5)),
+            List.of());
+    private final PredictionService service = new PredictionService(
+            historyWriter,
+            new ModelGateway(new ModelProperties(ModelMode.REMOTE, ""), null,
+                    provider(new ReactiveRemoteModelBackend(client)), null),
+            new PredictValidator(catalogRegistry),
+            catalogRegistry,
+            new PredictionCache(new PredictionCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofHours(1))),
+            new SchedulePredictions(new ScheduleProperties(false, "", 1, Duration.ofDays(7), Duration.ofHours(6), Duration.ofHours(24))),
+            new PredictionMetrics(new SimpleMeterRegistry()));
+
+    @AfterEach
+    void tearDown() {
+        historyWriter.shutdown();
+    }
+
+    @Test
+    void shouldCompleteAsyncPredictionWhenModelResponds() throws Exception {
+        CompletableFuture<PredictionResponse> prediction = service.predictAsync(request("AA"));
+
+        assertFalse(prediction.isDone());
+        client.response.complete(new PredictionResponse("Retrasado", 0.78));
+
+        PredictionResponse response = prediction.get(5, TimeUnit.SECONDS);
+        assertEquals("Retrasado", response.prevision());
+        assertEquals(1, client.calls.get());
+    }
+
+    @Test
+    void shouldSaveAsyncPredictionOffTheCompletingThread() throws Exception {
+        CompletableFuture<PredictionResponse> prediction = service.predictAsync(request("AA"));
+
+        // Quien completa el futuro hace de hilo de E/S: no debe escribir en la base
+        client.response.complete(new PredictionResponse("Retrasado", 0.78));
+        prediction.get(5, TimeUnit.SECONDS);
+
+        assertTrue(inserter.firstBatch.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread().getName(), inserter.threads.get(0));
+    }
+
+    @Test
+    void shouldFailAsyncPredictionWhenModelTimesOut() {
+        CompletableFuture<PredictionResponse> prediction = service.predictAsync(request("AA"));
+
+        client.response.completeExceptionally(new TimeoutException("sin respuesta"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> prediction.get(5, TimeUnit.SECONDS));
+        assertEquals("El servicio de Data Science no está disponible temporalmente", failure.getCause().getMessage());
+        assertEquals(0, historyWriter.written());
+    }
+
+    @Test
+    void shouldRejectInvalidAsyncRequestWithoutCallingModel() {
+        assertThrows(IllegalArgumentException.class, () -> service.predictAsync(request("ZZZ")));
+
+        assertEquals(0, client.calls.get());
+    }
+
+    private static PredictionRequest request(String airline) {
+        return new PredictionRequest(airline, "MAD", "GRU", DEPARTURE, 8000.0);
+    }
+
+    private static ObjectProvider<ReactiveRemoteModelBackend> provider(ReactiveRemoteModelBackend backend) {
+        return new ObjectProvider<>() {
+            @Override
+            public ReactiveRemoteModelBackend getObject() {
+                return backend;
+            }
+
+            @Override
+            public ReactiveRemoteModelBackend getObject(Object... args) {
+                return backend;
+            }
+
+            @Override
+            public ReactiveRemoteModelBackend getIfAvailable() {
+                return backend;
+            }
+
+            @Override
+            public ReactiveRemoteModelBackend getIfUnique() {
+                return backend;
+            }
+        };
+    }
+
+    private static final class FakeReactiveClient extends ReactiveDataScienceClient {
+
+        private final CompletableFuture<PredictionResponse> response = new CompletableFuture<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FakeReactiveClient() {
+            super(null, new DataScienceHttpProperties(50, 20, Duration.ofSeconds(2), Duration.ofMillis(500),
+                    Duration.ofSeconds(10), Duration.ofSeconds(15), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                    false, true));
+        }
+
+        @Override
+        public CompletableFuture<PredictionResponse> predictDelay(PredictionRequest request) {
+            calls.incrementAndGet();
+            return response;
+        }
+    }
+
+    private static final class RecordingInserter extends PredictionBatchInserter {
+
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstBatch = new CountDownLatch(1);
+
+        RecordingInserter() {
+            super(null, false, 0);
+        }
+
+        @Override
+        public void insert(List<PredictionEntity> predictions) {
+            threads.add(Thread.currentThread().getName());
+            firstBatch.countDown();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightontime.backend.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPackagesPostProcessorTest {
+
+    @Test
+    void shouldMarkBeansOfListedPackagesAsLazy() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("docs", new RootBeanDefinition("org.springdoc.core.OpenApiResource"));
+        beanFactory.registerBeanDefinition("service", new RootBeanDefinition("com.flightontime.backend.service.PredictionService"));
+        beanFactory.registerBeanDefinition("other", new RootBeanDefinition("org.springdocs.Other"));
+
+        new LazyPackagesPostProcessor(List.of("org.springdoc")).postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("docs").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("service").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("other").isLazyInit(), "el prefijo es un paquete, no un texto");
+    }
+
+    @Test
+    void shouldLeaveInfrastructureBeansEager() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        RootBeanDefinition infrastructure = new RootBeanDefinition("org.springdoc.core.Infrastructure");
+        infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        beanFactory.registerBeanDefinition("infrastructure", infrastructure);
+
+        new LazyPackagesPostProcessor(List.of("org.springdoc.")).postProcessBeanFactory(beanFactory);
+
+        assertFalse(beanFactory.getBeanDefinition("infrastructure").isLazyInit());
+    }
+
+    @Test
+    void shouldDoNothingWithoutPackages() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("docs", new RootBeanDefinition("org.springdoc.core.OpenApiResource"));
+
+        new LazyPackagesPostProcessor(List.of()).postProcessBeanFactory(beanFactory);
+
+        assertFalse(beanFactory.getBeanDefinition("docs").isLazyInit());
+    }
+}
@@ -0,0 +1,115 @@
+package com.flightontime.backend.stats;
+
+import com.flightontime.backend.persistence.entity.PredictionEntity;
+import com.flightontime.backend.persistence.entity.PredictionResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionRollupsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+
+    @Test
+    void shouldAggregatePerRouteAirlineAndDayInKeyOrder() {
+        RecordingStore store = new RecordingStore();
+        PredictionRollups rollups = new PredictionRollups(store, properties(true));
+
+        rollups.onWritten(List.of(
+                prediction("AA", "MAD", "GRU", DAY, PredictionResult.RETRASADO, 0.8),
+                prediction("AA", "MAD", "GRU", DAY, PredictionResult.PUNTUAL, 0.9),
+                prediction("UA", "MAD", "GRU", DAY.plusDays(1), PredictionResult.PUNTUAL, 0.6)));
+        rollups.flush();
+
+        List<Map.Entry<RollupKey, RollupDelta>> flushed = store.batches.get(0);
+        assertEquals(List.of(
+                new RollupKey(RollupDimension.AIRLINE, "AA", DAY),
+                new RollupKey(RollupDimension.AIRLINE, "UA", DAY.plusDays(1)),
+                new RollupKey(RollupDimension.ROUTE, "MAD-GRU", DAY),
+                new RollupKey(RollupDimension.ROUTE, "MAD-GRU", DAY.plusDays(1))
+        ), flushed.stream().map(Map.Entry::getKey).toList());
+
+        RollupDelta route = flushed.get(2).getValue();
+        assertEquals(2, route.predictions);
+        assertEquals(1, route.delayed);
+        // 0.8 de retraso más el complemento de 0.9 de puntualidad
+        assertEquals(0.9, route.delayProbabilitySum, 1e-9);
+        assertEquals(0, rollups.pendingRows());
+        assertEquals(3, rollups.recorded());
+    }
+
+    @Test
+    void shouldKeepDeltasWhenFlushFails() {
+        RecordingStore store = new RecordingStore();
+        PredictionRollups rollups = new PredictionRollups(store, properties(true));
+        rollups.onWritten(List.of(prediction("AA", "MAD", "GRU", DAY, PredictionResult.RETRASADO, 0.7)));
+
+        store.failing = true;
+        rollups.flush();
+        assertEquals(1, rollups.flushFailures());
+        assertEquals(2, rollups.pendingRows());
+
+        rollups.onWritten(List.of(prediction("AA", "MAD", "GRU", DAY, PredictionResult.RETRASADO, 0.7)));
+        store.failing = false;
+        rollups.flush();
+
+        assertEquals(1, store.batches.size());
+        assertEquals(2, store.batches.get(0).get(0).getValue().predictions);
+        assertEquals(0, rollups.pendingRows());
+    }
+
+    @Test
+    void shouldIgnoreBatchesWhenDisabled() {
+        RecordingStore store = new RecordingStore();
+        PredictionRollups rollups = new PredictionRollups(store, properties(false));
+
+        rollups.onWritten(List.of(prediction("AA", "MAD", "GRU", DAY, PredictionResult.PUNTUAL, 0.7)));
+        rollups.flush();
+
+        assertEquals(0, rollups.pendingRows());
+        assertTrue(store.batches.isEmpty());
+    }
+
+    private static PredictionStatsProperties properties(boolean enabled) {
+        return new PredictionStatsProperties(enabled, Duration.ofSeconds(10), 4, 366);
+    }
+
+    private static PredictionEntity prediction(String airline, String origin, String destination, LocalDate day,
+                                               PredictionResult result, double probability) {
+        PredictionEntity entity = new PredictionEntity();
+        entity.setAerolinea(airline);
+        entity.setOrigen(origin);
+        entity.setDestino(destination);
+        entity.setFechaPartida(day.atTime(14, 10));
+        entity.setDistanciaKm(8000);
+        entity.setPrevision(result);
+        entity.setProbabilidad(probability);
+        entity.setCreatedAt(LocalDateTime.now());
+        return entity;
+    }
+
+    private static final class RecordingStore extends RollupStore {
+
+        private final List<List<Map.Entry<RollupKey, RollupDelta>>> batches = new ArrayList<>();
+        private boolean failing;
+
+        RecordingStore() {
+            super(null);
+        }
+
+        @Override
+        public void add(List<Map.Entry<RollupKey, RollupDelta>> deltas) {
+            if (failing) {
+                throw new IllegalStateException("base caída");
+            }
+            batches.add(List.copyOf(deltas));
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.flightontime.backend.validation;
 
+import com.flightontime.backend.catalog.CatalogRegistry;
 import com.flightontime.backend.dto.request.PredictionRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,7 +19,7 @@ class PredictValidatorTest {
 
     @BeforeEach
     void setUp() {
-        validator = new PredictValidator();
+        validator = new PredictValidator(new CatalogRegistry(""));
     }
 
     // ========== TESTS PARA AEROLÍNEA ==========
@@ -233,6 +235,80 @@ class PredictValidatorTest {
         );
     }
 
-}
+    // ========== TESTS PARA DISTANCIA ==========
+
+    @Test
+    void shouldPassWhenDistanceIsOmittedForKnownRoute() {
+        assertDoesNotThrow(() -> validator.validateDistance("SFO", "LAX", null));
+    }
+
+    @Test
+    void shouldPassWhenDistanceIsPlausible() {
+        assertDoesNotThrow(() -> validator.validateDistance("SFO", "LAX", 559.23));
+    }
+
+    @Test
+    void shouldFailWhenDistanceIsImplausible() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> validator.validateDistance("JFK", "LAX", 350.0)
+        );
+
+        assertTrue(ex.getMessage().contains("no es plausible"));
+    }
+
+    @Test
+    void shouldFailWhenDistanceIsOmittedForRouteWithoutCoordinates() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> validator.validateDistance("MAD", "XXX", null)
+        );
+
+        assertEquals("La distancia es obligatoria para rutas sin coordenadas en el catálogo", ex.getMessage());
+    }
 
+    // ========== TESTS PARA check ==========
 
+    @Test
+    void shouldReturnSharedValidResultForValidRequest() {
+        PredictionRequest request = new PredictionRequest("AA", "SFO", "LAX", LocalDateTime.now().plusDays(1), 559.23);
+
+        assertSame(ValidationResult.VALID, validator.check(request));
+    }
+
+    @Test
+    void shouldCollectEveryViolationWithoutThrowing() {
+        PredictionRequest request = new PredictionRequest("ZZ", "MAD", "XXX", LocalDateTime.now().minusDays(1), 100.0);
+
+        ValidationResult result = validator.check(request);
+
+        assertFalse(result.isValid());
+        assertEquals(List.of(
+                "El codigo ZZ no existe en el catálogo airlines.csv",
+                "El codigo XXX no existe en el catálogo airports.csv",
+                "La fecha de partida debe ser futura"
+        ), result.violations());
+    }
+
+    @Test
+    void shouldSkipDistanceWhenOriginEqualsDestination() {
+        PredictionRequest request = new PredictionRequest("AA", "MAD", "mad", LocalDateTime.now().plusDays(1), 100.0);
+
+        assertEquals(List.of("El origen y el destino no pueden ser iguales"), validator.check(request).violations());
+    }
+
+    @Test
+    void shouldThrowStacklessExceptionWithAllViolations() {
+        PredictionRequest request = new PredictionRequest("ZZ", "JFK", "LAX", LocalDateTime.now().plusDays(1), 350.0);
+
+        InvalidPredictionException ex = assertThrows(
+                InvalidPredictionException.class,
+                () -> validator.validation(request)
+        );
+
+        assertEquals(2, ex.result().violations().size());
+        assertTrue(ex.result().violations().get(1).contains("no es plausible"));
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.flightontime.backend.wire;
+
+import com.flightontime.backend.dto.request.PredictionRequest;
+import com.flightontime.backend.dto.response.PredictionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionProtobufTest {
+
+    private static final PredictionRequest REQUEST =
+            new PredictionRequest("AA", "MAD", "GRU", LocalDateTime.of(2030, 1, 15, 14, 30), 8400.5);
+
+    @Test
+    void shouldRoundTripRequestAndResponse() {
+        assertEquals(REQUEST, PredictionProtobuf.decodeRequest(PredictionProtobuf.encode(REQUEST)));
+
+        PredictionResponse response = new PredictionResponse("RETRASADO", 0.78);
+        assertEquals(response, PredictionProtobuf.decodeResponse(PredictionProtobuf.encode(response)));
+    }
+
+    @Test
+    void shouldMatchProtoWireLayout() {
+        // Bytes que produce protoc para el mismo mensaje: tags 0x0a/0x12/0x1a (string), 0x21/0x29 (64 bits)
+        byte[] expected = HexFormat.of().parseHex(
+                "0a024141" + "12034d4144" + "1a03475255"
+                        + "21" + "6819ef7000000000"
+                        + "29" + "000000004068c040");
+
+        assertArrayEquals(expected, PredictionProtobuf.encode(REQUEST));
+    }
+
+    @Test
+    void shouldLeaveOmittedDistanceNull() {
+        PredictionRequest withoutDistance = REQUEST.withDistanciaKm(null);
+
+        assertNull(PredictionProtobuf.decodeRequest(PredictionProtobuf.encode(withoutDistance)).distanciaKm());
+    }
+
+    @Test
+    void shouldSkipUnknownFields() {
+        byte[] known = PredictionProtobuf.encode(REQUEST);
+        // Campo 9 varint (150) y campo 10 string ("x") de una versión futura del .proto
+        byte[] extra = HexFormat.of().parseHex("489601" + "520178");
+        byte[] message = Arrays.copyOf(known, known.length + extra.length);
+        System.arraycopy(extra, 0, message, known.length, extra.length);
+
+        assertEquals(REQUEST, PredictionProtobuf.decodeRequest(message));
+    }
+
+    @Test
+    void shouldRejectTruncatedMessage() {
+        byte[] message = PredictionProtobuf.encode(REQUEST);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> PredictionProtobuf.decodeRequest(Arrays.copyOf(message, message.length - 3)));
+        assertTrue(ex.getMessage().contains("truncado"));
+    }
+}